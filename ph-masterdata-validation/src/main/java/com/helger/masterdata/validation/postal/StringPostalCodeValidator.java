@@ -17,16 +17,19 @@
 package com.helger.masterdata.validation.postal;
 
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.string.StringHelper;
+import com.helger.masterdata.postal.DatedPostalCodeCountry;
 import com.helger.masterdata.postal.IPostalCodeCountry;
 import com.helger.masterdata.postal.PostalCodeManager;
 import com.helger.validation.result.IValidationResult;
@@ -35,16 +38,54 @@ import com.helger.validation.result.ValidationResultSuccess;
 import com.helger.validation.validator.string.AbstractStringValidator;
 
 /**
- * Postal code validator
+ * Postal code validator. The error result for invalid postal codes is created
+ * once per validator and validity period of the postal code definitions, so
+ * validating an invalid postal code does not allocate anything. Use
+ * {@link #getDefaultValidator(Locale)} to get a cached validator per country
+ * based on {@link PostalCodeManager#DEFAULT_MGR}.
  *
  * @author Philip Helger
  */
-@Immutable
+@ThreadSafe
 public class StringPostalCodeValidator extends AbstractStringValidator
 {
+  /**
+   * The error result for the postal code information of a single validity
+   * period.
+   */
+  private static final class PeriodErrorResult
+  {
+    private final IPostalCodeCountry m_aPeriod;
+    private final IValidationResult m_aErrorResult;
+
+    PeriodErrorResult (@Nonnull final IPostalCodeCountry aPeriod)
+    {
+      m_aPeriod = aPeriod;
+      final String sValidExamples = StringHelper.getImploded (", ", aPeriod.getAllExamples ());
+      if (StringHelper.hasText (sValidExamples))
+        m_aErrorResult = ValidationResultError.create (EPostalCodeErrorTexts.INVALID_POSTAL_CODE_WITH_EXAMPLES,
+                                                       sValidExamples);
+      else
+        m_aErrorResult = new ValidationResultError (EPostalCodeErrorTexts.INVALID_POSTAL_CODE);
+    }
+  }
+
   private static final Logger s_aLogger = LoggerFactory.getLogger (StringPostalCodeValidator.class);
 
+  /** Validators based on the default manager per country code */
+  private static final ConcurrentMap <String, StringPostalCodeValidator> s_aCache = new ConcurrentHashMap<> ();
+
+  static
+  {
+    // Validators of changed countries are recreated on the next access
+    PostalCodeManager.DEFAULT_MGR.addChangeListener (aCountries -> {
+      for (final Locale aCountry : aCountries)
+        s_aCache.remove (aCountry.getCountry ());
+    });
+  }
+
   private final IPostalCodeCountry m_aPostalCountry;
+  private volatile PeriodErrorResult m_aErrorResult;
 
   public StringPostalCodeValidator (@Nonnull final Locale aCountry)
   {
@@ -55,30 +96,96 @@ public class StringPostalCodeValidator extends AbstractStringValidator
   {
     ValueEnforcer.notNull (aMgr, "Mgr");
     ValueEnforcer.notNull (aCountry, "Country");
-    m_aPostalCountry = aMgr.getPostalCountryOfCountry (aCountry);
+    // Also keep countries without definitions valid today, as they may become
+    // valid later on
+    m_aPostalCountry = aMgr.getRegisteredPostalCountryOfCountry (aCountry);
     if (m_aPostalCountry == null)
       s_aLogger.error ("No postal country information available for the passed country " + aCountry);
+    else
+    {
+      final IPostalCodeCountry aPeriod = _getCurrentPeriod ();
+      if (aPeriod != null)
+        m_aErrorResult = new PeriodErrorResult (aPeriod);
+    }
+  }
+
+  /**
+   * @return The postal code information valid today. A different object is
+   *         returned after a validity boundary was crossed.
+   *         <code>null</code> if no information is available.
+   */
+  @Nullable
+  private IPostalCodeCountry _getCurrentPeriod ()
+  {
+    if (m_aPostalCountry instanceof DatedPostalCodeCountry)
+      return ((DatedPostalCodeCountry) m_aPostalCountry).getCurrentPostalCountry ();
+    return m_aPostalCountry;
+  }
+
+  @Nonnull
+  private IValidationResult _getErrorResult (@Nonnull final IPostalCodeCountry aPeriod)
+  {
+    PeriodErrorResult ret = m_aErrorResult;
+    if (ret == null || ret.m_aPeriod != aPeriod)
+    {
+      // The examples of a new period must be used
+      ret = new PeriodErrorResult (aPeriod);
+      m_aErrorResult = ret;
+    }
+    return ret.m_aErrorResult;
   }
 
   @Nonnull
   public IValidationResult validate (@Nullable final String sValue)
   {
-    if (m_aPostalCountry == null)
+    final IPostalCodeCountry aPeriod = _getCurrentPeriod ();
+    if (aPeriod == null)
     {
       // If no country information is available, it is considered to be valid
       return ValidationResultSuccess.getInstance ();
     }
 
-    if (m_aPostalCountry.isValidPostalCode (sValue))
+    if (aPeriod.isValidPostalCode (sValue))
       return ValidationResultSuccess.getInstance ();
 
     // Error
-    final String sValidExamples = StringHelper.getImploded (", ", m_aPostalCountry.getAllExamples ());
-    if (StringHelper.hasText (sValidExamples))
+    return _getErrorResult (aPeriod);
+  }
+
+  private static boolean _isTwoLetterCode (@Nonnull final String s)
+  {
+    return s.length () == 2 && s.charAt (0) >= 'A' && s.charAt (0) <= 'Z' && s.charAt (1) >= 'A' && s.charAt (1) <= 'Z';
+  }
+
+  /**
+   * Get the validator for the passed country based on
+   * {@link PostalCodeManager#DEFAULT_MGR}. Validators for two letter country
+   * codes are created only once and shared afterwards, until a new postal code
+   * list changes the country in the default manager. Missing postal code
+   * information is therefore also only logged once per country.
+   *
+   * @param aCountry
+   *        The country for which postal codes should be validated. May not be
+   *        <code>null</code>.
+   * @return Never <code>null</code>.
+   * @since 5.0.4
+   */
+  @Nonnull
+  public static StringPostalCodeValidator getDefaultValidator (@Nonnull final Locale aCountry)
+  {
+    ValueEnforcer.notNull (aCountry, "Country");
+
+    final String sKey = aCountry.getCountry ();
+    final StringPostalCodeValidator ret = s_aCache.get (sKey);
+    if (ret != null)
+      return ret;
+
+    if (!_isTwoLetterCode (sKey))
     {
-      return ValidationResultError.create (EPostalCodeErrorTexts.INVALID_POSTAL_CODE_WITH_EXAMPLES, sValidExamples);
+      // Only two letter codes are cached, to keep the cache size bound
+      return new StringPostalCodeValidator (aCountry);
     }
-    return new ValidationResultError (EPostalCodeErrorTexts.INVALID_POSTAL_CODE);
+    return s_aCache.computeIfAbsent (sKey, k -> new StringPostalCodeValidator (aCountry));
   }
 
   /**
@@ -94,6 +201,6 @@ public class StringPostalCodeValidator extends AbstractStringValidator
   @Nonnull
   public static IValidationResult defaultValidate (@Nonnull final Locale aCountry, @Nullable final String sPostalCode)
   {
-    return new StringPostalCodeValidator (aCountry).validate (sPostalCode);
+    return getDefaultValidator (aCountry).validate (sPostalCode);
   }
 }
@@ -0,0 +1,137 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.validation.postal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Locale;
+
+import org.junit.Test;
+
+import com.helger.commons.datetime.PDTFactory;
+import com.helger.commons.io.resource.inmemory.ReadableResourceString;
+import com.helger.commons.string.StringHelper;
+import com.helger.masterdata.postal.DatedPostalCodeCountry;
+import com.helger.masterdata.postal.IPostalCodeCountry;
+import com.helger.masterdata.postal.PostalCodeManager;
+import com.helger.validation.result.IValidationResult;
+import com.helger.validation.result.ValidationResultError;
+import com.helger.validation.result.ValidationResultSuccess;
+
+/**
+ * Test class for class {@link StringPostalCodeValidator}.
+ *
+ * @author Philip Helger
+ */
+public final class StringPostalCodeValidatorTest
+{
+  private static final Locale AT = new Locale ("", "AT");
+
+  @Test
+  public void testSameInstance ()
+  {
+    final StringPostalCodeValidator aValidator = StringPostalCodeValidator.getDefaultValidator (AT);
+    assertSame (aValidator, StringPostalCodeValidator.getDefaultValidator (AT));
+    // Only the country is relevant
+    assertSame (aValidator, StringPostalCodeValidator.getDefaultValidator (new Locale ("de", "AT")));
+    assertNotSame (aValidator, StringPostalCodeValidator.getDefaultValidator (new Locale ("", "DE")));
+  }
+
+  @Test
+  public void testErrorResult ()
+  {
+    final StringPostalCodeValidator aValidator = StringPostalCodeValidator.getDefaultValidator (AT);
+    assertSame (ValidationResultSuccess.getInstance (), aValidator.validate ("1010"));
+
+    final IValidationResult aError = aValidator.validate ("abc");
+    assertTrue (aError.isInvalid ());
+    // Shared for all invalid input
+    assertSame (aError, aValidator.validate ("12345"));
+    assertSame (aError, aValidator.validate (null));
+    assertSame (aError, StringPostalCodeValidator.defaultValidate (AT, "A-1010"));
+
+    // Contains the examples
+    final String sExamples = StringHelper.getImploded (", ",
+                                                       PostalCodeManager.DEFAULT_MGR.getPostalCodeExamples (AT));
+    assertTrue (StringHelper.hasText (sExamples));
+    final IValidationResult aExpected = ValidationResultError.create (EPostalCodeErrorTexts.INVALID_POSTAL_CODE_WITH_EXAMPLES,
+                                                                      sExamples);
+    for (final Locale aLocale : new Locale [] { Locale.GERMAN, Locale.ENGLISH })
+      assertEquals (aExpected.getDisplayText (aLocale), aError.getDisplayText (aLocale));
+
+    // Validators created directly have their own result
+    final IValidationResult aError2 = new StringPostalCodeValidator (AT).validate ("abc");
+    assertNotSame (aError, aError2);
+    assertEquals (aError.getDisplayText (Locale.ENGLISH), aError2.getDisplayText (Locale.ENGLISH));
+  }
+
+  @Test
+  public void testUnknownCountry ()
+  {
+    final Locale aUnknown = new Locale ("", "QQ");
+    final StringPostalCodeValidator aValidator = StringPostalCodeValidator.getDefaultValidator (aUnknown);
+    assertSame (ValidationResultSuccess.getInstance (), aValidator.validate ("abc"));
+    assertSame (ValidationResultSuccess.getInstance (), aValidator.validate (null));
+    assertSame (ValidationResultSuccess.getInstance (), StringPostalCodeValidator.defaultValidate (aUnknown, "1010"));
+    // Also cached, so that the missing information is logged only once
+    assertSame (aValidator, StringPostalCodeValidator.getDefaultValidator (aUnknown));
+  }
+
+  @Test
+  public void testNoTwoLetterCountry ()
+  {
+    for (final Locale aLocale : new Locale [] { Locale.ENGLISH, new Locale ("es", "419") })
+    {
+      final StringPostalCodeValidator aValidator = StringPostalCodeValidator.getDefaultValidator (aLocale);
+      assertNotSame (aValidator, StringPostalCodeValidator.getDefaultValidator (aLocale));
+      assertTrue (aValidator.validate ("abc").isValid ());
+    }
+  }
+
+  @Test
+  public void testFutureDefinitions ()
+  {
+    final LocalDate aTomorrow = PDTFactory.getCurrentLocalDate ().plusDays (1);
+    final PostalCodeManager aMgr = new PostalCodeManager ();
+    aMgr.applyPostalCodeList (new ReadableResourceString ("<root><body><country iso='AD'><postalcodes validfrom='" +
+                                                          aTomorrow.toString () +
+                                                          "'><format>CCNNN</format></postalcodes></country></body></root>",
+                                                          StandardCharsets.UTF_8));
+    final Locale aAD = new Locale ("", "AD");
+    assertNull (aMgr.getPostalCountryOfCountry (aAD));
+
+    // Nothing is checked today
+    final StringPostalCodeValidator aValidator = new StringPostalCodeValidator (aMgr, aAD);
+    assertSame (ValidationResultSuccess.getInstance (), aValidator.validate ("abc"));
+    assertSame (ValidationResultSuccess.getInstance (), aValidator.validate ("AD123"));
+
+    // But the validator keeps the country, that switches to the definitions of
+    // tomorrow on its own
+    final IPostalCodeCountry aRegistered = aMgr.getRegisteredPostalCountryOfCountry (aAD);
+    assertTrue (aRegistered instanceof DatedPostalCodeCountry);
+    assertNull (((DatedPostalCodeCountry) aRegistered).getCurrentPostalCountry ());
+    assertTrue (((DatedPostalCodeCountry) aRegistered).isValidPostalCode ("AD123", aTomorrow));
+    assertFalse (((DatedPostalCodeCountry) aRegistered).isValidPostalCode ("abc", aTomorrow));
+  }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.CommonsLinkedHashMap;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.collection.ext.ICommonsOrderedMap;
+import com.helger.commons.exception.InitializationException;
+import com.helger.masterdata.geo.ReverseGeocoder;
+import com.helger.masterdata.locale.DeprecatedLocaleHandler;
+import com.helger.masterdata.locale.ISO639_2Handler;
+import com.helger.masterdata.postal.PostalCodeManager;
+import com.helger.masterdata.swift.IBANManager;
+import com.helger.masterdata.telephone.DialCodeManager;
+import com.helger.masterdata.unit.UnitManager;
+import com.helger.masterdata.vat.VATINStructureManager;
+import com.helger.masterdata.vat.VATManager;
+
+/**
+ * Eagerly loads all code list based managers. By default the managers are
+ * initialized lazily on first access, so the first caller pays the costs of
+ * reading the code lists. Calling {@link #warmUp(Executor)} or
+ * {@link #warmUpAsync(Executor)} e.g. upon application startup loads all of
+ * them concurrently on the provided executor.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@ThreadSafe
+public final class MasterDataWarmUp
+{
+  private static final Logger s_aLogger = LoggerFactory.getLogger (MasterDataWarmUp.class);
+
+  /** All managers to load in the order of the result map */
+  private static final ICommonsOrderedMap <String, Runnable> s_aManagers = new CommonsLinkedHashMap<> ();
+
+  static
+  {
+    s_aManagers.put ("IBANManager", () -> IBANManager.getAllSupportedCountries ());
+    s_aManagers.put ("VATManager", () -> VATManager.getDefaultInstance ());
+    s_aManagers.put ("VATINStructureManager", () -> VATINStructureManager.getAllStructures ());
+    s_aManagers.put ("PostalCodeManager", () -> PostalCodeManager.DEFAULT_MGR.getAllAvailableCountries ());
+    s_aManagers.put ("ISO639_2Handler", () -> ISO639_2Handler.getDefaultInstance ());
+    s_aManagers.put ("DialCodeManager", () -> DialCodeManager.getDialCodeOfCountry ("AT"));
+    s_aManagers.put ("UnitManager", () -> UnitManager.getDefaultInstance ());
+    s_aManagers.put ("DeprecatedLocaleHandler", () -> DeprecatedLocaleHandler.getDefaultInstance ());
+    s_aManagers.put ("ReverseGeocoder", () -> ReverseGeocoder.getCountryIndex ());
+  }
+
+  private static volatile boolean s_bWarmedUp = false;
+
+  private MasterDataWarmUp ()
+  {}
+
+  /**
+   * @return The names of all managers that are loaded by the warm up, in the
+   *         order of the result maps. Never <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static ICommonsList <String> getAllManagerNames ()
+  {
+    return new CommonsArrayList<> (s_aManagers.keySet ());
+  }
+
+  /**
+   * @return <code>true</code> if a warm up completed successfully. Suitable
+   *         e.g. for a readiness check.
+   */
+  public static boolean isWarmedUp ()
+  {
+    return s_bWarmedUp;
+  }
+
+  @Nonnull
+  private static Duration _load (@Nonnull final String sName, @Nonnull final Runnable aLoader)
+  {
+    final long nStart = System.nanoTime ();
+    aLoader.run ();
+    final Duration ret = Duration.ofNanos (System.nanoTime () - nStart);
+    if (s_aLogger.isDebugEnabled ())
+      s_aLogger.debug ("Warmed up " + sName + " in " + ret.toMillis () + "ms");
+    return ret;
+  }
+
+  /**
+   * Load all managers concurrently on the passed executor. Managers that were
+   * already loaded before are reported with a very short duration.
+   *
+   * @param aExec
+   *        The executor to load the managers on. May not be <code>null</code>.
+   * @return A future that is completed with the load duration per manager name
+   *         in the order of {@link #getAllManagerNames()}, or that is completed
+   *         exceptionally if loading at least one manager failed. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  public static CompletableFuture <ICommonsOrderedMap <String, Duration>> warmUpAsync (@Nonnull final Executor aExec)
+  {
+    ValueEnforcer.notNull (aExec, "Executor");
+
+    final long nStart = System.nanoTime ();
+    final ICommonsOrderedMap <String, CompletableFuture <Duration>> aFutures = new CommonsLinkedHashMap<> ();
+    for (final Map.Entry <String, Runnable> aEntry : s_aManagers.entrySet ())
+    {
+      final String sName = aEntry.getKey ();
+      final Runnable aLoader = aEntry.getValue ();
+      aFutures.put (sName, CompletableFuture.supplyAsync ( () -> _load (sName, aLoader), aExec));
+    }
+
+    return CompletableFuture.allOf (aFutures.values ().toArray (new CompletableFuture <?> [aFutures.size ()]))
+                            .thenApply (x -> {
+                              final ICommonsOrderedMap <String, Duration> ret = new CommonsLinkedHashMap<> ();
+                              aFutures.forEach ( (sName, aFuture) -> ret.put (sName, aFuture.join ()));
+                              s_bWarmedUp = true;
+                              s_aLogger.info ("Warmed up " +
+                                              ret.size () +
+                                              " master data managers in " +
+                                              ((System.nanoTime () - nStart) / 1_000_000) +
+                                              "ms");
+                              return ret;
+                            });
+  }
+
+  /**
+   * Load all managers concurrently on the passed executor and wait until all
+   * of them are loaded.
+   *
+   * @param aExecutor
+   *        The executor to load the managers on. May not be <code>null</code>.
+   * @return The load duration per manager name in the order of
+   *         {@link #getAllManagerNames()}. Never <code>null</code>.
+   * @throws InitializationException
+   *         If loading at least one manager failed or if the current thread
+   *         was interrupted while waiting.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static ICommonsOrderedMap <String, Duration> warmUp (@Nonnull final Executor aExecutor)
+  {
+    try
+    {
+      return warmUpAsync (aExecutor).get ();
+    }
+    catch (final InterruptedException ex)
+    {
+      Thread.currentThread ().interrupt ();
+      throw new InitializationException ("Interrupted while warming up the master data managers", ex);
+    }
+    catch (final ExecutionException ex)
+    {
+      throw new InitializationException ("Failed to warm up the master data managers", ex.getCause ());
+    }
+  }
+}
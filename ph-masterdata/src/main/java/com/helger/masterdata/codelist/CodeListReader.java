@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.codelist;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.io.IHasInputStream;
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.commons.io.stream.StreamHelper;
+import com.helger.xml.microdom.IMicroDocument;
+import com.helger.xml.microdom.serialize.MicroReader;
+
+/**
+ * Reads the code lists used by the different managers. For class path
+ * resources a binary snapshot (see {@link CodeListSnapshot}) with the same
+ * path plus {@link #SNAPSHOT_EXTENSION} is used if present. The snapshots are
+ * created during the build by {@link CodeListSnapshotCompiler}. If no snapshot
+ * is present, it cannot be read or it was not created from the current XML
+ * (e.g. because the XML was replaced on the class path), the XML is parsed as
+ * before.<br>
+ * Snapshots can be disabled globally with the system property
+ * {@value #SYSTEM_PROPERTY_SNAPSHOTS_DISABLED} set to <code>true</code> or with
+ * {@link #setSnapshotsEnabled(boolean)}, e.g. to compare the startup times.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@ThreadSafe
+public final class CodeListReader
+{
+  /** The file extension appended to the XML file name for snapshots */
+  public static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+  /** System property to disable the usage of snapshots */
+  public static final String SYSTEM_PROPERTY_SNAPSHOTS_DISABLED = "ph-masterdata.codelist.snapshots.disabled";
+
+  private static final Logger s_aLogger = LoggerFactory.getLogger (CodeListReader.class);
+
+  private static volatile boolean s_bSnapshotsEnabled = !Boolean.getBoolean (SYSTEM_PROPERTY_SNAPSHOTS_DISABLED);
+
+  private CodeListReader ()
+  {}
+
+  /**
+   * @return <code>true</code> if snapshots are used if present,
+   *         <code>false</code> if the XML is always parsed.
+   */
+  public static boolean isSnapshotsEnabled ()
+  {
+    return s_bSnapshotsEnabled;
+  }
+
+  /**
+   * Enable or disable the usage of snapshots. This only affects code lists
+   * read afterwards.
+   *
+   * @param bEnabled
+   *        <code>true</code> to use snapshots if present, <code>false</code>
+   *        to always parse the XML.
+   */
+  public static void setSnapshotsEnabled (final boolean bEnabled)
+  {
+    s_bSnapshotsEnabled = bEnabled;
+  }
+
+  /**
+   * Get the snapshot resource of the passed code list resource.
+   *
+   * @param aXMLRes
+   *        The class path resource of the XML code list. May not be
+   *        <code>null</code>.
+   * @return The class path resource of the snapshot. It may not exist. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  public static ClassPathResource getSnapshotResource (@Nonnull final ClassPathResource aXMLRes)
+  {
+    ValueEnforcer.notNull (aXMLRes, "XMLRes");
+    return new ClassPathResource (aXMLRes.getPath () + SNAPSHOT_EXTENSION);
+  }
+
+  @Nullable
+  private static IMicroDocument _readSnapshot (@Nonnull final ClassPathResource aXMLRes,
+                                               @Nonnull final byte [] aXMLBytes)
+  {
+    final ClassPathResource aSnapshotRes = getSnapshotResource (aXMLRes);
+    try (final InputStream aIS = aSnapshotRes.getInputStream ())
+    {
+      if (aIS == null)
+        return null;
+      return CodeListSnapshot.readSnapshot (aIS, aXMLBytes.length, CodeListSnapshot.getChecksum (aXMLBytes));
+    }
+    catch (final IOException ex)
+    {
+      s_aLogger.warn ("Failed to read code list snapshot " + aSnapshotRes.getPath () + " - using the XML instead", ex);
+      return null;
+    }
+  }
+
+  /**
+   * Read a code list. This is a replacement for
+   * {@link MicroReader#readMicroXML(IHasInputStream)} that uses the snapshot
+   * for class path resources.
+   *
+   * @param aISP
+   *        The resource to read. May not be <code>null</code>.
+   * @return <code>null</code> if the resource could not be read.
+   */
+  @Nullable
+  public static IMicroDocument readCodeList (@Nonnull final IHasInputStream aISP)
+  {
+    ValueEnforcer.notNull (aISP, "InputStreamProvider");
+
+    final long nStart = System.nanoTime ();
+    IMicroDocument ret = null;
+    boolean bFromSnapshot = false;
+    if (s_bSnapshotsEnabled && aISP instanceof ClassPathResource)
+    {
+      // The XML is needed to check that the snapshot is up to date
+      final byte [] aXMLBytes = StreamHelper.getAllBytes (aISP);
+      if (aXMLBytes == null)
+        return null;
+      ret = _readSnapshot ((ClassPathResource) aISP, aXMLBytes);
+      bFromSnapshot = ret != null;
+      if (ret == null)
+        ret = MicroReader.readMicroXML (new ByteArrayInputStream (aXMLBytes));
+    }
+    else
+      ret = MicroReader.readMicroXML (aISP);
+
+    if (s_aLogger.isDebugEnabled ())
+      s_aLogger.debug ("Read code list " +
+                       aISP +
+                       (bFromSnapshot ? " from snapshot" : " from XML") +
+                       " in " +
+                       ((System.nanoTime () - nStart) / 1_000_000) +
+                       "ms");
+    return ret;
+  }
+}
@@ -0,0 +1,479 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.codelist;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.WillNotClose;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.CommonsLinkedHashMap;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.collection.ext.ICommonsOrderedMap;
+import com.helger.xml.microdom.IMicroDocument;
+import com.helger.xml.microdom.IMicroElement;
+import com.helger.xml.microdom.IMicroNode;
+import com.helger.xml.microdom.IMicroQName;
+import com.helger.xml.microdom.MicroDocument;
+
+/**
+ * Reads and writes a compact binary representation of an
+ * {@link IMicroDocument}. Reading such a snapshot is a lot faster than parsing
+ * the original XML, because no XML parser needs to be initialized, and all tag
+ * names and attribute names are contained only once.<br>
+ * The format consists of a header with the magic number {@link #MAGIC}, the
+ * format version {@link #VERSION} and the length and CRC32 checksum of the
+ * source XML, followed by a table of all distinct strings and the element tree
+ * referencing these strings by index. The source information allows readers
+ * to detect snapshots that no longer match their XML. Only elements,
+ * attributes, texts and CDATA sections are contained - comments and
+ * processing instructions are skipped.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+public final class CodeListSnapshot
+{
+  /** The magic number at the beginning of each snapshot: "PHCS" */
+  public static final int MAGIC = 0x50484353;
+  /** The current format version. Increase on each incompatible change. */
+  public static final int VERSION = 2;
+  /** The source length used if the snapshot was not created from a file */
+  public static final long SOURCE_LENGTH_UNKNOWN = -1;
+
+  // Maximum element nesting, to detect corrupt snapshots
+  private static final int MAX_DEPTH = 1024;
+  // Maximum size of a byte array allocated at once for a string
+  private static final int MAX_CHUNK_SIZE = 64 * 1024;
+
+  private static final byte NODE_ELEMENT = 1;
+  private static final byte NODE_TEXT = 2;
+  private static final byte NODE_CDATA = 3;
+
+  private CodeListSnapshot ()
+  {}
+
+  /**
+   * Get the checksum of the source XML as stored in the snapshot header.
+   *
+   * @param aBytes
+   *        The bytes of the source XML. May not be <code>null</code>.
+   * @return The CRC32 checksum of the bytes.
+   */
+  public static int getChecksum (@Nonnull final byte [] aBytes)
+  {
+    ValueEnforcer.notNull (aBytes, "Bytes");
+    final CRC32 aCRC = new CRC32 ();
+    aCRC.update (aBytes);
+    return (int) aCRC.getValue ();
+  }
+
+  private static boolean _isSupported (@Nonnull final IMicroNode aNode)
+  {
+    return aNode.isElement () || aNode.isText () || aNode.isCDATA ();
+  }
+
+  private static void _collectStrings (@Nonnull final IMicroNode aNode,
+                                       @Nonnull final Map <String, Integer> aStrings)
+  {
+    if (aNode.isElement ())
+    {
+      final IMicroElement eElement = (IMicroElement) aNode;
+      _collectString (eElement.getNamespaceURI (), aStrings);
+      _collectString (eElement.getTagName (), aStrings);
+      if (eElement.hasAttributes ())
+        for (final Map.Entry <IMicroQName, String> aEntry : eElement.getAllQAttributes ().entrySet ())
+        {
+          _collectString (aEntry.getKey ().getNamespaceURI (), aStrings);
+          _collectString (aEntry.getKey ().getName (), aStrings);
+          _collectString (aEntry.getValue (), aStrings);
+        }
+    }
+    else
+      if (aNode.isText () || aNode.isCDATA ())
+        _collectString (aNode.getNodeValue (), aStrings);
+
+    if (aNode.hasChildren ())
+      for (final IMicroNode aChild : aNode.getAllChildren ())
+        _collectStrings (aChild, aStrings);
+  }
+
+  private static void _collectString (@Nullable final String s, @Nonnull final Map <String, Integer> aStrings)
+  {
+    if (s != null)
+      aStrings.computeIfAbsent (s, k -> Integer.valueOf (aStrings.size ()));
+  }
+
+  private static void _writeVarInt (@Nonnull final DataOutputStream aDOS,
+                                    @Nonnegative final int nValue) throws IOException
+  {
+    int n = nValue;
+    while ((n & ~0x7f) != 0)
+    {
+      aDOS.writeByte ((n & 0x7f) | 0x80);
+      n >>>= 7;
+    }
+    aDOS.writeByte (n);
+  }
+
+  private static void _writeString (@Nonnull final DataOutputStream aDOS,
+                                    @Nullable final String s,
+                                    @Nonnull final Map <String, Integer> aStrings) throws IOException
+  {
+    // 0 is reserved for null
+    _writeVarInt (aDOS, s == null ? 0 : aStrings.get (s).intValue () + 1);
+  }
+
+  private static void _writeNode (@Nonnull final DataOutputStream aDOS,
+                                  @Nonnull final IMicroNode aNode,
+                                  @Nonnull final Map <String, Integer> aStrings) throws IOException
+  {
+    if (aNode.isElement ())
+    {
+      final IMicroElement eElement = (IMicroElement) aNode;
+      aDOS.writeByte (NODE_ELEMENT);
+      _writeString (aDOS, eElement.getNamespaceURI (), aStrings);
+      _writeString (aDOS, eElement.getTagName (), aStrings);
+      if (eElement.hasAttributes ())
+      {
+        final ICommonsOrderedMap <IMicroQName, String> aAttrs = eElement.getAllQAttributes ();
+        _writeVarInt (aDOS, aAttrs.size ());
+        for (final Map.Entry <IMicroQName, String> aEntry : aAttrs.entrySet ())
+        {
+          _writeString (aDOS, aEntry.getKey ().getNamespaceURI (), aStrings);
+          _writeString (aDOS, aEntry.getKey ().getName (), aStrings);
+          _writeString (aDOS, aEntry.getValue (), aStrings);
+        }
+      }
+      else
+        _writeVarInt (aDOS, 0);
+
+      if (eElement.hasChildren ())
+      {
+        final ICommonsList <IMicroNode> aChildren = eElement.getAllChildren ();
+        aChildren.removeIf (x -> !_isSupported (x));
+        _writeVarInt (aDOS, aChildren.size ());
+        for (final IMicroNode aChild : aChildren)
+          _writeNode (aDOS, aChild, aStrings);
+      }
+      else
+        _writeVarInt (aDOS, 0);
+    }
+    else
+    {
+      aDOS.writeByte (aNode.isCDATA () ? NODE_CDATA : NODE_TEXT);
+      _writeString (aDOS, aNode.getNodeValue (), aStrings);
+    }
+  }
+
+  /**
+   * Write the snapshot of the passed document without source information. Such
+   * a snapshot can only be read with {@link #readSnapshot(InputStream)}.
+   *
+   * @param aDoc
+   *        The document to write. May not be <code>null</code> and must have a
+   *        document element.
+   * @param aOS
+   *        The output stream to write to. May not be <code>null</code>. The
+   *        stream is flushed but not closed.
+   * @throws IOException
+   *         In case writing fails
+   */
+  public static void writeSnapshot (@Nonnull final IMicroDocument aDoc,
+                                    @Nonnull @WillNotClose final OutputStream aOS) throws IOException
+  {
+    writeSnapshot (aDoc, SOURCE_LENGTH_UNKNOWN, 0, aOS);
+  }
+
+  /**
+   * Write the snapshot of the passed document.
+   *
+   * @param aDoc
+   *        The document to write. May not be <code>null</code> and must have a
+   *        document element.
+   * @param nSourceLength
+   *        The length of the source XML in bytes or
+   *        {@link #SOURCE_LENGTH_UNKNOWN}.
+   * @param nSourceChecksum
+   *        The checksum of the source XML as returned by
+   *        {@link #getChecksum(byte[])}.
+   * @param aOS
+   *        The output stream to write to. May not be <code>null</code>. The
+   *        stream is flushed but not closed.
+   * @throws IOException
+   *         In case writing fails
+   */
+  public static void writeSnapshot (@Nonnull final IMicroDocument aDoc,
+                                    final long nSourceLength,
+                                    final int nSourceChecksum,
+                                    @Nonnull @WillNotClose final OutputStream aOS) throws IOException
+  {
+    ValueEnforcer.notNull (aDoc, "Document");
+    ValueEnforcer.notNull (aDoc.getDocumentElement (), "Document.DocumentElement");
+    ValueEnforcer.isTrue (nSourceLength >= SOURCE_LENGTH_UNKNOWN, "Invalid source length");
+    ValueEnforcer.notNull (aOS, "OutputStream");
+
+    final IMicroElement eRoot = aDoc.getDocumentElement ();
+    final ICommonsOrderedMap <String, Integer> aStrings = new CommonsLinkedHashMap<> ();
+    _collectStrings (eRoot, aStrings);
+
+    final DataOutputStream aDOS = new DataOutputStream (new BufferedOutputStream (aOS));
+    aDOS.writeInt (MAGIC);
+    aDOS.writeInt (VERSION);
+    aDOS.writeLong (nSourceLength);
+    aDOS.writeInt (nSourceChecksum);
+
+    // String table
+    _writeVarInt (aDOS, aStrings.size ());
+    for (final String s : aStrings.keySet ())
+    {
+      final byte [] aBytes = s.getBytes (StandardCharsets.UTF_8);
+      _writeVarInt (aDOS, aBytes.length);
+      aDOS.write (aBytes);
+    }
+
+    // Element tree
+    _writeNode (aDOS, eRoot, aStrings);
+    aDOS.flush ();
+  }
+
+  @Nonnegative
+  private static int _readVarInt (@Nonnull final DataInputStream aDIS) throws IOException
+  {
+    int ret = 0;
+    int nShift = 0;
+    while (true)
+    {
+      final int b = aDIS.readUnsignedByte ();
+      ret |= (b & 0x7f) << nShift;
+      if ((b & 0x80) == 0)
+        return ret;
+      nShift += 7;
+      if (nShift > 28)
+        throw new IOException ("Invalid variable length integer in snapshot");
+    }
+  }
+
+  @Nonnegative
+  private static int _readCount (@Nonnull final DataInputStream aDIS) throws IOException
+  {
+    final int ret = _readVarInt (aDIS);
+    if (ret < 0)
+      throw new IOException ("Invalid count " + ret + " in snapshot");
+    return ret;
+  }
+
+  @Nonnull
+  private static byte [] _readBytes (@Nonnull final DataInputStream aDIS,
+                                     @Nonnegative final int nLength) throws IOException
+  {
+    if (nLength <= MAX_CHUNK_SIZE)
+    {
+      final byte [] ret = new byte [nLength];
+      aDIS.readFully (ret);
+      return ret;
+    }
+
+    // Don't trust the length of a possibly corrupt snapshot for the allocation
+    final ByteArrayOutputStream aBAOS = new ByteArrayOutputStream (MAX_CHUNK_SIZE);
+    final byte [] aBuffer = new byte [MAX_CHUNK_SIZE];
+    int nRemaining = nLength;
+    while (nRemaining > 0)
+    {
+      final int nRead = Math.min (nRemaining, aBuffer.length);
+      aDIS.readFully (aBuffer, 0, nRead);
+      aBAOS.write (aBuffer, 0, nRead);
+      nRemaining -= nRead;
+    }
+    return aBAOS.toByteArray ();
+  }
+
+  @Nullable
+  private static String _readString (@Nonnull final DataInputStream aDIS,
+                                     @Nonnull final String [] aStrings) throws IOException
+  {
+    final int nIndex = _readVarInt (aDIS);
+    if (nIndex == 0)
+      return null;
+    if (nIndex > aStrings.length)
+      throw new IOException ("Invalid string index " + nIndex + " in snapshot");
+    return aStrings[nIndex - 1];
+  }
+
+  private static void _readChildren (@Nonnull final DataInputStream aDIS,
+                                     @Nonnull final IMicroElement eParent,
+                                     @Nonnull final String [] aStrings,
+                                     final int nDepth) throws IOException
+  {
+    final int nChildCount = _readCount (aDIS);
+    for (int i = 0; i < nChildCount; ++i)
+    {
+      final byte nType = aDIS.readByte ();
+      switch (nType)
+      {
+        case NODE_ELEMENT:
+        {
+          final String sNamespaceURI = _readString (aDIS, aStrings);
+          final IMicroElement eElement = eParent.appendElement (sNamespaceURI, _readString (aDIS, aStrings));
+          _readAttributesAndChildren (aDIS, eElement, aStrings, nDepth + 1);
+          break;
+        }
+        case NODE_TEXT:
+          eParent.appendText (_readString (aDIS, aStrings));
+          break;
+        case NODE_CDATA:
+          eParent.appendCDATA (_readString (aDIS, aStrings));
+          break;
+        default:
+          throw new IOException ("Invalid node type " + nType + " in snapshot");
+      }
+    }
+  }
+
+  private static void _readAttributesAndChildren (@Nonnull final DataInputStream aDIS,
+                                                  @Nonnull final IMicroElement eElement,
+                                                  @Nonnull final String [] aStrings,
+                                                  final int nDepth) throws IOException
+  {
+    if (nDepth > MAX_DEPTH)
+      throw new IOException ("The code list snapshot is nested too deeply");
+    final int nAttrCount = _readCount (aDIS);
+    for (int i = 0; i < nAttrCount; ++i)
+    {
+      final String sNamespaceURI = _readString (aDIS, aStrings);
+      final String sName = _readString (aDIS, aStrings);
+      eElement.setAttribute (sNamespaceURI, sName, _readString (aDIS, aStrings));
+    }
+    _readChildren (aDIS, eElement, aStrings, nDepth);
+  }
+
+  /**
+   * Read a snapshot previously written with
+   * {@link #writeSnapshot(IMicroDocument, OutputStream)}. The source
+   * information of the snapshot is not checked.
+   *
+   * @param aIS
+   *        The input stream to read from. May not be <code>null</code>. The
+   *        stream is not closed.
+   * @return The read document. Never <code>null</code>.
+   * @throws IOException
+   *         In case reading fails, the snapshot is corrupt or has a different
+   *         version than {@link #VERSION}.
+   */
+  @Nonnull
+  public static IMicroDocument readSnapshot (@Nonnull @WillNotClose final InputStream aIS) throws IOException
+  {
+    return _readSnapshot (aIS, false, SOURCE_LENGTH_UNKNOWN, 0);
+  }
+
+  /**
+   * Read a snapshot previously written with
+   * {@link #writeSnapshot(IMicroDocument, long, int, OutputStream)} and check
+   * that it was created from the expected source XML.
+   *
+   * @param aIS
+   *        The input stream to read from. May not be <code>null</code>. The
+   *        stream is not closed.
+   * @param nSourceLength
+   *        The length of the current source XML in bytes.
+   * @param nSourceChecksum
+   *        The checksum of the current source XML as returned by
+   *        {@link #getChecksum(byte[])}.
+   * @return The read document. Never <code>null</code>.
+   * @throws IOException
+   *         In case reading fails, the snapshot is corrupt, has a different
+   *         version than {@link #VERSION} or was created from a different
+   *         source.
+   */
+  @Nonnull
+  public static IMicroDocument readSnapshot (@Nonnull @WillNotClose final InputStream aIS,
+                                            @Nonnegative final long nSourceLength,
+                                            final int nSourceChecksum) throws IOException
+  {
+    ValueEnforcer.isGE0 (nSourceLength, "SourceLength");
+    return _readSnapshot (aIS, true, nSourceLength, nSourceChecksum);
+  }
+
+  @Nonnull
+  private static IMicroDocument _readSnapshot (@Nonnull @WillNotClose final InputStream aIS,
+                                               final boolean bCheckSource,
+                                               final long nSourceLength,
+                                               final int nSourceChecksum) throws IOException
+  {
+    ValueEnforcer.notNull (aIS, "InputStream");
+
+    final DataInputStream aDIS = new DataInputStream (new BufferedInputStream (aIS));
+    try
+    {
+      if (aDIS.readInt () != MAGIC)
+        throw new IOException ("The passed stream is not a code list snapshot");
+      final int nVersion = aDIS.readInt ();
+      if (nVersion != VERSION)
+        throw new IOException ("The code list snapshot has version " +
+                               nVersion +
+                               " but only version " +
+                               VERSION +
+                               " is supported");
+      final long nReadSourceLength = aDIS.readLong ();
+      final int nReadSourceChecksum = aDIS.readInt ();
+      if (bCheckSource && (nReadSourceLength != nSourceLength || nReadSourceChecksum != nSourceChecksum))
+        throw new IOException ("The code list snapshot was not created from the current source");
+
+      // String table - only allocate what was actually read
+      final int nStringCount = _readCount (aDIS);
+      final ICommonsList <String> aStringList = new CommonsArrayList<> (Math.min (nStringCount, 1024));
+      for (int i = 0; i < nStringCount; ++i)
+        aStringList.add (new String (_readBytes (aDIS, _readCount (aDIS)), StandardCharsets.UTF_8));
+      final String [] aStrings = aStringList.toArray (new String [nStringCount]);
+
+      // Element tree
+      if (aDIS.readByte () != NODE_ELEMENT)
+        throw new IOException ("The code list snapshot contains no document element");
+      final IMicroDocument ret = new MicroDocument ();
+      final String sNamespaceURI = _readString (aDIS, aStrings);
+      final IMicroElement eRoot = ret.appendElement (sNamespaceURI, _readString (aDIS, aStrings));
+      _readAttributesAndChildren (aDIS, eRoot, aStrings, 0);
+      return ret;
+    }
+    catch (final EOFException ex)
+    {
+      throw new IOException ("The code list snapshot is truncated", ex);
+    }
+    catch (final RuntimeException ex)
+    {
+      // E.g. a missing element name
+      throw new IOException ("The code list snapshot is corrupt", ex);
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.codelist;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.xml.microdom.IMicroDocument;
+import com.helger.xml.microdom.serialize.MicroReader;
+
+/**
+ * Creates the {@link CodeListSnapshot} files for all XML code lists of a
+ * directory. This is invoked during the build for the <code>codelists</code>
+ * directory of the build output, so that the snapshots are contained in the
+ * JAR next to the XML files.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+public final class CodeListSnapshotCompiler
+{
+  private static final Logger s_aLogger = LoggerFactory.getLogger (CodeListSnapshotCompiler.class);
+
+  private CodeListSnapshotCompiler ()
+  {}
+
+  /**
+   * Create the snapshot of a single XML file. The snapshot is written to the
+   * same directory, with {@link CodeListReader#SNAPSHOT_EXTENSION} appended to
+   * the file name. The length and checksum of the XML file are stored in the
+   * snapshot, so that {@link CodeListReader} can detect outdated snapshots.
+   *
+   * @param aXMLFile
+   *        The XML file to compile. May not be <code>null</code>.
+   * @return The created snapshot file. Never <code>null</code>.
+   * @throws IOException
+   *         If reading or writing fails
+   */
+  @Nonnull
+  public static File compileFile (@Nonnull final File aXMLFile) throws IOException
+  {
+    ValueEnforcer.notNull (aXMLFile, "XMLFile");
+
+    final byte [] aXMLBytes = Files.readAllBytes (aXMLFile.toPath ());
+    final IMicroDocument aDoc = MicroReader.readMicroXML (new ByteArrayInputStream (aXMLBytes));
+    if (aDoc == null || aDoc.getDocumentElement () == null)
+      throw new IOException ("Failed to read " + aXMLFile.getAbsolutePath () + " as XML");
+
+    final File aSnapshotFile = new File (aXMLFile.getParentFile (),
+                                         aXMLFile.getName () + CodeListReader.SNAPSHOT_EXTENSION);
+    try (final OutputStream aOS = new FileOutputStream (aSnapshotFile))
+    {
+      CodeListSnapshot.writeSnapshot (aDoc, aXMLBytes.length, CodeListSnapshot.getChecksum (aXMLBytes), aOS);
+    }
+    s_aLogger.info ("Compiled " +
+                    aXMLFile.getName () +
+                    " (" +
+                    aXMLBytes.length +
+                    " bytes) to " +
+                    aSnapshotFile.getName () +
+                    " (" +
+                    aSnapshotFile.length () +
+                    " bytes)");
+    return aSnapshotFile;
+  }
+
+  /**
+   * Create the snapshots of all XML files in the passed directory. Sub
+   * directories are not considered.
+   *
+   * @param aDir
+   *        The directory to scan. May not be <code>null</code>.
+   * @return The number of created snapshots.
+   * @throws IOException
+   *         If reading or writing fails
+   */
+  @Nonnegative
+  public static int compileDirectory (@Nonnull final File aDir) throws IOException
+  {
+    ValueEnforcer.notNull (aDir, "Dir");
+
+    final File [] aXMLFiles = aDir.listFiles ( (d, n) -> n.endsWith (".xml"));
+    if (aXMLFiles == null)
+      throw new IOException ("Failed to list files of directory " + aDir.getAbsolutePath ());
+    for (final File aXMLFile : aXMLFiles)
+      compileFile (aXMLFile);
+    return aXMLFiles.length;
+  }
+
+  /**
+   * Entry point for the build.
+   *
+   * @param aArgs
+   *        The directories containing the code lists to compile.
+   * @throws IOException
+   *         If reading or writing fails
+   */
+  public static void main (@Nonnull final String [] aArgs) throws IOException
+  {
+    if (aArgs.length == 0)
+      throw new IllegalArgumentException ("Usage: " + CodeListSnapshotCompiler.class.getName () + " <directory>+");
+    for (final String sDir : aArgs)
+    {
+      final int nCount = compileDirectory (new File (sDir));
+      s_aLogger.info ("Compiled " + nCount + " code list snapshot(s) in " + sDir);
+    }
+  }
+}
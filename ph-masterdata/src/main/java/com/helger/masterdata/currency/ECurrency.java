@@ -328,6 +328,20 @@ public enum ECurrency implements IHasID <String>,IHasDisplayText
   private final DecimalFormat m_aValueFormat;
   @CodingStyleguideUnaware
   private RoundingMode m_eRoundingMode;
+  // Per thread copies of the formats - replaced when the formats change
+  @CodingStyleguideUnaware
+  private volatile ThreadLocal <DecimalFormat> m_aTLCurrencyFormat;
+  @CodingStyleguideUnaware
+  private volatile ThreadLocal <DecimalFormat> m_aTLValueFormat;
+  @CodingStyleguideUnaware
+  private volatile ThreadLocal <DecimalFormat> m_aTLCurrencyParseFormat;
+  @CodingStyleguideUnaware
+  private volatile ThreadLocal <DecimalFormat> m_aTLValueParseFormat;
+  // Optional DecimalFormat free formatters
+  @CodingStyleguideUnaware
+  private volatile FastDecimalFormatter m_aFastCurrencyFormatter;
+  @CodingStyleguideUnaware
+  private volatile FastDecimalFormatter m_aFastValueFormatter;
 
   @Nonnull
   @ReturnsMutableCopy
@@ -413,6 +427,75 @@ public enum ECurrency implements IHasID <String>,IHasDisplayText
 
     // By default the default rounding mode should be used
     m_eRoundingMode = null;
+
+    _initCachedFormats ();
+  }
+
+  @Nonnull
+  private static ThreadLocal <DecimalFormat> _createThreadLocal (@Nonnull final DecimalFormat aFormat)
+  {
+    // DecimalFormat is not thread safe - one clone per thread
+    return ThreadLocal.withInitial ( () -> (DecimalFormat) aFormat.clone ());
+  }
+
+  /**
+   * (Re-)create all cached formatters based on the current formats.
+   */
+  private void _initCachedFormats ()
+  {
+    m_aTLCurrencyFormat = _createThreadLocal (m_aCurrencyFormat);
+    m_aTLValueFormat = _createThreadLocal (m_aValueFormat);
+    // Parsing modifies the format, so use separate objects
+    m_aTLCurrencyParseFormat = _createThreadLocal (m_aCurrencyFormat);
+    m_aTLValueParseFormat = _createThreadLocal (m_aValueFormat);
+    m_aFastCurrencyFormatter = FastDecimalFormatter.createOrNull (m_aCurrencyFormat, true);
+    m_aFastValueFormatter = FastDecimalFormatter.createOrNull (m_aValueFormat, false);
+  }
+
+  @Nonnull
+  private static String _getFormatted (@Nullable final FastDecimalFormatter aFastFormatter,
+                                       @Nonnull final ThreadLocal <DecimalFormat> aTLFormat,
+                                       @Nonnull final BigDecimal aValue)
+  {
+    if (aFastFormatter != null)
+    {
+      final String ret = aFastFormatter.format (aValue);
+      if (ret != null)
+        return ret;
+    }
+    return aTLFormat.get ().format (aValue);
+  }
+
+  @Nonnull
+  private static String _getFormatted (@Nullable final FastDecimalFormatter aFastFormatter,
+                                       @Nonnull final ThreadLocal <DecimalFormat> aTLFormat,
+                                       @Nonnull final BigDecimal aValue,
+                                       @Nonnegative final int nFractionDigits)
+  {
+    if (aFastFormatter != null)
+    {
+      // Same semantics as DecimalFormat.setMaximumFractionDigits
+      final String ret = aFastFormatter.format (aValue,
+                                                Math.min (aFastFormatter.getMinimumFractionDigits (), nFractionDigits),
+                                                nFractionDigits);
+      if (ret != null)
+        return ret;
+    }
+
+    final DecimalFormat aFormat = aTLFormat.get ();
+    final int nOldMinFractionDigits = aFormat.getMinimumFractionDigits ();
+    final int nOldMaxFractionDigits = aFormat.getMaximumFractionDigits ();
+    aFormat.setMaximumFractionDigits (nFractionDigits);
+    try
+    {
+      return aFormat.format (aValue);
+    }
+    finally
+    {
+      // Restore the cached object
+      aFormat.setMinimumFractionDigits (nOldMinFractionDigits);
+      aFormat.setMaximumFractionDigits (nOldMaxFractionDigits);
+    }
   }
 
   /**
@@ -505,15 +588,16 @@ public enum ECurrency implements IHasID <String>,IHasDisplayText
   @Nonnull
   public String getCurrencyFormatted (@Nonnull final BigDecimal aValue)
   {
-    return getCurrencyFormat ().format (aValue);
+    ValueEnforcer.notNull (aValue, "Value");
+    return _getFormatted (m_aFastCurrencyFormatter, m_aTLCurrencyFormat, aValue);
   }
 
   @Nonnull
   public String getCurrencyFormatted (@Nonnull final BigDecimal aValue, @Nonnegative final int nFractionDigits)
   {
-    final DecimalFormat aFormat = getCurrencyFormat ();
-    aFormat.setMaximumFractionDigits (nFractionDigits);
-    return aFormat.format (aValue);
+    ValueEnforcer.notNull (aValue, "Value");
+    ValueEnforcer.isGE0 (nFractionDigits, "FractionDigits");
+    return _getFormatted (m_aFastCurrencyFormatter, m_aTLCurrencyFormat, aValue, nFractionDigits);
   }
 
   /**
@@ -532,15 +616,16 @@ public enum ECurrency implements IHasID <String>,IHasDisplayText
   @Nonnull
   public String getValueFormatted (@Nonnull final BigDecimal aValue)
   {
-    return getValueFormat ().format (aValue);
+    ValueEnforcer.notNull (aValue, "Value");
+    return _getFormatted (m_aFastValueFormatter, m_aTLValueFormat, aValue);
   }
 
   @Nonnull
   public String getValueFormatted (@Nonnull final BigDecimal aValue, @Nonnegative final int nFractionDigits)
   {
-    final DecimalFormat aFormat = getValueFormat ();
-    aFormat.setMaximumFractionDigits (nFractionDigits);
-    return aFormat.format (aValue);
+    ValueEnforcer.notNull (aValue, "Value");
+    ValueEnforcer.isGE0 (nFractionDigits, "FractionDigits");
+    return _getFormatted (m_aFastValueFormatter, m_aTLValueFormat, aValue, nFractionDigits);
   }
 
   /**
@@ -564,6 +649,7 @@ public enum ECurrency implements IHasID <String>,IHasDisplayText
     ValueEnforcer.isGE0 (nDecimals, "Decimals");
     m_aCurrencyFormat.setMinimumFractionDigits (nDecimals);
     m_aValueFormat.setMinimumFractionDigits (nDecimals);
+    _initCachedFormats ();
   }
 
   @Nullable
@@ -648,7 +734,7 @@ public enum ECurrency implements IHasID <String>,IHasDisplayText
   @Nullable
   public BigDecimal parseCurrencyFormat (@Nullable final String sTextValue, @Nullable final BigDecimal aDefault)
   {
-    final DecimalFormat aCurrencyFormat = getCurrencyFormat ();
+    final DecimalFormat aCurrencyFormat = m_aTLCurrencyParseFormat.get ();
 
     // Adopt the decimal separator
     final String sRealTextValue = _getTextValueForDecimalSeparator (sTextValue,
@@ -673,7 +759,7 @@ public enum ECurrency implements IHasID <String>,IHasDisplayText
   public BigDecimal parseCurrencyFormatUnchanged (@Nullable final String sTextValue,
                                                   @Nullable final BigDecimal aDefault)
   {
-    final DecimalFormat aCurrencyFormat = getCurrencyFormat ();
+    final DecimalFormat aCurrencyFormat = m_aTLCurrencyParseFormat.get ();
     return CurrencyHelper.parseCurrency (sTextValue, aCurrencyFormat, aDefault, getRoundingMode ());
   }
 
@@ -693,7 +779,7 @@ public enum ECurrency implements IHasID <String>,IHasDisplayText
   @Nullable
   public BigDecimal parseValueFormat (@Nullable final String sTextValue, @Nullable final BigDecimal aDefault)
   {
-    final DecimalFormat aValueFormat = getValueFormat ();
+    final DecimalFormat aValueFormat = m_aTLValueParseFormat.get ();
 
     // Adopt the decimal separator
     final String sRealTextValue = _getTextValueForDecimalSeparator (sTextValue,
@@ -717,7 +803,7 @@ public enum ECurrency implements IHasID <String>,IHasDisplayText
   @Nullable
   public BigDecimal parseValueFormatUnchanged (@Nullable final String sTextValue, @Nullable final BigDecimal aDefault)
   {
-    final DecimalFormat aValueFormat = getValueFormat ();
+    final DecimalFormat aValueFormat = m_aTLValueParseFormat.get ();
 
     return CurrencyHelper.parseCurrency (sTextValue, aValueFormat, aDefault, getRoundingMode ());
   }
@@ -0,0 +1,249 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.currency;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * A formatter for {@link BigDecimal} values that produces the same output as a
+ * simple {@link DecimalFormat} (prefix, grouped integer part, fraction and
+ * suffix) without using {@link DecimalFormat} at runtime. It is immutable and
+ * can therefore be shared between threads. Configurations that are not
+ * supported (e.g. exponential notation or a multiplier) are detected upon
+ * creation, and values that cannot be handled result in a <code>null</code>
+ * result so that the caller can fall back to {@link DecimalFormat}.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+final class FastDecimalFormatter
+{
+  // Values used to verify that this formatter behaves like the original
+  private static final BigDecimal [] CHECK_VALUES = { BigDecimal.ZERO,
+                                                      new BigDecimal ("0.5"),
+                                                      new BigDecimal ("-0.5"),
+                                                      new BigDecimal ("12"),
+                                                      new BigDecimal ("-7.005"),
+                                                      new BigDecimal ("1234.56"),
+                                                      new BigDecimal ("1234567.891"),
+                                                      new BigDecimal ("-98765432.1") };
+
+  private final String m_sPositivePrefix;
+  private final String m_sPositiveSuffix;
+  private final String m_sNegativePrefix;
+  private final String m_sNegativeSuffix;
+  private final int m_nMinIntegerDigits;
+  private final int m_nMaxIntegerDigits;
+  private final int m_nMinFractionDigits;
+  private final int m_nMaxFractionDigits;
+  private final int m_nGroupingSize;
+  private final boolean m_bDecimalSeparatorAlwaysShown;
+  private final char m_cZeroDigit;
+  private final char m_cDecimalSeparator;
+  private final char m_cGroupingSeparator;
+  private final RoundingMode m_eRoundingMode;
+
+  private FastDecimalFormatter (@Nonnull final DecimalFormat aFormat, final boolean bCurrencyFormat)
+  {
+    final DecimalFormatSymbols aSymbols = aFormat.getDecimalFormatSymbols ();
+    m_sPositivePrefix = aFormat.getPositivePrefix ();
+    m_sPositiveSuffix = aFormat.getPositiveSuffix ();
+    m_sNegativePrefix = aFormat.getNegativePrefix ();
+    m_sNegativeSuffix = aFormat.getNegativeSuffix ();
+    m_nMinIntegerDigits = aFormat.getMinimumIntegerDigits ();
+    m_nMaxIntegerDigits = aFormat.getMaximumIntegerDigits ();
+    m_nMinFractionDigits = aFormat.getMinimumFractionDigits ();
+    m_nMaxFractionDigits = aFormat.getMaximumFractionDigits ();
+    m_nGroupingSize = aFormat.isGroupingUsed () ? aFormat.getGroupingSize () : 0;
+    m_bDecimalSeparatorAlwaysShown = aFormat.isDecimalSeparatorAlwaysShown ();
+    m_cZeroDigit = aSymbols.getZeroDigit ();
+    m_cDecimalSeparator = bCurrencyFormat ? aSymbols.getMonetaryDecimalSeparator () : aSymbols.getDecimalSeparator ();
+    m_cGroupingSeparator = aSymbols.getGroupingSeparator ();
+    m_eRoundingMode = aFormat.getRoundingMode ();
+  }
+
+  @Nonnegative
+  public int getMinimumFractionDigits ()
+  {
+    return m_nMinFractionDigits;
+  }
+
+  @Nonnegative
+  public int getMaximumFractionDigits ()
+  {
+    return m_nMaxFractionDigits;
+  }
+
+  /**
+   * Format the passed value with the fraction digits of the original format.
+   *
+   * @param aValue
+   *        The value to be formatted. May not be <code>null</code>.
+   * @return <code>null</code> if this value cannot be formatted like
+   *         {@link DecimalFormat} would do it.
+   */
+  @Nullable
+  public String format (@Nonnull final BigDecimal aValue)
+  {
+    return format (aValue, m_nMinFractionDigits, m_nMaxFractionDigits);
+  }
+
+  /**
+   * Format the passed value with custom fraction digits.
+   *
+   * @param aValue
+   *        The value to be formatted. May not be <code>null</code>.
+   * @param nMinFractionDigits
+   *        Minimum number of fraction digits. Must be &ge; 0 and &le; the
+   *        maximum fraction digits.
+   * @param nMaxFractionDigits
+   *        Maximum number of fraction digits. Must be &ge; 0.
+   * @return <code>null</code> if this value cannot be formatted like
+   *         {@link DecimalFormat} would do it.
+   */
+  @Nullable
+  public String format (@Nonnull final BigDecimal aValue,
+                        @Nonnegative final int nMinFractionDigits,
+                        @Nonnegative final int nMaxFractionDigits)
+  {
+    final BigDecimal aRounded = aValue.setScale (nMaxFractionDigits, m_eRoundingMode);
+    final int nSignum = aRounded.signum ();
+    if (nSignum == 0 && aValue.signum () < 0)
+    {
+      // DecimalFormat emits a negative zero in this case
+      return null;
+    }
+
+    // All digits without a sign
+    final String sDigits = aRounded.unscaledValue ().abs ().toString ();
+    final int nDigits = sDigits.length ();
+    // Number of digits in front of the decimal point - may be negative for
+    // values < 0.1
+    final int nIntDigits = nDigits - nMaxFractionDigits;
+
+    // Remove trailing zeroes as long as allowed
+    int nFractionDigits = nMaxFractionDigits;
+    while (nFractionDigits > nMinFractionDigits)
+    {
+      final int nIndex = nIntDigits + nFractionDigits - 1;
+      if (nIndex >= 0 && sDigits.charAt (nIndex) != '0')
+        break;
+      nFractionDigits--;
+    }
+
+    // Leading zero of a value < 1 is not a significant digit
+    final int nSignificantIntDigits = nIntDigits <= 0 || (nIntDigits == 1 && sDigits.charAt (0) == '0') ? 0
+                                                                                                         : nIntDigits;
+    if (nSignificantIntDigits > m_nMaxIntegerDigits)
+      return null;
+    final int nPaddedIntDigits = Math.max (nSignificantIntDigits, m_nMinIntegerDigits);
+    final int nDigitOffset = m_cZeroDigit - '0';
+
+    final boolean bNegative = nSignum < 0;
+    final StringBuilder aSB = new StringBuilder (nPaddedIntDigits + nFractionDigits + 16);
+    aSB.append (bNegative ? m_sNegativePrefix : m_sPositivePrefix);
+
+    // Integer part
+    for (int i = 0; i < nPaddedIntDigits; ++i)
+    {
+      final int nRemaining = nPaddedIntDigits - i;
+      if (i > 0 && m_nGroupingSize > 0 && (nRemaining % m_nGroupingSize) == 0)
+        aSB.append (m_cGroupingSeparator);
+      if (nRemaining > nSignificantIntDigits)
+        aSB.append (m_cZeroDigit);
+      else
+        aSB.append ((char) (sDigits.charAt (nSignificantIntDigits - nRemaining) + nDigitOffset));
+    }
+
+    // Fraction part
+    if (nFractionDigits > 0 || m_bDecimalSeparatorAlwaysShown)
+      aSB.append (m_cDecimalSeparator);
+    for (int i = 0; i < nFractionDigits; ++i)
+    {
+      final int nIndex = nIntDigits + i;
+      aSB.append (nIndex < 0 ? m_cZeroDigit : (char) (sDigits.charAt (nIndex) + nDigitOffset));
+    }
+
+    aSB.append (bNegative ? m_sNegativeSuffix : m_sPositiveSuffix);
+    return aSB.toString ();
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("PositivePrefix", m_sPositivePrefix)
+                                       .append ("PositiveSuffix", m_sPositiveSuffix)
+                                       .append ("NegativePrefix", m_sNegativePrefix)
+                                       .append ("NegativeSuffix", m_sNegativeSuffix)
+                                       .append ("MinIntegerDigits", m_nMinIntegerDigits)
+                                       .append ("MaxIntegerDigits", m_nMaxIntegerDigits)
+                                       .append ("MinFractionDigits", m_nMinFractionDigits)
+                                       .append ("MaxFractionDigits", m_nMaxFractionDigits)
+                                       .append ("GroupingSize", m_nGroupingSize)
+                                       .append ("DecimalSeparatorAlwaysShown", m_bDecimalSeparatorAlwaysShown)
+                                       .append ("ZeroDigit", m_cZeroDigit)
+                                       .append ("DecimalSeparator", m_cDecimalSeparator)
+                                       .append ("GroupingSeparator", m_cGroupingSeparator)
+                                       .append ("RoundingMode", m_eRoundingMode)
+                                       .getToString ();
+  }
+
+  /**
+   * Create a fast formatter that behaves like the passed {@link DecimalFormat}
+   * .
+   *
+   * @param aFormat
+   *        The format to be mimicked. May not be <code>null</code>. The object
+   *        is not modified.
+   * @param bCurrencyFormat
+   *        <code>true</code> if the passed format contains the currency sign
+   *        and therefore uses the monetary decimal separator.
+   * @return <code>null</code> if the passed format uses features not
+   *         supported by this class.
+   */
+  @Nullable
+  public static FastDecimalFormatter createOrNull (@Nonnull final DecimalFormat aFormat,
+                                                   final boolean bCurrencyFormat)
+  {
+    if (aFormat.getMultiplier () != 1 || aFormat.getMinimumIntegerDigits () < 1)
+      return null;
+    if (aFormat.isGroupingUsed () && aFormat.getGroupingSize () <= 0)
+      return null;
+
+    final FastDecimalFormatter ret = new FastDecimalFormatter (aFormat, bCurrencyFormat);
+
+    // Ensure the result is identical for some reference values. This catches
+    // e.g. exponential notation or special separators
+    for (final BigDecimal aCheckValue : CHECK_VALUES)
+    {
+      final String sFormatted = ret.format (aCheckValue);
+      if (sFormatted != null && !sFormatted.equals (aFormat.format (aCheckValue)))
+        return null;
+    }
+    return ret;
+  }
+}
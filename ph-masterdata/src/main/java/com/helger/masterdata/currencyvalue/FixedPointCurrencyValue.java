@@ -0,0 +1,463 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.currencyvalue;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import javax.annotation.CheckReturnValue;
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.hashcode.HashCodeGenerator;
+import com.helger.commons.lang.ICloneable;
+import com.helger.commons.state.EChange;
+import com.helger.commons.string.ToStringGenerator;
+import com.helger.masterdata.currency.ECurrency;
+import com.helger.masterdata.currency.IHasCurrency;
+
+/**
+ * A currency value that stores the amount as a <code>long</code> in the minor
+ * unit of the currency (e.g. cents for EUR), based on
+ * {@link ECurrency#getScale()}. All arithmetic operations are checked for
+ * overflow and throw an {@link ArithmeticException} if the result does not fit
+ * into a <code>long</code>. Operations that need rounding use
+ * {@link ECurrency#getRoundingMode()}.<br>
+ * In contrast to {@link CurrencyValue} the in-place operations like
+ * {@link #add(FixedPointCurrencyValue)} don't allocate any objects, so this
+ * class is well suited to sum up a large number of amounts.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@NotThreadSafe
+public final class FixedPointCurrencyValue implements
+                                           IHasCurrency,
+                                           Serializable,
+                                           ICloneable <FixedPointCurrencyValue>
+{
+  private final ECurrency m_eCurrency;
+  private long m_nMinorUnits;
+
+  public FixedPointCurrencyValue (@Nonnull final FixedPointCurrencyValue aOther)
+  {
+    this (aOther.getCurrency (), aOther.getMinorUnits ());
+  }
+
+  /**
+   * Create a new object from the passed currency value without loss of
+   * precision.
+   *
+   * @param aCurrencyValue
+   *        The currency value to use. May not be <code>null</code>.
+   * @throws ArithmeticException
+   *         if the value has more fraction digits than the currency scale or
+   *         if it does not fit into a <code>long</code>.
+   */
+  public FixedPointCurrencyValue (@Nonnull final ICurrencyValue aCurrencyValue)
+  {
+    this (aCurrencyValue.getCurrency (), getMinorUnits (aCurrencyValue.getCurrency (), aCurrencyValue.getValue ()));
+  }
+
+  public FixedPointCurrencyValue (@Nonnull final ECurrency eCurrency)
+  {
+    this (eCurrency, 0);
+  }
+
+  public FixedPointCurrencyValue (@Nonnull final ECurrency eCurrency, final long nMinorUnits)
+  {
+    m_eCurrency = ValueEnforcer.notNull (eCurrency, "Currency");
+    m_nMinorUnits = nMinorUnits;
+  }
+
+  @Nonnull
+  public ECurrency getCurrency ()
+  {
+    return m_eCurrency;
+  }
+
+  /**
+   * @return The number of fraction digits of the minor unit. Same as
+   *         {@link ECurrency#getScale()}.
+   */
+  @Nonnegative
+  public int getScale ()
+  {
+    return m_eCurrency.getScale ();
+  }
+
+  /**
+   * @return The amount in the minor unit of the currency.
+   */
+  public long getMinorUnits ()
+  {
+    return m_nMinorUnits;
+  }
+
+  @Nonnull
+  public EChange setMinorUnits (final long nMinorUnits)
+  {
+    if (nMinorUnits == m_nMinorUnits)
+      return EChange.UNCHANGED;
+    m_nMinorUnits = nMinorUnits;
+    return EChange.CHANGED;
+  }
+
+  /**
+   * @return The amount as a {@link BigDecimal} with the scale of the currency.
+   *         Never <code>null</code>.
+   */
+  @Nonnull
+  public BigDecimal getValue ()
+  {
+    return BigDecimal.valueOf (m_nMinorUnits, getScale ());
+  }
+
+  public boolean isZero ()
+  {
+    return m_nMinorUnits == 0;
+  }
+
+  public boolean isLowerThanZero ()
+  {
+    return m_nMinorUnits < 0;
+  }
+
+  public boolean isGreaterThanZero ()
+  {
+    return m_nMinorUnits > 0;
+  }
+
+  private void _checkSameCurrency (@Nonnull final FixedPointCurrencyValue aOther)
+  {
+    ValueEnforcer.notNull (aOther, "Other");
+    if (aOther.m_eCurrency != m_eCurrency)
+      throw new IllegalArgumentException ("Currency mismatch: " + m_eCurrency + " vs. " + aOther.m_eCurrency);
+  }
+
+  /**
+   * Add the passed amount in minor units to this value.
+   *
+   * @param nMinorUnits
+   *        The amount to add in minor units.
+   * @throws ArithmeticException
+   *         in case of an overflow
+   */
+  public void addMinorUnits (final long nMinorUnits)
+  {
+    m_nMinorUnits = Math.addExact (m_nMinorUnits, nMinorUnits);
+  }
+
+  /**
+   * Add the passed value to this value.
+   *
+   * @param aOther
+   *        The value to add. Must have the same currency.
+   * @throws ArithmeticException
+   *         in case of an overflow
+   */
+  public void add (@Nonnull final FixedPointCurrencyValue aOther)
+  {
+    _checkSameCurrency (aOther);
+    addMinorUnits (aOther.m_nMinorUnits);
+  }
+
+  /**
+   * Subtract the passed value from this value.
+   *
+   * @param aOther
+   *        The value to subtract. Must have the same currency.
+   * @throws ArithmeticException
+   *         in case of an overflow
+   */
+  public void subtract (@Nonnull final FixedPointCurrencyValue aOther)
+  {
+    _checkSameCurrency (aOther);
+    m_nMinorUnits = Math.subtractExact (m_nMinorUnits, aOther.m_nMinorUnits);
+  }
+
+  @Nonnull
+  @CheckReturnValue
+  public FixedPointCurrencyValue getAdded (@Nonnull final FixedPointCurrencyValue aOther)
+  {
+    _checkSameCurrency (aOther);
+    if (aOther.m_nMinorUnits == 0)
+      return this;
+    return new FixedPointCurrencyValue (m_eCurrency, Math.addExact (m_nMinorUnits, aOther.m_nMinorUnits));
+  }
+
+  @Nonnull
+  @CheckReturnValue
+  public FixedPointCurrencyValue getSubtracted (@Nonnull final FixedPointCurrencyValue aOther)
+  {
+    _checkSameCurrency (aOther);
+    if (aOther.m_nMinorUnits == 0)
+      return this;
+    return new FixedPointCurrencyValue (m_eCurrency, Math.subtractExact (m_nMinorUnits, aOther.m_nMinorUnits));
+  }
+
+  @Nonnull
+  @CheckReturnValue
+  public FixedPointCurrencyValue getNegated ()
+  {
+    if (m_nMinorUnits == 0)
+      return this;
+    return new FixedPointCurrencyValue (m_eCurrency, Math.negateExact (m_nMinorUnits));
+  }
+
+  @Nonnull
+  @CheckReturnValue
+  public FixedPointCurrencyValue getMultiplied (final long nValue)
+  {
+    if (nValue == 1)
+      return this;
+    return new FixedPointCurrencyValue (m_eCurrency, Math.multiplyExact (m_nMinorUnits, nValue));
+  }
+
+  /**
+   * Multiply this value with an arbitrary factor. The result is rounded to
+   * the minor unit with the rounding mode of the currency.
+   *
+   * @param aValue
+   *        The factor to use. May not be <code>null</code>.
+   * @return The multiplied value.
+   * @throws ArithmeticException
+   *         in case of an overflow
+   */
+  @Nonnull
+  @CheckReturnValue
+  public FixedPointCurrencyValue getMultiplied (@Nonnull final BigDecimal aValue)
+  {
+    ValueEnforcer.notNull (aValue, "Value");
+    final BigDecimal aResult = BigDecimal.valueOf (m_nMinorUnits)
+                                         .multiply (aValue)
+                                         .setScale (0, m_eCurrency.getRoundingMode ());
+    return new FixedPointCurrencyValue (m_eCurrency, aResult.longValueExact ());
+  }
+
+  /**
+   * Divide this value by the passed divisor. The result is rounded to the
+   * minor unit with the rounding mode of the currency.
+   *
+   * @param nDivisor
+   *        The divisor. May not be 0.
+   * @return The divided value.
+   * @throws ArithmeticException
+   *         if the divisor is 0
+   */
+  @Nonnull
+  @CheckReturnValue
+  public FixedPointCurrencyValue getDivided (final long nDivisor)
+  {
+    if (nDivisor == 1)
+      return this;
+    return new FixedPointCurrencyValue (m_eCurrency,
+                                        getDivided (m_nMinorUnits, nDivisor, m_eCurrency.getRoundingMode ()));
+  }
+
+  /**
+   * @return A new {@link CurrencyValue} with the same currency and value. This
+   *         conversion is lossless.
+   */
+  @Nonnull
+  public CurrencyValue getAsCurrencyValue ()
+  {
+    return new CurrencyValue (m_eCurrency, getValue ());
+  }
+
+  /**
+   * @return The value as a formatted currency including the currency sign.
+   */
+  @Nonnull
+  public String getCurrencyFormatted ()
+  {
+    return m_eCurrency.getCurrencyFormatted (getValue ());
+  }
+
+  /**
+   * @return The value as a formatted currency excluding the currency sign.
+   */
+  @Nonnull
+  public String getValueFormatted ()
+  {
+    return m_eCurrency.getValueFormatted (getValue ());
+  }
+
+  @Nonnull
+  public FixedPointCurrencyValue getClone ()
+  {
+    return new FixedPointCurrencyValue (this);
+  }
+
+  @Override
+  public boolean equals (final Object o)
+  {
+    if (o == this)
+      return true;
+    if (o == null || !getClass ().equals (o.getClass ()))
+      return false;
+    final FixedPointCurrencyValue rhs = (FixedPointCurrencyValue) o;
+    return m_eCurrency.equals (rhs.m_eCurrency) && m_nMinorUnits == rhs.m_nMinorUnits;
+  }
+
+  @Override
+  public int hashCode ()
+  {
+    return new HashCodeGenerator (this).append (m_eCurrency).append (m_nMinorUnits).getHashCode ();
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("currency", m_eCurrency)
+                                       .append ("minorUnits", m_nMinorUnits)
+                                       .getToString ();
+  }
+
+  /**
+   * Convert the passed value to minor units of the passed currency without
+   * loss of precision.
+   *
+   * @param eCurrency
+   *        The currency to use. May not be <code>null</code>.
+   * @param aValue
+   *        The value to convert. May not be <code>null</code>.
+   * @return The value in minor units.
+   * @throws ArithmeticException
+   *         if the value has more fraction digits than the currency scale or
+   *         if it does not fit into a <code>long</code>.
+   */
+  public static long getMinorUnits (@Nonnull final ECurrency eCurrency, @Nonnull final BigDecimal aValue)
+  {
+    ValueEnforcer.notNull (eCurrency, "Currency");
+    ValueEnforcer.notNull (aValue, "Value");
+    return aValue.setScale (eCurrency.getScale (), RoundingMode.UNNECESSARY).unscaledValue ().longValueExact ();
+  }
+
+  /**
+   * Convert the passed value to minor units of the passed currency. Additional
+   * fraction digits are rounded with the rounding mode of the currency.
+   *
+   * @param eCurrency
+   *        The currency to use. May not be <code>null</code>.
+   * @param aValue
+   *        The value to convert. May not be <code>null</code>.
+   * @return The value in minor units.
+   * @throws ArithmeticException
+   *         if the value does not fit into a <code>long</code>.
+   */
+  public static long getMinorUnitsRounded (@Nonnull final ECurrency eCurrency, @Nonnull final BigDecimal aValue)
+  {
+    ValueEnforcer.notNull (eCurrency, "Currency");
+    ValueEnforcer.notNull (aValue, "Value");
+    return aValue.setScale (eCurrency.getScale (), eCurrency.getRoundingMode ()).unscaledValue ().longValueExact ();
+  }
+
+  /**
+   * Create a new value from the passed currency value, rounding additional
+   * fraction digits with the rounding mode of the currency.
+   *
+   * @param aCurrencyValue
+   *        The currency value to use. May not be <code>null</code>.
+   * @return The new object. Never <code>null</code>.
+   * @throws ArithmeticException
+   *         if the value does not fit into a <code>long</code>.
+   */
+  @Nonnull
+  public static FixedPointCurrencyValue createRounded (@Nonnull final ICurrencyValue aCurrencyValue)
+  {
+    ValueEnforcer.notNull (aCurrencyValue, "CurrencyValue");
+    final ECurrency eCurrency = aCurrencyValue.getCurrency ();
+    return new FixedPointCurrencyValue (eCurrency, getMinorUnitsRounded (eCurrency, aCurrencyValue.getValue ()));
+  }
+
+  /**
+   * Divide two long values using the passed rounding mode. This is the
+   * <code>long</code> equivalent of
+   * {@link BigDecimal#divide(BigDecimal, int, RoundingMode)} with scale 0.
+   *
+   * @param nDividend
+   *        Dividend
+   * @param nDivisor
+   *        Divisor. May not be 0.
+   * @param eRoundingMode
+   *        The rounding mode to use. May not be <code>null</code>.
+   * @return The rounded quotient
+   * @throws ArithmeticException
+   *         if the divisor is 0, if the result overflows or if rounding is
+   *         necessary but {@link RoundingMode#UNNECESSARY} is used.
+   */
+  public static long getDivided (final long nDividend, final long nDivisor, @Nonnull final RoundingMode eRoundingMode)
+  {
+    ValueEnforcer.notNull (eRoundingMode, "RoundingMode");
+    if (nDivisor == 0)
+      throw new ArithmeticException ("Division by zero");
+    if (nDivisor == Long.MIN_VALUE || (nDividend == Long.MIN_VALUE && nDivisor == -1))
+    {
+      // Avoid overflows in the code below
+      return BigDecimal.valueOf (nDividend)
+                       .divide (BigDecimal.valueOf (nDivisor), 0, eRoundingMode)
+                       .longValueExact ();
+    }
+
+    final long nQuotient = nDividend / nDivisor;
+    final long nRemainder = nDividend - nDivisor * nQuotient;
+    if (nRemainder == 0)
+      return nQuotient;
+
+    // Sign of the exact result: 1 or -1
+    final int nSignum = 1 | (int) ((nDividend ^ nDivisor) >> (Long.SIZE - 1));
+    final boolean bIncrement;
+    switch (eRoundingMode)
+    {
+      case UNNECESSARY:
+        throw new ArithmeticException ("Rounding necessary");
+      case DOWN:
+        bIncrement = false;
+        break;
+      case UP:
+        bIncrement = true;
+        break;
+      case CEILING:
+        bIncrement = nSignum > 0;
+        break;
+      case FLOOR:
+        bIncrement = nSignum < 0;
+        break;
+      case HALF_EVEN:
+      case HALF_DOWN:
+      case HALF_UP:
+      {
+        final long nAbsRemainder = Math.abs (nRemainder);
+        // Compare remainder with the other half - avoids overflows
+        final long nCmp = nAbsRemainder - (Math.abs (nDivisor) - nAbsRemainder);
+        if (nCmp == 0)
+          bIncrement = eRoundingMode == RoundingMode.HALF_UP ||
+                       (eRoundingMode == RoundingMode.HALF_EVEN && (nQuotient & 1) != 0);
+        else
+          bIncrement = nCmp > 0;
+        break;
+      }
+      default:
+        throw new IllegalStateException ("Unsupported rounding mode " + eRoundingMode);
+    }
+    return bIncrement ? nQuotient + nSignum : nQuotient;
+  }
+}
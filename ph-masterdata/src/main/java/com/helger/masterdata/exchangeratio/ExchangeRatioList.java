@@ -18,35 +18,98 @@ package com.helger.masterdata.exchangeratio;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.Comparator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
 import com.helger.commons.collection.ext.CommonsTreeSet;
 import com.helger.commons.collection.ext.ICommonsList;
 import com.helger.commons.collection.ext.ICommonsNavigableSet;
 import com.helger.commons.lang.ICloneable;
 import com.helger.commons.state.EChange;
 import com.helger.commons.string.ToStringGenerator;
-import com.helger.datetime.util.PDTHelper;
 import com.helger.masterdata.currency.ECurrency;
 import com.helger.masterdata.currency.IHasCurrency;
 
 /**
  * This class maintains an ordered list of {@link ExchangeRatio}, sorted
- * ascending by date.
+ * ascending by date. For the lookup by date an array based index on the epoch
+ * day is created upon the first query after a modification.
  *
  * @author Philip Helger
  */
 @NotThreadSafe
 public class ExchangeRatioList implements ICloneable <ExchangeRatioList>, Serializable, IHasCurrency
 {
+  /**
+   * The exchange ratios sorted ascending by date, with the epoch day of each
+   * exchange ratio in a separate array for a fast binary search.
+   */
+  @Immutable
+  private static final class DateIndex
+  {
+    private final long [] m_aEpochDays;
+    private final ExchangeRatio [] m_aExchangeRatios;
+
+    DateIndex (@Nonnull final ICommonsNavigableSet <ExchangeRatio> aList)
+    {
+      m_aExchangeRatios = aList.toArray (new ExchangeRatio [aList.size ()]);
+      m_aEpochDays = new long [m_aExchangeRatios.length];
+      for (int i = 0; i < m_aExchangeRatios.length; ++i)
+        m_aEpochDays[i] = m_aExchangeRatios[i].getDate ().toEpochDay ();
+    }
+
+    /**
+     * @param nEpochDay
+     *        Epoch day to search
+     * @return The index of the first exchange ratio with an epoch day &ge; the
+     *         passed epoch day. Is the number of exchange ratios if no such
+     *         exchange ratio exists.
+     */
+    int getCeilingIndex (final long nEpochDay)
+    {
+      final int nIndex = Arrays.binarySearch (m_aEpochDays, nEpochDay);
+      return nIndex >= 0 ? nIndex : -(nIndex + 1);
+    }
+
+    /**
+     * Same as {@link #getCeilingIndex(long)} but scanning forward from the
+     * passed index. Used when resolving sorted dates.
+     *
+     * @param nEpochDay
+     *        Epoch day to search
+     * @param nFromIndex
+     *        The index to start at. All exchange ratios before this index must
+     *        have an epoch day &lt; the passed epoch day.
+     * @return The index of the first exchange ratio with an epoch day &ge; the
+     *         passed epoch day.
+     */
+    int getCeilingIndexFrom (final long nEpochDay, final int nFromIndex)
+    {
+      int ret = nFromIndex;
+      while (ret < m_aEpochDays.length && m_aEpochDays[ret] < nEpochDay)
+        ++ret;
+      return ret;
+    }
+
+    @Nullable
+    ExchangeRatio getOfIndex (final int nIndex)
+    {
+      return nIndex < m_aExchangeRatios.length ? m_aExchangeRatios[nIndex] : null;
+    }
+  }
+
   private final ECurrency m_eCurrency;
   private final ICommonsNavigableSet <ExchangeRatio> m_aList = new CommonsTreeSet<> (Comparator.comparing (ExchangeRatio::getDate));
+  // Status vars
+  private transient DateIndex m_aIndex;
 
   public ExchangeRatioList (@Nonnull final ECurrency eCurrency)
   {
@@ -70,14 +133,20 @@ public class ExchangeRatioList implements ICloneable <ExchangeRatioList>, Serial
   public EChange addExchangeRatio (@Nonnull final ExchangeRatio aExchangeRatio)
   {
     ValueEnforcer.notNull (aExchangeRatio, "ExchangeRatio");
-    return EChange.valueOf (m_aList.add (aExchangeRatio));
+    if (!m_aList.add (aExchangeRatio))
+      return EChange.UNCHANGED;
+    m_aIndex = null;
+    return EChange.CHANGED;
   }
 
   @Nonnull
   public EChange mergeWith (@Nonnull final ExchangeRatioList aList)
   {
     ValueEnforcer.notNull (aList, "List");
-    return EChange.valueOf (m_aList.addAll (aList.m_aList));
+    if (!m_aList.addAll (aList.m_aList))
+      return EChange.UNCHANGED;
+    m_aIndex = null;
+    return EChange.CHANGED;
   }
 
   @Nullable
@@ -86,18 +155,79 @@ public class ExchangeRatioList implements ICloneable <ExchangeRatioList>, Serial
     return m_aList.isEmpty () ? null : m_aList.last ();
   }
 
+  @Nonnull
+  private DateIndex _getIndex ()
+  {
+    DateIndex ret = m_aIndex;
+    if (ret == null)
+    {
+      // DateIndex is immutable so it is safe to publish it without
+      // synchronization
+      ret = m_aIndex = new DateIndex (m_aList);
+    }
+    return ret;
+  }
+
+  /**
+   * Get the exchange ratio to be used for the passed date. As the exchange
+   * ratios are sorted from oldest to newest, the first entry where the date is
+   * &ge; the passed date is used.
+   *
+   * @param aDate
+   *        The date to search. May not be <code>null</code>.
+   * @return <code>null</code> if no exchange ratio on or after the passed date
+   *         is present.
+   */
   @Nullable
   public ExchangeRatio getExchangeRatioOfDate (@Nonnull final LocalDate aDate)
   {
     ValueEnforcer.notNull (aDate, "Date");
-    for (final ExchangeRatio aExchangeRatio : m_aList)
+    final DateIndex aIndex = _getIndex ();
+    return aIndex.getOfIndex (aIndex.getCeilingIndex (aDate.toEpochDay ()));
+  }
+
+  /**
+   * Get the exchange ratios of multiple dates at once. This is the same as
+   * calling {@link #getExchangeRatioOfDate(LocalDate)} for each date, but all
+   * dates are resolved in a single merge pass over the exchange ratios.
+   *
+   * @param aDates
+   *        The dates to search. May not be <code>null</code> and may not
+   *        contain <code>null</code> elements. The dates must be sorted
+   *        ascending. Duplicate dates are allowed.
+   * @return A list with the same number of elements as the passed dates, where
+   *         each element is the exchange ratio of the date at the same index.
+   *         Elements are <code>null</code> if no exchange ratio on or after
+   *         the respective date is present. Never <code>null</code>.
+   * @throws IllegalArgumentException
+   *         if the passed dates are not sorted ascending
+   * @since 5.0.4
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <ExchangeRatio> getAllExchangeRatiosOfDates (@Nonnull final Iterable <? extends LocalDate> aDates)
+  {
+    ValueEnforcer.notNull (aDates, "Dates");
+
+    final DateIndex aIndex = _getIndex ();
+    final ICommonsList <ExchangeRatio> ret = new CommonsArrayList<> ();
+    int nIndex = 0;
+    long nLastEpochDay = Long.MIN_VALUE;
+    for (final LocalDate aDate : aDates)
     {
-      // As the exchange ratios are sorted from oldest to newest, we use the
-      // first entry where the date is >= the expected date
-      if (PDTHelper.isGreaterOrEqual (aExchangeRatio.getDate (), aDate))
-        return aExchangeRatio;
+      ValueEnforcer.notNull (aDate, "Date");
+      final long nEpochDay = aDate.toEpochDay ();
+      if (nEpochDay < nLastEpochDay)
+        throw new IllegalArgumentException ("The dates must be sorted ascending but " +
+                                            aDate +
+                                            " follows " +
+                                            LocalDate.ofEpochDay (nLastEpochDay));
+      // Continue where the previous date stopped
+      nIndex = aIndex.getCeilingIndexFrom (nEpochDay, nIndex);
+      nLastEpochDay = nEpochDay;
+      ret.add (aIndex.getOfIndex (nIndex));
     }
-    return null;
+    return ret;
   }
 
   @Nonnull
@@ -0,0 +1,450 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.exchangeratio;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsHashMap;
+import com.helger.commons.collection.ext.CommonsHashSet;
+import com.helger.commons.collection.ext.ICommonsMap;
+import com.helger.commons.collection.ext.ICommonsSet;
+import com.helger.commons.concurrent.SimpleLock;
+import com.helger.commons.concurrent.SimpleReadWriteLock;
+import com.helger.commons.hashcode.HashCodeGenerator;
+import com.helger.commons.state.EChange;
+import com.helger.commons.string.ToStringGenerator;
+import com.helger.masterdata.currency.ECurrency;
+import com.helger.masterdata.currencyvalue.CurrencyValue;
+import com.helger.masterdata.currencyvalue.ICurrencyValue;
+
+/**
+ * Converts between arbitrary currencies on a given date. For every currency
+ * except the base currency an {@link ExchangeRatioList} is maintained, where
+ * each exchange ratio is the amount in that currency that equals 1 unit of the
+ * base currency (e.g. a USD ratio of 1.1 with EUR as the base currency means
+ * that 1 EUR is 1.1 USD). The exchange ratio between two other currencies is
+ * derived via the base currency, and these cross rates are kept in a size
+ * limited LRU cache per source currency, target currency and date.<br>
+ * The date resolution of the underlying lists is used, so the first exchange
+ * ratio on or after the requested date is used.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@ThreadSafe
+public class ExchangeRatioMatrix
+{
+  /** The default maximum number of cached cross rates */
+  public static final int DEFAULT_MAX_CACHE_SIZE = 10_000;
+
+  /** The math context used to calculate cross rates */
+  public static final MathContext CROSS_RATE_MATH_CONTEXT = MathContext.DECIMAL128;
+
+  private static final class CacheKey
+  {
+    private final ECurrency m_eFrom;
+    private final ECurrency m_eTo;
+    private final long m_nEpochDay;
+    // Status vars
+    private int m_nHashCode = 0;
+
+    CacheKey (@Nonnull final ECurrency eFrom, @Nonnull final ECurrency eTo, final long nEpochDay)
+    {
+      m_eFrom = eFrom;
+      m_eTo = eTo;
+      m_nEpochDay = nEpochDay;
+    }
+
+    @Override
+    public boolean equals (final Object o)
+    {
+      if (o == this)
+        return true;
+      if (o == null || !getClass ().equals (o.getClass ()))
+        return false;
+      final CacheKey rhs = (CacheKey) o;
+      return m_eFrom.equals (rhs.m_eFrom) && m_eTo.equals (rhs.m_eTo) && m_nEpochDay == rhs.m_nEpochDay;
+    }
+
+    @Override
+    public int hashCode ()
+    {
+      int ret = m_nHashCode;
+      if (ret == 0)
+        ret = m_nHashCode = new HashCodeGenerator (this).append (m_eFrom)
+                                                         .append (m_eTo)
+                                                         .append (m_nEpochDay)
+                                                         .getHashCode ();
+      return ret;
+    }
+  }
+
+  private static final class CrossRateCache extends LinkedHashMap <CacheKey, BigDecimal>
+  {
+    private final int m_nMaxSize;
+
+    CrossRateCache (@Nonnegative final int nMaxSize)
+    {
+      // Use access order for LRU behaviour
+      super (16, 0.75f, true);
+      m_nMaxSize = nMaxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry (@Nonnull final Map.Entry <CacheKey, BigDecimal> aEldest)
+    {
+      return size () > m_nMaxSize;
+    }
+  }
+
+  private final ECurrency m_eBaseCurrency;
+  private final int m_nMaxCacheSize;
+
+  private final SimpleReadWriteLock m_aRWLock = new SimpleReadWriteLock ();
+  @GuardedBy ("m_aRWLock")
+  private final ICommonsMap <ECurrency, ExchangeRatioList> m_aLists = new CommonsHashMap<> ();
+
+  // Get operations modify an LRU map, so a simple lock is needed
+  private final SimpleLock m_aCacheLock = new SimpleLock ();
+  @GuardedBy ("m_aCacheLock")
+  private final CrossRateCache m_aCache;
+  // Increased upon each clear, to avoid caching outdated cross rates
+  @GuardedBy ("m_aCacheLock")
+  private int m_nCacheGeneration = 0;
+
+  /**
+   * Constructor with the default cache size.
+   *
+   * @param eBaseCurrency
+   *        The base currency all exchange ratios relate to. May not be
+   *        <code>null</code>.
+   */
+  public ExchangeRatioMatrix (@Nonnull final ECurrency eBaseCurrency)
+  {
+    this (eBaseCurrency, DEFAULT_MAX_CACHE_SIZE);
+  }
+
+  /**
+   * Constructor
+   *
+   * @param eBaseCurrency
+   *        The base currency all exchange ratios relate to. May not be
+   *        <code>null</code>.
+   * @param nMaxCacheSize
+   *        The maximum number of cross rates to be cached. Must be &ge; 0. Use
+   *        0 to disable caching.
+   */
+  public ExchangeRatioMatrix (@Nonnull final ECurrency eBaseCurrency, @Nonnegative final int nMaxCacheSize)
+  {
+    m_eBaseCurrency = ValueEnforcer.notNull (eBaseCurrency, "BaseCurrency");
+    m_nMaxCacheSize = ValueEnforcer.isGE0 (nMaxCacheSize, "MaxCacheSize");
+    m_aCache = new CrossRateCache (nMaxCacheSize);
+  }
+
+  /**
+   * @return The base currency as specified in the constructor. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  public ECurrency getBaseCurrency ()
+  {
+    return m_eBaseCurrency;
+  }
+
+  /**
+   * @return The maximum number of cached cross rates. Always &ge; 0.
+   */
+  @Nonnegative
+  public int getMaxCacheSize ()
+  {
+    return m_nMaxCacheSize;
+  }
+
+  /**
+   * Add all exchange ratios of the passed list. If exchange ratios for the
+   * currency of the list are already present, the lists are merged. The
+   * passed list is copied, so later modifications to it have no effect on this
+   * object.
+   *
+   * @param aList
+   *        The list to add. May not be <code>null</code> and may not use the
+   *        base currency.
+   * @return {@link EChange}
+   */
+  @Nonnull
+  public EChange addExchangeRatioList (@Nonnull final ExchangeRatioList aList)
+  {
+    ValueEnforcer.notNull (aList, "List");
+    final ECurrency eCurrency = aList.getCurrency ();
+    if (eCurrency == m_eBaseCurrency)
+      throw new IllegalArgumentException ("No exchange ratios for the base currency " +
+                                          m_eBaseCurrency +
+                                          " can be added");
+
+    final EChange eChange = m_aRWLock.writeLocked ( () -> {
+      final ExchangeRatioList aExisting = m_aLists.get (eCurrency);
+      if (aExisting == null)
+      {
+        m_aLists.put (eCurrency, aList.getClone ());
+        return EChange.CHANGED;
+      }
+      return aExisting.mergeWith (aList);
+    });
+    if (eChange.isChanged ())
+    {
+      // Previously calculated cross rates may be outdated
+      clearCache ();
+    }
+    return eChange;
+  }
+
+  /**
+   * @param eCurrency
+   *        The currency to query. May be <code>null</code>.
+   * @return A copy of the exchange ratio list of the passed currency or
+   *         <code>null</code> if no such list is present.
+   */
+  @Nullable
+  @ReturnsMutableCopy
+  public ExchangeRatioList getExchangeRatioListOfCurrency (@Nullable final ECurrency eCurrency)
+  {
+    return m_aRWLock.readLocked ( () -> {
+      final ExchangeRatioList aList = m_aLists.get (eCurrency);
+      return aList == null ? null : aList.getClone ();
+    });
+  }
+
+  /**
+   * @return All currencies that can be converted, including the base currency.
+   *         Never <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsSet <ECurrency> getAllCurrencies ()
+  {
+    final ICommonsSet <ECurrency> ret = new CommonsHashSet<> ();
+    m_aRWLock.readLocked ( () -> ret.addAll (m_aLists.keySet ()));
+    ret.add (m_eBaseCurrency);
+    return ret;
+  }
+
+  @Nullable
+  private BigDecimal _getRatioToBase (@Nonnull final ECurrency eCurrency, @Nonnull final LocalDate aDate)
+  {
+    if (eCurrency == m_eBaseCurrency)
+      return BigDecimal.ONE;
+
+    return m_aRWLock.readLocked ( () -> {
+      final ExchangeRatioList aList = m_aLists.get (eCurrency);
+      if (aList == null)
+        return null;
+      final ExchangeRatio aExchangeRatio = aList.getExchangeRatioOfDate (aDate);
+      return aExchangeRatio == null ? null : aExchangeRatio.getRatio ();
+    });
+  }
+
+  @Nullable
+  private BigDecimal _calcCrossRate (@Nonnull final ECurrency eFrom,
+                                     @Nonnull final ECurrency eTo,
+                                     @Nonnull final LocalDate aDate)
+  {
+    final BigDecimal aFromRatio = _getRatioToBase (eFrom, aDate);
+    if (aFromRatio == null)
+      return null;
+    final BigDecimal aToRatio = _getRatioToBase (eTo, aDate);
+    if (aToRatio == null)
+      return null;
+    return aToRatio.divide (aFromRatio, CROSS_RATE_MATH_CONTEXT);
+  }
+
+  /**
+   * Get the exchange ratio to convert from one currency into another.
+   *
+   * @param eFrom
+   *        Source currency. May not be <code>null</code>.
+   * @param eTo
+   *        Target currency. May not be <code>null</code>.
+   * @param aDate
+   *        The date for which the exchange ratio is requested. May not be
+   *        <code>null</code>.
+   * @return The factor by which an amount in the source currency must be
+   *         multiplied to get the amount in the target currency.
+   *         <code>null</code> if no exchange ratio for at least one of the
+   *         currencies is present.
+   */
+  @Nullable
+  public BigDecimal getCrossRate (@Nonnull final ECurrency eFrom,
+                                  @Nonnull final ECurrency eTo,
+                                  @Nonnull final LocalDate aDate)
+  {
+    ValueEnforcer.notNull (eFrom, "From");
+    ValueEnforcer.notNull (eTo, "To");
+    ValueEnforcer.notNull (aDate, "Date");
+
+    if (eFrom == eTo)
+      return BigDecimal.ONE;
+
+    // Ratios to the base currency don't need to be cached
+    if (eFrom == m_eBaseCurrency || eTo == m_eBaseCurrency || m_nMaxCacheSize == 0)
+      return _calcCrossRate (eFrom, eTo, aDate);
+
+    final CacheKey aKey = new CacheKey (eFrom, eTo, aDate.toEpochDay ());
+    final int nGeneration;
+    m_aCacheLock.lock ();
+    try
+    {
+      final BigDecimal aCached = m_aCache.get (aKey);
+      if (aCached != null)
+        return aCached;
+      nGeneration = m_nCacheGeneration;
+    }
+    finally
+    {
+      m_aCacheLock.unlock ();
+    }
+
+    // Calculate outside of the cache lock
+    final BigDecimal ret = _calcCrossRate (eFrom, eTo, aDate);
+    if (ret != null)
+      m_aCacheLock.locked ( () -> {
+        // Don't cache if the exchange ratios were modified in the meantime
+        if (nGeneration == m_nCacheGeneration)
+          m_aCache.put (aKey, ret);
+      });
+    return ret;
+  }
+
+  /**
+   * Convert a single currency value.
+   *
+   * @param aValue
+   *        The value to convert. May not be <code>null</code>.
+   * @param eTo
+   *        The target currency. May not be <code>null</code>.
+   * @param aDate
+   *        The date for which the exchange ratio is to be used. May not be
+   *        <code>null</code>.
+   * @return The converted value rounded according to the target currency or
+   *         <code>null</code> if no exchange ratio is present.
+   */
+  @Nullable
+  public ICurrencyValue getConverted (@Nonnull final ICurrencyValue aValue,
+                                      @Nonnull final ECurrency eTo,
+                                      @Nonnull final LocalDate aDate)
+  {
+    ValueEnforcer.notNull (aValue, "Value");
+
+    final BigDecimal aCrossRate = getCrossRate (aValue.getCurrency (), eTo, aDate);
+    return aCrossRate == null ? null : _convert (aValue, eTo, aCrossRate);
+  }
+
+  @Nonnull
+  private static ICurrencyValue _convert (@Nonnull final ICurrencyValue aValue,
+                                          @Nonnull final ECurrency eTo,
+                                          @Nonnull final BigDecimal aCrossRate)
+  {
+    return new CurrencyValue (eTo, eTo.getRounded (aValue.getValue ().multiply (aCrossRate)));
+  }
+
+  /**
+   * Convert multiple currency values into one currency on the same date. The
+   * cross rate of each source currency is resolved only once per call.
+   *
+   * @param aValues
+   *        The values to convert. May not be <code>null</code> and may not
+   *        contain <code>null</code> elements.
+   * @param eTo
+   *        The target currency. May not be <code>null</code>.
+   * @param aDate
+   *        The date for which the exchange ratios are to be used. May not be
+   *        <code>null</code>.
+   * @return An array with the same length as the passed array, where each
+   *         element is the converted value of the source element at the same
+   *         index. Elements are <code>null</code> if no exchange ratio is
+   *         present for the respective source currency. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICurrencyValue [] getAllConverted (@Nonnull final ICurrencyValue [] aValues,
+                                            @Nonnull final ECurrency eTo,
+                                            @Nonnull final LocalDate aDate)
+  {
+    ValueEnforcer.notNullNoNullValue (aValues, "Values");
+    ValueEnforcer.notNull (eTo, "To");
+    ValueEnforcer.notNull (aDate, "Date");
+
+    final ICurrencyValue [] ret = new ICurrencyValue [aValues.length];
+    // Cross rates of this batch - the value is null if there is no rate
+    final ICommonsMap <ECurrency, BigDecimal> aCrossRates = new CommonsHashMap<> ();
+    for (int i = 0; i < aValues.length; ++i)
+    {
+      final ICurrencyValue aValue = aValues[i];
+      final ECurrency eFrom = aValue.getCurrency ();
+      BigDecimal aCrossRate = aCrossRates.get (eFrom);
+      if (aCrossRate == null && !aCrossRates.containsKey (eFrom))
+      {
+        aCrossRate = getCrossRate (eFrom, eTo, aDate);
+        aCrossRates.put (eFrom, aCrossRate);
+      }
+      if (aCrossRate != null)
+        ret[i] = _convert (aValue, eTo, aCrossRate);
+    }
+    return ret;
+  }
+
+  /**
+   * @return The number of currently cached cross rates. Always &ge; 0.
+   */
+  @Nonnegative
+  public int getCacheSize ()
+  {
+    return m_aCacheLock.locked ( () -> m_aCache.size ());
+  }
+
+  /**
+   * Remove all cached cross rates.
+   */
+  public void clearCache ()
+  {
+    m_aCacheLock.locked ( () -> {
+      m_aCache.clear ();
+      m_nCacheGeneration++;
+    });
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("baseCurrency", m_eBaseCurrency)
+                                       .append ("maxCacheSize", m_nMaxCacheSize)
+                                       .append ("lists", m_aRWLock.readLocked ( () -> m_aLists.getClone ()))
+                                       .getToString ();
+  }
+}
@@ -0,0 +1,481 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.geo;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.io.resource.IReadableResource;
+import com.helger.commons.string.StringParser;
+import com.helger.commons.string.ToStringGenerator;
+import com.helger.masterdata.codelist.CodeListReader;
+import com.helger.xml.microdom.IMicroDocument;
+import com.helger.xml.microdom.IMicroElement;
+
+/**
+ * A spatial index over named points on the earth, e.g. the centroids of
+ * countries. The points are converted to 3D unit vectors and stored in a
+ * balanced k-d tree laid out implicitly in arrays: the node of the index range
+ * <code>[lo, hi)</code> is the middle element and the split axis cycles with
+ * the depth. As the straight line distance between unit vectors grows
+ * monotonically with the great circle distance, nearest neighbour and radius
+ * queries need no trigonometry during the tree traversal.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+public final class GeoPointIndex
+{
+  /** The mean earth radius in kilometres */
+  public static final double EARTH_RADIUS_KM = 6371.0088;
+
+  public static final String ELEMENT_ENTRY = "entry";
+  public static final String ATTR_ID = "id";
+  public static final String ATTR_LATITUDE = "latitude";
+  public static final String ATTR_LONGITUDE = "longitude";
+
+  /**
+   * Mutable state of a single nearest neighbour search.
+   */
+  private static final class NearestSearch
+  {
+    private int m_nBest;
+    private double m_dBestDistance2;
+  }
+
+  // All in tree order
+  private final String [] m_aIDs;
+  private final double [] m_aLatitudes;
+  private final double [] m_aLongitudes;
+  // x, y, z per point
+  private final double [] m_aCoords;
+
+  /**
+   * Constructor
+   *
+   * @param aIDs
+   *        The IDs of the points. May not be <code>null</code>.
+   * @param aLatitudes
+   *        The latitudes of the points in degrees. Must have the same length
+   *        as the IDs.
+   * @param aLongitudes
+   *        The longitudes of the points in degrees. Must have the same length
+   *        as the IDs.
+   */
+  public GeoPointIndex (@Nonnull final String [] aIDs,
+                        @Nonnull final double [] aLatitudes,
+                        @Nonnull final double [] aLongitudes)
+  {
+    ValueEnforcer.notNullNoNullValue (aIDs, "IDs");
+    ValueEnforcer.notNull (aLatitudes, "Latitudes");
+    ValueEnforcer.notNull (aLongitudes, "Longitudes");
+    ValueEnforcer.isTrue (aLatitudes.length == aIDs.length, "Latitudes and IDs must have the same length");
+    ValueEnforcer.isTrue (aLongitudes.length == aIDs.length, "Longitudes and IDs must have the same length");
+    for (int i = 0; i < aIDs.length; ++i)
+      if (!_isValidCoordinate (aLatitudes[i], aLongitudes[i]))
+        throw new IllegalArgumentException ("Invalid coordinate of '" +
+                                            aIDs[i] +
+                                            "': " +
+                                            aLatitudes[i] +
+                                            "/" +
+                                            aLongitudes[i]);
+
+    final int nCount = aIDs.length;
+    final double [] aCoords = new double [nCount * 3];
+    for (int i = 0; i < nCount; ++i)
+      _setUnitVector (aLatitudes[i], aLongitudes[i], aCoords, i * 3);
+
+    final Integer [] aOrder = new Integer [nCount];
+    for (int i = 0; i < nCount; ++i)
+      aOrder[i] = Integer.valueOf (i);
+    _build (aOrder, aCoords, 0, nCount, 0);
+
+    m_aIDs = new String [nCount];
+    m_aLatitudes = new double [nCount];
+    m_aLongitudes = new double [nCount];
+    m_aCoords = new double [nCount * 3];
+    for (int i = 0; i < nCount; ++i)
+    {
+      final int nSrc = aOrder[i].intValue ();
+      m_aIDs[i] = aIDs[nSrc];
+      m_aLatitudes[i] = aLatitudes[nSrc];
+      m_aLongitudes[i] = aLongitudes[nSrc];
+      System.arraycopy (aCoords, nSrc * 3, m_aCoords, i * 3, 3);
+    }
+  }
+
+  private static boolean _isValidCoordinate (final double dLatitude, final double dLongitude)
+  {
+    return dLatitude >= -90 && dLatitude <= 90 && Double.isFinite (dLongitude);
+  }
+
+  private static void _setUnitVector (final double dLatitude,
+                                      final double dLongitude,
+                                      @Nonnull final double [] aDst,
+                                      final int nOfs)
+  {
+    final double dLat = Math.toRadians (dLatitude);
+    final double dLon = Math.toRadians (dLongitude);
+    final double dCosLat = Math.cos (dLat);
+    aDst[nOfs] = dCosLat * Math.cos (dLon);
+    aDst[nOfs + 1] = dCosLat * Math.sin (dLon);
+    aDst[nOfs + 2] = Math.sin (dLat);
+  }
+
+  private static void _build (@Nonnull final Integer [] aOrder,
+                              @Nonnull final double [] aCoords,
+                              final int nLow,
+                              final int nHigh,
+                              final int nDepth)
+  {
+    if (nHigh - nLow <= 1)
+      return;
+    final int nAxis = nDepth % 3;
+    Arrays.sort (aOrder, nLow, nHigh, Comparator.comparingDouble (x -> aCoords[x.intValue () * 3 + nAxis]));
+    final int nMid = (nLow + nHigh) >>> 1;
+    _build (aOrder, aCoords, nLow, nMid, nDepth + 1);
+    _build (aOrder, aCoords, nMid + 1, nHigh, nDepth + 1);
+  }
+
+  private double _getDistance2 (final int nIndex, final double dX, final double dY, final double dZ)
+  {
+    final int nOfs = nIndex * 3;
+    final double dDX = m_aCoords[nOfs] - dX;
+    final double dDY = m_aCoords[nOfs + 1] - dY;
+    final double dDZ = m_aCoords[nOfs + 2] - dZ;
+    return dDX * dDX + dDY * dDY + dDZ * dDZ;
+  }
+
+  private void _findNearest (final int nLow,
+                             final int nHigh,
+                             final int nDepth,
+                             @Nonnull final double [] aQuery,
+                             @Nonnull final NearestSearch aSearch)
+  {
+    if (nLow >= nHigh)
+      return;
+    final int nMid = (nLow + nHigh) >>> 1;
+    final double dDistance2 = _getDistance2 (nMid, aQuery[0], aQuery[1], aQuery[2]);
+    if (dDistance2 < aSearch.m_dBestDistance2)
+    {
+      aSearch.m_nBest = nMid;
+      aSearch.m_dBestDistance2 = dDistance2;
+    }
+
+    final int nAxis = nDepth % 3;
+    final double dDiff = aQuery[nAxis] - m_aCoords[nMid * 3 + nAxis];
+    if (dDiff < 0)
+    {
+      _findNearest (nLow, nMid, nDepth + 1, aQuery, aSearch);
+      if (dDiff * dDiff < aSearch.m_dBestDistance2)
+        _findNearest (nMid + 1, nHigh, nDepth + 1, aQuery, aSearch);
+    }
+    else
+    {
+      _findNearest (nMid + 1, nHigh, nDepth + 1, aQuery, aSearch);
+      if (dDiff * dDiff < aSearch.m_dBestDistance2)
+        _findNearest (nLow, nMid, nDepth + 1, aQuery, aSearch);
+    }
+  }
+
+  private int _getNearestIndex (final double dLatitude,
+                                final double dLongitude,
+                                @Nonnull final double [] aQuery,
+                                @Nonnull final NearestSearch aSearch)
+  {
+    if (m_aIDs.length == 0 || !_isValidCoordinate (dLatitude, dLongitude))
+      return -1;
+    _setUnitVector (dLatitude, dLongitude, aQuery, 0);
+    aSearch.m_nBest = -1;
+    aSearch.m_dBestDistance2 = Double.POSITIVE_INFINITY;
+    _findNearest (0, m_aIDs.length, 0, aQuery, aSearch);
+    return aSearch.m_nBest;
+  }
+
+  private void _findWithin (final int nLow,
+                            final int nHigh,
+                            final int nDepth,
+                            @Nonnull final double [] aQuery,
+                            final double dMaxDistance2,
+                            @Nonnull final ICommonsList <Integer> aResult)
+  {
+    if (nLow >= nHigh)
+      return;
+    final int nMid = (nLow + nHigh) >>> 1;
+    if (_getDistance2 (nMid, aQuery[0], aQuery[1], aQuery[2]) <= dMaxDistance2)
+      aResult.add (Integer.valueOf (nMid));
+
+    final int nAxis = nDepth % 3;
+    final double dDiff = aQuery[nAxis] - m_aCoords[nMid * 3 + nAxis];
+    if (dDiff <= 0 || dDiff * dDiff <= dMaxDistance2)
+      _findWithin (nLow, nMid, nDepth + 1, aQuery, dMaxDistance2, aResult);
+    if (dDiff >= 0 || dDiff * dDiff <= dMaxDistance2)
+      _findWithin (nMid + 1, nHigh, nDepth + 1, aQuery, dMaxDistance2, aResult);
+  }
+
+  /**
+   * @return The number of points in this index. Always &ge; 0.
+   */
+  @Nonnegative
+  public int getCount ()
+  {
+    return m_aIDs.length;
+  }
+
+  /**
+   * @return The IDs of all points in an undefined order. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <String> getAllIDs ()
+  {
+    return new CommonsArrayList<> (m_aIDs);
+  }
+
+  /**
+   * Get the ID of the point nearest to the passed coordinate.
+   *
+   * @param dLatitude
+   *        Latitude in degrees.
+   * @param dLongitude
+   *        Longitude in degrees.
+   * @return <code>null</code> if the index is empty or the coordinate is
+   *         invalid.
+   */
+  @Nullable
+  public String getNearestID (final double dLatitude, final double dLongitude)
+  {
+    final int nIndex = _getNearestIndex (dLatitude, dLongitude, new double [3], new NearestSearch ());
+    return nIndex < 0 ? null : m_aIDs[nIndex];
+  }
+
+  /**
+   * Get the IDs of the points nearest to all passed coordinates. This method
+   * does not allocate any memory per coordinate.
+   *
+   * @param aLatitudes
+   *        Latitudes in degrees. May not be <code>null</code>.
+   * @param aLongitudes
+   *        Longitudes in degrees. May not be <code>null</code>. Must have the
+   *        same length as the latitudes.
+   * @param aDst
+   *        The array to write the IDs to. May not be <code>null</code>. Must
+   *        be at least as long as the latitudes. For invalid coordinates
+   *        <code>null</code> is written.
+   */
+  public void getAllNearestIDs (@Nonnull final double [] aLatitudes,
+                                @Nonnull final double [] aLongitudes,
+                                @Nonnull final String [] aDst)
+  {
+    getAllNearest (aLatitudes, aLongitudes, aDst, Function.identity ());
+  }
+
+  /**
+   * Get the IDs of the points nearest to all passed coordinates and convert
+   * them directly into the destination array.
+   *
+   * @param aLatitudes
+   *        Latitudes in degrees. May not be <code>null</code>.
+   * @param aLongitudes
+   *        Longitudes in degrees. May not be <code>null</code>. Must have the
+   *        same length as the latitudes.
+   * @param aDst
+   *        The array to write the converted IDs to. May not be
+   *        <code>null</code>. Must be at least as long as the latitudes. For
+   *        invalid coordinates <code>null</code> is written.
+   * @param aMapper
+   *        The function to convert a non-<code>null</code> ID. May not be
+   *        <code>null</code>.
+   */
+  <T> void getAllNearest (@Nonnull final double [] aLatitudes,
+                          @Nonnull final double [] aLongitudes,
+                          @Nonnull final T [] aDst,
+                          @Nonnull final Function <? super String, ? extends T> aMapper)
+  {
+    ValueEnforcer.notNull (aLatitudes, "Latitudes");
+    ValueEnforcer.notNull (aLongitudes, "Longitudes");
+    ValueEnforcer.notNull (aDst, "Dst");
+    ValueEnforcer.isTrue (aLongitudes.length == aLatitudes.length, "Latitudes and longitudes differ in length");
+    ValueEnforcer.isTrue (aDst.length >= aLatitudes.length, "Destination array is too small");
+    ValueEnforcer.notNull (aMapper, "Mapper");
+
+    final double [] aQuery = new double [3];
+    final NearestSearch aSearch = new NearestSearch ();
+    for (int i = 0; i < aLatitudes.length; ++i)
+    {
+      final int nIndex = _getNearestIndex (aLatitudes[i], aLongitudes[i], aQuery, aSearch);
+      aDst[i] = nIndex < 0 ? null : aMapper.apply (m_aIDs[nIndex]);
+    }
+  }
+
+  /**
+   * Get the IDs of all points within the passed great circle distance of a
+   * coordinate.
+   *
+   * @param dLatitude
+   *        Latitude in degrees.
+   * @param dLongitude
+   *        Longitude in degrees.
+   * @param dRadiusKm
+   *        The radius in kilometres. Must be &ge; 0.
+   * @return The matching IDs ordered by ascending distance. Never
+   *         <code>null</code> but empty for invalid coordinates.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <String> getAllIDsWithinRadius (final double dLatitude,
+                                                      final double dLongitude,
+                                                      @Nonnegative final double dRadiusKm)
+  {
+    ValueEnforcer.isGE0 (dRadiusKm, "RadiusKm");
+
+    final ICommonsList <String> ret = new CommonsArrayList<> ();
+    if (_isValidCoordinate (dLatitude, dLongitude))
+    {
+      final double [] aQuery = new double [3];
+      _setUnitVector (dLatitude, dLongitude, aQuery, 0);
+      // Chord length of the radius
+      final double dChord = 2 * Math.sin (Math.min (dRadiusKm / EARTH_RADIUS_KM, Math.PI) / 2);
+      final ICommonsList <Integer> aMatches = new CommonsArrayList<> ();
+      _findWithin (0, m_aIDs.length, 0, aQuery, dChord * dChord, aMatches);
+      aMatches.sort (Comparator.comparingDouble (x -> _getDistance2 (x.intValue (), aQuery[0], aQuery[1], aQuery[2])));
+      for (final Integer aMatch : aMatches)
+        ret.add (m_aIDs[aMatch.intValue ()]);
+    }
+    return ret;
+  }
+
+  /**
+   * Get the IDs of all points within the passed great circle distance for all
+   * passed coordinates.
+   *
+   * @param aLatitudes
+   *        Latitudes in degrees. May not be <code>null</code>.
+   * @param aLongitudes
+   *        Longitudes in degrees. May not be <code>null</code>. Must have the
+   *        same length as the latitudes.
+   * @param dRadiusKm
+   *        The radius in kilometres. Must be &ge; 0.
+   * @return One list of IDs per coordinate, ordered by ascending distance.
+   *         Never <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <ICommonsList <String>> getAllIDsWithinRadius (@Nonnull final double [] aLatitudes,
+                                                                     @Nonnull final double [] aLongitudes,
+                                                                     @Nonnegative final double dRadiusKm)
+  {
+    ValueEnforcer.notNull (aLatitudes, "Latitudes");
+    ValueEnforcer.notNull (aLongitudes, "Longitudes");
+    ValueEnforcer.isTrue (aLongitudes.length == aLatitudes.length, "Latitudes and longitudes differ in length");
+
+    final ICommonsList <ICommonsList <String>> ret = new CommonsArrayList<> (aLatitudes.length);
+    for (int i = 0; i < aLatitudes.length; ++i)
+      ret.add (getAllIDsWithinRadius (aLatitudes[i], aLongitudes[i], dRadiusKm));
+    return ret;
+  }
+
+  /**
+   * Get the great circle distance between two coordinates using the haversine
+   * formula.
+   *
+   * @param dLatitude1
+   *        Latitude of the first coordinate in degrees.
+   * @param dLongitude1
+   *        Longitude of the first coordinate in degrees.
+   * @param dLatitude2
+   *        Latitude of the second coordinate in degrees.
+   * @param dLongitude2
+   *        Longitude of the second coordinate in degrees.
+   * @return The distance in kilometres.
+   */
+  public static double getDistanceKm (final double dLatitude1,
+                                      final double dLongitude1,
+                                      final double dLatitude2,
+                                      final double dLongitude2)
+  {
+    final double dSinLat = Math.sin (Math.toRadians (dLatitude2 - dLatitude1) / 2);
+    final double dSinLon = Math.sin (Math.toRadians (dLongitude2 - dLongitude1) / 2);
+    final double dCosLat = Math.cos (Math.toRadians (dLatitude1)) * Math.cos (Math.toRadians (dLatitude2));
+    final double dA = dSinLat * dSinLat + dCosLat * dSinLon * dSinLon;
+    return 2 * EARTH_RADIUS_KM * Math.asin (Math.min (1, Math.sqrt (dA)));
+  }
+
+  /**
+   * Read an index from a latitude/longitude code list like
+   * <code>codelists/latitude-longitude-country-20130209.xml</code>.
+   *
+   * @param aRes
+   *        The resource to read. May not be <code>null</code>.
+   * @param aIDFilter
+   *        An optional filter for the IDs to include. May be
+   *        <code>null</code> to include all entries.
+   * @return The created index. Never <code>null</code>.
+   * @throws IllegalArgumentException
+   *         If the resource is not a valid code list
+   */
+  @Nonnull
+  public static GeoPointIndex readFromXML (@Nonnull final IReadableResource aRes,
+                                           @Nullable final Predicate <String> aIDFilter)
+  {
+    ValueEnforcer.notNull (aRes, "Resource");
+    final IMicroDocument aDoc = CodeListReader.readCodeList (aRes);
+    if (aDoc == null)
+      throw new IllegalArgumentException ("Passed resource is not an XML file: " + aRes);
+
+    final ICommonsList <String> aIDs = new CommonsArrayList<> ();
+    final ICommonsList <IMicroElement> aEntries = new CommonsArrayList<> ();
+    for (final IMicroElement eEntry : aDoc.getDocumentElement ().getAllChildElements (ELEMENT_ENTRY))
+    {
+      final String sID = eEntry.getAttributeValue (ATTR_ID);
+      if (aIDFilter == null || aIDFilter.test (sID))
+      {
+        aIDs.add (sID);
+        aEntries.add (eEntry);
+      }
+    }
+
+    final double [] aLatitudes = new double [aEntries.size ()];
+    final double [] aLongitudes = new double [aEntries.size ()];
+    for (int i = 0; i < aEntries.size (); ++i)
+    {
+      final IMicroElement eEntry = aEntries.get (i);
+      aLatitudes[i] = StringParser.parseDouble (eEntry.getAttributeValue (ATTR_LATITUDE), Double.NaN);
+      aLongitudes[i] = StringParser.parseDouble (eEntry.getAttributeValue (ATTR_LONGITUDE), Double.NaN);
+    }
+    return new GeoPointIndex (aIDs.toArray (new String [aIDs.size ()]), aLatitudes, aLongitudes);
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("count", m_aIDs.length).getToString ();
+  }
+}
@@ -0,0 +1,238 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.geo;
+
+import java.util.Locale;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.commons.io.resource.IReadableResource;
+import com.helger.commons.locale.country.CountryCache;
+
+/**
+ * Offline reverse geocoding based on the country and US state centroids
+ * contained in the latitude/longitude code lists. A coordinate is assigned to
+ * the country or state with the nearest centroid, which is a good
+ * approximation for most locations but may be wrong close to borders and for
+ * countries with a very irregular shape.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+public final class ReverseGeocoder
+{
+  public static final IReadableResource COUNTRY_RES = new ClassPathResource ("codelists/" +
+                                                                             "latitude-longitude-country-20130209.xml");
+  public static final IReadableResource US_STATE_RES = new ClassPathResource ("codelists/" +
+                                                                              "latitude-longitude-us-20130209.xml");
+
+  /** Region codes of the country code list that are no countries */
+  private static final String [] NON_COUNTRY_IDS = { "AP", "EU" };
+
+  private static final class CountryHolder
+  {
+    static final GeoPointIndex s_aInstance = GeoPointIndex.readFromXML (COUNTRY_RES, ReverseGeocoder::_isCountryID);
+  }
+
+  private static final class USStateHolder
+  {
+    static final GeoPointIndex s_aInstance = GeoPointIndex.readFromXML (US_STATE_RES, null);
+  }
+
+  private ReverseGeocoder ()
+  {}
+
+  private static boolean _isCountryID (@Nullable final String sID)
+  {
+    if (sID == null)
+      return false;
+    for (final String sNonCountryID : NON_COUNTRY_IDS)
+      if (sNonCountryID.equals (sID))
+        return false;
+    return true;
+  }
+
+  @Nullable
+  private static Locale _getCountry (@Nullable final String sID)
+  {
+    return sID == null ? null : CountryCache.getInstance ().getCountry (sID);
+  }
+
+  @Nonnull
+  private static ICommonsList <Locale> _getAllCountries (@Nonnull final ICommonsList <String> aIDs)
+  {
+    final ICommonsList <Locale> ret = new CommonsArrayList<> (aIDs.size ());
+    for (final String sID : aIDs)
+    {
+      final Locale aCountry = _getCountry (sID);
+      if (aCountry != null)
+        ret.add (aCountry);
+    }
+    return ret;
+  }
+
+  /**
+   * @return The index over all country centroids, with the IDs being the ISO
+   *         3166 alpha-2 country codes. Never <code>null</code>.
+   */
+  @Nonnull
+  public static GeoPointIndex getCountryIndex ()
+  {
+    return CountryHolder.s_aInstance;
+  }
+
+  /**
+   * @return The index over all US state centroids, with the IDs being the two
+   *         letter state codes. Never <code>null</code>.
+   */
+  @Nonnull
+  public static GeoPointIndex getUSStateIndex ()
+  {
+    return USStateHolder.s_aInstance;
+  }
+
+  /**
+   * Get the country with the centroid nearest to the passed coordinate.
+   *
+   * @param dLatitude
+   *        Latitude in degrees.
+   * @param dLongitude
+   *        Longitude in degrees.
+   * @return <code>null</code> if the coordinate is invalid.
+   */
+  @Nullable
+  public static Locale getNearestCountry (final double dLatitude, final double dLongitude)
+  {
+    return _getCountry (getCountryIndex ().getNearestID (dLatitude, dLongitude));
+  }
+
+  /**
+   * Get the countries with the centroids nearest to all passed coordinates.
+   *
+   * @param aLatitudes
+   *        Latitudes in degrees. May not be <code>null</code>.
+   * @param aLongitudes
+   *        Longitudes in degrees. May not be <code>null</code>. Must have the
+   *        same length as the latitudes.
+   * @param aDst
+   *        The array to write the countries to. May not be <code>null</code>.
+   *        Must be at least as long as the latitudes. For invalid coordinates
+   *        <code>null</code> is written.
+   */
+  public static void getAllNearestCountries (@Nonnull final double [] aLatitudes,
+                                             @Nonnull final double [] aLongitudes,
+                                             @Nonnull final Locale [] aDst)
+  {
+    // Resolve the countries directly into the destination array
+    getCountryIndex ().getAllNearest (aLatitudes, aLongitudes, aDst, ReverseGeocoder::_getCountry);
+  }
+
+  /**
+   * Get the US state with the centroid nearest to the passed coordinate. Note:
+   * this is also done for coordinates outside of the US.
+   *
+   * @param dLatitude
+   *        Latitude in degrees.
+   * @param dLongitude
+   *        Longitude in degrees.
+   * @return The two letter state code, e.g. <code>CA</code>. May be
+   *         <code>null</code> if the coordinate is invalid.
+   */
+  @Nullable
+  public static String getNearestUSState (final double dLatitude, final double dLongitude)
+  {
+    return getUSStateIndex ().getNearestID (dLatitude, dLongitude);
+  }
+
+  /**
+   * Get the US states with the centroids nearest to all passed coordinates.
+   *
+   * @param aLatitudes
+   *        Latitudes in degrees. May not be <code>null</code>.
+   * @param aLongitudes
+   *        Longitudes in degrees. May not be <code>null</code>. Must have the
+   *        same length as the latitudes.
+   * @param aDst
+   *        The array to write the state codes to. May not be
+   *        <code>null</code>. Must be at least as long as the latitudes. For
+   *        invalid coordinates <code>null</code> is written.
+   */
+  public static void getAllNearestUSStates (@Nonnull final double [] aLatitudes,
+                                            @Nonnull final double [] aLongitudes,
+                                            @Nonnull final String [] aDst)
+  {
+    getUSStateIndex ().getAllNearestIDs (aLatitudes, aLongitudes, aDst);
+  }
+
+  /**
+   * Get all countries with a centroid within the passed distance of a
+   * coordinate.
+   *
+   * @param dLatitude
+   *        Latitude in degrees.
+   * @param dLongitude
+   *        Longitude in degrees.
+   * @param dRadiusKm
+   *        The radius in kilometres. Must be &ge; 0.
+   * @return The countries ordered by ascending distance. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static ICommonsList <Locale> getAllCountriesWithinRadius (final double dLatitude,
+                                                                   final double dLongitude,
+                                                                   @Nonnegative final double dRadiusKm)
+  {
+    return _getAllCountries (getCountryIndex ().getAllIDsWithinRadius (dLatitude, dLongitude, dRadiusKm));
+  }
+
+  /**
+   * Get all countries with a centroid within the passed distance for all
+   * passed coordinates.
+   *
+   * @param aLatitudes
+   *        Latitudes in degrees. May not be <code>null</code>.
+   * @param aLongitudes
+   *        Longitudes in degrees. May not be <code>null</code>. Must have the
+   *        same length as the latitudes.
+   * @param dRadiusKm
+   *        The radius in kilometres. Must be &ge; 0.
+   * @return One list of countries per coordinate, ordered by ascending
+   *         distance. Never <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static ICommonsList <ICommonsList <Locale>> getAllCountriesWithinRadius (@Nonnull final double [] aLatitudes,
+                                                                                  @Nonnull final double [] aLongitudes,
+                                                                                  @Nonnegative final double dRadiusKm)
+  {
+    final ICommonsList <ICommonsList <Locale>> ret = new CommonsArrayList<> (aLatitudes.length);
+    for (final ICommonsList <String> aIDs : getCountryIndex ().getAllIDsWithinRadius (aLatitudes,
+                                                                                       aLongitudes,
+                                                                                       dRadiusKm))
+      ret.add (_getAllCountries (aIDs));
+    return ret;
+  }
+}
@@ -28,16 +28,25 @@ import com.helger.commons.collection.multimap.MultiHashMapTreeSetBased;
 import com.helger.commons.locale.country.CountryCache;
 
 /**
- * Contains the country to continent assignment
+ * Contains the country to continent assignment. Besides the sets returned by
+ * {@link #getContinentsOfCountry(String)} the continents are available as a
+ * bit mask of {@link EContinent#getMask()} values, which is looked up without
+ * any allocation.
  *
  * @author Philip Helger
  */
 public final class ContinentHelper
 {
   private static final MultiHashMapTreeSetBased <Locale, EContinent> s_aMap = new MultiHashMapTreeSetBased <> ();
+  // Continent mask per country code index
+  private static final int [] s_aMasks = new int [CountryCodeIndex.COUNT];
 
   static
   {
+    // Each continent needs its own bit of an int mask
+    if (EContinent.values ().length > Integer.SIZE)
+      throw new IllegalStateException ("Too many continents for an int based mask");
+
     _register ("AD", EContinent.EUROPE);
     _register ("AE", EContinent.ASIA);
     _register ("AF", EContinent.ASIA);
@@ -309,6 +318,7 @@ public final class ContinentHelper
       throw new IllegalArgumentException ("Country code '" + sCountryCode + "' is already registered!");
     for (final EContinent eContinent : aContinents)
       s_aMap.putSingle (aCountry, eContinent);
+    s_aMasks[CountryCodeIndex.getIndex (sCountryCode)] = EContinent.getMaskOf (aContinents);
   }
 
   /**
@@ -356,4 +366,70 @@ public final class ContinentHelper
     }
     return null;
   }
+
+  /**
+   * Get the continents of the specified country code as a bit mask.
+   *
+   * @param sCountryCode
+   *        The two letter country code to be used. The case is ignored. May be
+   *        <code>null</code>.
+   * @return The bit mask of all continents of the country, composed of
+   *         {@link EContinent#getMask()} values. 0 if no continent data is
+   *         defined.
+   * @since 5.0.4
+   */
+  public static int getContinentMaskOfCountry (@Nullable final String sCountryCode)
+  {
+    final int nIndex = CountryCodeIndex.getIndex (sCountryCode);
+    return nIndex < 0 ? 0 : s_aMasks[nIndex];
+  }
+
+  /**
+   * Get the continents of the country of the specified locale as a bit mask.
+   *
+   * @param aLocale
+   *        The locale to be used. May be <code>null</code>.
+   * @return The bit mask of all continents of the country, composed of
+   *         {@link EContinent#getMask()} values. 0 if no continent data is
+   *         defined.
+   * @since 5.0.4
+   */
+  public static int getContinentMaskOfCountry (@Nullable final Locale aLocale)
+  {
+    return aLocale == null ? 0 : getContinentMaskOfCountry (aLocale.getCountry ());
+  }
+
+  /**
+   * Check if the specified country is (at least partially) on the specified
+   * continent.
+   *
+   * @param sCountryCode
+   *        The two letter country code to be used. The case is ignored. May be
+   *        <code>null</code>.
+   * @param eContinent
+   *        The continent to check. May not be <code>null</code>.
+   * @return <code>true</code> if the country is on the continent.
+   * @since 5.0.4
+   */
+  public static boolean isCountryOnContinent (@Nullable final String sCountryCode,
+                                              @Nonnull final EContinent eContinent)
+  {
+    return eContinent.isContainedInMask (getContinentMaskOfCountry (sCountryCode));
+  }
+
+  /**
+   * Check if the country of the specified locale is (at least partially) on
+   * the specified continent.
+   *
+   * @param aLocale
+   *        The locale to be used. May be <code>null</code>.
+   * @param eContinent
+   *        The continent to check. May not be <code>null</code>.
+   * @return <code>true</code> if the country is on the continent.
+   * @since 5.0.4
+   */
+  public static boolean isCountryOnContinent (@Nullable final Locale aLocale, @Nonnull final EContinent eContinent)
+  {
+    return eContinent.isContainedInMask (getContinentMaskOfCountry (aLocale));
+  }
 }
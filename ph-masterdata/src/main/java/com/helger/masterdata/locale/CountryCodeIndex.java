@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.locale;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Maps two letter ISO 3166 country codes to a dense array index, so that data
+ * per country can be stored in primitive lookup tables instead of maps keyed
+ * by {@link java.util.Locale}.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+final class CountryCodeIndex
+{
+  /** The number of possible indices */
+  static final int COUNT = 26 * 26;
+
+  private CountryCodeIndex ()
+  {}
+
+  private static int _getLetterIndex (final char c)
+  {
+    if (c >= 'A' && c <= 'Z')
+      return c - 'A';
+    if (c >= 'a' && c <= 'z')
+      return c - 'a';
+    return -1;
+  }
+
+  /**
+   * Get the index of the passed country code. The check is case insensitive.
+   *
+   * @param sCountryCode
+   *        The country code to use. May be <code>null</code>.
+   * @return -1 if the passed string is no two letter code, a value &ge; 0 and
+   *         &lt; {@link #COUNT} otherwise.
+   */
+  static int getIndex (@Nullable final String sCountryCode)
+  {
+    if (sCountryCode == null || sCountryCode.length () != 2)
+      return -1;
+    final int nFirst = _getLetterIndex (sCountryCode.charAt (0));
+    final int nSecond = _getLetterIndex (sCountryCode.charAt (1));
+    if (nFirst < 0 || nSecond < 0)
+      return -1;
+    return nFirst * 26 + nSecond;
+  }
+}
@@ -35,6 +35,7 @@ import com.helger.commons.io.IHasInputStream;
 import com.helger.commons.io.resource.ClassPathResource;
 import com.helger.commons.locale.LocaleCache;
 import com.helger.commons.string.ToStringGenerator;
+import com.helger.masterdata.codelist.CodeListReader;
 import com.helger.xml.microdom.IMicroDocument;
 import com.helger.xml.microdom.IMicroElement;
 import com.helger.xml.microdom.serialize.MicroReader;
@@ -160,7 +161,10 @@ public class DeprecatedLocaleHandler
   {
     ValueEnforcer.notNull (aISP, "InputStreamProvider");
 
-    return readFromXML (aISP.getInputStream ());
+    final IMicroDocument aDoc = CodeListReader.readCodeList (aISP);
+    final DeprecatedLocaleHandler ret = new DeprecatedLocaleHandler ();
+    ret.initFromXML (aDoc);
+    return ret;
   }
 
   @Nonnull
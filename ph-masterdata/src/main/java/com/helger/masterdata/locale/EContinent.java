@@ -23,9 +23,6 @@ import javax.annotation.Nullable;
 
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.Nonempty;
-import com.helger.commons.collection.CollectionHelper;
-import com.helger.commons.collection.ext.CommonsArrayList;
-import com.helger.commons.collection.ext.ICommonsNavigableSet;
 import com.helger.commons.filter.IFilter;
 import com.helger.commons.id.IHasID;
 import com.helger.commons.lang.EnumHelper;
@@ -64,6 +61,46 @@ public enum EContinent implements IHasID <String>,IHasDisplayText
     return m_aName.getDisplayText (aContentLocale);
   }
 
+  /**
+   * @return The bit of this continent in the continent masks as e.g. returned
+   *         by {@link ContinentHelper#getContinentMaskOfCountry(String)}.
+   * @since 5.0.4
+   */
+  public int getMask ()
+  {
+    return 1 << ordinal ();
+  }
+
+  /**
+   * @param nMask
+   *        The continent mask to check.
+   * @return <code>true</code> if the bit of this continent is set in the
+   *         passed mask.
+   * @since 5.0.4
+   */
+  public boolean isContainedInMask (final int nMask)
+  {
+    return (nMask & getMask ()) != 0;
+  }
+
+  /**
+   * Get the continent mask of all passed continents.
+   *
+   * @param aContinents
+   *        The continents to combine. May neither be <code>null</code> nor
+   *        contain <code>null</code> elements.
+   * @return The combined mask.
+   * @since 5.0.4
+   */
+  public static int getMaskOf (@Nonnull final EContinent... aContinents)
+  {
+    ValueEnforcer.notNullNoNullValue (aContinents, "Continents");
+    int ret = 0;
+    for (final EContinent eContinent : aContinents)
+      ret |= eContinent.getMask ();
+    return ret;
+  }
+
   @Nullable
   public static EContinent getFromIDOrNull (@Nullable final String sID)
   {
@@ -74,24 +111,15 @@ public enum EContinent implements IHasID <String>,IHasDisplayText
   public static IFilter <Locale> filterLocaleCountryOnContinent (@Nonnull final EContinent eContinent)
   {
     ValueEnforcer.notNull (eContinent, "Continent");
-    return aLocale -> CollectionHelper.contains (ContinentHelper.getContinentsOfCountry (aLocale), eContinent);
+    return aLocale -> ContinentHelper.isCountryOnContinent (aLocale, eContinent);
   }
 
   @Nonnull
   public static IFilter <Locale> filterLocaleCountryOnAnyContinent (@Nonnull @Nonempty final EContinent... aContinents)
   {
     ValueEnforcer.notEmptyNoNullValue (aContinents, "Continents");
-    return aLocale -> {
-      // Get all continents of the passed locale
-      final ICommonsNavigableSet <EContinent> aContinentsOfLocale = ContinentHelper.getContinentsOfCountry (aLocale);
-      if (aContinentsOfLocale == null)
-        return false;
-
-      // Retain only the specified ones
-      aContinentsOfLocale.retainAll (new CommonsArrayList <> (aContinents));
-
-      // If at least one locale is left, we have a match
-      return !aContinentsOfLocale.isEmpty ();
-    };
+    final int nMask = getMaskOf (aContinents);
+    // At least one continent of the passed locale must be contained
+    return aLocale -> (ContinentHelper.getContinentMaskOfCountry (aLocale) & nMask) != 0;
   }
 }
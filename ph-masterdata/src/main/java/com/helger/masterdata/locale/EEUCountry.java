@@ -61,6 +61,15 @@ public enum EEUCountry implements IHasID <String>
   UNITED_KINGDOM ("GB", LocalDate.of (1973, Month.JANUARY, 1)),
   CYPRUS ("CY", LocalDate.of (2004, Month.JANUARY, 1));
 
+  // EU country per country code index
+  private static final EEUCountry [] s_aLookup = new EEUCountry [CountryCodeIndex.COUNT];
+
+  static
+  {
+    for (final EEUCountry e : values ())
+      s_aLookup[CountryCodeIndex.getIndex (e.m_sCountryCode)] = e;
+  }
+
   private final String m_sCountryCode;
   private final Locale m_aCountry;
   private final LocalDate m_aJoinDate;
@@ -118,10 +127,38 @@ public enum EEUCountry implements IHasID <String>
     return EnumHelper.getFromIDOrNull (EEUCountry.class, sID);
   }
 
+  /**
+   * Get the EU country with the passed country code. In contrast to
+   * {@link #getFromIDOrNull(String)} the case of the code is ignored.
+   *
+   * @param sCountryCode
+   *        The two letter country code. May be <code>null</code>.
+   * @return <code>null</code> if the passed country is no EU member.
+   * @since 5.0.4
+   */
+  @Nullable
+  public static EEUCountry getFromCountryCodeOrNull (@Nullable final String sCountryCode)
+  {
+    final int nIndex = CountryCodeIndex.getIndex (sCountryCode);
+    return nIndex < 0 ? null : s_aLookup[nIndex];
+  }
+
   @Nullable
   public static EEUCountry getFromLocaleOrNull (@Nullable final Locale aLocale)
   {
-    return aLocale == null ? null : getFromIDOrNull (aLocale.getCountry ());
+    return aLocale == null ? null : getFromCountryCodeOrNull (aLocale.getCountry ());
+  }
+
+  /**
+   * @param sCountryCode
+   *        The two letter country code. The case is ignored. May be
+   *        <code>null</code>.
+   * @return <code>true</code> if the passed country is an EU member.
+   * @since 5.0.4
+   */
+  public static boolean isEUCountry (@Nullable final String sCountryCode)
+  {
+    return getFromCountryCodeOrNull (sCountryCode) != null;
   }
 
   public static boolean isEUCountry (@Nullable final Locale aLocale)
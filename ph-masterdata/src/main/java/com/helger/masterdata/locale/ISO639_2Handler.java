@@ -27,9 +27,9 @@ import com.helger.commons.collection.ext.ICommonsMap;
 import com.helger.commons.io.resource.ClassPathResource;
 import com.helger.commons.io.resource.IReadableResource;
 import com.helger.commons.string.ToStringGenerator;
+import com.helger.masterdata.codelist.CodeListReader;
 import com.helger.xml.microdom.IMicroDocument;
 import com.helger.xml.microdom.IMicroElement;
-import com.helger.xml.microdom.serialize.MicroReader;
 
 public class ISO639_2Handler
 {
@@ -62,7 +62,7 @@ public class ISO639_2Handler
   @Nonnull
   public ISO639_2Handler readFromResource (@Nonnull final IReadableResource aRes)
   {
-    final IMicroDocument aDoc = MicroReader.readMicroXML (aRes);
+    final IMicroDocument aDoc = CodeListReader.readCodeList (aRes);
     for (final IMicroElement eItem : aDoc.getDocumentElement ().getAllChildElements ("item"))
     {
       final String sAlpha3B = eItem.getAttributeValue ("alpha3");
@@ -0,0 +1,317 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.postal;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.CommonsTreeSet;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.collection.ext.ICommonsSortedSet;
+import com.helger.commons.datetime.PDTConfig;
+import com.helger.commons.datetime.PDTFactory;
+import com.helger.commons.hashcode.HashCodeGenerator;
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * Postal code information of a single country that keeps all dated
+ * definitions. For every period between two validity boundaries the effective
+ * {@link PostalCodeCountry} is created once upfront, so that postal codes can
+ * be checked for any date.<br>
+ * The methods of {@link IPostalCodeCountry} use the definitions valid today.
+ * They switch to the next period automatically when a boundary is crossed,
+ * without reading the postal code list again. If no definition is valid today
+ * (e.g. because all definitions expired), no postal code is valid and
+ * {@link #getCurrentPostalCountry()} returns <code>null</code>, so that
+ * {@link PostalCodeManager} can treat the country as not present.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@ThreadSafe
+public class DatedPostalCodeCountry implements IPostalCodeCountry
+{
+  /**
+   * The period valid at a certain point in time, together with the time span
+   * in which it is valid.
+   */
+  private static final class CurrentPeriod
+  {
+    private final PostalCodeCountry m_aCountry;
+    private final long m_nFromMillis;
+    private final long m_nToMillis;
+
+    CurrentPeriod (@Nullable final PostalCodeCountry aCountry, final long nFromMillis, final long nToMillis)
+    {
+      m_aCountry = aCountry;
+      m_nFromMillis = nFromMillis;
+      m_nToMillis = nToMillis;
+    }
+
+    boolean isValidAt (final long nMillis)
+    {
+      return nMillis >= m_nFromMillis && nMillis < m_nToMillis;
+    }
+  }
+
+  private final String m_sISO;
+  private final ICommonsList <PostalCodeDefinition> m_aDefinitions;
+  // The sorted epoch days at which the valid definitions change
+  private final long [] m_aBoundaries;
+  // One more period than boundaries - before the first and after the last.
+  // null for periods in which no definition is valid.
+  private final PostalCodeCountry [] m_aPeriods;
+  // Used for the IPostalCodeCountry methods if no definition is valid today
+  private final PostalCodeCountry m_aNoDefinitions;
+  private transient volatile CurrentPeriod m_aCurrent;
+
+  DatedPostalCodeCountry (@Nonnull @Nonempty final String sISO,
+                          @Nonnull final List <PostalCodeDefinition> aDefinitions)
+  {
+    ValueEnforcer.notEmpty (sISO, "ISO");
+    ValueEnforcer.notNullNoNullValue (aDefinitions, "Definitions");
+    m_sISO = sISO;
+    m_aDefinitions = new CommonsArrayList<> (aDefinitions);
+
+    final ICommonsSortedSet <Long> aBoundaries = new CommonsTreeSet<> ();
+    for (final PostalCodeDefinition aDefinition : aDefinitions)
+    {
+      if (aDefinition.getValidFrom () != null)
+        aBoundaries.add (Long.valueOf (aDefinition.getValidFrom ().toEpochDay ()));
+      if (aDefinition.getValidTo () != null)
+        aBoundaries.add (Long.valueOf (aDefinition.getValidTo ().toEpochDay () + 1));
+    }
+    m_aBoundaries = new long [aBoundaries.size ()];
+    int nIndex = 0;
+    for (final Long aBoundary : aBoundaries)
+      m_aBoundaries[nIndex++] = aBoundary.longValue ();
+
+    m_aPeriods = new PostalCodeCountry [m_aBoundaries.length + 1];
+    for (int i = 0; i < m_aPeriods.length; ++i)
+    {
+      // Any day of the period is representative
+      final long nDay = i == 0 ? (m_aBoundaries.length == 0 ? 0 : m_aBoundaries[0] - 1) : m_aBoundaries[i - 1];
+      PostalCodeCountry aCountry = null;
+      for (final PostalCodeDefinition aDefinition : aDefinitions)
+        if (aDefinition.isValidOn (nDay))
+        {
+          if (aCountry == null)
+            aCountry = new PostalCodeCountry (sISO);
+          aDefinition.addTo (aCountry);
+        }
+      m_aPeriods[i] = aCountry;
+    }
+    m_aNoDefinitions = new PostalCodeCountry (sISO);
+  }
+
+  @Nonnull
+  @Nonempty
+  public String getISO ()
+  {
+    return m_sISO;
+  }
+
+  @Nonnegative
+  private int _getPeriodIndex (final long nEpochDay)
+  {
+    // Number of boundaries <= the passed day
+    final int nIndex = Arrays.binarySearch (m_aBoundaries, nEpochDay);
+    return nIndex >= 0 ? nIndex + 1 : -(nIndex + 1);
+  }
+
+  private static long _getStartMillis (final long nEpochDay)
+  {
+    return LocalDate.ofEpochDay (nEpochDay).atStartOfDay (PDTConfig.getDefaultZoneId ()).toInstant ().toEpochMilli ();
+  }
+
+  @Nullable
+  private PostalCodeCountry _getCurrentOrNull ()
+  {
+    final long nNow = System.currentTimeMillis ();
+    CurrentPeriod aCurrent = m_aCurrent;
+    if (aCurrent == null || !aCurrent.isValidAt (nNow))
+    {
+      // Initially or a boundary was crossed
+      final int nIndex = _getPeriodIndex (PDTFactory.getCurrentLocalDate ().toEpochDay ());
+      aCurrent = new CurrentPeriod (m_aPeriods[nIndex],
+                                    nIndex == 0 ? Long.MIN_VALUE : _getStartMillis (m_aBoundaries[nIndex - 1]),
+                                    nIndex == m_aBoundaries.length ? Long.MAX_VALUE
+                                                                   : _getStartMillis (m_aBoundaries[nIndex]));
+      m_aCurrent = aCurrent;
+    }
+    return aCurrent.m_aCountry;
+  }
+
+  @Nonnull
+  private PostalCodeCountry _getCurrent ()
+  {
+    final PostalCodeCountry ret = _getCurrentOrNull ();
+    return ret != null ? ret : m_aNoDefinitions;
+  }
+
+  /**
+   * Get the postal code information valid today. A different object is
+   * returned for each period, so the returned object can also be used to
+   * detect that a validity boundary was crossed.
+   *
+   * @return <code>null</code> if no definition is valid today.
+   */
+  @Nullable
+  public IPostalCodeCountry getCurrentPostalCountry ()
+  {
+    return _getCurrentOrNull ();
+  }
+
+  /**
+   * Get the postal code information valid on the passed date.
+   *
+   * @param aDate
+   *        The date to check. May not be <code>null</code>.
+   * @return The postal code information of that date or <code>null</code> if
+   *         no definition is valid on that date.
+   */
+  @Nullable
+  public IPostalCodeCountry getPostalCountryOfDate (@Nonnull final LocalDate aDate)
+  {
+    ValueEnforcer.notNull (aDate, "Date");
+    return m_aPeriods[_getPeriodIndex (aDate.toEpochDay ())];
+  }
+
+  /**
+   * Check if the passed postal code is valid on the passed date.
+   *
+   * @param sPostalCode
+   *        The postal code to check. May be <code>null</code>.
+   * @param aDate
+   *        The date to check. May not be <code>null</code>.
+   * @return <code>true</code> if the passed postal code matches at least one
+   *         format valid on the passed date, <code>false</code> also if no
+   *         definition is valid on the passed date.
+   */
+  public boolean isValidPostalCode (@Nullable final String sPostalCode, @Nonnull final LocalDate aDate)
+  {
+    final IPostalCodeCountry aCountry = getPostalCountryOfDate (aDate);
+    return aCountry != null && aCountry.isValidPostalCode (sPostalCode);
+  }
+
+  /**
+   * @return The dates on which the valid definitions change, in ascending
+   *         order. Never <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <LocalDate> getAllChangeDates ()
+  {
+    final ICommonsList <LocalDate> ret = new CommonsArrayList<> (m_aBoundaries.length);
+    for (final long nBoundary : m_aBoundaries)
+      ret.add (LocalDate.ofEpochDay (nBoundary));
+    return ret;
+  }
+
+  @Nonnegative
+  public int getFormatCount ()
+  {
+    return _getCurrent ().getFormatCount ();
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <PostalCodeFormat> getAllFormats ()
+  {
+    return _getCurrent ().getAllFormats ();
+  }
+
+  @Nullable
+  public PostalCodeFormat getFormatOfIndex (final int nIndex)
+  {
+    return _getCurrent ().getFormatOfIndex (nIndex);
+  }
+
+  @Nonnegative
+  public int getSpecificPostalCodeCount ()
+  {
+    return _getCurrent ().getSpecificPostalCodeCount ();
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <String> getAllSpecificPostalCodes ()
+  {
+    return _getCurrent ().getAllSpecificPostalCodes ();
+  }
+
+  @Nullable
+  public String getNote ()
+  {
+    return _getCurrent ().getNote ();
+  }
+
+  public boolean isValidPostalCode (@Nullable final String sPostalCode)
+  {
+    // Without valid definitions no postal code is valid
+    final PostalCodeCountry aCurrent = _getCurrentOrNull ();
+    return aCurrent != null && aCurrent.isValidPostalCode (sPostalCode);
+  }
+
+  @Override
+  public int getMatchingFormatIndex (@Nullable final String sPostalCode)
+  {
+    return _getCurrent ().getMatchingFormatIndex (sPostalCode);
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <String> getAllExamples ()
+  {
+    return _getCurrent ().getAllExamples ();
+  }
+
+  @Override
+  public boolean equals (final Object o)
+  {
+    if (o == this)
+      return true;
+    if (o == null || !getClass ().equals (o.getClass ()))
+      return false;
+    final DatedPostalCodeCountry rhs = (DatedPostalCodeCountry) o;
+    return m_sISO.equals (rhs.m_sISO) && m_aDefinitions.equals (rhs.m_aDefinitions);
+  }
+
+  @Override
+  public int hashCode ()
+  {
+    return new HashCodeGenerator (this).append (m_sISO).append (m_aDefinitions).getHashCode ();
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("ISO", m_sISO)
+                                       .append ("definitions", m_aDefinitions)
+                                       .getToString ();
+  }
+}
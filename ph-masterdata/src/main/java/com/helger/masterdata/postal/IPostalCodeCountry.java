@@ -94,6 +94,27 @@ public interface IPostalCodeCountry extends Serializable
    */
   boolean isValidPostalCode (@Nullable String sPostalCode);
 
+  /**
+   * Get the index of the first format the passed postal code matches.
+   *
+   * @param sPostalCode
+   *        The postal code to check. May be <code>null</code>.
+   * @return The index of the first matching format, usable with
+   *         {@link #getFormatOfIndex(int)}, or -1 if no format matches.
+   * @since 5.0.4
+   */
+  default int getMatchingFormatIndex (@Nullable final String sPostalCode)
+  {
+    if (sPostalCode != null)
+    {
+      final ICommonsList <PostalCodeFormat> aFormats = getAllFormats ();
+      for (int i = 0; i < aFormats.size (); ++i)
+        if (aFormats.get (i).isValidPostalCode (sPostalCode))
+          return i;
+    }
+    return -1;
+  }
+
   /**
    * @return A list of all available example postal codes that show the
    *         different formats available.
@@ -41,6 +41,8 @@ public class PostalCodeCountry implements IPostalCodeCountry
   private final ICommonsList <PostalCodeFormat> m_aFormats = new CommonsArrayList<> ();
   private final ICommonsList <String> m_aSpecificPostalCodes = new CommonsArrayList<> ();
   private String m_sNote;
+  // Lazily created from the formats
+  private transient PostalCodeFormatAutomaton m_aAutomaton;
 
   public PostalCodeCountry (@Nonnull @Nonempty final String sISO)
   {
@@ -58,6 +60,7 @@ public class PostalCodeCountry implements IPostalCodeCountry
   {
     ValueEnforcer.notNull (aFormat, "Format");
     m_aFormats.add (aFormat);
+    m_aAutomaton = null;
   }
 
   @Nonnegative
@@ -112,12 +115,31 @@ public class PostalCodeCountry implements IPostalCodeCountry
     return m_sNote;
   }
 
+  @Nonnull
+  private PostalCodeFormatAutomaton _getAutomaton ()
+  {
+    PostalCodeFormatAutomaton ret = m_aAutomaton;
+    if (ret == null)
+    {
+      // The automaton is immutable, so concurrent creation is harmless
+      ret = new PostalCodeFormatAutomaton (m_sISO, m_aFormats);
+      m_aAutomaton = ret;
+    }
+    return ret;
+  }
+
+  @Override
+  public int getMatchingFormatIndex (@Nullable final String sPostalCode)
+  {
+    if (sPostalCode == null)
+      return -1;
+    return _getAutomaton ().getMatchingFormatIndex (sPostalCode);
+  }
+
   public boolean isValidPostalCode (@Nullable final String sPostalCode)
   {
-    if (StringHelper.hasText (sPostalCode))
-      for (final PostalCodeFormat aFormat : m_aFormats)
-        if (aFormat.isValidPostalCode (sPostalCode))
-          return true;
+    if (StringHelper.hasText (sPostalCode) && getMatchingFormatIndex (sPostalCode) >= 0)
+      return true;
     // No format - all are valid
     return m_aFormats.isEmpty ();
   }
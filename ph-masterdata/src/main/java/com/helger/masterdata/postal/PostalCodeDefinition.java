@@ -0,0 +1,162 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.postal;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.equals.EqualsHelper;
+import com.helger.commons.hashcode.HashCodeGenerator;
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * A single dated postal code definition of a country as contained in a
+ * <code>postalcodes</code> element of the postal code list.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+final class PostalCodeDefinition implements Serializable
+{
+  private final LocalDate m_aValidFrom;
+  private final LocalDate m_aValidTo;
+  private final ICommonsList <PostalCodeFormat> m_aFormats;
+  private final ICommonsList <String> m_aSpecificPostalCodes;
+  private final String m_sNote;
+
+  PostalCodeDefinition (@Nullable final LocalDate aValidFrom,
+                        @Nullable final LocalDate aValidTo,
+                        @Nonnull final List <PostalCodeFormat> aFormats,
+                        @Nonnull final List <String> aSpecificPostalCodes,
+                        @Nullable final String sNote)
+  {
+    ValueEnforcer.notNullNoNullValue (aFormats, "Formats");
+    ValueEnforcer.notNullNoNullValue (aSpecificPostalCodes, "SpecificPostalCodes");
+    if (aValidFrom != null && aValidTo != null && aValidTo.isBefore (aValidFrom))
+      throw new IllegalArgumentException ("The definition ends (" +
+                                          aValidTo +
+                                          ") before it starts (" +
+                                          aValidFrom +
+                                          ")");
+    m_aValidFrom = aValidFrom;
+    m_aValidTo = aValidTo;
+    m_aFormats = new CommonsArrayList<> (aFormats);
+    m_aSpecificPostalCodes = new CommonsArrayList<> (aSpecificPostalCodes);
+    m_sNote = sNote;
+  }
+
+  /**
+   * @return The first day this definition is valid. <code>null</code> if it
+   *         is valid since ever.
+   */
+  @Nullable
+  LocalDate getValidFrom ()
+  {
+    return m_aValidFrom;
+  }
+
+  /**
+   * @return The last day this definition is valid. <code>null</code> if it is
+   *         valid forever.
+   */
+  @Nullable
+  LocalDate getValidTo ()
+  {
+    return m_aValidTo;
+  }
+
+  boolean isValidOn (final long nEpochDay)
+  {
+    return (m_aValidFrom == null || m_aValidFrom.toEpochDay () <= nEpochDay) &&
+           (m_aValidTo == null || m_aValidTo.toEpochDay () >= nEpochDay);
+  }
+
+  boolean hasFormatsOrSpecificPostalCodes ()
+  {
+    return m_aFormats.isNotEmpty () || m_aSpecificPostalCodes.isNotEmpty ();
+  }
+
+  /**
+   * Add the content of this definition to the passed country.
+   *
+   * @param aCountry
+   *        The country to fill. May not be <code>null</code>.
+   */
+  void addTo (@Nonnull final PostalCodeCountry aCountry)
+  {
+    for (final PostalCodeFormat aFormat : m_aFormats)
+      aCountry.addFormat (aFormat);
+    for (final String sSpecificPostalCode : m_aSpecificPostalCodes)
+      aCountry.addSpecificPostalCode (sSpecificPostalCode);
+    if (m_sNote != null)
+      aCountry.setNote (m_sNote);
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  private ICommonsList <String> _getAllFormatDefinitionStrings ()
+  {
+    return m_aFormats.getAllMapped (PostalCodeFormat::getFormatDefinitionString);
+  }
+
+  @Override
+  public boolean equals (final Object o)
+  {
+    if (o == this)
+      return true;
+    if (o == null || !getClass ().equals (o.getClass ()))
+      return false;
+    final PostalCodeDefinition rhs = (PostalCodeDefinition) o;
+    return EqualsHelper.equals (m_aValidFrom, rhs.m_aValidFrom) &&
+           EqualsHelper.equals (m_aValidTo, rhs.m_aValidTo) &&
+           _getAllFormatDefinitionStrings ().equals (rhs._getAllFormatDefinitionStrings ()) &&
+           m_aSpecificPostalCodes.equals (rhs.m_aSpecificPostalCodes) &&
+           EqualsHelper.equals (m_sNote, rhs.m_sNote);
+  }
+
+  @Override
+  public int hashCode ()
+  {
+    return new HashCodeGenerator (this).append (m_aValidFrom)
+                                       .append (m_aValidTo)
+                                       .append (_getAllFormatDefinitionStrings ())
+                                       .append (m_aSpecificPostalCodes)
+                                       .append (m_sNote)
+                                       .getHashCode ();
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("validFrom", m_aValidFrom)
+                                       .append ("validTo", m_aValidTo)
+                                       .append ("formats", m_aFormats)
+                                       .append ("specificPostalCodes", m_aSpecificPostalCodes)
+                                       .append ("note", m_sNote)
+                                       .getToString ();
+  }
+}
@@ -25,6 +25,9 @@ import javax.annotation.concurrent.Immutable;
 
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
 import com.helger.commons.regex.RegExCache;
 import com.helger.commons.string.ToStringGenerator;
 
@@ -38,6 +41,7 @@ public class PostalCodeFormat implements Serializable
 {
   private final String m_sISO;
   private final String m_sFormat;
+  private final EPostalCodeFormatElement [] m_aElements;
   private final Pattern m_aPattern;
   private final String m_sExample;
 
@@ -74,6 +78,7 @@ public class PostalCodeFormat implements Serializable
     aSBRegEx.append ("$");
 
     m_sFormat = aSBFormat.toString ();
+    m_aElements = aElements.toArray (new EPostalCodeFormatElement [aElements.size ()]);
     m_aPattern = RegExCache.getPattern (aSBRegEx.toString ());
     m_sExample = aSBExample.toString ();
   }
@@ -88,6 +93,19 @@ public class PostalCodeFormat implements Serializable
     return m_sFormat;
   }
 
+  /**
+   * @return All elements this format is made up. Never <code>null</code> nor
+   *         empty.
+   * @since 5.0.4
+   */
+  @Nonnull
+  @Nonempty
+  @ReturnsMutableCopy
+  ICommonsList <EPostalCodeFormatElement> getAllElements ()
+  {
+    return new CommonsArrayList<> (m_aElements);
+  }
+
   /**
    * @return The non-<code>null</code> ISO country string, to which this format
    *         belongs.
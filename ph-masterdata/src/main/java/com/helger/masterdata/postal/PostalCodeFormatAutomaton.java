@@ -0,0 +1,249 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.postal;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.CommonsHashMap;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.collection.ext.ICommonsMap;
+
+/**
+ * A deterministic finite automaton that matches all formats of a single
+ * country at once. A postal code is checked in a single pass over its
+ * characters, instead of running one regular expression per format.<br>
+ * The input characters are mapped to character classes first: one class for
+ * digits, one for all other letters and one class for each literal character
+ * (space, dash and the letters of the country code). The automaton is created
+ * with the subset construction over the positions of all formats.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+final class PostalCodeFormatAutomaton
+{
+  /** Only ASCII characters can match */
+  private static final int CHAR_COUNT = 128;
+  private static final int CLASS_DIGIT = 0;
+  private static final int CLASS_LETTER = 1;
+
+  /** Position matchers, literal characters are stored as is */
+  private static final char MATCH_DIGIT = '\uffff';
+  private static final char MATCH_LETTER = '\ufffe';
+
+  private final byte [] m_aCharClass = new byte [CHAR_COUNT];
+  private final int m_nClassCount;
+  private final int m_nStateCount;
+  // Next state per state and character class or -1
+  private final int [] m_aTransitions;
+  // Index of the first matching format per state or -1
+  private final int [] m_aMatchingFormat;
+
+  private static boolean _isDigit (final char c)
+  {
+    return c >= '0' && c <= '9';
+  }
+
+  private static boolean _isLetter (final char c)
+  {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  /**
+   * Constructor
+   *
+   * @param sISO
+   *        The ISO country code used for the country code elements. May
+   *        neither be <code>null</code> nor empty.
+   * @param aFormats
+   *        The formats in the order of their indices. May not be
+   *        <code>null</code>.
+   */
+  PostalCodeFormatAutomaton (@Nonnull final String sISO, @Nonnull final List <PostalCodeFormat> aFormats)
+  {
+    ValueEnforcer.notEmpty (sISO, "ISO");
+    ValueEnforcer.notNull (aFormats, "Formats");
+
+    // Flatten all formats into positions. After the last position of each
+    // format an end marker follows.
+    final StringBuilder aPositions = new StringBuilder ();
+    final int [] aPositionFormat;
+    final int [] aStartPositions = new int [aFormats.size ()];
+    {
+      final ICommonsList <Integer> aFormatOfPos = new CommonsArrayList<> ();
+      for (int nFormat = 0; nFormat < aFormats.size (); ++nFormat)
+      {
+        aStartPositions[nFormat] = aPositions.length ();
+        for (final EPostalCodeFormatElement eElement : aFormats.get (nFormat).getAllElements ())
+          switch (eElement)
+          {
+            case NUMBER:
+              aPositions.append (MATCH_DIGIT);
+              break;
+            case LETTER:
+              aPositions.append (MATCH_LETTER);
+              break;
+            case COUNTRY_CODE:
+              aPositions.append (sISO);
+              break;
+            default:
+              aPositions.append (eElement.getToken ());
+              break;
+          }
+        // End marker
+        aPositions.append ('\0');
+        while (aFormatOfPos.size () < aPositions.length ())
+          aFormatOfPos.add (Integer.valueOf (nFormat));
+      }
+      aPositionFormat = new int [aFormatOfPos.size ()];
+      for (int i = 0; i < aPositionFormat.length; ++i)
+        aPositionFormat[i] = aFormatOfPos.get (i).intValue ();
+    }
+
+    // Determine the character classes
+    Arrays.fill (m_aCharClass, (byte) -1);
+    final char [] aClassLiteral = new char [CHAR_COUNT];
+    int nClassCount = 2;
+    for (int c = 0; c < CHAR_COUNT; ++c)
+      if (_isDigit ((char) c))
+        m_aCharClass[c] = CLASS_DIGIT;
+      else
+        if (_isLetter ((char) c))
+          m_aCharClass[c] = CLASS_LETTER;
+    for (int i = 0; i < aPositions.length (); ++i)
+    {
+      final char c = aPositions.charAt (i);
+      if (c > 0 && c < CHAR_COUNT && m_aCharClass[c] <= CLASS_LETTER)
+      {
+        // Literal character gets its own class
+        aClassLiteral[nClassCount] = c;
+        m_aCharClass[c] = (byte) nClassCount++;
+      }
+    }
+    m_nClassCount = nClassCount;
+
+    // Subset construction
+    final ICommonsList <BitSet> aStates = new CommonsArrayList<> ();
+    final ICommonsMap <BitSet, Integer> aStateIndex = new CommonsHashMap<> ();
+    final ICommonsList <int []> aTransitions = new CommonsArrayList<> ();
+    final BitSet aStart = new BitSet (aPositions.length ());
+    for (final int nStart : aStartPositions)
+      aStart.set (nStart);
+    aStates.add (aStart);
+    aStateIndex.put (aStart, Integer.valueOf (0));
+    for (int nState = 0; nState < aStates.size (); ++nState)
+    {
+      final BitSet aCurrent = aStates.get (nState);
+      final int [] aRow = new int [nClassCount];
+      for (int nClass = 0; nClass < nClassCount; ++nClass)
+      {
+        final BitSet aNext = new BitSet (aPositions.length ());
+        for (int nPos = aCurrent.nextSetBit (0); nPos >= 0; nPos = aCurrent.nextSetBit (nPos + 1))
+        {
+          final char cMatch = aPositions.charAt (nPos);
+          final boolean bMatches;
+          if (cMatch == MATCH_DIGIT)
+            bMatches = nClass == CLASS_DIGIT || (nClass > CLASS_LETTER && _isDigit (aClassLiteral[nClass]));
+          else
+            if (cMatch == MATCH_LETTER)
+              bMatches = nClass == CLASS_LETTER || (nClass > CLASS_LETTER && _isLetter (aClassLiteral[nClass]));
+            else
+              bMatches = cMatch != '\0' && m_aCharClass[cMatch] == nClass;
+          if (bMatches)
+            aNext.set (nPos + 1);
+        }
+        if (aNext.isEmpty ())
+          aRow[nClass] = -1;
+        else
+        {
+          Integer aNextIndex = aStateIndex.get (aNext);
+          if (aNextIndex == null)
+          {
+            aNextIndex = Integer.valueOf (aStates.size ());
+            aStates.add (aNext);
+            aStateIndex.put (aNext, aNextIndex);
+          }
+          aRow[nClass] = aNextIndex.intValue ();
+        }
+      }
+      aTransitions.add (aRow);
+    }
+
+    m_nStateCount = aStates.size ();
+    m_aTransitions = new int [m_nStateCount * nClassCount];
+    m_aMatchingFormat = new int [m_nStateCount];
+    for (int nState = 0; nState < m_nStateCount; ++nState)
+    {
+      System.arraycopy (aTransitions.get (nState), 0, m_aTransitions, nState * nClassCount, nClassCount);
+
+      // The first format that is completely matched
+      m_aMatchingFormat[nState] = -1;
+      final BitSet aCurrent = aStates.get (nState);
+      for (int nPos = aCurrent.nextSetBit (0); nPos >= 0; nPos = aCurrent.nextSetBit (nPos + 1))
+        if (aPositions.charAt (nPos) == '\0')
+        {
+          m_aMatchingFormat[nState] = aPositionFormat[nPos];
+          break;
+        }
+    }
+  }
+
+  /**
+   * @return The number of states of the automaton. Always &gt; 0.
+   */
+  @Nonnegative
+  int getStateCount ()
+  {
+    return m_nStateCount;
+  }
+
+  /**
+   * Find the first format matching the passed postal code.
+   *
+   * @param sPostalCode
+   *        The postal code to check. May not be <code>null</code>.
+   * @return The index of the first matching format or -1 if no format
+   *         matches.
+   */
+  int getMatchingFormatIndex (@Nonnull final String sPostalCode)
+  {
+    int nState = 0;
+    final int nLen = sPostalCode.length ();
+    for (int i = 0; i < nLen; ++i)
+    {
+      final char c = sPostalCode.charAt (i);
+      if (c >= CHAR_COUNT)
+        return -1;
+      final int nClass = m_aCharClass[c];
+      if (nClass < 0)
+        return -1;
+      nState = m_aTransitions[nState * m_nClassCount + nClass];
+      if (nState < 0)
+        return -1;
+    }
+    return m_aMatchingFormat[nState];
+  }
+}
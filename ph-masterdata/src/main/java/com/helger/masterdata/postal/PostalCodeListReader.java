@@ -26,13 +26,11 @@ import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.ReturnsMutableCopy;
 import com.helger.commons.collection.ext.CommonsArrayList;
 import com.helger.commons.collection.ext.ICommonsList;
-import com.helger.commons.datetime.PDTFactory;
 import com.helger.commons.io.resource.IReadableResource;
 import com.helger.commons.string.StringHelper;
-import com.helger.masterdata.MasterDataLogger;
+import com.helger.masterdata.codelist.CodeListReader;
 import com.helger.xml.microdom.IMicroDocument;
 import com.helger.xml.microdom.IMicroElement;
-import com.helger.xml.microdom.serialize.MicroReader;
 
 /**
  * Read postal code definitions from an XML resource.
@@ -84,10 +82,23 @@ public class PostalCodeListReader
     return ret;
   }
 
-  public void readFromFile (@Nonnull final IReadableResource aRes)
+  /**
+   * Read all countries of the passed postal code list, including all dated
+   * definitions.
+   *
+   * @param aRes
+   *        The resource to read. May not be <code>null</code>.
+   * @return All countries in the order of the list. Never <code>null</code>.
+   * @throws IllegalArgumentException
+   *         If the resource is not a valid postal code list
+   * @since 5.0.4
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static ICommonsList <DatedPostalCodeCountry> readAllCountries (@Nonnull final IReadableResource aRes)
   {
     ValueEnforcer.notNull (aRes, "Resource");
-    final IMicroDocument aDoc = MicroReader.readMicroXML (aRes);
+    final IMicroDocument aDoc = CodeListReader.readCodeList (aRes);
     if (aDoc == null)
       throw new IllegalArgumentException ("Passed resource is not an XML file: " + aRes);
 
@@ -95,14 +106,12 @@ public class PostalCodeListReader
     if (eBody == null)
       throw new IllegalArgumentException ("Missing body element in file " + aRes);
 
-    final LocalDate aNow = PDTFactory.getCurrentLocalDate ();
-
     // Read all countries
+    final ICommonsList <DatedPostalCodeCountry> ret = new CommonsArrayList<> ();
     for (final IMicroElement eCountry : eBody.getAllChildElements (ELEMENT_COUNTRY))
     {
-      final String sCountryName = eCountry.getAttributeValue (ATTR_NAME);
       final String sISO = eCountry.getAttributeValue (ATTR_ISO);
-      final PostalCodeCountry aCountry = new PostalCodeCountry (sISO);
+      final ICommonsList <PostalCodeDefinition> aDefinitions = new CommonsArrayList<> ();
 
       // Read all postal code definitions
       for (final IMicroElement ePostalCode : eCountry.getAllChildElements (ELEMENT_POSTALCODES))
@@ -115,25 +124,8 @@ public class PostalCodeListReader
         final LocalDate aValidTo = sValidTo == null ? null : DateTimeFormatter.ISO_LOCAL_DATE.parse (sValidTo,
                                                                                                      LocalDate::from);
 
-        if (aValidFrom != null && aValidFrom.isAfter (aNow))
-        {
-          MasterDataLogger.getInstance ()
-                          .info ("Ignoring some postal code definitions of " +
-                                 sCountryName +
-                                 " because they are valid from " +
-                                 aValidFrom.toString ());
-          continue;
-        }
-        if (aValidTo != null && aValidTo.isBefore (aNow))
-        {
-          MasterDataLogger.getInstance ().info ("Ignoring some postal code definitions of " +
-                                                sCountryName +
-                                                " because they are valid until " +
-                                                aValidTo.toString ());
-          continue;
-        }
-
         // Read all formats
+        final ICommonsList <PostalCodeFormat> aFormats = new CommonsArrayList<> ();
         for (final IMicroElement eFormat : ePostalCode.getAllChildElements (ELEMENT_FORMAT))
         {
           final String sFormat = eFormat.getTextContent ();
@@ -145,23 +137,32 @@ public class PostalCodeListReader
           if (aElements.isEmpty ())
             throw new IllegalStateException ("The country " + sISO + " contains an invalid format '" + sFormat + "'");
 
-          aCountry.addFormat (new PostalCodeFormat (sISO, aElements));
+          aFormats.add (new PostalCodeFormat (sISO, aElements));
         }
 
         // Is exactly one code present?
+        final ICommonsList <String> aSpecificPostalCodes = new CommonsArrayList<> ();
         for (final IMicroElement eOneCode : ePostalCode.getAllChildElements (ELEMENT_SPECIFIC))
-          aCountry.addSpecificPostalCode (eOneCode.getTextContent ());
+          aSpecificPostalCodes.add (eOneCode.getTextContent ());
 
         // Is a note present
         final IMicroElement eNote = ePostalCode.getFirstChildElement (ELEMENT_NOTE);
-        if (eNote != null)
-          aCountry.setNote (eNote.getTextContent ());
+        final String sNote = eNote == null ? null : eNote.getTextContent ();
+
+        aDefinitions.add (new PostalCodeDefinition (aValidFrom, aValidTo, aFormats, aSpecificPostalCodes, sNote));
       }
 
-      if (aCountry.getFormatCount () == 0 && aCountry.getSpecificPostalCodeCount () == 0)
+      if (!aDefinitions.containsAny (PostalCodeDefinition::hasFormatsOrSpecificPostalCodes))
         throw new IllegalStateException ("Country " + sISO + " has no formats defined!");
 
-      m_aMgr.addCountry (aCountry);
+      ret.add (new DatedPostalCodeCountry (sISO, aDefinitions));
     }
+    return ret;
+  }
+
+  public void readFromFile (@Nonnull final IReadableResource aRes)
+  {
+    for (final DatedPostalCodeCountry aCountry : readAllCountries (aRes))
+      m_aMgr.addCountry (aCountry);
   }
 }
@@ -16,7 +16,11 @@
  */
 package com.helger.masterdata.postal;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -25,6 +29,7 @@ import javax.annotation.concurrent.ThreadSafe;
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.ReturnsMutableCopy;
 import com.helger.commons.collection.ext.CommonsHashMap;
+import com.helger.commons.collection.ext.CommonsHashSet;
 import com.helger.commons.collection.ext.ICommonsList;
 import com.helger.commons.collection.ext.ICommonsMap;
 import com.helger.commons.collection.ext.ICommonsSet;
@@ -36,7 +41,18 @@ import com.helger.commons.state.ETriState;
 import com.helger.commons.string.ToStringGenerator;
 
 /**
- * Manages postal code definitions for different countries.
+ * Manages postal code definitions for different countries.<br>
+ * After all countries were added, the manager can be frozen with
+ * {@link #freeze()}. Afterwards no more countries can be added and all lookups
+ * work on an immutable map keyed by the two letter country code, without any
+ * locking. The {@link #DEFAULT_MGR} is frozen.<br>
+ * Countries read from a postal code list keep all dated definitions (see
+ * {@link DatedPostalCodeCountry}), so the lookups always use the definitions
+ * valid today. A country without any definition valid today is treated as not
+ * present. A new version of the list can be applied with
+ * {@link #applyPostalCodeList(IReadableResource)}, also on a frozen manager.
+ * Cached information derived from this manager can be refreshed with a change
+ * listener (see {@link #addChangeListener(Consumer)}).
  *
  * @author Philip Helger
  */
@@ -46,8 +62,20 @@ public class PostalCodeManager
   /** Default postal code manager */
   public static final PostalCodeManager DEFAULT_MGR = new PostalCodeManager (new ClassPathResource ("codelists/postal-codes-20130209.xml"));
 
+  static
+  {
+    DEFAULT_MGR.addLocalityIndex (PostalLocalityIndex.readFromXML (new ClassPathResource ("codelists/plz-at.xml"),
+                                                                   "AT"));
+    DEFAULT_MGR.freeze ();
+  }
+
   private final SimpleReadWriteLock m_aRWLock = new SimpleReadWriteLock ();
   private final ICommonsMap <Locale, IPostalCodeCountry> m_aMap = new CommonsHashMap<> ();
+  private final ICommonsMap <Locale, PostalLocalityIndex> m_aLocalityMap = new CommonsHashMap<> ();
+  // Set by freeze - keyed by the upper case country code
+  private volatile ICommonsMap <String, IPostalCodeCountry> m_aFrozenMap;
+  private volatile ICommonsMap <String, PostalLocalityIndex> m_aFrozenLocalityMap;
+  private final List <Consumer <? super ICommonsSet <Locale>>> m_aChangeListeners = new CopyOnWriteArrayList<> ();
 
   public PostalCodeManager ()
   {}
@@ -60,6 +88,50 @@ public class PostalCodeManager
     aReader.readFromFile (aRes);
   }
 
+  private void _checkNotFrozen ()
+  {
+    if (m_aFrozenMap != null)
+      throw new IllegalStateException ("This postal code manager is frozen and cannot be modified!");
+  }
+
+  /**
+   * Freeze this manager, so that no more countries or locality indices can be
+   * added. Afterwards all lookups work without locking. Calling this method
+   * more than once has no effect.
+   *
+   * @since 5.0.4
+   */
+  public void freeze ()
+  {
+    m_aRWLock.writeLocked ( () -> {
+      if (m_aFrozenMap == null)
+      {
+        final ICommonsMap <String, PostalLocalityIndex> aLocalityMap = new CommonsHashMap<> (m_aLocalityMap.size ());
+        m_aLocalityMap.forEach ( (k, v) -> aLocalityMap.put (k.getCountry (), v));
+        m_aFrozenLocalityMap = aLocalityMap;
+        // Assign the country map last, as it is the frozen indicator
+        _publishFrozenMap ();
+      }
+    });
+  }
+
+  private void _publishFrozenMap ()
+  {
+    final ICommonsMap <String, IPostalCodeCountry> aMap = new CommonsHashMap<> (m_aMap.size ());
+    m_aMap.forEach ( (k, v) -> aMap.put (k.getCountry (), v));
+    m_aFrozenMap = aMap;
+  }
+
+  /**
+   * @return <code>true</code> if {@link #freeze()} was called,
+   *         <code>false</code> if this manager can still be modified.
+   * @since 5.0.4
+   */
+  public boolean isFrozen ()
+  {
+    return m_aFrozenMap != null;
+  }
+
   public void addCountry (@Nonnull final IPostalCodeCountry aPostalCountry)
   {
     ValueEnforcer.notNull (aPostalCountry, "PostalCountry");
@@ -68,30 +140,288 @@ public class PostalCodeManager
     final Locale aCountry = CountryCache.getInstance ().getCountry (aPostalCountry.getISO ());
 
     m_aRWLock.writeLocked ( () -> {
+      _checkNotFrozen ();
       if (m_aMap.containsKey (aCountry))
         throw new IllegalArgumentException ("A country with code '" + aCountry + "' was already regsitered!");
       m_aMap.put (aCountry, aPostalCountry);
     });
   }
 
+  /**
+   * Add a listener that is invoked after
+   * {@link #applyPostalCodeList(IReadableResource)} changed at least one
+   * country. The listener is invoked outside of any lock.
+   *
+   * @param aListener
+   *        The listener to add. It retrieves the countries that were added,
+   *        changed or removed. May not be <code>null</code>.
+   * @since 5.0.4
+   */
+  public void addChangeListener (@Nonnull final Consumer <? super ICommonsSet <Locale>> aListener)
+  {
+    ValueEnforcer.notNull (aListener, "Listener");
+    m_aChangeListeners.add (aListener);
+  }
+
+  /**
+   * Apply a new version of a postal code list. Only countries whose
+   * definitions changed are replaced, all other countries are kept as they
+   * are. Countries previously read from a postal code list that are no longer
+   * contained are removed. This also works on a frozen manager, where the
+   * result is published as a new immutable map. Afterwards all change
+   * listeners are invoked if at least one country changed.
+   *
+   * @param aRes
+   *        The postal code list to apply. May not be <code>null</code>.
+   * @return The countries that were added, changed or removed. Never
+   *         <code>null</code>.
+   * @throws IllegalArgumentException
+   *         If the resource is not a valid postal code list
+   * @since 5.0.4
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsSet <Locale> applyPostalCodeList (@Nonnull final IReadableResource aRes)
+  {
+    // Read outside of the lock
+    final ICommonsMap <Locale, DatedPostalCodeCountry> aNewCountries = new CommonsHashMap<> ();
+    for (final DatedPostalCodeCountry aNewCountry : PostalCodeListReader.readAllCountries (aRes))
+      if (aNewCountries.put (CountryCache.getInstance ().getCountry (aNewCountry.getISO ()), aNewCountry) != null)
+        throw new IllegalArgumentException ("The country '" + aNewCountry.getISO () + "' is contained more than once");
+
+    final ICommonsSet <Locale> ret = m_aRWLock.writeLocked ( () -> {
+      final ICommonsSet <Locale> aChanged = new CommonsHashSet<> ();
+      for (final Locale aCountry : m_aMap.copyOfKeySet ())
+        if (m_aMap.get (aCountry) instanceof DatedPostalCodeCountry && !aNewCountries.containsKey (aCountry))
+        {
+          m_aMap.remove (aCountry);
+          aChanged.add (aCountry);
+        }
+      aNewCountries.forEach ( (aCountry, aNewCountry) -> {
+        if (!aNewCountry.equals (m_aMap.get (aCountry)))
+        {
+          m_aMap.put (aCountry, aNewCountry);
+          aChanged.add (aCountry);
+        }
+      });
+      if (aChanged.isNotEmpty () && isFrozen ())
+        _publishFrozenMap ();
+      return aChanged;
+    });
+
+    if (ret.isNotEmpty ())
+      for (final Consumer <? super ICommonsSet <Locale>> aListener : m_aChangeListeners)
+        aListener.accept (ret.getClone ());
+    return ret;
+  }
+
+  /**
+   * Add the postal code to locality mapping of a country.
+   *
+   * @param aLocalityIndex
+   *        The index to add. May not be <code>null</code>.
+   * @throws IllegalArgumentException
+   *         If an index for the same country is already registered.
+   * @since 5.0.4
+   */
+  public void addLocalityIndex (@Nonnull final PostalLocalityIndex aLocalityIndex)
+  {
+    ValueEnforcer.notNull (aLocalityIndex, "LocalityIndex");
+
+    // Unify ISO code
+    final Locale aCountry = CountryCache.getInstance ().getCountry (aLocalityIndex.getISO ());
+
+    m_aRWLock.writeLocked ( () -> {
+      _checkNotFrozen ();
+      if (m_aLocalityMap.containsKey (aCountry))
+        throw new IllegalArgumentException ("A locality index for country '" + aCountry + "' was already registered!");
+      m_aLocalityMap.put (aCountry, aLocalityIndex);
+    });
+  }
+
+  /**
+   * Get the postal code to locality mapping of a country.
+   *
+   * @param aCountry
+   *        The country to query. May be <code>null</code>.
+   * @return <code>null</code> if no locality information is present for the
+   *         passed country.
+   * @since 5.0.4
+   */
+  @Nullable
+  public PostalLocalityIndex getLocalityIndexOfCountry (@Nullable final Locale aCountry)
+  {
+    final ICommonsMap <String, PostalLocalityIndex> aFrozenMap = m_aFrozenLocalityMap;
+    if (aFrozenMap != null)
+      return aCountry == null ? null : aFrozenMap.get (aCountry.getCountry ());
+
+    final Locale aRealCountry = CountryCache.getInstance ().getCountry (aCountry);
+    return m_aRWLock.readLocked ( () -> m_aLocalityMap.get (aRealCountry));
+  }
+
+  /**
+   * @return All countries for which a locality index is present. Never
+   *         <code>null</code>.
+   * @since 5.0.4
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsSet <Locale> getAllCountriesWithLocalities ()
+  {
+    if (isFrozen ())
+      return m_aLocalityMap.copyOfKeySet ();
+    return m_aRWLock.readLocked ( () -> m_aLocalityMap.copyOfKeySet ());
+  }
+
+  /**
+   * Get the locality of a postal code.
+   *
+   * @param aCountry
+   *        The country to query. May be <code>null</code>.
+   * @param sPostalCode
+   *        The postal code to query. May be <code>null</code>.
+   * @return <code>null</code> if no locality information is present for the
+   *         passed country or if the postal code is unknown.
+   * @since 5.0.4
+   */
+  @Nullable
+  public String getLocalityOfPostalCode (@Nullable final Locale aCountry, @Nullable final String sPostalCode)
+  {
+    final PostalLocalityIndex aIndex = getLocalityIndexOfCountry (aCountry);
+    return aIndex == null ? null : aIndex.getLocalityOfPostalCode (sPostalCode);
+  }
+
+  @Nullable
+  private static IPostalCodeCountry _getIfValidToday (@Nullable final IPostalCodeCountry aPostalCountry)
+  {
+    // All definitions expired or not yet valid - same as not present
+    if (aPostalCountry instanceof DatedPostalCodeCountry &&
+        ((DatedPostalCodeCountry) aPostalCountry).getCurrentPostalCountry () == null)
+      return null;
+    return aPostalCountry;
+  }
+
   @Nullable
   public IPostalCodeCountry getPostalCountryOfCountry (@Nullable final String sISO)
   {
+    final ICommonsMap <String, IPostalCodeCountry> aFrozenMap = m_aFrozenMap;
+    if (aFrozenMap != null && sISO != null)
+    {
+      // Fast path for upper case country codes
+      final IPostalCodeCountry ret = aFrozenMap.get (sISO);
+      if (ret != null)
+        return _getIfValidToday (ret);
+    }
     return getPostalCountryOfCountry (CountryCache.getInstance ().getCountry (sISO));
   }
 
   @Nullable
-  public IPostalCodeCountry getPostalCountryOfCountry (@Nullable final Locale aCountry)
+  private IPostalCodeCountry _getPostalCountryOfCountry (@Nullable final Locale aCountry)
   {
+    final ICommonsMap <String, IPostalCodeCountry> aFrozenMap = m_aFrozenMap;
+    if (aFrozenMap != null)
+      return aCountry == null ? null : aFrozenMap.get (aCountry.getCountry ());
+
     final Locale aRealCountry = CountryCache.getInstance ().getCountry (aCountry);
     return m_aRWLock.readLocked ( () -> m_aMap.get (aRealCountry));
   }
 
+  @Nullable
+  public IPostalCodeCountry getPostalCountryOfCountry (@Nullable final Locale aCountry)
+  {
+    return _getIfValidToday (_getPostalCountryOfCountry (aCountry));
+  }
+
+  /**
+   * Get the postal code information of a country as registered, also if no
+   * definition is valid today. In contrast to
+   * {@link #getPostalCountryOfCountry(Locale)} this can be used to keep the
+   * country over time: the {@link DatedPostalCodeCountry} switches to the
+   * definitions valid at the respective day on its own.
+   *
+   * @param aCountry
+   *        The country to query. May be <code>null</code>.
+   * @return <code>null</code> if no information for the passed country is
+   *         present at all.
+   * @since 5.0.4
+   */
+  @Nullable
+  public IPostalCodeCountry getRegisteredPostalCountryOfCountry (@Nullable final Locale aCountry)
+  {
+    return _getPostalCountryOfCountry (aCountry);
+  }
+
   @Nonnull
   @ReturnsMutableCopy
   public ICommonsSet <Locale> getAllAvailableCountries ()
   {
-    return m_aRWLock.readLocked ( () -> m_aMap.copyOfKeySet ());
+    final ICommonsMap <String, IPostalCodeCountry> aFrozenMap = m_aFrozenMap;
+    if (aFrozenMap != null)
+    {
+      final CountryCache aCountryCache = CountryCache.getInstance ();
+      final ICommonsSet <Locale> ret = new CommonsHashSet<> (aFrozenMap.size ());
+      aFrozenMap.forEach ( (k, v) -> {
+        if (_getIfValidToday (v) != null)
+          ret.add (aCountryCache.getCountry (k));
+      });
+      return ret;
+    }
+
+    return m_aRWLock.readLocked ( () -> {
+      final ICommonsSet <Locale> ret = new CommonsHashSet<> ();
+      m_aMap.forEach ( (k, v) -> {
+        if (_getIfValidToday (v) != null)
+          ret.add (k);
+      });
+      return ret;
+    });
+  }
+
+  /**
+   * Get the postal code information of a country valid on a certain date.
+   *
+   * @param aCountry
+   *        The country to query. May be <code>null</code>.
+   * @param aDate
+   *        The date to query. May not be <code>null</code>.
+   * @return <code>null</code> if no information for the passed country is
+   *         present or no definition is valid on the passed date.
+   * @since 5.0.4
+   */
+  @Nullable
+  public IPostalCodeCountry getPostalCountryOfCountry (@Nullable final Locale aCountry, @Nonnull final LocalDate aDate)
+  {
+    ValueEnforcer.notNull (aDate, "Date");
+    final IPostalCodeCountry aPostalCountry = _getPostalCountryOfCountry (aCountry);
+    if (aPostalCountry instanceof DatedPostalCodeCountry)
+      return ((DatedPostalCodeCountry) aPostalCountry).getPostalCountryOfDate (aDate);
+    return aPostalCountry;
+  }
+
+  /**
+   * Check if the passed postal code is valid for the passed country on the
+   * passed date.
+   *
+   * @param aCountry
+   *        The country to check. May be <code>null</code>.
+   * @param sPostalCode
+   *        The postal code to check. May be <code>null</code>.
+   * @param aDate
+   *        The date to check. May not be <code>null</code>.
+   * @return {@link ETriState#UNDEFINED} if no information for the passed
+   *         country are present on the passed date, {@link ETriState#TRUE} if
+   *         the postal code is valid on the passed date or {@link ETriState#FALSE} otherwise.
+   * @since 5.0.4
+   */
+  @Nonnull
+  public ETriState isValidPostalCode (@Nullable final Locale aCountry,
+                                      @Nullable final String sPostalCode,
+                                      @Nonnull final LocalDate aDate)
+  {
+    final IPostalCodeCountry aPostalCountry = getPostalCountryOfCountry (aCountry, aDate);
+    if (aPostalCountry == null)
+      return ETriState.UNDEFINED;
+    return ETriState.valueOf (aPostalCountry.isValidPostalCode (sPostalCode));
   }
 
   /**
@@ -171,6 +501,9 @@ public class PostalCodeManager
   @Override
   public String toString ()
   {
-    return new ToStringGenerator (this).append ("map", m_aMap).getToString ();
+    return new ToStringGenerator (this).append ("map", m_aMap)
+                                       .append ("localityMap", m_aLocalityMap)
+                                       .append ("frozen", isFrozen ())
+                                       .getToString ();
   }
 }
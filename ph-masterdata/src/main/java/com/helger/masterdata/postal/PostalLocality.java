@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.postal;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.equals.EqualsHelper;
+import com.helger.commons.hashcode.HashCodeGenerator;
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * A single postal code with the name of its locality.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+public final class PostalLocality
+{
+  private final String m_sPostalCode;
+  private final String m_sLocality;
+
+  public PostalLocality (@Nonnull @Nonempty final String sPostalCode, @Nonnull @Nonempty final String sLocality)
+  {
+    m_sPostalCode = ValueEnforcer.notEmpty (sPostalCode, "PostalCode");
+    m_sLocality = ValueEnforcer.notEmpty (sLocality, "Locality");
+  }
+
+  /**
+   * @return The postal code, e.g. <code>1010</code>. Never <code>null</code>
+   *         nor empty.
+   */
+  @Nonnull
+  @Nonempty
+  public String getPostalCode ()
+  {
+    return m_sPostalCode;
+  }
+
+  /**
+   * @return The name of the locality, e.g. <code>Wien</code>. Never
+   *         <code>null</code> nor empty.
+   */
+  @Nonnull
+  @Nonempty
+  public String getLocality ()
+  {
+    return m_sLocality;
+  }
+
+  @Override
+  public boolean equals (final Object o)
+  {
+    if (o == this)
+      return true;
+    if (o == null || !getClass ().equals (o.getClass ()))
+      return false;
+    final PostalLocality rhs = (PostalLocality) o;
+    return EqualsHelper.equals (m_sPostalCode, rhs.m_sPostalCode) && EqualsHelper.equals (m_sLocality, rhs.m_sLocality);
+  }
+
+  @Override
+  public int hashCode ()
+  {
+    return new HashCodeGenerator (this).append (m_sPostalCode).append (m_sLocality).getHashCode ();
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("postalCode", m_sPostalCode)
+                                       .append ("locality", m_sLocality)
+                                       .getToString ();
+  }
+}
@@ -0,0 +1,300 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.postal;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.io.resource.IReadableResource;
+import com.helger.commons.string.StringHelper;
+import com.helger.commons.string.ToStringGenerator;
+import com.helger.masterdata.codelist.CodeListReader;
+import com.helger.xml.microdom.IMicroDocument;
+import com.helger.xml.microdom.IMicroElement;
+
+/**
+ * Maps the postal codes of a single country to the names of their localities.
+ * The data is kept in sorted arrays, so that exact lookups as well as prefix
+ * searches on the postal code and on the locality name are simple binary
+ * searches without any object allocation besides the result. Locality names
+ * are compared case and accent insensitive, so that e.g. <code>oh</code>
+ * finds <code>&Ouml;hling</code>.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+public final class PostalLocalityIndex
+{
+  public static final String ELEMENT_ITEM = "item";
+  public static final String ATTR_PLZ = "plz";
+
+  private final String m_sISO;
+  // Sorted by postal code
+  private final String [] m_aPostalCodes;
+  private final String [] m_aLocalities;
+  // Sorted by normalized locality name and postal code
+  private final String [] m_aLocalityKeys;
+  private final int [] m_aLocalityIndex;
+
+  public PostalLocalityIndex (@Nonnull @Nonempty final String sISO,
+                              @Nonnull final Collection <PostalLocality> aLocalities)
+  {
+    ValueEnforcer.notEmpty (sISO, "ISO");
+    ValueEnforcer.notNullNoNullValue (aLocalities, "Localities");
+
+    final PostalLocality [] aSorted = aLocalities.toArray (new PostalLocality [aLocalities.size ()]);
+    Arrays.sort (aSorted, Comparator.comparing (PostalLocality::getPostalCode));
+    final int nCount = aSorted.length;
+    m_sISO = sISO;
+    m_aPostalCodes = new String [nCount];
+    m_aLocalities = new String [nCount];
+    for (int i = 0; i < nCount; ++i)
+    {
+      final String sPostalCode = aSorted[i].getPostalCode ();
+      if (i > 0 && sPostalCode.equals (m_aPostalCodes[i - 1]))
+        throw new IllegalArgumentException ("The postal code '" + sPostalCode + "' is contained more than once");
+      m_aPostalCodes[i] = sPostalCode;
+      m_aLocalities[i] = aSorted[i].getLocality ();
+    }
+
+    // The postal codes are unique and sorted, so the index is a valid tie
+    // breaker
+    final String [] aKeys = new String [nCount];
+    final Integer [] aOrder = new Integer [nCount];
+    for (int i = 0; i < nCount; ++i)
+    {
+      aKeys[i] = getNormalizedLocality (m_aLocalities[i]);
+      aOrder[i] = Integer.valueOf (i);
+    }
+    Arrays.sort (aOrder, Comparator.comparing ((final Integer aIdx) -> aKeys[aIdx.intValue ()])
+                                   .thenComparingInt (Integer::intValue));
+    m_aLocalityKeys = new String [nCount];
+    m_aLocalityIndex = new int [nCount];
+    for (int i = 0; i < nCount; ++i)
+    {
+      final int nIdx = aOrder[i].intValue ();
+      m_aLocalityKeys[i] = aKeys[nIdx];
+      m_aLocalityIndex[i] = nIdx;
+    }
+  }
+
+  /**
+   * Get the normalized form of a locality name as used for the locality
+   * prefix search: lower case and without diacritical marks.
+   *
+   * @param sLocality
+   *        The locality name to normalize. May not be <code>null</code>.
+   * @return The normalized name. Never <code>null</code>.
+   */
+  @Nonnull
+  public static String getNormalizedLocality (@Nonnull final String sLocality)
+  {
+    boolean bASCII = true;
+    for (int i = 0; i < sLocality.length (); ++i)
+      if (sLocality.charAt (i) >= 0x80)
+      {
+        bASCII = false;
+        break;
+      }
+    if (bASCII)
+      return sLocality.toLowerCase (Locale.ROOT);
+
+    final String sDecomposed = Normalizer.normalize (sLocality, Normalizer.Form.NFD);
+    final StringBuilder aSB = new StringBuilder (sDecomposed.length ());
+    for (int i = 0; i < sDecomposed.length (); ++i)
+    {
+      final char c = sDecomposed.charAt (i);
+      if (Character.getType (c) != Character.NON_SPACING_MARK)
+        aSB.append (c);
+    }
+    return aSB.toString ().toLowerCase (Locale.ROOT);
+  }
+
+  /**
+   * @return The index of the first element that is &ge; the passed value.
+   */
+  private static int _getLowerBound (@Nonnull final String [] aSorted, @Nonnull final String sValue)
+  {
+    int nLow = 0;
+    int nHigh = aSorted.length;
+    while (nLow < nHigh)
+    {
+      final int nMid = (nLow + nHigh) >>> 1;
+      if (aSorted[nMid].compareTo (sValue) < 0)
+        nLow = nMid + 1;
+      else
+        nHigh = nMid;
+    }
+    return nLow;
+  }
+
+  /**
+   * @return The ISO country code this index belongs to. Never
+   *         <code>null</code> nor empty.
+   */
+  @Nonnull
+  @Nonempty
+  public String getISO ()
+  {
+    return m_sISO;
+  }
+
+  /**
+   * @return The number of contained postal codes. Always &ge; 0.
+   */
+  @Nonnegative
+  public int getCount ()
+  {
+    return m_aPostalCodes.length;
+  }
+
+  public boolean containsPostalCode (@Nullable final String sPostalCode)
+  {
+    return sPostalCode != null && Arrays.binarySearch (m_aPostalCodes, sPostalCode) >= 0;
+  }
+
+  /**
+   * Get the locality of the passed postal code.
+   *
+   * @param sPostalCode
+   *        The postal code to search. May be <code>null</code>.
+   * @return <code>null</code> if no such postal code is contained.
+   */
+  @Nullable
+  public String getLocalityOfPostalCode (@Nullable final String sPostalCode)
+  {
+    if (sPostalCode == null)
+      return null;
+    final int nIdx = Arrays.binarySearch (m_aPostalCodes, sPostalCode);
+    return nIdx < 0 ? null : m_aLocalities[nIdx];
+  }
+
+  /**
+   * Get all postal codes starting with the passed prefix, ordered by postal
+   * code.
+   *
+   * @param sPrefix
+   *        The postal code prefix, e.g. <code>10</code>. May not be
+   *        <code>null</code>. The empty prefix matches everything.
+   * @param nMaxResults
+   *        The maximum number of results to return. Must be &gt; 0.
+   * @return The matching entries. Never <code>null</code> but maybe empty.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <PostalLocality> getAllOfPostalCodePrefix (@Nonnull final String sPrefix,
+                                                                 @Nonnegative final int nMaxResults)
+  {
+    ValueEnforcer.notNull (sPrefix, "Prefix");
+    ValueEnforcer.isGT0 (nMaxResults, "MaxResults");
+
+    final ICommonsList <PostalLocality> ret = new CommonsArrayList<> ();
+    for (int i = _getLowerBound (m_aPostalCodes, sPrefix); i < m_aPostalCodes.length &&
+                                                           ret.size () < nMaxResults &&
+                                                           m_aPostalCodes[i].startsWith (sPrefix); ++i)
+      ret.add (new PostalLocality (m_aPostalCodes[i], m_aLocalities[i]));
+    return ret;
+  }
+
+  /**
+   * Get all entries where the locality name starts with the passed prefix,
+   * e.g. for an autocomplete. The search is case and accent insensitive and
+   * the results are ordered by locality name and postal code.
+   *
+   * @param sPrefix
+   *        The locality name prefix, e.g. <code>gr</code>. May not be
+   *        <code>null</code>. The empty prefix matches everything.
+   * @param nMaxResults
+   *        The maximum number of results to return. Must be &gt; 0.
+   * @return The matching entries. Never <code>null</code> but maybe empty.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <PostalLocality> getAllOfLocalityPrefix (@Nonnull final String sPrefix,
+                                                               @Nonnegative final int nMaxResults)
+  {
+    ValueEnforcer.notNull (sPrefix, "Prefix");
+    ValueEnforcer.isGT0 (nMaxResults, "MaxResults");
+
+    final String sKey = getNormalizedLocality (sPrefix);
+    final ICommonsList <PostalLocality> ret = new CommonsArrayList<> ();
+    for (int i = _getLowerBound (m_aLocalityKeys, sKey); i < m_aLocalityKeys.length &&
+                                                         ret.size () < nMaxResults &&
+                                                         m_aLocalityKeys[i].startsWith (sKey); ++i)
+    {
+      final int nIdx = m_aLocalityIndex[i];
+      ret.add (new PostalLocality (m_aPostalCodes[nIdx], m_aLocalities[nIdx]));
+    }
+    return ret;
+  }
+
+  /**
+   * Read a postal code to locality list in the format of
+   * <code>codelists/plz-at.xml</code>, where each <code>item</code> element
+   * of the root element contains the postal code in the <code>plz</code>
+   * attribute and the locality name as text.
+   *
+   * @param aRes
+   *        The resource to read. May not be <code>null</code>.
+   * @param sISO
+   *        The ISO country code of the data. May neither be <code>null</code>
+   *        nor empty.
+   * @return The created index. Never <code>null</code>.
+   * @throws IllegalArgumentException
+   *         If the resource is not a valid list
+   */
+  @Nonnull
+  public static PostalLocalityIndex readFromXML (@Nonnull final IReadableResource aRes,
+                                                 @Nonnull @Nonempty final String sISO)
+  {
+    ValueEnforcer.notNull (aRes, "Resource");
+    final IMicroDocument aDoc = CodeListReader.readCodeList (aRes);
+    if (aDoc == null)
+      throw new IllegalArgumentException ("Passed resource is not an XML file: " + aRes);
+
+    final ICommonsList <PostalLocality> aLocalities = new CommonsArrayList<> ();
+    for (final IMicroElement eItem : aDoc.getDocumentElement ().getAllChildElements (ELEMENT_ITEM))
+    {
+      final String sPostalCode = eItem.getAttributeValue (ATTR_PLZ);
+      final String sLocality = StringHelper.trim (eItem.getTextContent ());
+      if (StringHelper.hasNoText (sPostalCode) || StringHelper.hasNoText (sLocality))
+        throw new IllegalArgumentException ("Invalid item with postal code '" + sPostalCode + "' in file " + aRes);
+      aLocalities.add (new PostalLocality (sPostalCode, sLocality));
+    }
+    return new PostalLocalityIndex (sISO, aLocalities);
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("ISO", m_sISO).append ("count", m_aPostalCodes.length).getToString ();
+  }
+}
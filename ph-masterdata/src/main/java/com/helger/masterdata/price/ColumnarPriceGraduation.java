@@ -0,0 +1,506 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.price;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.equals.EqualsHelper;
+import com.helger.commons.hashcode.HashCodeGenerator;
+import com.helger.commons.state.EChange;
+import com.helger.commons.string.ToStringGenerator;
+import com.helger.masterdata.currency.ECurrency;
+import com.helger.masterdata.vat.IVATItem;
+
+/**
+ * An implementation of {@link IMutablePriceGraduation} that stores the minimum
+ * quantities and the unit net amounts in two parallel arrays sorted by the
+ * minimum quantity. Lookups by quantity and the insertion of new items use a
+ * binary search, so this implementation is well suited for graduations with a
+ * lot of items.<br>
+ * The items returned by e.g. {@link #getAllItems()} are views on the arrays,
+ * that are created on demand once per item. Modifying them modifies this
+ * graduation, and changing the minimum quantity moves the item to its new
+ * position. Items passed to {@link #addItem(IMutablePriceGraduationItem)} are
+ * copied, so use the items returned by this graduation for modifications.
+ * Items removed by {@link #clear()} keep their last values and are detached
+ * from this graduation.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@NotThreadSafe
+public class ColumnarPriceGraduation implements IMutablePriceGraduation
+{
+  private static final int DEFAULT_CAPACITY = 4;
+
+  /**
+   * The view on a single row of the arrays.
+   */
+  private final class Item implements IMutablePriceGraduationItem
+  {
+    // The row of this item or -1 if it was removed
+    private int m_nIndex;
+    // The values of a removed item
+    private int m_nMinimumQuantity;
+    private BigDecimal m_aUnitNetAmount;
+
+    Item (@Nonnegative final int nIndex)
+    {
+      m_nIndex = nIndex;
+    }
+
+    void detach ()
+    {
+      m_nMinimumQuantity = m_aMinQuantities[m_nIndex];
+      m_aUnitNetAmount = m_aUnitNetAmounts[m_nIndex];
+      m_nIndex = -1;
+    }
+
+    @Nonnegative
+    public int getMinimumQuantity ()
+    {
+      return m_nIndex < 0 ? m_nMinimumQuantity : m_aMinQuantities[m_nIndex];
+    }
+
+    @Nonnull
+    public EChange setMinimumQuantity (@Nonnegative final int nMinimumQuantity)
+    {
+      ValueEnforcer.isGT0 (nMinimumQuantity, "MinimumQuantity");
+
+      if (nMinimumQuantity == getMinimumQuantity ())
+        return EChange.UNCHANGED;
+      if (m_nIndex < 0)
+        m_nMinimumQuantity = nMinimumQuantity;
+      else
+        _moveRow (m_nIndex, nMinimumQuantity);
+      return EChange.CHANGED;
+    }
+
+    @Nonnull
+    public BigDecimal getUnitNetAmount ()
+    {
+      return m_nIndex < 0 ? m_aUnitNetAmount : m_aUnitNetAmounts[m_nIndex];
+    }
+
+    @Nonnull
+    public EChange setUnitNetAmount (@Nonnull final BigDecimal aUnitNetAmount)
+    {
+      ValueEnforcer.notNull (aUnitNetAmount, "UnitNetAmount");
+
+      if (EqualsHelper.equals (aUnitNetAmount, getUnitNetAmount ()))
+        return EChange.UNCHANGED;
+      if (m_nIndex < 0)
+        m_aUnitNetAmount = aUnitNetAmount;
+      else
+        m_aUnitNetAmounts[m_nIndex] = aUnitNetAmount;
+      return EChange.CHANGED;
+    }
+
+    @Override
+    public boolean equals (final Object o)
+    {
+      if (o == this)
+        return true;
+      if (o == null || !getClass ().equals (o.getClass ()))
+        return false;
+      final Item rhs = (Item) o;
+      return getMinimumQuantity () == rhs.getMinimumQuantity () &&
+             EqualsHelper.equals (getUnitNetAmount (), rhs.getUnitNetAmount ());
+    }
+
+    @Override
+    public int hashCode ()
+    {
+      return new HashCodeGenerator (this).append (getMinimumQuantity ()).append (getUnitNetAmount ()).getHashCode ();
+    }
+
+    @Override
+    public String toString ()
+    {
+      return new ToStringGenerator (this).append ("minQuantity", getMinimumQuantity ())
+                                         .append ("priceamount", getUnitNetAmount ())
+                                         .getToString ();
+    }
+  }
+
+  private final ECurrency m_eCurrency;
+
+  // Sorted ascending by the minimum quantity
+  private int [] m_aMinQuantities;
+  // The unit net amount of the respective minimum quantity
+  private BigDecimal [] m_aUnitNetAmounts;
+  // The items of the respective rows - only created on demand
+  private transient Item [] m_aItems;
+  private int m_nSize = 0;
+
+  /**
+   * Create a new price graduation valid only for the given currency.
+   *
+   * @param eCurrency
+   *        The currency to use. May not be <code>null</code>.
+   */
+  public ColumnarPriceGraduation (@Nonnull final ECurrency eCurrency)
+  {
+    this (eCurrency, DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Create a new price graduation valid only for the given currency.
+   *
+   * @param eCurrency
+   *        The currency to use. May not be <code>null</code>.
+   * @param nInitialCapacity
+   *        The number of items for which space should be reserved. Must be
+   *        &ge; 0.
+   */
+  public ColumnarPriceGraduation (@Nonnull final ECurrency eCurrency, @Nonnegative final int nInitialCapacity)
+  {
+    ValueEnforcer.isGE0 (nInitialCapacity, "InitialCapacity");
+    m_eCurrency = ValueEnforcer.notNull (eCurrency, "Currency");
+    m_aMinQuantities = new int [nInitialCapacity];
+    m_aUnitNetAmounts = new BigDecimal [nInitialCapacity];
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param aOther
+   *        The price graduation to copy from. May not be <code>null</code>.
+   */
+  public ColumnarPriceGraduation (@Nonnull final IPriceGraduation aOther)
+  {
+    this (aOther.getCurrency (), aOther.getSize ());
+    // Items are already sorted
+    for (final IPriceGraduationItem aItem : aOther.getAllItems ())
+      addItem (aItem.getMinimumQuantity (), aItem.getUnitNetAmount ());
+  }
+
+  @Nonnull
+  public ECurrency getCurrency ()
+  {
+    return m_eCurrency;
+  }
+
+  @Nonnull
+  private IMutablePriceGraduationItem _getItemOfIndex (@Nonnegative final int nIndex)
+  {
+    if (m_aItems == null)
+      m_aItems = new Item [m_aMinQuantities.length];
+    Item ret = m_aItems[nIndex];
+    if (ret == null)
+    {
+      ret = new Item (nIndex);
+      m_aItems[nIndex] = ret;
+    }
+    return ret;
+  }
+
+  @Nullable
+  public IMutablePriceGraduationItem getSmallestMinimumQuantityItem ()
+  {
+    return m_nSize == 0 ? null : _getItemOfIndex (0);
+  }
+
+  @Nullable
+  public IMutablePriceGraduationItem getLargestMinimumQuantityItem ()
+  {
+    return m_nSize == 0 ? null : _getItemOfIndex (m_nSize - 1);
+  }
+
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <? extends IMutablePriceGraduationItem> getAllItems ()
+  {
+    final ICommonsList <IMutablePriceGraduationItem> ret = new CommonsArrayList<> (m_nSize);
+    for (int i = 0; i < m_nSize; ++i)
+      ret.add (_getItemOfIndex (i));
+    return ret;
+  }
+
+  @Nullable
+  public IMutablePriceGraduationItem getItemOfIndex (@Nonnegative final int nIndex)
+  {
+    return nIndex >= 0 && nIndex < m_nSize ? _getItemOfIndex (nIndex) : null;
+  }
+
+  /**
+   * @param nQuantity
+   *        The minimum quantity to search.
+   * @return The index of the item if found, or <code>-(insertion point) - 1
+   *         </code> if not found.
+   */
+  private int _getIndexOfMinimumQuantity (final int nQuantity)
+  {
+    return Arrays.binarySearch (m_aMinQuantities, 0, m_nSize, nQuantity);
+  }
+
+  /**
+   * Get the unit net amount to be used for the passed quantity.
+   *
+   * @param nQuantity
+   *        The quantity to search. Must be &gt; 0.
+   * @return The unit net amount of the item with the largest minimum quantity
+   *         that is &le; the passed quantity. Never <code>null</code>.
+   * @throws IllegalStateException
+   *         if no such item is present
+   */
+  @Nonnull
+  public BigDecimal getUnitNetAmountOfQuantity (@Nonnegative final int nQuantity)
+  {
+    ValueEnforcer.isGT0 (nQuantity, "Quantity");
+
+    int nIndex = _getIndexOfMinimumQuantity (nQuantity);
+    if (nIndex < 0)
+    {
+      // Use the item before the insertion point
+      nIndex = -(nIndex + 1) - 1;
+      if (nIndex < 0)
+        throw new IllegalStateException ("Failed to resolve item of quantity " + nQuantity + " in " + toString ());
+    }
+    return m_aUnitNetAmounts[nIndex];
+  }
+
+  @Nonnull
+  private IMutablePrice _createPrice (@Nonnull final BigDecimal aNetAmount, @Nonnull final IVATItem aVAT)
+  {
+    return new Price (m_eCurrency, aNetAmount, aVAT);
+  }
+
+  @Nonnull
+  public IMutablePrice getPrice (@Nonnull final IPriceGraduationItem aItem, @Nonnull final IVATItem aVATItem)
+  {
+    ValueEnforcer.notNull (aItem, "Item");
+    ValueEnforcer.notNull (aVATItem, "VATItem");
+
+    final int nIndex = _getIndexOfMinimumQuantity (aItem.getMinimumQuantity ());
+    if (nIndex < 0 || !EqualsHelper.equals (m_aUnitNetAmounts[nIndex], aItem.getUnitNetAmount ()))
+      throw new IllegalArgumentException ("passed item is not contained in this price graduation: " + aItem);
+    return _createPrice (aItem.getUnitNetAmount (), aVATItem);
+  }
+
+  @Nonnull
+  public IMutablePrice getSinglePriceOfQuantity (@Nonnegative final int nQuantity, @Nonnull final IVATItem aVATItem)
+  {
+    ValueEnforcer.notNull (aVATItem, "VATItem");
+    return _createPrice (getUnitNetAmountOfQuantity (nQuantity), aVATItem);
+  }
+
+  @Nonnull
+  public IMutablePrice getTotalPriceOfQuantity (@Nonnegative final int nQuantity, @Nonnull final IVATItem aVAT)
+  {
+    return getSinglePriceOfQuantity (nQuantity, aVAT).getMultiplied (nQuantity);
+  }
+
+  /**
+   * @param nMinimumQuantity
+   *        The minimum quantity of the new row.
+   * @return The index at which a row with the passed minimum quantity must be
+   *         inserted.
+   * @throws IllegalArgumentException
+   *         If another row with the same minimum quantity is already contained
+   */
+  @Nonnegative
+  private int _getInsertIndex (final int nMinimumQuantity)
+  {
+    // Shortcut for adding in ascending order
+    if (m_nSize == 0 || nMinimumQuantity > m_aMinQuantities[m_nSize - 1])
+      return m_nSize;
+
+    final int nIndex = _getIndexOfMinimumQuantity (nMinimumQuantity);
+    if (nIndex >= 0)
+      throw new IllegalArgumentException ("Another item with the exact same quantity is already contained: " +
+                                          nMinimumQuantity);
+    return -(nIndex + 1);
+  }
+
+  /**
+   * Move the rows from the source index to the destination index and update
+   * the indices of the affected items.
+   */
+  private void _moveRows (@Nonnegative final int nSrcIndex,
+                          @Nonnegative final int nDstIndex,
+                          @Nonnegative final int nCount)
+  {
+    if (nCount > 0)
+    {
+      System.arraycopy (m_aMinQuantities, nSrcIndex, m_aMinQuantities, nDstIndex, nCount);
+      System.arraycopy (m_aUnitNetAmounts, nSrcIndex, m_aUnitNetAmounts, nDstIndex, nCount);
+      if (m_aItems != null)
+      {
+        System.arraycopy (m_aItems, nSrcIndex, m_aItems, nDstIndex, nCount);
+        for (int i = nDstIndex; i < nDstIndex + nCount; ++i)
+          if (m_aItems[i] != null)
+            m_aItems[i].m_nIndex = i;
+      }
+    }
+  }
+
+  private void _insertRow (@Nonnegative final int nIndex,
+                           final int nMinimumQuantity,
+                           @Nonnull final BigDecimal aUnitNetAmount,
+                           @Nullable final Item aItem)
+  {
+    if (m_nSize == m_aMinQuantities.length)
+    {
+      final int nNewCapacity = Math.max (DEFAULT_CAPACITY, m_nSize + (m_nSize >> 1));
+      m_aMinQuantities = Arrays.copyOf (m_aMinQuantities, nNewCapacity);
+      m_aUnitNetAmounts = Arrays.copyOf (m_aUnitNetAmounts, nNewCapacity);
+      if (m_aItems != null)
+        m_aItems = Arrays.copyOf (m_aItems, nNewCapacity);
+    }
+
+    _moveRows (nIndex, nIndex + 1, m_nSize - nIndex);
+    m_aMinQuantities[nIndex] = nMinimumQuantity;
+    m_aUnitNetAmounts[nIndex] = aUnitNetAmount;
+    if (m_aItems != null)
+      m_aItems[nIndex] = aItem;
+    if (aItem != null)
+      aItem.m_nIndex = nIndex;
+    m_nSize++;
+  }
+
+  /**
+   * Change the minimum quantity of a row and move it to its new position.
+   */
+  private void _moveRow (@Nonnegative final int nIndex, final int nNewMinimumQuantity)
+  {
+    // Check before anything is modified
+    if (_getIndexOfMinimumQuantity (nNewMinimumQuantity) >= 0)
+      throw new IllegalArgumentException ("Another item with the exact same quantity is already contained: " +
+                                          nNewMinimumQuantity);
+
+    final BigDecimal aUnitNetAmount = m_aUnitNetAmounts[nIndex];
+    final Item aItem = m_aItems == null ? null : m_aItems[nIndex];
+
+    // Remove the row
+    _moveRows (nIndex + 1, nIndex, m_nSize - nIndex - 1);
+    m_nSize--;
+    m_aUnitNetAmounts[m_nSize] = null;
+    if (m_aItems != null)
+      m_aItems[m_nSize] = null;
+
+    _insertRow (_getInsertIndex (nNewMinimumQuantity), nNewMinimumQuantity, aUnitNetAmount, aItem);
+  }
+
+  @Nonnull
+  public EChange addItem (@Nonnegative final int nMinimumQuantity, @Nonnull final BigDecimal aUnitNetAmount)
+  {
+    ValueEnforcer.isGT0 (nMinimumQuantity, "MinimumQuantity");
+    ValueEnforcer.notNull (aUnitNetAmount, "UnitNetAmount");
+
+    _insertRow (_getInsertIndex (nMinimumQuantity), nMinimumQuantity, aUnitNetAmount, null);
+    return EChange.CHANGED;
+  }
+
+  @Nonnull
+  public EChange addItem (@Nonnull final IMutablePriceGraduationItem aItem)
+  {
+    ValueEnforcer.notNull (aItem, "Item");
+    return addItem (aItem.getMinimumQuantity (), aItem.getUnitNetAmount ());
+  }
+
+  @Nonnull
+  public EChange clear ()
+  {
+    if (m_nSize == 0)
+      return EChange.UNCHANGED;
+    if (m_aItems != null)
+    {
+      // Items still referenced elsewhere keep their values
+      for (int i = 0; i < m_nSize; ++i)
+        if (m_aItems[i] != null)
+          m_aItems[i].detach ();
+      Arrays.fill (m_aItems, 0, m_nSize, null);
+    }
+    // Release references
+    Arrays.fill (m_aUnitNetAmounts, 0, m_nSize, null);
+    m_nSize = 0;
+    return EChange.CHANGED;
+  }
+
+  public boolean isEmpty ()
+  {
+    return m_nSize == 0;
+  }
+
+  @Nonnegative
+  public int getSize ()
+  {
+    return m_nSize;
+  }
+
+  @Override
+  public boolean equals (final Object o)
+  {
+    if (o == this)
+      return true;
+    if (o == null || !getClass ().equals (o.getClass ()))
+      return false;
+    final ColumnarPriceGraduation rhs = (ColumnarPriceGraduation) o;
+    if (!EqualsHelper.equals (m_eCurrency, rhs.m_eCurrency) || m_nSize != rhs.m_nSize)
+      return false;
+    for (int i = 0; i < m_nSize; ++i)
+      if (m_aMinQuantities[i] != rhs.m_aMinQuantities[i] ||
+          !EqualsHelper.equals (m_aUnitNetAmounts[i], rhs.m_aUnitNetAmounts[i]))
+        return false;
+    return true;
+  }
+
+  @Override
+  public int hashCode ()
+  {
+    final HashCodeGenerator aHCG = new HashCodeGenerator (this).append (m_eCurrency).append (m_nSize);
+    for (int i = 0; i < m_nSize; ++i)
+      aHCG.append (m_aMinQuantities[i]).append (m_aUnitNetAmounts[i]);
+    return aHCG.getHashCode ();
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("currency", m_eCurrency)
+                                       .append ("minQuantities", Arrays.copyOf (m_aMinQuantities, m_nSize))
+                                       .append ("unitNetAmounts", Arrays.copyOf (m_aUnitNetAmounts, m_nSize))
+                                       .getToString ();
+  }
+
+  /**
+   * Create a simple price graduation that contains one item with the minimum
+   * quantity of 1.
+   *
+   * @param aPrice
+   *        The price to use. May not be <code>null</code>.
+   * @return Never <code>null</code>.
+   */
+  @Nonnull
+  public static ColumnarPriceGraduation createSimple (@Nonnull final IPrice aPrice)
+  {
+    final ColumnarPriceGraduation ret = new ColumnarPriceGraduation (aPrice.getCurrency (), 1);
+    ret.addItem (1, aPrice.getNetAmount ().getValue ());
+    return ret;
+  }
+}
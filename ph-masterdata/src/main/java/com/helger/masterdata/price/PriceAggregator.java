@@ -0,0 +1,236 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.price;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collector;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.CommonsLinkedHashMap;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.collection.ext.ICommonsOrderedMap;
+import com.helger.commons.hashcode.HashCodeGenerator;
+import com.helger.commons.string.ToStringGenerator;
+import com.helger.masterdata.currency.ECurrency;
+import com.helger.masterdata.vat.IVATItem;
+
+/**
+ * Sums up net amounts of {@link IPrice} objects grouped by {@link IVATItem} and
+ * {@link ECurrency}. The net values are summed without rounding, and tax and
+ * gross are calculated only once per group based on the total, using the
+ * scale and rounding mode of the currency. This avoids the allocation of
+ * intermediate currency values per price as well as rounding differences per
+ * line.<br>
+ * Use {@link #collector()} to aggregate (parallel) streams.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@NotThreadSafe
+public final class PriceAggregator
+{
+  private static final class Key
+  {
+    private final IVATItem m_aVATItem;
+    private final ECurrency m_eCurrency;
+    // Status vars
+    private int m_nHashCode = 0;
+
+    Key (@Nonnull final IVATItem aVATItem, @Nonnull final ECurrency eCurrency)
+    {
+      m_aVATItem = aVATItem;
+      m_eCurrency = eCurrency;
+    }
+
+    @Override
+    public boolean equals (final Object o)
+    {
+      if (o == this)
+        return true;
+      if (o == null || !getClass ().equals (o.getClass ()))
+        return false;
+      final Key rhs = (Key) o;
+      return m_aVATItem.equals (rhs.m_aVATItem) && m_eCurrency.equals (rhs.m_eCurrency);
+    }
+
+    @Override
+    public int hashCode ()
+    {
+      int ret = m_nHashCode;
+      if (ret == 0)
+        ret = m_nHashCode = new HashCodeGenerator (this).append (m_aVATItem).append (m_eCurrency).getHashCode ();
+      return ret;
+    }
+  }
+
+  private static final class Sum
+  {
+    private int m_nCount;
+    private BigDecimal m_aNetValue = BigDecimal.ZERO;
+  }
+
+  private final ICommonsOrderedMap <Key, Sum> m_aSums = new CommonsLinkedHashMap<> ();
+  private int m_nPriceCount = 0;
+
+  public PriceAggregator ()
+  {}
+
+  /**
+   * Add a single price.
+   *
+   * @param aPrice
+   *        The price to add. May not be <code>null</code>.
+   * @return this for chaining
+   */
+  @Nonnull
+  public PriceAggregator add (@Nonnull final IPrice aPrice)
+  {
+    ValueEnforcer.notNull (aPrice, "Price");
+
+    final Sum aSum = m_aSums.computeIfAbsent (new Key (aPrice.getVATItem (), aPrice.getCurrency ()), k -> new Sum ());
+    aSum.m_nCount++;
+    aSum.m_aNetValue = aSum.m_aNetValue.add (aPrice.getNetValue ());
+    m_nPriceCount++;
+    return this;
+  }
+
+  /**
+   * Add all passed prices.
+   *
+   * @param aPrices
+   *        The prices to add. May not be <code>null</code>.
+   * @return this for chaining
+   */
+  @Nonnull
+  public PriceAggregator addAll (@Nonnull final Iterable <? extends IPrice> aPrices)
+  {
+    ValueEnforcer.notNull (aPrices, "Prices");
+    for (final IPrice aPrice : aPrices)
+      add (aPrice);
+    return this;
+  }
+
+  /**
+   * Add all sums of the passed aggregator to this aggregator.
+   *
+   * @param aOther
+   *        The aggregator to merge. May not be <code>null</code>.
+   * @return this for chaining
+   */
+  @Nonnull
+  public PriceAggregator combine (@Nonnull final PriceAggregator aOther)
+  {
+    ValueEnforcer.notNull (aOther, "Other");
+
+    for (final Map.Entry <Key, Sum> aEntry : aOther.m_aSums.entrySet ())
+    {
+      final Sum aOtherSum = aEntry.getValue ();
+      final Sum aSum = m_aSums.computeIfAbsent (aEntry.getKey (), k -> new Sum ());
+      aSum.m_nCount += aOtherSum.m_nCount;
+      aSum.m_aNetValue = aSum.m_aNetValue.add (aOtherSum.m_aNetValue);
+    }
+    m_nPriceCount += aOther.m_nPriceCount;
+    return this;
+  }
+
+  /**
+   * @return The number of prices added so far.
+   */
+  @Nonnegative
+  public int getPriceCount ()
+  {
+    return m_nPriceCount;
+  }
+
+  public boolean isEmpty ()
+  {
+    return m_nPriceCount == 0;
+  }
+
+  /**
+   * Get the rounded totals of all groups.
+   *
+   * @return A list with one entry per combination of VAT item and currency in
+   *         the order the combinations were first encountered. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <PriceTotal> getAllTotals ()
+  {
+    final ICommonsList <PriceTotal> ret = new CommonsArrayList<> (m_aSums.size ());
+    for (final Map.Entry <Key, Sum> aEntry : m_aSums.entrySet ())
+    {
+      final Key aKey = aEntry.getKey ();
+      final Sum aSum = aEntry.getValue ();
+      final ECurrency eCurrency = aKey.m_eCurrency;
+      final BigDecimal aNetValue = eCurrency.getRounded (aSum.m_aNetValue);
+      // Tax is based on the unrounded net total
+      final BigDecimal aTaxValue = eCurrency.getRounded (aSum.m_aNetValue.multiply (aKey.m_aVATItem.getPercentageFactor ()));
+      ret.add (new PriceTotal (eCurrency, aKey.m_aVATItem, aSum.m_nCount, aNetValue, aTaxValue));
+    }
+    return ret;
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("priceCount", m_nPriceCount)
+                                       .append ("groups", m_aSums.size ())
+                                       .getToString ();
+  }
+
+  /**
+   * @return A collector that aggregates a stream of prices. It can be used
+   *         with sequential and parallel streams. Never <code>null</code>.
+   */
+  @Nonnull
+  public static Collector <IPrice, PriceAggregator, PriceAggregator> collector ()
+  {
+    return Collector.of (PriceAggregator::new, PriceAggregator::add, PriceAggregator::combine);
+  }
+
+  /**
+   * Aggregate all passed prices.
+   *
+   * @param aPrices
+   *        The prices to aggregate. May not be <code>null</code>.
+   * @param bParallel
+   *        <code>true</code> to use a parallel stream. This is only useful for
+   *        very large collections.
+   * @return The totals per VAT item and currency. Never <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static ICommonsList <PriceTotal> getAllTotals (@Nonnull final Collection <? extends IPrice> aPrices,
+                                                        final boolean bParallel)
+  {
+    ValueEnforcer.notNull (aPrices, "Prices");
+
+    final Stream <? extends IPrice> aStream = bParallel ? aPrices.parallelStream () : aPrices.stream ();
+    return aStream.collect (collector ()).getAllTotals ();
+  }
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.price;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.hashcode.HashCodeGenerator;
+import com.helger.commons.string.ToStringGenerator;
+import com.helger.masterdata.currency.ECurrency;
+import com.helger.masterdata.currency.IHasCurrency;
+import com.helger.masterdata.currencyvalue.CurrencyValue;
+import com.helger.masterdata.currencyvalue.ICurrencyValue;
+import com.helger.masterdata.vat.IHasVATItem;
+import com.helger.masterdata.vat.IVATItem;
+
+/**
+ * The rounded totals of all prices with the same currency and VAT item. The
+ * net and tax amounts are rounded once according to the currency, and the
+ * gross amount is always the sum of both.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ * @see PriceAggregator
+ */
+@Immutable
+public final class PriceTotal implements IHasCurrency, IHasVATItem, Serializable
+{
+  private final ECurrency m_eCurrency;
+  private final IVATItem m_aVATItem;
+  private final int m_nPriceCount;
+  private final BigDecimal m_aNetValue;
+  private final BigDecimal m_aTaxValue;
+
+  public PriceTotal (@Nonnull final ECurrency eCurrency,
+                     @Nonnull final IVATItem aVATItem,
+                     @Nonnegative final int nPriceCount,
+                     @Nonnull final BigDecimal aNetValue,
+                     @Nonnull final BigDecimal aTaxValue)
+  {
+    m_eCurrency = ValueEnforcer.notNull (eCurrency, "Currency");
+    m_aVATItem = ValueEnforcer.notNull (aVATItem, "VATItem");
+    m_nPriceCount = ValueEnforcer.isGE0 (nPriceCount, "PriceCount");
+    m_aNetValue = ValueEnforcer.notNull (aNetValue, "NetValue");
+    m_aTaxValue = ValueEnforcer.notNull (aTaxValue, "TaxValue");
+  }
+
+  @Nonnull
+  public ECurrency getCurrency ()
+  {
+    return m_eCurrency;
+  }
+
+  @Nonnull
+  public IVATItem getVATItem ()
+  {
+    return m_aVATItem;
+  }
+
+  /**
+   * @return The number of prices that were summed up.
+   */
+  @Nonnegative
+  public int getPriceCount ()
+  {
+    return m_nPriceCount;
+  }
+
+  @Nonnull
+  public BigDecimal getNetValue ()
+  {
+    return m_aNetValue;
+  }
+
+  @Nonnull
+  public ICurrencyValue getNetAmount ()
+  {
+    return new CurrencyValue (m_eCurrency, m_aNetValue);
+  }
+
+  @Nonnull
+  public BigDecimal getTaxValue ()
+  {
+    return m_aTaxValue;
+  }
+
+  @Nonnull
+  public ICurrencyValue getTaxAmount ()
+  {
+    return new CurrencyValue (m_eCurrency, m_aTaxValue);
+  }
+
+  /**
+   * @return The sum of the net value and the tax value.
+   */
+  @Nonnull
+  public BigDecimal getGrossValue ()
+  {
+    return m_aNetValue.add (m_aTaxValue);
+  }
+
+  @Nonnull
+  public ICurrencyValue getGrossAmount ()
+  {
+    return new CurrencyValue (m_eCurrency, getGrossValue ());
+  }
+
+  @Override
+  public boolean equals (final Object o)
+  {
+    if (o == this)
+      return true;
+    if (o == null || !getClass ().equals (o.getClass ()))
+      return false;
+    final PriceTotal rhs = (PriceTotal) o;
+    return m_eCurrency.equals (rhs.m_eCurrency) &&
+           m_aVATItem.equals (rhs.m_aVATItem) &&
+           m_nPriceCount == rhs.m_nPriceCount &&
+           m_aNetValue.equals (rhs.m_aNetValue) &&
+           m_aTaxValue.equals (rhs.m_aTaxValue);
+  }
+
+  @Override
+  public int hashCode ()
+  {
+    return new HashCodeGenerator (this).append (m_eCurrency)
+                                       .append (m_aVATItem)
+                                       .append (m_nPriceCount)
+                                       .append (m_aNetValue)
+                                       .append (m_aTaxValue)
+                                       .getHashCode ();
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("currency", m_eCurrency)
+                                       .append ("VATItem", m_aVATItem)
+                                       .append ("priceCount", m_nPriceCount)
+                                       .append ("netValue", m_aNetValue)
+                                       .append ("taxValue", m_aTaxValue)
+                                       .getToString ();
+  }
+}
@@ -16,13 +16,13 @@
  */
 package com.helger.masterdata.swift;
 
-import java.util.regex.Pattern;
-
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.RegEx;
 
+import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.PresentForCodeCoverage;
-import com.helger.commons.regex.RegExCache;
 import com.helger.commons.string.StringHelper;
 
 /**
@@ -45,9 +45,6 @@ public final class BICManager
   @RegEx
   public static final String BIC_PATTERN = "(?i)^[a-z]{6}[a-z0-9]{2}([a-z0-9]{3})?$";
 
-  /** Pre-compiled pattern */
-  private static final Pattern s_aBICPattern = RegExCache.getPattern (BIC_PATTERN);
-
   @PresentForCodeCoverage
   private static final BICManager s_aInstance = new BICManager ();
 
@@ -77,7 +74,63 @@ public final class BICManager
   {
     if (StringHelper.hasNoText (sBIC))
       return false;
-    return s_aBICPattern.matcher (sBIC).matches ();
+    return _getCheckResult (sBIC, 0, sBIC.length ()).isValid ();
+  }
+
+  private static boolean _isAlpha (final char c)
+  {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+  }
+
+  private static boolean _isAlphaNumeric (final char c)
+  {
+    return _isAlpha (c) || (c >= '0' && c <= '9');
+  }
+
+  @Nonnull
+  private static ESWIFTCheckResult _getCheckResult (@Nonnull final CharSequence aBIC,
+                                                    final int nOfs,
+                                                    final int nLen)
+  {
+    if (nLen != BIC_LENGTH_MIN && nLen != BIC_LENGTH_MAX)
+      return ESWIFTCheckResult.INVALID_LENGTH;
+    // Same as BIC_PATTERN
+    for (int i = 0; i < nLen; ++i)
+    {
+      final char c = aBIC.charAt (nOfs + i);
+      if (i < 6 ? !_isAlpha (c) : !_isAlphaNumeric (c))
+        return ESWIFTCheckResult.INVALID_LAYOUT;
+    }
+    return ESWIFTCheckResult.VALID;
+  }
+
+  /**
+   * Check the passed BIC and return the detailed result. The result is
+   * {@link ESWIFTCheckResult#VALID} exactly if {@link #isValidBIC(String)}
+   * returns <code>true</code>. No memory is allocated.
+   *
+   * @param aBIC
+   *        The char sequence containing the BIC to check. May not be
+   *        <code>null</code>.
+   * @param nOfs
+   *        The offset within the sequence where the BIC starts. Must be &ge;
+   *        0.
+   * @param nLen
+   *        The length of the BIC. Must be &ge; 0.
+   * @return {@link ESWIFTCheckResult#VALID} if the BIC is valid or the reason
+   *         why it is invalid. Never <code>null</code>.
+   */
+  @Nonnull
+  public static ESWIFTCheckResult getCheckResult (@Nonnull final CharSequence aBIC,
+                                                  @Nonnegative final int nOfs,
+                                                  @Nonnegative final int nLen)
+  {
+    ValueEnforcer.notNull (aBIC, "BIC");
+    ValueEnforcer.isGE0 (nOfs, "Offset");
+    ValueEnforcer.isGE0 (nLen, "Length");
+    ValueEnforcer.isTrue (nOfs + nLen <= aBIC.length (), "Offset and length exceed the char sequence");
+
+    return _getCheckResult (aBIC, nOfs, nLen);
   }
 
   public static boolean isPassiveBICParticipant (@Nullable final String sBIC)
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.swift;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+
+/**
+ * A read-only {@link CharSequence} view on a byte buffer. Every byte is
+ * interpreted as one character, which is correct for the ASCII characters
+ * IBANs and BICs consist of. Sub sequences are views on the same bytes.
+ * {@link #toString()} decodes the bytes as UTF-8, so that the rare non-ASCII
+ * input is handled correctly by the String based fallbacks. For such input the
+ * length of the string is less than {@link #length()}.
+ *
+ * @author Philip Helger
+ */
+final class ByteBufferCharSequence implements CharSequence
+{
+  private final ByteBuffer m_aBuffer;
+  private final int m_nOfs;
+  private final int m_nLen;
+
+  public ByteBufferCharSequence (@Nonnull final ByteBuffer aBuffer)
+  {
+    this (aBuffer, 0, aBuffer.limit ());
+  }
+
+  public ByteBufferCharSequence (@Nonnull final ByteBuffer aBuffer,
+                                 @Nonnegative final int nOfs,
+                                 @Nonnegative final int nLen)
+  {
+    m_aBuffer = aBuffer;
+    m_nOfs = nOfs;
+    m_nLen = nLen;
+  }
+
+  public int length ()
+  {
+    return m_nLen;
+  }
+
+  public char charAt (final int nIndex)
+  {
+    return (char) (m_aBuffer.get (m_nOfs + nIndex) & 0xff);
+  }
+
+  @Nonnull
+  public ByteBufferCharSequence subSequence (final int nStart, final int nEnd)
+  {
+    if (nStart < 0 || nEnd > m_nLen || nStart > nEnd)
+      throw new IndexOutOfBoundsException ("Invalid range " + nStart + "-" + nEnd + " for length " + m_nLen);
+    return new ByteBufferCharSequence (m_aBuffer, m_nOfs + nStart, nEnd - nStart);
+  }
+
+  @Override
+  @Nonnull
+  public String toString ()
+  {
+    final byte [] aBytes = new byte [m_nLen];
+    for (int i = 0; i < aBytes.length; ++i)
+      aBytes[i] = m_aBuffer.get (m_nOfs + i);
+    return new String (aBytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.swift;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.id.IHasID;
+import com.helger.commons.lang.EnumHelper;
+
+/**
+ * The result of an IBAN or BIC check, including the reason why a code is
+ * invalid.
+ *
+ * @author Philip Helger
+ */
+public enum ESWIFTCheckResult implements IHasID <String>
+{
+  /** The code is valid */
+  VALID ("valid"),
+  /** The code has the wrong length */
+  INVALID_LENGTH ("length"),
+  /** The IBAN check digits are invalid */
+  INVALID_CHECKSUM ("checksum"),
+  /** The code contains characters that are not allowed at a position */
+  INVALID_LAYOUT ("layout"),
+  /** The IBAN country is not supported */
+  UNKNOWN_COUNTRY ("country");
+
+  private final String m_sID;
+
+  private ESWIFTCheckResult (@Nonnull @Nonempty final String sID)
+  {
+    m_sID = sID;
+  }
+
+  @Nonnull
+  @Nonempty
+  public String getID ()
+  {
+    return m_sID;
+  }
+
+  public boolean isValid ()
+  {
+    return this == VALID;
+  }
+
+  public boolean isInvalid ()
+  {
+    return this != VALID;
+  }
+
+  @Nullable
+  public static ESWIFTCheckResult getFromIDOrNull (@Nullable final String sID)
+  {
+    return EnumHelper.getFromIDOrNull (ESWIFTCheckResult.class, sID);
+  }
+}
@@ -24,15 +24,12 @@ import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-import com.helger.commons.CGlobal;
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.Nonempty;
 import com.helger.commons.annotation.ReturnsMutableCopy;
 import com.helger.commons.collection.ext.CommonsArrayList;
 import com.helger.commons.collection.ext.ICommonsList;
 import com.helger.commons.regex.RegExCache;
-import com.helger.commons.regex.RegExHelper;
-import com.helger.commons.string.StringHelper;
 import com.helger.commons.string.StringParser;
 import com.helger.commons.string.ToStringGenerator;
 import com.helger.datetime.period.LocalDatePeriod;
@@ -46,8 +43,11 @@ import com.helger.datetime.period.LocalDatePeriod;
 public final class IBANCountryData extends LocalDatePeriod
 {
   private final int m_nExpectedLength;
-  private final Pattern m_aPattern;
+  private volatile Pattern m_aPattern;
+  private final IBANLayoutMatcher m_aLayoutMatcher;
   private final ICommonsList <IBANElement> m_aElements;
+  /** Start offset of each element in the unified IBAN */
+  private final int [] m_aElementOffsets;
   private final String m_sFixedCheckDigits;
 
   /**
@@ -72,6 +72,43 @@ public final class IBANCountryData extends LocalDatePeriod
                           @Nullable final LocalDate aValidFrom,
                           @Nullable final LocalDate aValidTo,
                           @Nonnull final List <IBANElement> aElements)
+  {
+    this (nExpectedLength, aPattern, null, sFixedCheckDigits, aValidFrom, aValidTo, aElements);
+  }
+
+  /**
+   * @param nExpectedLength
+   *        The total expected length. Serves mainly as a checksum field to
+   *        check whether the length of the passed fields matches.
+   * @param aLayoutMatcher
+   *        <code>null</code> or the compiled layout of this country. The RegEx
+   *        pattern is derived from it on demand.
+   * @param sFixedCheckDigits
+   *        <code>null</code> or fixed check digits (of length 2)
+   * @param aValidFrom
+   *        Validity start date. May be <code>null</code>.
+   * @param aValidTo
+   *        Validity end date. May be <code>null</code>.
+   * @param aElements
+   *        The IBAN elements for this country. May not be <code>null</code>.
+   */
+  public IBANCountryData (@Nonnegative final int nExpectedLength,
+                          @Nullable final IBANLayoutMatcher aLayoutMatcher,
+                          @Nullable final String sFixedCheckDigits,
+                          @Nullable final LocalDate aValidFrom,
+                          @Nullable final LocalDate aValidTo,
+                          @Nonnull final List <IBANElement> aElements)
+  {
+    this (nExpectedLength, null, aLayoutMatcher, sFixedCheckDigits, aValidFrom, aValidTo, aElements);
+  }
+
+  private IBANCountryData (@Nonnegative final int nExpectedLength,
+                           @Nullable final Pattern aPattern,
+                           @Nullable final IBANLayoutMatcher aLayoutMatcher,
+                           @Nullable final String sFixedCheckDigits,
+                           @Nullable final LocalDate aValidFrom,
+                           @Nullable final LocalDate aValidTo,
+                           @Nonnull final List <IBANElement> aElements)
   {
     super (aValidFrom, aValidTo);
     ValueEnforcer.notNull (aElements, "Elements");
@@ -83,14 +120,25 @@ public final class IBANCountryData extends LocalDatePeriod
 
     m_nExpectedLength = nExpectedLength;
     m_aPattern = aPattern;
+    m_aLayoutMatcher = aLayoutMatcher;
     m_aElements = new CommonsArrayList<> (aElements);
     m_sFixedCheckDigits = sFixedCheckDigits;
 
+    m_aElementOffsets = new int [aElements.size ()];
     int nCalcedLength = 0;
+    int nIndex = 0;
     for (final IBANElement aChar : aElements)
+    {
+      m_aElementOffsets[nIndex++] = nCalcedLength;
       nCalcedLength += aChar.getLength ();
+    }
     if (nCalcedLength != nExpectedLength)
       throw new IllegalArgumentException ("Expected length=" + nExpectedLength + "; calced length=" + nCalcedLength);
+    if (aLayoutMatcher != null && aLayoutMatcher.getLength () != nExpectedLength)
+      throw new IllegalArgumentException ("Expected length=" +
+                                          nExpectedLength +
+                                          "; layout length=" +
+                                          aLayoutMatcher.getLength ());
   }
 
   /**
@@ -105,17 +153,51 @@ public final class IBANCountryData extends LocalDatePeriod
 
   public boolean hasPattern ()
   {
-    return m_aPattern != null;
+    return m_aPattern != null || m_aLayoutMatcher != null;
   }
 
+  /**
+   * @return The RegEx pattern of this country or <code>null</code> if this
+   *         country has no layout. If a compiled layout is present, the pattern
+   *         is created upon the first call.
+   */
   @Nullable
   public Pattern getPattern ()
   {
-    return m_aPattern;
+    Pattern ret = m_aPattern;
+    if (ret == null && m_aLayoutMatcher != null)
+    {
+      // Benign race - the RegExCache returns the same object anyway
+      ret = RegExCache.getPattern (m_aLayoutMatcher.getAsRegEx ());
+      m_aPattern = ret;
+    }
+    return ret;
+  }
+
+  /**
+   * @return The compiled layout of this country or <code>null</code> if this
+   *         country has no layout or if this object was created from a plain
+   *         RegEx pattern.
+   */
+  @Nullable
+  public IBANLayoutMatcher getLayoutMatcher ()
+  {
+    return m_aLayoutMatcher;
   }
 
+  /**
+   * Check if the passed unified IBAN matches the layout of this country. If a
+   * compiled layout is present, no RegEx matching is performed.
+   *
+   * @param sIBAN
+   *        The unified IBAN to check. May not be <code>null</code>.
+   * @return <code>true</code> if the IBAN matches or if this country has no
+   *         layout.
+   */
   public boolean matchesPattern (@Nonnull final String sIBAN)
   {
+    if (m_aLayoutMatcher != null)
+      return m_aLayoutMatcher.matches (sIBAN);
     if (m_aPattern == null)
       return true;
     return m_aPattern.matcher (sIBAN).matches ();
@@ -131,6 +213,44 @@ public final class IBANCountryData extends LocalDatePeriod
     return m_aElements.getClone ();
   }
 
+  /**
+   * @return The number of IBAN elements for this country.
+   */
+  @Nonnegative
+  public int getElementCount ()
+  {
+    return m_aElements.size ();
+  }
+
+  /**
+   * Get the element at the specified index.
+   *
+   * @param nIndex
+   *        The 0-based index. Must be &ge; 0 and &lt;
+   *        {@link #getElementCount()}.
+   * @return The element at the specified index.
+   */
+  @Nonnull
+  public IBANElement getElementAt (@Nonnegative final int nIndex)
+  {
+    return m_aElements.get (nIndex);
+  }
+
+  /**
+   * Get the start offset of the element at the specified index within the
+   * unified IBAN.
+   *
+   * @param nIndex
+   *        The 0-based index. Must be &ge; 0 and &lt;
+   *        {@link #getElementCount()}.
+   * @return The 0-based start offset of the element.
+   */
+  @Nonnegative
+  public int getElementOffset (@Nonnegative final int nIndex)
+  {
+    return m_aElementOffsets[nIndex];
+  }
+
   public boolean hasFixedCheckDigits ()
   {
     return m_sFixedCheckDigits != null;
@@ -174,6 +294,58 @@ public final class IBANCountryData extends LocalDatePeriod
     return ret;
   }
 
+  /**
+   * Determine the position of all IBAN elements of this country within the
+   * passed IBAN, without creating any substrings. Only the characters 0-9, a-z
+   * and A-Z are considered to be IBAN characters, all other characters are
+   * skipped like in {@link IBANManager#unifyIBAN(String)}. Therefore the range
+   * of an element may contain such separator characters.
+   *
+   * @param aIBAN
+   *        The IBAN to parse. May not be <code>null</code>.
+   * @param aOffsets
+   *        The target array. Must have at least 2 *
+   *        {@link #getElementCount()} entries. For element <code>i</code> the
+   *        start index (inclusive) within the passed IBAN is stored in
+   *        <code>aOffsets[2*i]</code> and the end index (exclusive) in
+   *        <code>aOffsets[2*i+1]</code>.
+   * @return <code>true</code> if the IBAN has the expected length and all
+   *         offsets were filled, <code>false</code> otherwise.
+   */
+  public boolean parseToElementOffsets (@Nonnull final CharSequence aIBAN, @Nonnull final int [] aOffsets)
+  {
+    ValueEnforcer.notNull (aIBAN, "IBAN");
+    ValueEnforcer.notNull (aOffsets, "Offsets");
+    final int nElementCount = m_aElementOffsets.length;
+    ValueEnforcer.isTrue (aOffsets.length >= nElementCount * 2, "Offsets array is too small");
+
+    int nElement = 0;
+    int nRealIndex = 0;
+    final int nLength = aIBAN.length ();
+    for (int nIndex = 0; nIndex < nLength; ++nIndex)
+    {
+      final char c = aIBAN.charAt (nIndex);
+      if ((c < '0' || c > '9') && (c < 'A' || c > 'Z') && (c < 'a' || c > 'z'))
+        continue;
+
+      if (nRealIndex == m_nExpectedLength)
+      {
+        // Too long
+        return false;
+      }
+      if (nElement < nElementCount && nRealIndex == m_aElementOffsets[nElement])
+      {
+        // Start of new element
+        aOffsets[nElement * 2] = nIndex;
+        nElement++;
+      }
+      // Always remember the end of the current element
+      aOffsets[nElement * 2 - 1] = nIndex + 1;
+      nRealIndex++;
+    }
+    return nRealIndex == m_nExpectedLength;
+  }
+
   @Override
   public String toString ()
   {
@@ -227,60 +399,6 @@ public final class IBANCountryData extends LocalDatePeriod
     return aList;
   }
 
-  @Nullable
-  private static Pattern _parseLayout (@Nonnull @Nonempty final String sCountryCode,
-                                       @Nonnegative final int nExpectedLength,
-                                       @Nullable final String sFixedCheckDigits,
-                                       @Nullable final String sLayout)
-  {
-    // E.g. Burkina Faso has no layout
-    if (sLayout == null)
-      return null;
-
-    final StringBuilder aRegEx = new StringBuilder ();
-    // Always start with country code
-    // Depending on fixed check digits or not different check
-    if (sFixedCheckDigits != null)
-      aRegEx.append (Pattern.quote (sCountryCode + sFixedCheckDigits));
-    else
-    {
-      aRegEx.append (Pattern.quote (sCountryCode));
-      aRegEx.append ("[0-9]{2}");
-    }
-
-    int nLen = 4;
-    for (final String sPart : StringHelper.getExploded (',', sLayout))
-    {
-      final String [] aParts = RegExHelper.getAllMatchingGroupValues ("([0-9]+)([anc])", sPart);
-      if (aParts.length != 2)
-        throw new IllegalArgumentException ("Failed to parse layout part '" + sPart + "'");
-      final int nPartLen = StringParser.parseInt (aParts[0], CGlobal.ILLEGAL_UINT);
-      if (nPartLen <= 0)
-        throw new IllegalArgumentException ("Failed to parse layout part '" + sPart + "' - illegal numeric value");
-      nLen += nPartLen;
-      if (aParts[1].length () != 1)
-        throw new IllegalArgumentException ("Failed to parse layout part '" + sPart + "' - type length is invalid");
-      final char cType = aParts[1].charAt (0);
-      if (cType == 'a')
-        aRegEx.append ("[A-Z]{" + nPartLen + "}");
-      else
-        if (cType == 'n')
-          aRegEx.append ("[0-9]{" + nPartLen + "}");
-        else
-          if (cType == 'c')
-            aRegEx.append ("[a-zA-Z0-9]{" + nPartLen + "}");
-          else
-            throw new IllegalArgumentException ("Failed to parse layout part '" + sPart + "' - type is invalid");
-    }
-    if (nLen != nExpectedLength)
-      throw new IllegalArgumentException ("Failed to parse layout - length mismatch. Having " +
-                                          nLen +
-                                          " but expected " +
-                                          nExpectedLength);
-
-    return RegExCache.getPattern (aRegEx.toString ());
-  }
-
   /**
    * This method is used to create an instance of this class from a string
    * representation.
@@ -317,12 +435,15 @@ public final class IBANCountryData extends LocalDatePeriod
 
     final ICommonsList <IBANElement> aList = _parseElements (sDesc);
 
-    final Pattern aPattern = _parseLayout (sCountryCode, nExpectedLength, sFixedCheckDigits, sLayout);
+    final IBANLayoutMatcher aLayoutMatcher = IBANLayoutMatcher.createFromLayout (sCountryCode,
+                                                                                 nExpectedLength,
+                                                                                 sFixedCheckDigits,
+                                                                                 sLayout);
 
     // And we're done
     try
     {
-      return new IBANCountryData (nExpectedLength, aPattern, sFixedCheckDigits, aValidFrom, aValidTo, aList);
+      return new IBANCountryData (nExpectedLength, aLayoutMatcher, sFixedCheckDigits, aValidFrom, aValidTo, aList);
     }
     catch (final IllegalArgumentException ex)
     {
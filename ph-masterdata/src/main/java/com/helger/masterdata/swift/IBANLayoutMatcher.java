@@ -0,0 +1,261 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.swift;
+
+import java.io.Serializable;
+import java.util.regex.Pattern;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.CGlobal;
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.regex.RegExHelper;
+import com.helger.commons.string.StringHelper;
+import com.helger.commons.string.StringParser;
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * A compiled IBAN layout. For every position of the IBAN a character class is
+ * stored, so that a check is a simple loop over the input without any regular
+ * expression matching.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+public final class IBANLayoutMatcher implements Serializable
+{
+  /** The character at this position must be the fixed literal */
+  private static final byte CLASS_LITERAL = 0;
+  /** 'n' - numeric characters (0-9) */
+  private static final byte CLASS_NUMERIC = 1;
+  /** 'a' - upper case alpha characters (A-Z) */
+  private static final byte CLASS_ALPHA = 2;
+  /** 'c' - mixed case alphanumeric characters (a-z, A-Z, 0-9) */
+  private static final byte CLASS_ALPHANUMERIC = 3;
+
+  private final byte [] m_aClasses;
+  private final char [] m_aLiterals;
+
+  private IBANLayoutMatcher (@Nonnull final byte [] aClasses, @Nonnull final char [] aLiterals)
+  {
+    m_aClasses = aClasses;
+    m_aLiterals = aLiterals;
+  }
+
+  /**
+   * @return The number of characters this layout describes. This is the total
+   *         length of the IBAN incl. country code and check digits.
+   */
+  @Nonnegative
+  public int getLength ()
+  {
+    return m_aClasses.length;
+  }
+
+  /**
+   * Check if the passed character is allowed at the passed position.
+   *
+   * @param nIndex
+   *        The 0-based index within the IBAN. Must be &ge; 0 and &lt;
+   *        {@link #getLength()}.
+   * @param c
+   *        The character to check.
+   * @return <code>true</code> if the character is allowed at the position.
+   */
+  public boolean isValidCharAt (@Nonnegative final int nIndex, final char c)
+  {
+    switch (m_aClasses[nIndex])
+    {
+      case CLASS_NUMERIC:
+        return c >= '0' && c <= '9';
+      case CLASS_ALPHA:
+        return c >= 'A' && c <= 'Z';
+      case CLASS_ALPHANUMERIC:
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+      default:
+        return c == m_aLiterals[nIndex];
+    }
+  }
+
+  /**
+   * Check if the passed char sequence matches this layout completely.
+   *
+   * @param aCS
+   *        The unified IBAN to check. May not be <code>null</code>.
+   * @return <code>true</code> if the length matches and every character is
+   *         allowed at its position.
+   */
+  public boolean matches (@Nonnull final CharSequence aCS)
+  {
+    final int nLength = m_aClasses.length;
+    if (aCS.length () != nLength)
+      return false;
+    for (int i = 0; i < nLength; ++i)
+      if (!isValidCharAt (i, aCS.charAt (i)))
+        return false;
+    return true;
+  }
+
+  /**
+   * @return The regular expression that is equivalent to this layout. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  @Nonempty
+  public String getAsRegEx ()
+  {
+    final StringBuilder aRegEx = new StringBuilder ();
+    final int nLength = m_aClasses.length;
+    int nIndex = 0;
+    while (nIndex < nLength)
+    {
+      final byte nClass = m_aClasses[nIndex];
+      int nEnd = nIndex + 1;
+      while (nEnd < nLength && m_aClasses[nEnd] == nClass)
+        nEnd++;
+      final int nCount = nEnd - nIndex;
+      switch (nClass)
+      {
+        case CLASS_NUMERIC:
+          aRegEx.append ("[0-9]{").append (nCount).append ('}');
+          break;
+        case CLASS_ALPHA:
+          aRegEx.append ("[A-Z]{").append (nCount).append ('}');
+          break;
+        case CLASS_ALPHANUMERIC:
+          aRegEx.append ("[a-zA-Z0-9]{").append (nCount).append ('}');
+          break;
+        default:
+          aRegEx.append (Pattern.quote (new String (m_aLiterals, nIndex, nCount)));
+          break;
+      }
+      nIndex = nEnd;
+    }
+    return aRegEx.toString ();
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("regEx", getAsRegEx ()).getToString ();
+  }
+
+  private static void _fill (@Nonnull final byte [] aClasses,
+                             final int nStart,
+                             final int nCount,
+                             final byte nClass,
+                             @Nonnull final String sPart)
+  {
+    if (nStart + nCount > aClasses.length)
+      throw new IllegalArgumentException ("Failed to parse layout part '" +
+                                          sPart +
+                                          "' - exceeds expected length " +
+                                          aClasses.length);
+    for (int i = 0; i < nCount; ++i)
+      aClasses[nStart + i] = nClass;
+  }
+
+  /**
+   * Compile the layout descriptor of a country (e.g. "4a,6n,8c") into a
+   * matcher.
+   *
+   * @param sCountryCode
+   *        Country code to use. Must have exactly 2 characters.
+   * @param nExpectedLength
+   *        The expected total length of the IBAN.
+   * @param sFixedCheckDigits
+   *        <code>null</code> or fixed check digits (of length 2)
+   * @param sLayout
+   *        <code>null</code> or the layout descriptor
+   * @return <code>null</code> if no layout was provided.
+   * @throws IllegalArgumentException
+   *         if the layout cannot be parsed
+   */
+  @Nullable
+  public static IBANLayoutMatcher createFromLayout (@Nonnull @Nonempty final String sCountryCode,
+                                                    @Nonnegative final int nExpectedLength,
+                                                    @Nullable final String sFixedCheckDigits,
+                                                    @Nullable final String sLayout)
+  {
+    ValueEnforcer.notEmpty (sCountryCode, "CountryCode");
+    ValueEnforcer.isTrue (sCountryCode.length () == 2, "Country code must have length 2!");
+    ValueEnforcer.isTrue (nExpectedLength >= 4, "Expected length is too small!");
+
+    // E.g. Burkina Faso has no layout
+    if (sLayout == null)
+      return null;
+
+    final byte [] aClasses = new byte [nExpectedLength];
+    final char [] aLiterals = new char [nExpectedLength];
+
+    // Always start with country code
+    aClasses[0] = CLASS_LITERAL;
+    aLiterals[0] = sCountryCode.charAt (0);
+    aClasses[1] = CLASS_LITERAL;
+    aLiterals[1] = sCountryCode.charAt (1);
+
+    // Depending on fixed check digits or not different check
+    if (sFixedCheckDigits != null)
+    {
+      aClasses[2] = CLASS_LITERAL;
+      aLiterals[2] = sFixedCheckDigits.charAt (0);
+      aClasses[3] = CLASS_LITERAL;
+      aLiterals[3] = sFixedCheckDigits.charAt (1);
+    }
+    else
+    {
+      aClasses[2] = CLASS_NUMERIC;
+      aClasses[3] = CLASS_NUMERIC;
+    }
+
+    int nLen = 4;
+    for (final String sPart : StringHelper.getExploded (',', sLayout))
+    {
+      final String [] aParts = RegExHelper.getAllMatchingGroupValues ("([0-9]+)([anc])", sPart);
+      if (aParts.length != 2)
+        throw new IllegalArgumentException ("Failed to parse layout part '" + sPart + "'");
+      final int nPartLen = StringParser.parseInt (aParts[0], CGlobal.ILLEGAL_UINT);
+      if (nPartLen <= 0)
+        throw new IllegalArgumentException ("Failed to parse layout part '" + sPart + "' - illegal numeric value");
+      if (aParts[1].length () != 1)
+        throw new IllegalArgumentException ("Failed to parse layout part '" + sPart + "' - type length is invalid");
+      final char cType = aParts[1].charAt (0);
+      if (cType == 'a')
+        _fill (aClasses, nLen, nPartLen, CLASS_ALPHA, sPart);
+      else
+        if (cType == 'n')
+          _fill (aClasses, nLen, nPartLen, CLASS_NUMERIC, sPart);
+        else
+          if (cType == 'c')
+            _fill (aClasses, nLen, nPartLen, CLASS_ALPHANUMERIC, sPart);
+          else
+            throw new IllegalArgumentException ("Failed to parse layout part '" + sPart + "' - type is invalid");
+      nLen += nPartLen;
+    }
+    if (nLen != nExpectedLength)
+      throw new IllegalArgumentException ("Failed to parse layout - length mismatch. Having " +
+                                          nLen +
+                                          " but expected " +
+                                          nExpectedLength);
+
+    return new IBANLayoutMatcher (aClasses, aLiterals);
+  }
+}
@@ -41,9 +41,9 @@ import com.helger.commons.regex.RegExHelper;
 import com.helger.commons.string.StringHelper;
 import com.helger.commons.string.StringParser;
 import com.helger.datetime.format.PDTFromString;
+import com.helger.masterdata.codelist.CodeListReader;
 import com.helger.xml.microdom.IMicroDocument;
 import com.helger.xml.microdom.IMicroElement;
-import com.helger.xml.microdom.serialize.MicroReader;
 
 /**
  * Contains the IBAN manager.<br>
@@ -90,6 +90,12 @@ public final class IBANManager
   /** Maps country code to IBAn country data */
   private static final ICommonsMap <String, IBANCountryData> s_aIBANData = new CommonsHashMap <> ();
 
+  /**
+   * Same as {@link #s_aIBANData} but indexed by the two upper case country
+   * letters so that no String needs to be created for the lookup.
+   */
+  private static final IBANCountryData [] s_aIBANDataByIndex = new IBANCountryData [26 * 26];
+
   static
   {
     _readIBANDataFromXML ();
@@ -103,7 +109,7 @@ public final class IBANManager
    */
   private static void _readIBANDataFromXML ()
   {
-    final IMicroDocument aDoc = MicroReader.readMicroXML (new ClassPathResource ("codelists/iban-country-data.xml"));
+    final IMicroDocument aDoc = CodeListReader.readCodeList (new ClassPathResource ("codelists/iban-country-data.xml"));
     if (aDoc == null)
       throw new InitializationException ("Failed to read IBAN country data [1]");
     if (aDoc.getDocumentElement () == null)
@@ -145,14 +151,17 @@ public final class IBANManager
 
       if (s_aIBANData.containsKey (sCountryCode))
         throw new IllegalArgumentException ("Country " + sCountryCode + " is already contained!");
-      s_aIBANData.put (sCountryCode,
-                       IBANCountryData.createFromString (sCountryCode,
-                                                         nExpectedLength,
-                                                         sLayout,
-                                                         sCheckDigits,
-                                                         aValidFrom,
-                                                         aValidTo,
-                                                         sDesc));
+      final IBANCountryData aData = IBANCountryData.createFromString (sCountryCode,
+                                                                      nExpectedLength,
+                                                                      sLayout,
+                                                                      sCheckDigits,
+                                                                      aValidFrom,
+                                                                      aValidTo,
+                                                                      sDesc);
+      s_aIBANData.put (sCountryCode, aData);
+      final int nIndex = _getCountryIndex (sCountryCode.charAt (0), sCountryCode.charAt (1));
+      if (nIndex >= 0)
+        s_aIBANDataByIndex[nIndex] = aData;
     }
   }
 
@@ -183,6 +192,13 @@ public final class IBANManager
     return s_aIBANData.copyOfKeySet ();
   }
 
+  private static int _getCountryIndex (final char c1, final char c2)
+  {
+    if (c1 < 'A' || c1 > 'Z' || c2 < 'A' || c2 > 'Z')
+      return -1;
+    return (c1 - 'A') * 26 + (c2 - 'A');
+  }
+
   private static int _calculateChecksum (@Nonnull final String sIBAN)
   {
     final String sCalcBase = sIBAN.substring (4) + sIBAN.substring (0, 4);
@@ -261,34 +277,324 @@ public final class IBANManager
    * @return <code>true</code> if the IBAN is valid and supported.
    */
   public static boolean isValidIBAN (@Nullable final String sIBAN, final boolean bReturnCodeIfNoCountryData)
+  {
+    return _getValidity (getCheckResult (sIBAN), bReturnCodeIfNoCountryData);
+  }
+
+  private static boolean _getValidity (@Nonnull final ESWIFTCheckResult eResult,
+                                       final boolean bReturnCodeIfNoCountryData)
+  {
+    if (eResult == ESWIFTCheckResult.UNKNOWN_COUNTRY)
+      return bReturnCodeIfNoCountryData;
+    return eResult.isValid ();
+  }
+
+  /**
+   * Check the passed IBAN and return the detailed result.
+   *
+   * @param sIBAN
+   *        The IBAN number string to check. May be <code>null</code>.
+   * @return {@link ESWIFTCheckResult#VALID} if the IBAN is valid and supported
+   *         or the reason why it is invalid. Never <code>null</code>.
+   */
+  @Nonnull
+  public static ESWIFTCheckResult getCheckResult (@Nullable final String sIBAN)
   {
     // kick all non-IBAN chars
     final String sRealIBAN = unifyIBAN (sIBAN);
     if (sRealIBAN == null)
-      return false;
+      return ESWIFTCheckResult.INVALID_LENGTH;
 
     // is the country supported?
     final IBANCountryData aData = s_aIBANData.get (sRealIBAN.substring (0, 2));
     if (aData == null)
-      return bReturnCodeIfNoCountryData;
+      return ESWIFTCheckResult.UNKNOWN_COUNTRY;
 
     // Does the length match the expected length?
     if (aData.getExpectedLength () != sRealIBAN.length ())
-      return false;
+      return ESWIFTCheckResult.INVALID_LENGTH;
 
     // Are the checksum characters valid?
     if (!_isValidChecksumChar (sRealIBAN.charAt (2)) || !_isValidChecksumChar (sRealIBAN.charAt (3)))
-      return false;
+      return ESWIFTCheckResult.INVALID_CHECKSUM;
 
     // Is existing checksum valid?
     if (_calculateChecksum (sRealIBAN) != 1)
-      return false;
+      return ESWIFTCheckResult.INVALID_CHECKSUM;
 
     // Perform pattern check
     if (!aData.matchesPattern (sRealIBAN))
-      return false;
+      return ESWIFTCheckResult.INVALID_LAYOUT;
+
+    return ESWIFTCheckResult.VALID;
+  }
+
+  private static int _addToChecksum (final int nChecksum, final char c)
+  {
+    // Only called for [0-9A-Z]
+    if (c <= '9')
+      return (10 * nChecksum + (c - '0')) % 97;
+    return (100 * nChecksum + (c - '7')) % 97;
+  }
+
+  /**
+   * Single pass IBAN check on either a char sequence or a char array. Exactly
+   * one of the two must be non-<code>null</code>. The checks are reported in
+   * the same order as in {@link #getCheckResult(String)}.
+   */
+  @Nonnull
+  private static ESWIFTCheckResult _getCheckResult (@Nullable final CharSequence aCS,
+                                                    @Nullable final char [] aChars,
+                                                    final int nOfs,
+                                                    final int nLen)
+  {
+    final int nEnd = nOfs + nLen;
+    IBANCountryData aData = null;
+    IBANLayoutMatcher aLayoutMatcher = null;
+    int nExpectedLength = 0;
+    // The first 4 chars are added to the checksum at the end
+    char c0 = 0;
+    char c1 = 0;
+    char c2 = 0;
+    char c3 = 0;
+    int nRealLength = 0;
+    int nChecksum = 0;
+    boolean bLayoutMatches = true;
+    for (int nIndex = nOfs; nIndex < nEnd; ++nIndex)
+    {
+      char c = aChars != null ? aChars[nIndex] : aCS.charAt (nIndex);
+      if (c >= 'a' && c <= 'z')
+        c = (char) (c - 'a' + 'A');
+      else
+        if (c >= 0x80)
+        {
+          // Non-ASCII characters may be upper cased to something relevant
+          // (e.g. U+0131 to 'I') - leave this rare case to the String based
+          // version to get exactly the same results
+          final String sIBAN = aChars != null ? new String (aChars, nOfs, nLen)
+                                              : aCS.subSequence (nOfs, nEnd).toString ();
+          return getCheckResult (sIBAN);
+        }
+
+      // kick all non-IBAN chars
+      if ((c < '0' || c > '9') && (c < 'A' || c > 'Z'))
+        continue;
+
+      if (nRealLength < 4)
+      {
+        switch (nRealLength)
+        {
+          case 0:
+            c0 = c;
+            break;
+          case 1:
+            c1 = c;
+            break;
+          case 2:
+            c2 = c;
+            break;
+          default:
+            c3 = c;
+            // is the country supported?
+            final int nCountryIndex = _getCountryIndex (c0, c1);
+            aData = nCountryIndex < 0 ? null : s_aIBANDataByIndex[nCountryIndex];
+            if (aData == null)
+              return ESWIFTCheckResult.UNKNOWN_COUNTRY;
+            aLayoutMatcher = aData.getLayoutMatcher ();
+            if (aLayoutMatcher == null && aData.hasPattern ())
+            {
+              // Created from a pattern only - no compiled layout present
+              final String sIBAN = aChars != null ? new String (aChars, nOfs, nLen)
+                                                  : aCS.subSequence (nOfs, nEnd).toString ();
+              return getCheckResult (sIBAN);
+            }
+            nExpectedLength = aData.getExpectedLength ();
+            if (aLayoutMatcher != null)
+              bLayoutMatches = aLayoutMatcher.isValidCharAt (2, c2) && aLayoutMatcher.isValidCharAt (3, c3);
+            break;
+        }
+      }
+      else
+      {
+        // Does the length match the expected length?
+        if (nRealLength >= nExpectedLength)
+          return ESWIFTCheckResult.INVALID_LENGTH;
+        // Perform pattern check
+        if (bLayoutMatches && aLayoutMatcher != null && !aLayoutMatcher.isValidCharAt (nRealLength, c))
+          bLayoutMatches = false;
+        nChecksum = _addToChecksum (nChecksum, c);
+      }
+      nRealLength++;
+    }
+
+    // Does the length match the expected length?
+    if (nRealLength < 4 || nRealLength != nExpectedLength)
+      return ESWIFTCheckResult.INVALID_LENGTH;
+
+    // Are the checksum characters valid?
+    if (!_isValidChecksumChar (c2) || !_isValidChecksumChar (c3))
+      return ESWIFTCheckResult.INVALID_CHECKSUM;
+
+    // Is existing checksum valid? The first 4 chars go last.
+    nChecksum = _addToChecksum (nChecksum, c0);
+    nChecksum = _addToChecksum (nChecksum, c1);
+    nChecksum = _addToChecksum (nChecksum, c2);
+    nChecksum = _addToChecksum (nChecksum, c3);
+    if (nChecksum != 1)
+      return ESWIFTCheckResult.INVALID_CHECKSUM;
+
+    if (!bLayoutMatches)
+      return ESWIFTCheckResult.INVALID_LAYOUT;
+
+    return ESWIFTCheckResult.VALID;
+  }
+
+  /**
+   * Check the passed IBAN and return the detailed result. This method does not
+   * allocate any memory for regular input and returns exactly the same results
+   * as {@link #getCheckResult(String)}.
+   *
+   * @param aIBAN
+   *        The char sequence containing the IBAN to check. May not be
+   *        <code>null</code>.
+   * @param nOfs
+   *        The offset within the sequence where the IBAN starts. Must be &ge;
+   *        0.
+   * @param nLen
+   *        The number of characters to check. Must be &ge; 0.
+   * @return {@link ESWIFTCheckResult#VALID} if the IBAN is valid and supported
+   *         or the reason why it is invalid. Never <code>null</code>.
+   */
+  @Nonnull
+  public static ESWIFTCheckResult getCheckResult (@Nonnull final CharSequence aIBAN,
+                                                  @Nonnegative final int nOfs,
+                                                  @Nonnegative final int nLen)
+  {
+    ValueEnforcer.notNull (aIBAN, "IBAN");
+    ValueEnforcer.isGE0 (nOfs, "Offset");
+    ValueEnforcer.isGE0 (nLen, "Length");
+    ValueEnforcer.isTrue (nOfs + nLen <= aIBAN.length (), "Offset and length exceed the char sequence");
+
+    return _getCheckResult (aIBAN, null, nOfs, nLen);
+  }
 
-    return true;
+  /**
+   * Check if the passed IBAN is valid and the country is supported. This
+   * method does not allocate any memory for regular input and returns exactly
+   * the same results as {@link #isValidIBAN(String, boolean)}.
+   *
+   * @param aIBAN
+   *        The char sequence containing the IBAN to check. May not be
+   *        <code>null</code>.
+   * @param nOfs
+   *        The offset within the sequence where the IBAN starts. Must be &ge;
+   *        0.
+   * @param nLen
+   *        The number of characters to check. Must be &ge; 0.
+   * @param bReturnCodeIfNoCountryData
+   *        The return value if no country data is present for the specified
+   *        IBAN.
+   * @return <code>true</code> if the IBAN is valid and supported.
+   */
+  public static boolean isValidIBAN (@Nonnull final CharSequence aIBAN,
+                                     @Nonnegative final int nOfs,
+                                     @Nonnegative final int nLen,
+                                     final boolean bReturnCodeIfNoCountryData)
+  {
+    ValueEnforcer.notNull (aIBAN, "IBAN");
+    ValueEnforcer.isGE0 (nOfs, "Offset");
+    ValueEnforcer.isGE0 (nLen, "Length");
+    ValueEnforcer.isTrue (nOfs + nLen <= aIBAN.length (), "Offset and length exceed the char sequence");
+
+    return _getValidity (_getCheckResult (aIBAN, null, nOfs, nLen), bReturnCodeIfNoCountryData);
+  }
+
+  /**
+   * Check if the passed IBAN is valid and the country is supported. This
+   * method does not allocate any memory for regular input and returns exactly
+   * the same results as {@link #isValidIBAN(String, boolean)}.
+   *
+   * @param aIBAN
+   *        The char array containing the IBAN to check. May not be
+   *        <code>null</code>.
+   * @param nOfs
+   *        The offset within the array where the IBAN starts. Must be &ge; 0.
+   * @param nLen
+   *        The number of characters to check. Must be &ge; 0.
+   * @param bReturnCodeIfNoCountryData
+   *        The return value if no country data is present for the specified
+   *        IBAN.
+   * @return <code>true</code> if the IBAN is valid and supported.
+   */
+  public static boolean isValidIBAN (@Nonnull final char [] aIBAN,
+                                     @Nonnegative final int nOfs,
+                                     @Nonnegative final int nLen,
+                                     final boolean bReturnCodeIfNoCountryData)
+  {
+    ValueEnforcer.notNull (aIBAN, "IBAN");
+    ValueEnforcer.isGE0 (nOfs, "Offset");
+    ValueEnforcer.isGE0 (nLen, "Length");
+    ValueEnforcer.isTrue (nOfs + nLen <= aIBAN.length, "Offset and length exceed the array");
+
+    return _getValidity (_getCheckResult (null, aIBAN, nOfs, nLen), bReturnCodeIfNoCountryData);
+  }
+
+  /**
+   * Check a batch of IBANs at once.
+   *
+   * @param aIBANs
+   *        The IBANs to check. May not be <code>null</code> but may contain
+   *        <code>null</code> elements which are considered invalid.
+   * @param aResults
+   *        The array to store the results in. The result for
+   *        <code>aIBANs[i]</code> is stored in <code>aResults[i]</code>. Must
+   *        be at least as long as the IBAN array.
+   * @return The number of valid IBANs.
+   * @see #validateIBANs(CharSequence[], boolean[], boolean)
+   */
+  @Nonnegative
+  public static int validateIBANs (@Nonnull final CharSequence [] aIBANs, @Nonnull final boolean [] aResults)
+  {
+    return validateIBANs (aIBANs, aResults, false);
+  }
+
+  /**
+   * Check a batch of IBANs at once. The results are identical to calling
+   * {@link #isValidIBAN(String, boolean)} for every element but no memory is
+   * allocated for regular input.
+   *
+   * @param aIBANs
+   *        The IBANs to check. May not be <code>null</code> but may contain
+   *        <code>null</code> elements which are considered invalid.
+   * @param aResults
+   *        The array to store the results in. The result for
+   *        <code>aIBANs[i]</code> is stored in <code>aResults[i]</code>. Must
+   *        be at least as long as the IBAN array.
+   * @param bReturnCodeIfNoCountryData
+   *        The return value if no country data is present for an IBAN.
+   * @return The number of valid IBANs.
+   */
+  @Nonnegative
+  public static int validateIBANs (@Nonnull final CharSequence [] aIBANs,
+                                   @Nonnull final boolean [] aResults,
+                                   final boolean bReturnCodeIfNoCountryData)
+  {
+    ValueEnforcer.notNull (aIBANs, "IBANs");
+    ValueEnforcer.notNull (aResults, "Results");
+    ValueEnforcer.isTrue (aResults.length >= aIBANs.length, "Result array is too small");
+
+    int nValid = 0;
+    for (int i = 0; i < aIBANs.length; ++i)
+    {
+      final CharSequence aIBAN = aIBANs[i];
+      final boolean bValid = aIBAN != null &&
+                             _getValidity (_getCheckResult (aIBAN, null, 0, aIBAN.length ()),
+                                           bReturnCodeIfNoCountryData);
+      aResults[i] = bValid;
+      if (bValid)
+        nValid++;
+    }
+    return nValid;
   }
 
   public static int createChecksumOfNewIBAN (@Nonnull final String sCountryCode, @Nonnull final String sBBAN)
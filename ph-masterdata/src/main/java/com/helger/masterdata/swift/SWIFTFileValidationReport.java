@@ -0,0 +1,143 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.swift;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * The result of {@link SWIFTFileValidator}. Only the invalid rows are
+ * contained and they are stored in primitive arrays, ordered by their position
+ * in the file.
+ *
+ * @author Philip Helger
+ */
+@Immutable
+public final class SWIFTFileValidationReport
+{
+  private static final ESWIFTCheckResult [] RESULTS = ESWIFTCheckResult.values ();
+
+  private final long m_nLineCount;
+  private final long [] m_aLineNumbers;
+  private final long [] m_aByteOffsets;
+  private final byte [] m_aResults;
+
+  SWIFTFileValidationReport (@Nonnegative final long nLineCount,
+                             @Nonnull final long [] aLineNumbers,
+                             @Nonnull final long [] aByteOffsets,
+                             @Nonnull final byte [] aResults)
+  {
+    ValueEnforcer.isTrue (aLineNumbers.length == aByteOffsets.length &&
+                          aLineNumbers.length == aResults.length,
+                          "Array length mismatch");
+    m_nLineCount = nLineCount;
+    m_aLineNumbers = aLineNumbers;
+    m_aByteOffsets = aByteOffsets;
+    m_aResults = aResults;
+  }
+
+  /**
+   * @return The number of lines that were read from the file, excluding the
+   *         header lines.
+   */
+  @Nonnegative
+  public long getLineCount ()
+  {
+    return m_nLineCount;
+  }
+
+  /**
+   * @return The number of invalid rows.
+   */
+  @Nonnegative
+  public int getInvalidCount ()
+  {
+    return m_aResults.length;
+  }
+
+  public boolean hasInvalidRows ()
+  {
+    return m_aResults.length > 0;
+  }
+
+  /**
+   * Get the number of invalid rows with the passed result.
+   *
+   * @param eResult
+   *        The result to search. May not be <code>null</code>.
+   * @return The number of matching invalid rows.
+   */
+  @Nonnegative
+  public int getInvalidCount (@Nonnull final ESWIFTCheckResult eResult)
+  {
+    ValueEnforcer.notNull (eResult, "Result");
+
+    int ret = 0;
+    for (final byte nResult : m_aResults)
+      if (nResult == eResult.ordinal ())
+        ret++;
+    return ret;
+  }
+
+  /**
+   * @param nIndex
+   *        The index of the invalid row. Must be &ge; 0 and &lt;
+   *        {@link #getInvalidCount()}.
+   * @return The 1-based line number in the file.
+   */
+  @Nonnegative
+  public long getInvalidLineNumber (@Nonnegative final int nIndex)
+  {
+    return m_aLineNumbers[nIndex];
+  }
+
+  /**
+   * @param nIndex
+   *        The index of the invalid row. Must be &ge; 0 and &lt;
+   *        {@link #getInvalidCount()}.
+   * @return The byte offset of the start of the row within the file.
+   */
+  @Nonnegative
+  public long getInvalidByteOffset (@Nonnegative final int nIndex)
+  {
+    return m_aByteOffsets[nIndex];
+  }
+
+  /**
+   * @param nIndex
+   *        The index of the invalid row. Must be &ge; 0 and &lt;
+   *        {@link #getInvalidCount()}.
+   * @return The reason why the row is invalid. Never <code>null</code>.
+   */
+  @Nonnull
+  public ESWIFTCheckResult getInvalidResult (@Nonnegative final int nIndex)
+  {
+    return RESULTS[m_aResults[nIndex]];
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("lineCount", m_nLineCount)
+                                       .append ("invalidCount", m_aResults.length)
+                                       .getToString ();
+  }
+}
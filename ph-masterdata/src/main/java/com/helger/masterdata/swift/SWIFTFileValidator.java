@@ -0,0 +1,483 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.swift;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * Validates all IBANs or BICs contained in a potentially very large CSV or
+ * fixed width file. The file is memory mapped and split into line aligned
+ * chunks which are validated in parallel on a {@link ForkJoinPool}. Only the
+ * invalid rows are reported.<br>
+ * Every line contains one record. Lines are separated by "\n" or "\r\n". Empty
+ * lines are counted but not validated. Leading and trailing spaces and tabs of
+ * a field are ignored. In CSV mode a field may be quoted with double quotes,
+ * and separators within quotes are ignored.
+ *
+ * @author Philip Helger
+ */
+@NotThreadSafe
+public final class SWIFTFileValidator
+{
+  /** The default chunk size in bytes */
+  public static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+  private static final byte NEWLINE = '\n';
+  private static final byte CR = '\r';
+  private static final byte QUOTE = '"';
+
+  private final ESWIFTCodeType m_eCodeType;
+  // CSV mode
+  private final char m_cSeparator;
+  private final int m_nColumnIndex;
+  // Fixed width mode
+  private final int m_nFieldStart;
+  private final int m_nFieldLength;
+
+  private int m_nHeaderLineCount = 0;
+  private int m_nChunkSize = DEFAULT_CHUNK_SIZE;
+
+  private SWIFTFileValidator (@Nonnull final ESWIFTCodeType eCodeType,
+                              final char cSeparator,
+                              final int nColumnIndex,
+                              final int nFieldStart,
+                              final int nFieldLength)
+  {
+    m_eCodeType = ValueEnforcer.notNull (eCodeType, "CodeType");
+    m_cSeparator = cSeparator;
+    m_nColumnIndex = nColumnIndex;
+    m_nFieldStart = nFieldStart;
+    m_nFieldLength = nFieldLength;
+  }
+
+  /**
+   * Create a validator for CSV files.
+   *
+   * @param eCodeType
+   *        The type of code to validate. May not be <code>null</code>.
+   * @param cSeparator
+   *        The column separator. Must be an ASCII character other than a line
+   *        break or a double quote.
+   * @param nColumnIndex
+   *        The 0-based index of the column containing the code.
+   * @return The new validator and never <code>null</code>.
+   */
+  @Nonnull
+  public static SWIFTFileValidator createForCSV (@Nonnull final ESWIFTCodeType eCodeType,
+                                                 final char cSeparator,
+                                                 @Nonnegative final int nColumnIndex)
+  {
+    ValueEnforcer.isTrue (cSeparator > 0 &&
+                          cSeparator < 0x80 &&
+                          cSeparator != NEWLINE &&
+                          cSeparator != CR &&
+                          cSeparator != QUOTE,
+                          "Invalid separator");
+    ValueEnforcer.isGE0 (nColumnIndex, "ColumnIndex");
+    return new SWIFTFileValidator (eCodeType, cSeparator, nColumnIndex, -1, -1);
+  }
+
+  /**
+   * Create a validator for fixed width files.
+   *
+   * @param eCodeType
+   *        The type of code to validate. May not be <code>null</code>.
+   * @param nFieldStart
+   *        The 0-based byte index within each line where the code starts.
+   * @param nFieldLength
+   *        The maximum length of the field in bytes. Lines may be shorter.
+   * @return The new validator and never <code>null</code>.
+   */
+  @Nonnull
+  public static SWIFTFileValidator createForFixedWidth (@Nonnull final ESWIFTCodeType eCodeType,
+                                                        @Nonnegative final int nFieldStart,
+                                                        @Nonnegative final int nFieldLength)
+  {
+    ValueEnforcer.isGE0 (nFieldStart, "FieldStart");
+    ValueEnforcer.isGT0 (nFieldLength, "FieldLength");
+    return new SWIFTFileValidator (eCodeType, (char) 0, -1, nFieldStart, nFieldLength);
+  }
+
+  @Nonnull
+  public ESWIFTCodeType getCodeType ()
+  {
+    return m_eCodeType;
+  }
+
+  @Nonnegative
+  public int getHeaderLineCount ()
+  {
+    return m_nHeaderLineCount;
+  }
+
+  /**
+   * @param nHeaderLineCount
+   *        The number of lines at the beginning of the file that should not be
+   *        validated. Must be &ge; 0.
+   * @return this for chaining
+   */
+  @Nonnull
+  public SWIFTFileValidator setHeaderLineCount (@Nonnegative final int nHeaderLineCount)
+  {
+    m_nHeaderLineCount = ValueEnforcer.isGE0 (nHeaderLineCount, "HeaderLineCount");
+    return this;
+  }
+
+  @Nonnegative
+  public int getChunkSize ()
+  {
+    return m_nChunkSize;
+  }
+
+  /**
+   * @param nChunkSize
+   *        The approximate number of bytes to be validated by one task. The
+   *        real chunks are extended to the next line end. Must be &gt; 0.
+   * @return this for chaining
+   */
+  @Nonnull
+  public SWIFTFileValidator setChunkSize (@Nonnegative final int nChunkSize)
+  {
+    m_nChunkSize = ValueEnforcer.isGT0 (nChunkSize, "ChunkSize");
+    return this;
+  }
+
+  /**
+   * Find the start of the next line.
+   *
+   * @return The position after the next line break at or after the passed
+   *         position or the file size if there is no more line break.
+   */
+  private static long _getNextLineStart (@Nonnull final FileChannel aChannel,
+                                         final long nStartPos,
+                                         final long nFileSize) throws IOException
+  {
+    final ByteBuffer aBuffer = ByteBuffer.allocate (8192);
+    long nPos = nStartPos;
+    while (nPos < nFileSize)
+    {
+      aBuffer.clear ();
+      final int nRead = aChannel.read (aBuffer, nPos);
+      if (nRead <= 0)
+        break;
+      for (int i = 0; i < nRead; ++i)
+        if (aBuffer.get (i) == NEWLINE)
+          return nPos + i + 1;
+      nPos += nRead;
+    }
+    return nFileSize;
+  }
+
+  @Nonnull
+  private ESWIFTCheckResult _getCheckResult (@Nonnull final CharSequence aCS, final int nOfs, final int nLen)
+  {
+    if (m_eCodeType == ESWIFTCodeType.IBAN)
+      return IBANManager.getCheckResult (aCS, nOfs, nLen);
+    return BICManager.getCheckResult (aCS, nOfs, nLen);
+  }
+
+  /**
+   * The result of a single chunk. Only invalid rows are stored.
+   */
+  private static final class ChunkResult
+  {
+    private int m_nLineCount;
+    private int m_nInvalidCount;
+    private int [] m_aLineIndexes = new int [16];
+    private long [] m_aByteOffsets = new long [16];
+    private byte [] m_aResults = new byte [16];
+
+    void addInvalid (final int nLineIndex, final long nByteOffset, @Nonnull final ESWIFTCheckResult eResult)
+    {
+      if (m_nInvalidCount == m_aResults.length)
+      {
+        final int nNewSize = m_nInvalidCount * 2;
+        m_aLineIndexes = Arrays.copyOf (m_aLineIndexes, nNewSize);
+        m_aByteOffsets = Arrays.copyOf (m_aByteOffsets, nNewSize);
+        m_aResults = Arrays.copyOf (m_aResults, nNewSize);
+      }
+      m_aLineIndexes[m_nInvalidCount] = nLineIndex;
+      m_aByteOffsets[m_nInvalidCount] = nByteOffset;
+      m_aResults[m_nInvalidCount] = (byte) eResult.ordinal ();
+      m_nInvalidCount++;
+    }
+  }
+
+  @Nonnull
+  private ChunkResult _validateChunk (@Nonnull final ByteBuffer aBuffer, final long nChunkStart)
+  {
+    final ChunkResult ret = new ChunkResult ();
+    final CharSequence aCS = new ByteBufferCharSequence (aBuffer);
+    final byte nSeparator = (byte) m_cSeparator;
+    final int nLimit = aBuffer.limit ();
+
+    int nLineStart = 0;
+    int nLineIndex = 0;
+    while (nLineStart < nLimit)
+    {
+      int nLineEnd = nLineStart;
+      while (nLineEnd < nLimit && aBuffer.get (nLineEnd) != NEWLINE)
+        nLineEnd++;
+      int nContentEnd = nLineEnd;
+      if (nContentEnd > nLineStart && aBuffer.get (nContentEnd - 1) == CR)
+        nContentEnd--;
+
+      if (nContentEnd > nLineStart)
+      {
+        // Determine the field
+        int nFieldStart;
+        int nFieldEnd;
+        if (m_nColumnIndex >= 0)
+        {
+          // CSV
+          nFieldStart = -1;
+          nFieldEnd = nContentEnd;
+          int nColumn = 0;
+          boolean bInQuotes = false;
+          if (m_nColumnIndex == 0)
+            nFieldStart = nLineStart;
+          for (int i = nLineStart; i < nContentEnd; ++i)
+          {
+            final byte b = aBuffer.get (i);
+            if (b == QUOTE)
+              bInQuotes = !bInQuotes;
+            else
+              if (b == nSeparator && !bInQuotes)
+              {
+                if (nColumn == m_nColumnIndex)
+                {
+                  nFieldEnd = i;
+                  break;
+                }
+                nColumn++;
+                if (nColumn == m_nColumnIndex)
+                  nFieldStart = i + 1;
+              }
+          }
+          if (nFieldStart < 0)
+          {
+            // Column is not present
+            nFieldStart = nContentEnd;
+          }
+        }
+        else
+        {
+          // Fixed width
+          nFieldStart = Math.min (nLineStart + m_nFieldStart, nContentEnd);
+          nFieldEnd = Math.min (nFieldStart + m_nFieldLength, nContentEnd);
+        }
+
+        // Trim whitespaces and quotes
+        while (nFieldStart < nFieldEnd && _isTrimmable (aBuffer.get (nFieldStart)))
+          nFieldStart++;
+        while (nFieldEnd > nFieldStart && _isTrimmable (aBuffer.get (nFieldEnd - 1)))
+          nFieldEnd--;
+        if (nFieldEnd - nFieldStart >= 2 &&
+            aBuffer.get (nFieldStart) == QUOTE &&
+            aBuffer.get (nFieldEnd - 1) == QUOTE)
+        {
+          nFieldStart++;
+          nFieldEnd--;
+        }
+
+        final ESWIFTCheckResult eResult = _getCheckResult (aCS, nFieldStart, nFieldEnd - nFieldStart);
+        if (eResult.isInvalid ())
+          ret.addInvalid (nLineIndex, nChunkStart + nLineStart, eResult);
+      }
+
+      nLineIndex++;
+      nLineStart = nLineEnd + 1;
+    }
+    ret.m_nLineCount = nLineIndex;
+    return ret;
+  }
+
+  private static boolean _isTrimmable (final byte b)
+  {
+    return b == ' ' || b == '\t';
+  }
+
+  private final class ValidationTask extends RecursiveAction
+  {
+    private final FileChannel m_aChannel;
+    private final long [] m_aChunkStarts;
+    private final ChunkResult [] m_aResults;
+    private final int m_nFirst;
+    private final int m_nLast;
+
+    ValidationTask (@Nonnull final FileChannel aChannel,
+                    @Nonnull final long [] aChunkStarts,
+                    @Nonnull final ChunkResult [] aResults,
+                    final int nFirst,
+                    final int nLast)
+    {
+      m_aChannel = aChannel;
+      m_aChunkStarts = aChunkStarts;
+      m_aResults = aResults;
+      m_nFirst = nFirst;
+      m_nLast = nLast;
+    }
+
+    @Override
+    protected void compute ()
+    {
+      if (m_nLast - m_nFirst > 1)
+      {
+        // Split in halves
+        final int nMid = (m_nFirst + m_nLast) >>> 1;
+        invokeAll (new ValidationTask (m_aChannel, m_aChunkStarts, m_aResults, m_nFirst, nMid),
+                   new ValidationTask (m_aChannel, m_aChunkStarts, m_aResults, nMid, m_nLast));
+      }
+      else
+      {
+        final long nStart = m_aChunkStarts[m_nFirst];
+        final long nEnd = m_aChunkStarts[m_nFirst + 1];
+        try
+        {
+          final ByteBuffer aBuffer = m_aChannel.map (FileChannel.MapMode.READ_ONLY, nStart, nEnd - nStart);
+          m_aResults[m_nFirst] = _validateChunk (aBuffer, nStart);
+        }
+        catch (final IOException ex)
+        {
+          throw new UncheckedIOException (ex);
+        }
+      }
+    }
+  }
+
+  /**
+   * Validate the passed file using the common fork-join pool.
+   *
+   * @param aPath
+   *        The file to validate. May not be <code>null</code>.
+   * @return The validation report and never <code>null</code>.
+   * @throws IOException
+   *         If reading the file fails
+   */
+  @Nonnull
+  public SWIFTFileValidationReport validate (@Nonnull final Path aPath) throws IOException
+  {
+    return validate (aPath, ForkJoinPool.commonPool ());
+  }
+
+  /**
+   * Validate the passed file.
+   *
+   * @param aPath
+   *        The file to validate. May not be <code>null</code>.
+   * @param aPool
+   *        The pool on which the chunks are validated. May not be
+   *        <code>null</code>.
+   * @return The validation report and never <code>null</code>.
+   * @throws IOException
+   *         If reading the file fails
+   */
+  @Nonnull
+  public SWIFTFileValidationReport validate (@Nonnull final Path aPath,
+                                             @Nonnull final ForkJoinPool aPool) throws IOException
+  {
+    ValueEnforcer.notNull (aPath, "Path");
+    ValueEnforcer.notNull (aPool, "Pool");
+
+    try (final FileChannel aChannel = FileChannel.open (aPath, StandardOpenOption.READ))
+    {
+      final long nFileSize = aChannel.size ();
+
+      // Skip the header
+      long nDataStart = 0;
+      for (int i = 0; i < m_nHeaderLineCount; ++i)
+        nDataStart = _getNextLineStart (aChannel, nDataStart, nFileSize);
+
+      // Determine the line aligned chunks
+      final ICommonsList <Long> aChunkStarts = new CommonsArrayList <> ();
+      long nPos = nDataStart;
+      while (nPos < nFileSize)
+      {
+        aChunkStarts.add (Long.valueOf (nPos));
+        nPos = _getNextLineStart (aChannel, Math.min (nPos + m_nChunkSize, nFileSize) - 1, nFileSize);
+      }
+      final int nChunkCount = aChunkStarts.size ();
+      final long [] aStarts = new long [nChunkCount + 1];
+      for (int i = 0; i < nChunkCount; ++i)
+        aStarts[i] = aChunkStarts.get (i).longValue ();
+      aStarts[nChunkCount] = nFileSize;
+
+      final ChunkResult [] aResults = new ChunkResult [nChunkCount];
+      if (nChunkCount > 0)
+        try
+        {
+          aPool.invoke (new ValidationTask (aChannel, aStarts, aResults, 0, nChunkCount));
+        }
+        catch (final UncheckedIOException ex)
+        {
+          throw ex.getCause ();
+        }
+
+      // Merge all chunk results in file order
+      int nInvalidCount = 0;
+      for (final ChunkResult aResult : aResults)
+        nInvalidCount += aResult.m_nInvalidCount;
+      final long [] aLineNumbers = new long [nInvalidCount];
+      final long [] aByteOffsets = new long [nInvalidCount];
+      final byte [] aCheckResults = new byte [nInvalidCount];
+      long nLineCount = 0;
+      int nIndex = 0;
+      for (final ChunkResult aResult : aResults)
+      {
+        for (int i = 0; i < aResult.m_nInvalidCount; ++i)
+        {
+          aLineNumbers[nIndex] = m_nHeaderLineCount + nLineCount + aResult.m_aLineIndexes[i] + 1;
+          aByteOffsets[nIndex] = aResult.m_aByteOffsets[i];
+          aCheckResults[nIndex] = aResult.m_aResults[i];
+          nIndex++;
+        }
+        nLineCount += aResult.m_nLineCount;
+      }
+      return new SWIFTFileValidationReport (nLineCount, aLineNumbers, aByteOffsets, aCheckResults);
+    }
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("codeType", m_eCodeType)
+                                       .append ("separator", m_cSeparator)
+                                       .append ("columnIndex", m_nColumnIndex)
+                                       .append ("fieldStart", m_nFieldStart)
+                                       .append ("fieldLength", m_nFieldLength)
+                                       .append ("headerLineCount", m_nHeaderLineCount)
+                                       .append ("chunkSize", m_nChunkSize)
+                                       .getToString ();
+  }
+}
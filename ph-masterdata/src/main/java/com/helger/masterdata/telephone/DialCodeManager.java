@@ -26,6 +26,8 @@ import com.helger.commons.collection.ext.ICommonsMap;
 import com.helger.commons.exception.InitializationException;
 import com.helger.commons.io.resource.ClassPathResource;
 import com.helger.commons.string.StringHelper;
+import com.helger.masterdata.codelist.CodeListReader;
+import com.helger.xml.microdom.IMicroDocument;
 import com.helger.xml.microdom.util.XMLMapHandler;
 
 /**
@@ -40,8 +42,11 @@ public final class DialCodeManager
 
   static
   {
-    if (XMLMapHandler.readMap (new ClassPathResource ("codelists/dialcode-country-data.xml"), s_aCountryToDialCode)
-                     .isFailure ())
+    final ClassPathResource aRes = new ClassPathResource ("codelists/dialcode-country-data.xml");
+    final IMicroDocument aDoc = CodeListReader.readCodeList (aRes);
+    if (aDoc == null ||
+        aDoc.getDocumentElement () == null ||
+        XMLMapHandler.readMap (aDoc.getDocumentElement (), s_aCountryToDialCode).isFailure ())
       throw new InitializationException ("Failed to init dial code country data");
   }
 
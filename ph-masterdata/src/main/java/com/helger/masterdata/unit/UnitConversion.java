@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.unit;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.equals.EqualsHelper;
+import com.helger.commons.hashcode.HashCodeGenerator;
+import com.helger.commons.string.StringHelper;
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * The parsed conversion of a unit to its base unit as contained in the
+ * <code>conversion</code> attribute of UN/ECE Recommendation 20, e.g.
+ * <code>1,745 329 x 10⁻² rad</code> is parsed into the factor
+ * <code>0.01745329</code> and the base unit <code>rad</code>. The numbers use
+ * a decimal comma and spaces as grouping separators, and the base unit is
+ * normalized so that different spellings of the multiplication (space,
+ * <code>x</code>, <code>×</code> or <code>·</code>) result in the same
+ * string.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+public final class UnitConversion
+{
+  /** The math context used for non-terminating factors like 5/9 */
+  public static final MathContext MATH_CONTEXT = MathContext.DECIMAL128;
+  /** The base unit used for numbers without a unit */
+  public static final String BASE_UNIT_ONE = "1";
+
+  private static final char SUPERSCRIPT_MINUS = '\u207b';
+
+  private final BigDecimal m_aFactor;
+  private final double m_dFactor;
+  private final String m_sBaseUnit;
+
+  public UnitConversion (@Nonnull final BigDecimal aFactor, @Nonnull @Nonempty final String sBaseUnit)
+  {
+    ValueEnforcer.isGT0 (aFactor, "Factor");
+    ValueEnforcer.notEmpty (sBaseUnit, "BaseUnit");
+    m_aFactor = aFactor;
+    m_dFactor = aFactor.doubleValue ();
+    m_sBaseUnit = sBaseUnit;
+  }
+
+  /**
+   * @return The factor to multiply a value in this unit with to get the value
+   *         in the base unit. Always &gt; 0.
+   */
+  @Nonnull
+  public BigDecimal getFactor ()
+  {
+    return m_aFactor;
+  }
+
+  /**
+   * @return {@link #getFactor()} as a double.
+   */
+  public double getFactorDouble ()
+  {
+    return m_dFactor;
+  }
+
+  /**
+   * @return The normalized base unit, e.g. <code>m</code> or
+   *         <code>kg·m⁻³</code>. Never <code>null</code> nor empty.
+   */
+  @Nonnull
+  @Nonempty
+  public String getBaseUnit ()
+  {
+    return m_sBaseUnit;
+  }
+
+  private static boolean _isDigit (final char c)
+  {
+    return c >= '0' && c <= '9';
+  }
+
+  private static int _getSuperscriptDigit (final char c)
+  {
+    switch (c)
+    {
+      case '\u2070':
+        return 0;
+      case '\u00b9':
+        return 1;
+      case '\u00b2':
+        return 2;
+      case '\u00b3':
+        return 3;
+      default:
+        if (c >= '\u2074' && c <= '\u2079')
+          return c - '\u2070';
+        return -1;
+    }
+  }
+
+  /**
+   * Read a group of digits, where groups of digits may be separated by a
+   * single space. A group directly followed by a slash is not consumed, as it
+   * is the numerator of a unit like <code>1/K</code>.
+   *
+   * @return The index after the last consumed digit
+   */
+  private static int _readDigitGroups (@Nonnull final String s, final int nStart, @Nonnull final StringBuilder aSB)
+  {
+    final int nLen = s.length ();
+    int nPos = nStart;
+    while (true)
+    {
+      while (nPos < nLen && _isDigit (s.charAt (nPos)))
+        aSB.append (s.charAt (nPos++));
+      if (nPos + 1 < nLen && s.charAt (nPos) == ' ' && _isDigit (s.charAt (nPos + 1)))
+      {
+        int nEnd = nPos + 1;
+        while (nEnd < nLen && _isDigit (s.charAt (nEnd)))
+          nEnd++;
+        if (nEnd < nLen && s.charAt (nEnd) == '/')
+          return nPos;
+        nPos++;
+      }
+      else
+        return nPos;
+    }
+  }
+
+  private static boolean _isPowerOfTen (@Nonnull final String s, final int nPos)
+  {
+    return s.startsWith ("10", nPos) &&
+           nPos + 2 < s.length () &&
+           (s.charAt (nPos + 2) == SUPERSCRIPT_MINUS || _getSuperscriptDigit (s.charAt (nPos + 2)) >= 0);
+  }
+
+  @Nonnull
+  private static String _getNormalizedBaseUnit (@Nonnull final String sUnit)
+  {
+    final StringBuilder aSB = new StringBuilder (sUnit.length ());
+    for (final String sToken : StringHelper.getExploded (' ', sUnit.replace ('\u00d7', ' ').replace ('\u00b7', ' ')))
+      if (sToken.length () > 0 && !sToken.equals ("x"))
+      {
+        if (aSB.length () > 0)
+          aSB.append ('\u00b7');
+        aSB.append (sToken);
+      }
+    return aSB.length () == 0 ? BASE_UNIT_ONE : aSB.toString ();
+  }
+
+  /**
+   * Parse the conversion text of a Rec 20 unit.
+   *
+   * @param sConversion
+   *        The conversion text, e.g. <code>3 600 s</code> or
+   *        <code>10⁻³ kg</code>. May be <code>null</code>.
+   * @return <code>null</code> if the passed text is empty or cannot be
+   *         expressed as a factor of a base unit, e.g. a reference to another
+   *         unit like <code>= gon</code>. Level units given as a factor, like
+   *         <code>0,115 129 3 Np</code> for decibel, are parsed.
+   */
+  @Nullable
+  public static UnitConversion parse (@Nullable final String sConversion)
+  {
+    if (StringHelper.hasNoText (sConversion))
+      return null;
+
+    final String s = sConversion.replace ('\u00a0', ' ').trim ();
+    if (s.isEmpty () || s.charAt (0) == '=' || s.charAt (0) == '-')
+      return null;
+    final int nLen = s.length ();
+    int nPos = 0;
+
+    // Mantissa with an optional fraction part or quotient
+    BigDecimal aFactor = null;
+    if (_isDigit (s.charAt (0)) && !_isPowerOfTen (s, 0))
+    {
+      final StringBuilder aSB = new StringBuilder ();
+      nPos = _readDigitGroups (s, nPos, aSB);
+      if (nPos < nLen && (s.charAt (nPos) == ',' || s.charAt (nPos) == '.'))
+      {
+        int nFractionStart = nPos + 1;
+        if (nFractionStart + 1 < nLen && s.charAt (nFractionStart) == ' ' && _isDigit (s.charAt (nFractionStart + 1)))
+          nFractionStart++;
+        if (nFractionStart < nLen && _isDigit (s.charAt (nFractionStart)))
+        {
+          aSB.append ('.');
+          nPos = _readDigitGroups (s, nFractionStart, aSB);
+        }
+      }
+      aFactor = new BigDecimal (aSB.toString ());
+      if (nPos + 1 < nLen && s.charAt (nPos) == '/' && _isDigit (s.charAt (nPos + 1)))
+      {
+        final StringBuilder aDivisor = new StringBuilder ();
+        nPos = _readDigitGroups (s, nPos + 1, aDivisor);
+        aFactor = aFactor.divide (new BigDecimal (aDivisor.toString ()), MATH_CONTEXT);
+      }
+      else
+        if (nPos < nLen && s.charAt (nPos) == '/')
+        {
+          // The number is part of the unit like in "1/K"
+          aFactor = null;
+          nPos = 0;
+        }
+    }
+    while (nPos < nLen && s.charAt (nPos) == ' ')
+      nPos++;
+
+    // Optional power of ten, either as "x 10⁻³", "× 10" or "10³"
+    boolean bPowerOfTen = _isPowerOfTen (s, nPos);
+    if (!bPowerOfTen && aFactor != null && nPos < nLen && (s.charAt (nPos) == 'x' || s.charAt (nPos) == '\u00d7'))
+    {
+      int nTen = nPos + 1;
+      while (nTen < nLen && s.charAt (nTen) == ' ')
+        nTen++;
+      if (s.startsWith ("10", nTen) && (nTen + 2 >= nLen || !_isDigit (s.charAt (nTen + 2))))
+      {
+        nPos = nTen;
+        bPowerOfTen = true;
+      }
+    }
+    if (bPowerOfTen)
+    {
+      nPos += 2;
+      final boolean bNegative = nPos < nLen && s.charAt (nPos) == SUPERSCRIPT_MINUS;
+      if (bNegative)
+        nPos++;
+      int nExponent = 0;
+      boolean bHasExponent = false;
+      while (nPos < nLen)
+      {
+        final char c = s.charAt (nPos);
+        final int nDigit = _isDigit (c) ? c - '0' : _getSuperscriptDigit (c);
+        if (nDigit < 0)
+          break;
+        nExponent = nExponent * 10 + nDigit;
+        bHasExponent = true;
+        nPos++;
+      }
+      if (!bHasExponent)
+      {
+        if (bNegative)
+          return null;
+        // "x 10 m"
+        nExponent = 1;
+      }
+      final BigDecimal aBase = aFactor == null ? BigDecimal.ONE : aFactor;
+      aFactor = aBase.scaleByPowerOfTen (bNegative ? -nExponent : nExponent);
+    }
+
+    if (aFactor == null)
+      aFactor = BigDecimal.ONE;
+    if (aFactor.signum () <= 0)
+      return null;
+    return new UnitConversion (aFactor, _getNormalizedBaseUnit (s.substring (nPos)));
+  }
+
+  @Override
+  public boolean equals (final Object o)
+  {
+    if (o == this)
+      return true;
+    if (o == null || !getClass ().equals (o.getClass ()))
+      return false;
+    final UnitConversion rhs = (UnitConversion) o;
+    return EqualsHelper.equals (m_aFactor, rhs.m_aFactor) && m_sBaseUnit.equals (rhs.m_sBaseUnit);
+  }
+
+  @Override
+  public int hashCode ()
+  {
+    return new HashCodeGenerator (this).append (m_aFactor).append (m_sBaseUnit).getHashCode ();
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("factor", m_aFactor).append ("baseUnit", m_sBaseUnit).getToString ();
+  }
+}
@@ -0,0 +1,386 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.unit;
+
+import java.math.BigDecimal;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.collection.ArrayHelper;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.CommonsHashMap;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.collection.ext.ICommonsMap;
+
+/**
+ * Converts values between units of UN/ECE Recommendation 20 based on the
+ * conversion factors of the code list. All factors are parsed once into a
+ * <code>BigDecimal</code> multiplier to the base unit. Two units are
+ * convertible if they are used for at least one common {@link EUnitQuantity}
+ * and have the same base unit.<br>
+ * The <code>double</code> based methods multiply with one ratio per pair of
+ * units, that is calculated once from the <code>BigDecimal</code> factors.
+ * Therefore a value converted with {@link #convert(double, String, String)}
+ * is always identical to the same value converted with one of the
+ * <code>convertAll</code> methods.<br>
+ * Level units like decibel (<code>2N</code>), bel and neper are defined as
+ * plain factors of each other and are therefore convertible among themselves.
+ * Units whose conversion is not a pure factor are not convertible. This
+ * applies to temperatures with an offset like degree Celsius (<code>CEL</code>)
+ * and degree Fahrenheit (<code>FAH</code>) and to conversions that are no
+ * factor, like a reference to another unit.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+public final class UnitConverter
+{
+  /** Common codes of units whose conversion requires an offset */
+  private static final String [] UNITS_WITH_OFFSET = new String [] { "CEL", "FAH" };
+
+  private static final class SingletonHolder
+  {
+    static final UnitConverter s_aInstance = new UnitConverter (UnitManager.getDefaultInstance ());
+  }
+
+  /**
+   * The conversion of a single unit.
+   */
+  private static final class Entry
+  {
+    private final UnitConversion m_aConversion;
+    private final EUnitQuantity [] m_aQuantities;
+    // All entries with the same base unit - set in the converter constructor
+    private Entry [] m_aGroup;
+    private int m_nGroupIndex;
+    // The ratios to all entries of the group, NaN if not convertible
+    private volatile double [] m_aRatios;
+
+    Entry (@Nonnull final UnitConversion aConversion, @Nonnull final UnitItem aItem)
+    {
+      m_aConversion = aConversion;
+      m_aQuantities = aItem.getAllQuantities ().toArray (new EUnitQuantity [0]);
+    }
+
+    boolean isConvertibleTo (@Nonnull final Entry aOther)
+    {
+      if (aOther == this)
+        return true;
+      if (!m_aConversion.getBaseUnit ().equals (aOther.m_aConversion.getBaseUnit ()))
+        return false;
+      for (final EUnitQuantity eQuantity : m_aQuantities)
+        if (ArrayHelper.contains (aOther.m_aQuantities, eQuantity))
+          return true;
+      return false;
+    }
+
+    /**
+     * @return The factor to convert values from this unit to the passed unit
+     *         or {@link Double#NaN} if the units are not convertible.
+     */
+    double getRatioTo (@Nonnull final Entry aOther)
+    {
+      if (aOther.m_aGroup != m_aGroup)
+        return Double.NaN;
+
+      double [] aRatios = m_aRatios;
+      if (aRatios == null)
+      {
+        // Concurrent creation results in the same values
+        aRatios = new double [m_aGroup.length];
+        for (int i = 0; i < aRatios.length; ++i)
+        {
+          final Entry aTo = m_aGroup[i];
+          aRatios[i] = isConvertibleTo (aTo) ? m_aConversion.getFactor ()
+                                                            .divide (aTo.m_aConversion.getFactor (),
+                                                                     UnitConversion.MATH_CONTEXT)
+                                                            .doubleValue ()
+                                             : Double.NaN;
+        }
+        m_aRatios = aRatios;
+      }
+      return aRatios[aOther.m_nGroupIndex];
+    }
+  }
+
+  private final ICommonsMap <String, Entry> m_aEntries;
+
+  public UnitConverter (@Nonnull final UnitManager aUnitMgr)
+  {
+    ValueEnforcer.notNull (aUnitMgr, "UnitMgr");
+
+    m_aEntries = new CommonsHashMap<> (aUnitMgr.getUnitCount ());
+    for (final UnitItem aItem : aUnitMgr.getAllUnits ())
+    {
+      if (ArrayHelper.contains (UNITS_WITH_OFFSET, aItem.getID ()))
+        continue;
+
+      String sConversion = aItem.getConversion ();
+      if (sConversion != null && sConversion.startsWith ("="))
+      {
+        // Reference to the symbol of another unit like "= gon"
+        final UnitItem aRefItem = aUnitMgr.getUnitOfSymbol (sConversion.substring (1).trim ());
+        sConversion = aRefItem == null ? null : aRefItem.getConversion ();
+      }
+      final UnitConversion aConversion = UnitConversion.parse (sConversion);
+      if (aConversion != null)
+        m_aEntries.put (aItem.getID (), new Entry (aConversion, aItem));
+    }
+
+    // Only units with the same base unit can be convertible
+    final ICommonsMap <String, ICommonsList <Entry>> aGroups = new CommonsHashMap<> ();
+    for (final Entry aEntry : m_aEntries.values ())
+      aGroups.computeIfAbsent (aEntry.m_aConversion.getBaseUnit (), k -> new CommonsArrayList<> ()).add (aEntry);
+    for (final ICommonsList <Entry> aGroupList : aGroups.values ())
+    {
+      final Entry [] aGroup = aGroupList.toArray (new Entry [aGroupList.size ()]);
+      for (int i = 0; i < aGroup.length; ++i)
+      {
+        aGroup[i].m_aGroup = aGroup;
+        aGroup[i].m_nGroupIndex = i;
+      }
+    }
+  }
+
+  @Nonnull
+  public static UnitConverter getDefaultInstance ()
+  {
+    return SingletonHolder.s_aInstance;
+  }
+
+  @Nonnull
+  private Entry _getEntry (@Nullable final String sCommonCode)
+  {
+    final Entry ret = sCommonCode == null ? null : m_aEntries.get (sCommonCode);
+    if (ret == null)
+      throw new IllegalArgumentException ("The unit '" + sCommonCode + "' is unknown or has no conversion factor");
+    return ret;
+  }
+
+  private double _getRatio (@Nullable final String sFromCommonCode, @Nullable final String sToCommonCode)
+  {
+    final double ret = _getEntry (sFromCommonCode).getRatioTo (_getEntry (sToCommonCode));
+    if (Double.isNaN (ret))
+      throw new IllegalArgumentException ("Cannot convert from unit '" +
+                                          sFromCommonCode +
+                                          "' to unit '" +
+                                          sToCommonCode +
+                                          "'");
+    return ret;
+  }
+
+  /**
+   * @return The number of units with a usable conversion. Always &ge; 0.
+   */
+  @Nonnegative
+  public int getConvertibleUnitCount ()
+  {
+    return m_aEntries.size ();
+  }
+
+  /**
+   * Get the conversion of the passed unit to its base unit.
+   *
+   * @param sCommonCode
+   *        The common code of the unit, e.g. <code>KGM</code>. May be
+   *        <code>null</code>.
+   * @return <code>null</code> if the unit is unknown or has no usable
+   *         conversion factor.
+   */
+  @Nullable
+  public UnitConversion getConversionOfUnit (@Nullable final String sCommonCode)
+  {
+    final Entry aEntry = sCommonCode == null ? null : m_aEntries.get (sCommonCode);
+    return aEntry == null ? null : aEntry.m_aConversion;
+  }
+
+  /**
+   * Check if values can be converted between the passed units.
+   *
+   * @param sFromCommonCode
+   *        The common code of the source unit. May be <code>null</code>.
+   * @param sToCommonCode
+   *        The common code of the target unit. May be <code>null</code>.
+   * @return <code>true</code> if both units are known and convertible.
+   */
+  public boolean isConvertible (@Nullable final String sFromCommonCode, @Nullable final String sToCommonCode)
+  {
+    if (sFromCommonCode == null || sToCommonCode == null)
+      return false;
+    final Entry aFrom = m_aEntries.get (sFromCommonCode);
+    final Entry aTo = m_aEntries.get (sToCommonCode);
+    return aFrom != null && aTo != null && aFrom.isConvertibleTo (aTo);
+  }
+
+  /**
+   * Get the factor to convert values from one unit to another unit.
+   *
+   * @param sFromCommonCode
+   *        The common code of the source unit. May be <code>null</code>.
+   * @param sToCommonCode
+   *        The common code of the target unit. May be <code>null</code>.
+   * @return <code>null</code> if the units are not convertible.
+   */
+  @Nullable
+  public BigDecimal getConversionFactor (@Nullable final String sFromCommonCode,
+                                         @Nullable final String sToCommonCode)
+  {
+    if (!isConvertible (sFromCommonCode, sToCommonCode))
+      return null;
+    final UnitConversion aFrom = m_aEntries.get (sFromCommonCode).m_aConversion;
+    final UnitConversion aTo = m_aEntries.get (sToCommonCode).m_aConversion;
+    return aFrom.getFactor ().divide (aTo.getFactor (), UnitConversion.MATH_CONTEXT);
+  }
+
+  /**
+   * Convert a single value.
+   *
+   * @param dValue
+   *        The value in the source unit.
+   * @param sFromCommonCode
+   *        The common code of the source unit. May not be <code>null</code>.
+   * @param sToCommonCode
+   *        The common code of the target unit. May not be <code>null</code>.
+   * @return The value in the target unit.
+   * @throws IllegalArgumentException
+   *         If the units are not convertible
+   */
+  public double convert (final double dValue,
+                         @Nonnull final String sFromCommonCode,
+                         @Nonnull final String sToCommonCode)
+  {
+    return dValue * _getRatio (sFromCommonCode, sToCommonCode);
+  }
+
+  /**
+   * Convert a single value with {@link UnitConversion#MATH_CONTEXT}.
+   *
+   * @param aValue
+   *        The value in the source unit. May not be <code>null</code>.
+   * @param sFromCommonCode
+   *        The common code of the source unit. May not be <code>null</code>.
+   * @param sToCommonCode
+   *        The common code of the target unit. May not be <code>null</code>.
+   * @return The value in the target unit. Never <code>null</code>.
+   * @throws IllegalArgumentException
+   *         If the units are not convertible
+   */
+  @Nonnull
+  public BigDecimal convert (@Nonnull final BigDecimal aValue,
+                             @Nonnull final String sFromCommonCode,
+                             @Nonnull final String sToCommonCode)
+  {
+    ValueEnforcer.notNull (aValue, "Value");
+    final Entry aFrom = _getEntry (sFromCommonCode);
+    final Entry aTo = _getEntry (sToCommonCode);
+    if (!aFrom.isConvertibleTo (aTo))
+      throw new IllegalArgumentException ("Cannot convert from unit '" +
+                                          sFromCommonCode +
+                                          "' to unit '" +
+                                          sToCommonCode +
+                                          "'");
+    if (aFrom == aTo)
+      return aValue;
+    return aValue.multiply (aFrom.m_aConversion.getFactor ())
+                 .divide (aTo.m_aConversion.getFactor (), UnitConversion.MATH_CONTEXT);
+  }
+
+  /**
+   * Convert all passed values from one unit to another unit. The conversion
+   * factor is determined only once.
+   *
+   * @param aSrc
+   *        The source values. May not be <code>null</code>.
+   * @param aDst
+   *        The array to write the converted values to. May be the same as the
+   *        source array and must have at least the same length.
+   * @param sFromCommonCode
+   *        The common code of the source unit. May not be <code>null</code>.
+   * @param sToCommonCode
+   *        The common code of the target unit. May not be <code>null</code>.
+   * @throws IllegalArgumentException
+   *         If the units are not convertible
+   */
+  public void convertAll (@Nonnull final double [] aSrc,
+                          @Nonnull final double [] aDst,
+                          @Nonnull final String sFromCommonCode,
+                          @Nonnull final String sToCommonCode)
+  {
+    ValueEnforcer.notNull (aSrc, "Src");
+    ValueEnforcer.notNull (aDst, "Dst");
+    ValueEnforcer.isTrue (aDst.length >= aSrc.length, "Destination array is too small");
+
+    final double dFactor = _getRatio (sFromCommonCode, sToCommonCode);
+    for (int i = 0; i < aSrc.length; ++i)
+      aDst[i] = aSrc[i] * dFactor;
+  }
+
+  /**
+   * Convert values with different source units to a single target unit, e.g.
+   * to normalize quantities of different order lines.
+   *
+   * @param aSrc
+   *        The source values. May not be <code>null</code>.
+   * @param aFromCommonCodes
+   *        The common codes of the source units, one per source value. May not
+   *        be <code>null</code>.
+   * @param aDst
+   *        The array to write the converted values to. May be the same as the
+   *        source array and must have at least the same length. Values that
+   *        cannot be converted are set to {@link Double#NaN}.
+   * @param sToCommonCode
+   *        The common code of the target unit. May not be <code>null</code>.
+   * @return The number of values that could not be converted. Always &ge; 0.
+   */
+  @Nonnegative
+  public int convertAll (@Nonnull final double [] aSrc,
+                         @Nonnull final String [] aFromCommonCodes,
+                         @Nonnull final double [] aDst,
+                         @Nonnull final String sToCommonCode)
+  {
+    ValueEnforcer.notNull (aSrc, "Src");
+    ValueEnforcer.notNull (aFromCommonCodes, "FromCommonCodes");
+    ValueEnforcer.notNull (aDst, "Dst");
+    ValueEnforcer.isTrue (aFromCommonCodes.length >= aSrc.length, "Too few source units");
+    ValueEnforcer.isTrue (aDst.length >= aSrc.length, "Destination array is too small");
+    final Entry aTo = _getEntry (sToCommonCode);
+
+    int nFailed = 0;
+    String sLastFrom = null;
+    double dLastFactor = Double.NaN;
+    for (int i = 0; i < aSrc.length; ++i)
+    {
+      final String sFrom = aFromCommonCodes[i];
+      if (sFrom == null || !sFrom.equals (sLastFrom))
+      {
+        // Usually consecutive values have the same unit
+        final Entry aFrom = sFrom == null ? null : m_aEntries.get (sFrom);
+        dLastFactor = aFrom == null ? Double.NaN : aFrom.getRatioTo (aTo);
+        sLastFrom = sFrom;
+      }
+      aDst[i] = aSrc[i] * dLastFactor;
+      if (Double.isNaN (dLastFactor))
+        nFailed++;
+    }
+    return nFailed;
+  }
+}
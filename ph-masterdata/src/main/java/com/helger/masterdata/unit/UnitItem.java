@@ -0,0 +1,217 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.unit;
+
+import java.util.Locale;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.Nonempty;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ArrayHelper;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.id.IHasID;
+import com.helger.commons.string.ToStringGenerator;
+import com.helger.commons.text.IMultilingualText;
+import com.helger.commons.text.display.IHasDisplayText;
+import com.helger.masterdata.EUNCodelistStatus;
+
+/**
+ * Represents a single unit of measure of UN/ECE Recommendation 20, identified
+ * by its common code (e.g. <code>KGM</code> for kilogram). The same unit may
+ * be used for several quantities in several sectors.
+ *
+ * @author Philip Helger
+ * @since 5.0.4
+ */
+@Immutable
+public class UnitItem implements IHasID <String>, IHasDisplayText
+{
+  private final String m_sCommonCode;
+  private final IMultilingualText m_aName;
+  private final IMultilingualText m_aDescription;
+  private final String m_sSymbol;
+  private final String m_sConversion;
+  private final EUnitLevel m_eLevel;
+  private final String m_sLevelSuffix;
+  private final EUNCodelistStatus m_eStatus;
+  private final UnitSector [] m_aSectors;
+  private final EUnitQuantity [] m_aQuantities;
+
+  public UnitItem (@Nonnull @Nonempty final String sCommonCode,
+                   @Nonnull final IMultilingualText aName,
+                   @Nullable final IMultilingualText aDescription,
+                   @Nullable final String sSymbol,
+                   @Nullable final String sConversion,
+                   @Nonnull final EUnitLevel eLevel,
+                   @Nullable final String sLevelSuffix,
+                   @Nonnull final EUNCodelistStatus eStatus,
+                   @Nonnull @Nonempty final UnitSector [] aSectors,
+                   @Nonnull @Nonempty final EUnitQuantity [] aQuantities)
+  {
+    ValueEnforcer.notEmpty (sCommonCode, "CommonCode");
+    ValueEnforcer.notNull (aName, "Name");
+    ValueEnforcer.notNull (eLevel, "Level");
+    ValueEnforcer.notNull (eStatus, "Status");
+    ValueEnforcer.notEmptyNoNullValue (aSectors, "Sectors");
+    ValueEnforcer.notEmptyNoNullValue (aQuantities, "Quantities");
+    m_sCommonCode = sCommonCode;
+    m_aName = aName;
+    m_aDescription = aDescription;
+    m_sSymbol = sSymbol;
+    m_sConversion = sConversion;
+    m_eLevel = eLevel;
+    m_sLevelSuffix = sLevelSuffix;
+    m_eStatus = eStatus;
+    m_aSectors = aSectors.clone ();
+    m_aQuantities = aQuantities.clone ();
+  }
+
+  /**
+   * @return The common code of this unit, e.g. <code>KGM</code> or
+   *         <code>C62</code>. Never <code>null</code>.
+   */
+  @Nonnull
+  @Nonempty
+  public String getID ()
+  {
+    return m_sCommonCode;
+  }
+
+  @Nonnull
+  public IMultilingualText getName ()
+  {
+    return m_aName;
+  }
+
+  @Nullable
+  public String getDisplayText (@Nonnull final Locale aContentLocale)
+  {
+    return m_aName.getText (aContentLocale);
+  }
+
+  @Nullable
+  public IMultilingualText getDescription ()
+  {
+    return m_aDescription;
+  }
+
+  /**
+   * @return The symbol of this unit, e.g. <code>kg</code>. May be
+   *         <code>null</code> because not all units have a symbol.
+   */
+  @Nullable
+  public String getSymbol ()
+  {
+    return m_sSymbol;
+  }
+
+  /**
+   * @return The textual conversion factor to the SI unit as contained in the
+   *         code list, e.g. <code>10⁻³ kg</code>. May be <code>null</code>.
+   */
+  @Nullable
+  public String getConversion ()
+  {
+    return m_sConversion;
+  }
+
+  @Nonnull
+  public EUnitLevel getLevel ()
+  {
+    return m_eLevel;
+  }
+
+  /**
+   * @return The level suffix. <code>M</code> for multiples and <code>S</code>
+   *         for sub-multiples of a normative unit. May be <code>null</code>.
+   */
+  @Nullable
+  public String getLevelSuffix ()
+  {
+    return m_sLevelSuffix;
+  }
+
+  @Nonnull
+  public EUNCodelistStatus getStatus ()
+  {
+    return m_eStatus;
+  }
+
+  /**
+   * @return <code>true</code> if this unit is deprecated or marked as deleted
+   *         and should not be used for new data.
+   */
+  public boolean isDeprecated ()
+  {
+    return m_eStatus == EUNCodelistStatus.DEPRECATED || m_eStatus == EUNCodelistStatus.MARKEDDELETED;
+  }
+
+  /**
+   * @return All sectors in which this unit is used. Never <code>null</code>
+   *         nor empty.
+   */
+  @Nonnull
+  @Nonempty
+  @ReturnsMutableCopy
+  public ICommonsList <UnitSector> getAllSectors ()
+  {
+    return new CommonsArrayList<> (m_aSectors);
+  }
+
+  public boolean isInSector (@Nullable final UnitSector aSector)
+  {
+    return aSector != null && ArrayHelper.contains (m_aSectors, aSector);
+  }
+
+  /**
+   * @return All quantities this unit is used for. Never <code>null</code> nor
+   *         empty.
+   */
+  @Nonnull
+  @Nonempty
+  @ReturnsMutableCopy
+  public ICommonsList <EUnitQuantity> getAllQuantities ()
+  {
+    return new CommonsArrayList<> (m_aQuantities);
+  }
+
+  public boolean hasQuantity (@Nullable final EUnitQuantity eQuantity)
+  {
+    return eQuantity != null && ArrayHelper.contains (m_aQuantities, eQuantity);
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("commonCode", m_sCommonCode)
+                                       .append ("name", m_aName)
+                                       .appendIfNotNull ("description", m_aDescription)
+                                       .appendIfNotNull ("symbol", m_sSymbol)
+                                       .appendIfNotNull ("conversion", m_sConversion)
+                                       .append ("level", m_eLevel)
+                                       .appendIfNotNull ("levelSuffix", m_sLevelSuffix)
+                                       .append ("status", m_eStatus)
+                                       .append ("sectors", m_aSectors)
+                                       .append ("quantities", m_aQuantities)
+                                       .getToString ();
+  }
+}
@@ -16,30 +16,50 @@
  */
 package com.helger.masterdata.unit;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
 
 import com.helger.commons.CGlobal;
+import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.ReturnsMutableCopy;
-import com.helger.commons.annotation.WorkInProgress;
+import com.helger.commons.collection.ext.CommonsArrayList;
 import com.helger.commons.collection.ext.CommonsHashMap;
+import com.helger.commons.collection.ext.CommonsLinkedHashMap;
+import com.helger.commons.collection.ext.CommonsLinkedHashSet;
 import com.helger.commons.collection.ext.ICommonsCollection;
+import com.helger.commons.collection.ext.ICommonsList;
 import com.helger.commons.collection.ext.ICommonsMap;
+import com.helger.commons.collection.ext.ICommonsOrderedMap;
+import com.helger.commons.collection.ext.ICommonsOrderedSet;
 import com.helger.commons.io.resource.ClassPathResource;
 import com.helger.commons.io.resource.IReadableResource;
+import com.helger.commons.lang.EnumHelper;
+import com.helger.commons.string.StringHelper;
 import com.helger.commons.string.StringParser;
 import com.helger.commons.text.IMultilingualText;
 import com.helger.commons.text.ReadOnlyMultilingualText;
+import com.helger.masterdata.EUNCodelistStatus;
+import com.helger.masterdata.codelist.CodeListReader;
 import com.helger.xml.microdom.IMicroDocument;
 import com.helger.xml.microdom.IMicroElement;
 import com.helger.xml.microdom.convert.MicroTypeConverter;
-import com.helger.xml.microdom.serialize.MicroReader;
 
 /**
- * FIXME THIS CLASS IS NOT YET FINISHED!
+ * The catalog of all units of UN/ECE Recommendation 20. The code list contains
+ * one entry per unit and quantity, so units used for several quantities are
+ * merged into a single {@link UnitItem} per common code. All lookups are
+ * backed by hash maps or arrays that are created once upon reading, so the
+ * resolution of a unit code or symbol is O(1).
  *
  * @author Philip Helger
  */
-@WorkInProgress
+@Immutable
 public final class UnitManager
 {
   public static final IReadableResource DEFAULT_UNIT_RES = new ClassPathResource ("codelists/rec20_Rev8e_2012.xml");
@@ -49,11 +69,87 @@ public final class UnitManager
     static final UnitManager s_aInstance = new UnitManager (DEFAULT_UNIT_RES);
   }
 
-  private final ICommonsMap <Integer, UnitSector> m_aSectors = new CommonsHashMap <> ();
+  /**
+   * Collects all entries of a single common code while reading.
+   */
+  private static final class ItemCollector
+  {
+    private final String m_sCommonCode;
+    private IMultilingualText m_aName;
+    private IMultilingualText m_aDescription;
+    private String m_sSymbol;
+    private String m_sConversion;
+    private EUnitLevel m_eLevel;
+    private String m_sLevelSuffix;
+    private EUNCodelistStatus m_eStatus;
+    private final ICommonsOrderedSet <UnitSector> m_aSectors = new CommonsLinkedHashSet<> ();
+    private final ICommonsOrderedSet <EUnitQuantity> m_aQuantities = new CommonsLinkedHashSet<> ();
+
+    ItemCollector (@Nonnull final String sCommonCode)
+    {
+      m_sCommonCode = sCommonCode;
+    }
+
+    boolean isDeprecated ()
+    {
+      return m_eStatus == EUNCodelistStatus.DEPRECATED || m_eStatus == EUNCodelistStatus.MARKEDDELETED;
+    }
+
+    @Nonnull
+    UnitItem getAsItem ()
+    {
+      return new UnitItem (m_sCommonCode,
+                           m_aName,
+                           m_aDescription,
+                           m_sSymbol,
+                           m_sConversion,
+                           m_eLevel,
+                           m_sLevelSuffix,
+                           m_eStatus,
+                           m_aSectors.toArray (new UnitSector [m_aSectors.size ()]),
+                           m_aQuantities.toArray (new EUnitQuantity [m_aQuantities.size ()]));
+    }
+  }
+
+  private static final UnitItem [] NO_ITEMS = new UnitItem [0];
+
+  /** Non-deprecated units first, otherwise keep the document order */
+  private static final Comparator <UnitItem> PREFERRED_FIRST = Comparator.comparing (UnitItem::isDeprecated);
+
+  private final ICommonsMap <Integer, UnitSector> m_aSectors = new CommonsHashMap<> ();
+  private UnitItem [] m_aItems;
+  private ICommonsMap <String, UnitItem> m_aItemsByCode;
+  private ICommonsMap <String, UnitItem []> m_aItemsBySymbol;
+  private ICommonsMap <Integer, UnitItem []> m_aItemsBySector;
+  /** Indexed by the ordinal of {@link EUnitQuantity} */
+  private final UnitItem [] [] m_aItemsByQuantity = new UnitItem [EUnitQuantity.values ().length] [];
+
+  private static int _getIntAttr (@Nonnull final IMicroElement eElement, @Nonnull final String sAttrName)
+  {
+    final int ret = StringParser.parseInt (eElement.getAttributeValue (sAttrName), CGlobal.ILLEGAL_UINT);
+    if (ret == CGlobal.ILLEGAL_UINT)
+      throw new IllegalStateException ("Element " +
+                                       eElement.getTagName () +
+                                       " has an invalid '" +
+                                       sAttrName +
+                                       "' attribute value: '" +
+                                       eElement.getAttributeValue (sAttrName) +
+                                       "'");
+    return ret;
+  }
+
+  @Nonnull
+  private static UnitItem [] _getSorted (@Nonnull final ICommonsList <UnitItem> aList)
+  {
+    final UnitItem [] ret = aList.toArray (new UnitItem [aList.size ()]);
+    // Stable sort
+    Arrays.sort (ret, PREFERRED_FIRST);
+    return ret;
+  }
 
   private void _readFromFile (@Nonnull final IReadableResource aRes)
   {
-    final IMicroDocument aDoc = MicroReader.readMicroXML (aRes);
+    final IMicroDocument aDoc = CodeListReader.readCodeList (aRes);
     if (aDoc == null)
       throw new IllegalArgumentException ("Failed to read " + aRes + " as XML document!");
     final IMicroElement eRoot = aDoc.getDocumentElement ();
@@ -73,16 +169,108 @@ public final class UnitManager
       m_aSectors.put (aKey, aSector);
     }
 
-    // Read all item
+    // Read all items - one per unit and quantity
+    final ICommonsOrderedMap <String, ItemCollector> aCollectors = new CommonsLinkedHashMap<> ();
     for (final IMicroElement eItem : eRoot.getFirstChildElement ("body").getAllChildElements ("item"))
     {
-      // TODO
-      eItem.getAttributeValue ("id");
+      final String sCommonCode = eItem.getAttributeValue ("commoncode");
+      if (StringHelper.hasNoText (sCommonCode))
+        throw new IllegalStateException ("Unit item without common code found: " + eItem.getAttributeValue ("groupid"));
+
+      final int nGroupNum = _getIntAttr (eItem, "groupnum");
+      final UnitSector aSector = m_aSectors.get (Integer.valueOf (nGroupNum));
+      if (aSector == null)
+        throw new IllegalStateException ("Unit " + sCommonCode + " references the unknown sector " + nGroupNum);
+
+      final int nQuantityID = _getIntAttr (eItem, "quantityid");
+      final EUnitQuantity eQuantity = EUnitQuantity.getFromIDOrNull (nQuantityID);
+      if (eQuantity == null)
+        throw new IllegalStateException ("Unit " + sCommonCode + " references the unknown quantity " + nQuantityID);
+
+      final String sStatus = eItem.getAttributeValue ("status");
+      final EUNCodelistStatus eStatus = sStatus == null ? EUNCodelistStatus.UNCHANGED
+                                                        : EnumHelper.getFromIDOrNull (EUNCodelistStatus.class,
+                                                                                      sStatus);
+      if (eStatus == null)
+        throw new IllegalStateException ("Unit " + sCommonCode + " has the unknown status '" + sStatus + "'");
+
+      ItemCollector aCollector = aCollectors.get (sCommonCode);
+      if (aCollector == null)
+      {
+        aCollector = new ItemCollector (sCommonCode);
+        aCollectors.put (sCommonCode, aCollector);
+      }
+      aCollector.m_aSectors.add (aSector);
+      aCollector.m_aQuantities.add (eQuantity);
+
+      // The first entry defines the details, unless it is deprecated and a
+      // non-deprecated entry follows
+      final boolean bDeprecated = eStatus == EUNCodelistStatus.DEPRECATED ||
+                                  eStatus == EUNCodelistStatus.MARKEDDELETED;
+      if (aCollector.m_eStatus == null || (aCollector.isDeprecated () && !bDeprecated))
+      {
+        final int nLevel = _getIntAttr (eItem, "level");
+        final EUnitLevel eLevel = EUnitLevel.getFromIDOrNull (nLevel);
+        if (eLevel == null)
+          throw new IllegalStateException ("Unit " + sCommonCode + " has the unknown level " + nLevel);
+
+        aCollector.m_aName = MicroTypeConverter.convertToNative (eItem.getFirstChildElement ("name"),
+                                                                 ReadOnlyMultilingualText.class);
+        if (aCollector.m_aName == null)
+          throw new IllegalStateException ("Unit " + sCommonCode + " has no name");
+        final IMicroElement eDescription = eItem.getFirstChildElement ("description");
+        if (eDescription != null)
+          aCollector.m_aDescription = MicroTypeConverter.convertToNative (eDescription,
+                                                                          ReadOnlyMultilingualText.class);
+        else
+          aCollector.m_aDescription = null;
+        aCollector.m_sSymbol = eItem.getAttributeValue ("symbol");
+        aCollector.m_sConversion = eItem.getAttributeValue ("conversion");
+        aCollector.m_eLevel = eLevel;
+        aCollector.m_sLevelSuffix = eItem.getAttributeValue ("levelsuffix");
+        aCollector.m_eStatus = eStatus;
+      }
+    }
+
+    // Build the immutable items and all indices
+    m_aItems = new UnitItem [aCollectors.size ()];
+    m_aItemsByCode = new CommonsHashMap<> (aCollectors.size ());
+    final ICommonsMap <String, ICommonsList <UnitItem>> aBySymbol = new CommonsHashMap<> ();
+    final ICommonsMap <Integer, ICommonsList <UnitItem>> aBySector = new CommonsHashMap<> ();
+    final ICommonsList <ICommonsList <UnitItem>> aByQuantity = new CommonsArrayList<> (m_aItemsByQuantity.length);
+    for (int i = 0; i < m_aItemsByQuantity.length; ++i)
+      aByQuantity.add (new CommonsArrayList<> ());
+
+    int nIndex = 0;
+    for (final ItemCollector aCollector : aCollectors.values ())
+    {
+      final UnitItem aItem = aCollector.getAsItem ();
+      m_aItems[nIndex++] = aItem;
+      m_aItemsByCode.put (aItem.getID (), aItem);
+      if (aItem.getSymbol () != null)
+        aBySymbol.computeIfAbsent (aItem.getSymbol (), k -> new CommonsArrayList<> ()).add (aItem);
+      for (final UnitSector aSector : aCollector.m_aSectors)
+        aBySector.computeIfAbsent (aSector.getIDObj (), k -> new CommonsArrayList<> ()).add (aItem);
+      for (final EUnitQuantity eQuantity : aCollector.m_aQuantities)
+        aByQuantity.get (eQuantity.ordinal ()).add (aItem);
+    }
+
+    m_aItemsBySymbol = new CommonsHashMap<> (aBySymbol.size ());
+    for (final Map.Entry <String, ICommonsList <UnitItem>> aEntry : aBySymbol.entrySet ())
+      m_aItemsBySymbol.put (aEntry.getKey (), _getSorted (aEntry.getValue ()));
+    m_aItemsBySector = new CommonsHashMap<> (aBySector.size ());
+    for (final Map.Entry <Integer, ICommonsList <UnitItem>> aEntry : aBySector.entrySet ())
+      m_aItemsBySector.put (aEntry.getKey (), _getSorted (aEntry.getValue ()));
+    for (int i = 0; i < m_aItemsByQuantity.length; ++i)
+    {
+      final ICommonsList <UnitItem> aList = aByQuantity.get (i);
+      m_aItemsByQuantity[i] = aList.isEmpty () ? NO_ITEMS : _getSorted (aList);
     }
   }
 
   public UnitManager (@Nonnull final IReadableResource aListRes)
   {
+    ValueEnforcer.notNull (aListRes, "ListRes");
     _readFromFile (aListRes);
   }
 
@@ -98,4 +286,137 @@ public final class UnitManager
   {
     return m_aSectors.copyOfValues ();
   }
+
+  /**
+   * Get the sector with the passed group number.
+   *
+   * @param nGroupNumber
+   *        The group number to search, e.g. 1 for "Space and Time".
+   * @return <code>null</code> if no such sector exists.
+   */
+  @Nullable
+  public UnitSector getSectorOfGroupNumber (final int nGroupNumber)
+  {
+    return m_aSectors.get (Integer.valueOf (nGroupNumber));
+  }
+
+  /**
+   * @return The number of distinct units. Always &ge; 0.
+   */
+  @Nonnegative
+  public int getUnitCount ()
+  {
+    return m_aItems.length;
+  }
+
+  /**
+   * @return All distinct units in the order of the code list. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <UnitItem> getAllUnits ()
+  {
+    return new CommonsArrayList<> (m_aItems);
+  }
+
+  /**
+   * Get the unit with the passed common code.
+   *
+   * @param sCommonCode
+   *        The common code to search, e.g. <code>KGM</code>. The search is
+   *        case sensitive. May be <code>null</code>.
+   * @return <code>null</code> if no such unit exists.
+   */
+  @Nullable
+  public UnitItem getUnitOfCommonCode (@Nullable final String sCommonCode)
+  {
+    if (sCommonCode == null)
+      return null;
+    return m_aItemsByCode.get (sCommonCode);
+  }
+
+  /**
+   * Check if a unit with the passed common code exists.
+   *
+   * @param sCommonCode
+   *        The common code to check. The check is case sensitive. May be
+   *        <code>null</code>.
+   * @return <code>true</code> if such a unit exists, <code>false</code>
+   *         otherwise.
+   */
+  public boolean containsUnitWithCommonCode (@Nullable final String sCommonCode)
+  {
+    return sCommonCode != null && m_aItemsByCode.containsKey (sCommonCode);
+  }
+
+  /**
+   * Get the preferred unit with the passed symbol. As a few symbols are used
+   * by more than one unit, a non-deprecated unit is preferred over a
+   * deprecated one, and otherwise the first unit in the code list is used.
+   *
+   * @param sSymbol
+   *        The symbol to search, e.g. <code>kg</code>. The search is case
+   *        sensitive. May be <code>null</code>.
+   * @return <code>null</code> if no unit with this symbol exists.
+   * @see #getAllUnitsOfSymbol(String)
+   */
+  @Nullable
+  public UnitItem getUnitOfSymbol (@Nullable final String sSymbol)
+  {
+    if (sSymbol == null)
+      return null;
+    final UnitItem [] aItems = m_aItemsBySymbol.get (sSymbol);
+    return aItems == null ? null : aItems[0];
+  }
+
+  /**
+   * Get all units with the passed symbol.
+   *
+   * @param sSymbol
+   *        The symbol to search. The search is case sensitive. May be
+   *        <code>null</code>.
+   * @return All matching units, the preferred one first. Never
+   *         <code>null</code> but maybe empty.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <UnitItem> getAllUnitsOfSymbol (@Nullable final String sSymbol)
+  {
+    final UnitItem [] aItems = sSymbol == null ? null : m_aItemsBySymbol.get (sSymbol);
+    return aItems == null ? new CommonsArrayList<> () : new CommonsArrayList<> (aItems);
+  }
+
+  /**
+   * Get all units used in the passed sector.
+   *
+   * @param aSector
+   *        The sector to search. May be <code>null</code>.
+   * @return All units of the sector, non-deprecated units first. Never
+   *         <code>null</code> but maybe empty.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <UnitItem> getAllUnitsOfSector (@Nullable final UnitSector aSector)
+  {
+    final UnitItem [] aItems = aSector == null ? null : m_aItemsBySector.get (aSector.getIDObj ());
+    return aItems == null ? new CommonsArrayList<> () : new CommonsArrayList<> (aItems);
+  }
+
+  /**
+   * Get all units used for the passed quantity.
+   *
+   * @param eQuantity
+   *        The quantity to search. May be <code>null</code>.
+   * @return All units of the quantity, non-deprecated units first. Never
+   *         <code>null</code> but maybe empty.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <UnitItem> getAllUnitsOfQuantity (@Nullable final EUnitQuantity eQuantity)
+  {
+    if (eQuantity == null)
+      return new CommonsArrayList<> ();
+    return new CommonsArrayList<> (m_aItemsByQuantity[eQuantity.ordinal ()]);
+  }
 }
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.vat;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nullable;
+
+import com.helger.commons.id.IHasIntID;
+import com.helger.commons.lang.EnumHelper;
+
+/**
+ * The result of a VATIN syntax check, including the reason why a VATIN is
+ * invalid. The numeric IDs are stable and can be stored in primitive arrays.
+ *
+ * @author Philip Helger
+ * @see VATINSyntaxChecker#getCheckResult(String)
+ */
+public enum EVATINCheckResult implements IHasIntID
+{
+  /** The VATIN is valid */
+  VALID (0),
+  /** The VATIN is too short or too long for the country */
+  INVALID_LENGTH (1),
+  /** The VATIN contains characters that are never allowed for the country */
+  INVALID_CHARACTERS (2),
+  /** Length and characters are fine, but the checksum or structure is wrong */
+  INVALID_CHECKSUM (3),
+  /**
+   * No validator for the country of the VATIN is present, or the VATIN
+   * contains nothing but the country code
+   */
+  UNKNOWN_COUNTRY (4);
+
+  private final int m_nID;
+
+  private EVATINCheckResult (@Nonnegative final int nID)
+  {
+    m_nID = nID;
+  }
+
+  @Nonnegative
+  public int getID ()
+  {
+    return m_nID;
+  }
+
+  public boolean isValid ()
+  {
+    return this == VALID;
+  }
+
+  public boolean isInvalid ()
+  {
+    return this != VALID;
+  }
+
+  @Nullable
+  public static EVATINCheckResult getFromIDOrNull (final int nID)
+  {
+    return EnumHelper.getFromIDOrNull (EVATINCheckResult.class, nID);
+  }
+}
@@ -17,6 +17,7 @@
 package com.helger.masterdata.vat;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Locale;
 
 import javax.annotation.Nonnull;
@@ -25,7 +26,9 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 import com.helger.commons.ValueEnforcer;
 import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
 import com.helger.commons.collection.ext.CommonsHashMap;
+import com.helger.commons.collection.ext.ICommonsList;
 import com.helger.commons.collection.ext.ICommonsMap;
 import com.helger.commons.locale.country.IHasCountry;
 import com.helger.commons.math.MathHelper;
@@ -33,7 +36,10 @@ import com.helger.commons.state.EChange;
 import com.helger.commons.string.ToStringGenerator;
 
 /**
- * Represents all the different VAT items for a single country.
+ * Represents all the different VAT items for a single country.<br>
+ * Instances provided by {@link VATManager} are read-only, so that they can be
+ * shared between threads. Calling {@link #addItem(VATItem)} on them throws an
+ * {@link IllegalStateException}.
  *
  * @author Philip Helger
  */
@@ -43,8 +49,13 @@ public class VATCountryData implements IHasCountry
   private final Locale m_aCountry;
   private final boolean m_bZeroVATAllowed;
   private final ICommonsMap <String, IVATItem> m_aItems = new CommonsHashMap<> ();
+  // Period index per type
+  private final ICommonsMap <EVATType, VATItemPeriodIndex> m_aTypeIndex = new CommonsHashMap<> ();
+  // Period index per type and percentage (without trailing zeroes)
+  private final ICommonsMap <EVATType, ICommonsMap <BigDecimal, VATItemPeriodIndex>> m_aTypePercentageIndex;
   private final String m_sCountryName;
   private final String m_sInternalComment;
+  private boolean m_bReadOnly = false;
 
   public VATCountryData (@Nonnull final Locale aCountry,
                          final boolean bZeroVATAllowed,
@@ -55,6 +66,7 @@ public class VATCountryData implements IHasCountry
     m_bZeroVATAllowed = bZeroVATAllowed;
     m_sCountryName = sCountryName;
     m_sInternalComment = sInternalComment;
+    m_aTypePercentageIndex = new CommonsHashMap<> ();
   }
 
   @Nonnull
@@ -80,18 +92,75 @@ public class VATCountryData implements IHasCountry
     return m_sInternalComment;
   }
 
+  /**
+   * @return <code>true</code> if this object is read-only and no more items can
+   *         be added.
+   * @since 5.0.4
+   */
+  public boolean isReadOnly ()
+  {
+    return m_bReadOnly;
+  }
+
+  /**
+   * Build all indices and make this object read-only. Must be called before
+   * the object is made available to other threads.
+   */
+  void makeReadOnly ()
+  {
+    for (final VATItemPeriodIndex aIndex : m_aTypeIndex.values ())
+      aIndex.buildIndex ();
+    for (final ICommonsMap <BigDecimal, VATItemPeriodIndex> aMap : m_aTypePercentageIndex.values ())
+      for (final VATItemPeriodIndex aIndex : aMap.values ())
+        aIndex.buildIndex ();
+    m_bReadOnly = true;
+  }
+
+  /**
+   * Add a new VAT item.
+   *
+   * @param aVATItem
+   *        The item to add. May not be <code>null</code>.
+   * @return {@link EChange#UNCHANGED} if an item with the same ID is already
+   *         contained.
+   * @throws IllegalStateException
+   *         If this object is read-only
+   */
   @Nonnull
   public EChange addItem (@Nonnull final VATItem aVATItem)
   {
     ValueEnforcer.notNull (aVATItem, "VATItem");
+    if (m_bReadOnly)
+      throw new IllegalStateException ("The VAT data of " + m_aCountry + " is read-only");
 
     final String sID = aVATItem.getID ();
     if (m_aItems.containsKey (sID))
       return EChange.UNCHANGED;
     m_aItems.put (sID, aVATItem);
+
+    final EVATType eType = aVATItem.getType ();
+    m_aTypeIndex.computeIfAbsent (eType, k -> new VATItemPeriodIndex ()).addItem (aVATItem);
+    m_aTypePercentageIndex.computeIfAbsent (eType, k -> new CommonsHashMap<> ())
+                          .computeIfAbsent (getPercentageKey (aVATItem.getPercentage ()),
+                                            k -> new VATItemPeriodIndex ())
+                          .addItem (aVATItem);
     return EChange.CHANGED;
   }
 
+  /**
+   * Get the key to be used for a percentage in hash based maps, so that e.g.
+   * "20" and "20.0" result in the same key.
+   *
+   * @param aPercentage
+   *        The percentage to use. May not be <code>null</code>.
+   * @return The percentage without trailing zeroes.
+   */
+  @Nonnull
+  static BigDecimal getPercentageKey (@Nonnull final BigDecimal aPercentage)
+  {
+    return aPercentage.signum () == 0 ? BigDecimal.ZERO : aPercentage.stripTrailingZeros ();
+  }
+
   public boolean isEmpty ()
   {
     return m_aItems.isEmpty ();
@@ -119,6 +188,84 @@ public class VATCountryData implements IHasCountry
     return null;
   }
 
+  /**
+   * Find the VAT item of the passed type that is valid on the passed date. If
+   * more than one item matches, the one with the latest start date is
+   * returned.
+   *
+   * @param eType
+   *        The VAT type to search. May not be <code>null</code>.
+   * @param aDate
+   *        The date on which the item must be valid. May not be
+   *        <code>null</code>.
+   * @return <code>null</code> if no such item exists.
+   * @since 5.0.4
+   */
+  @Nullable
+  public IVATItem getItemValidOn (@Nonnull final EVATType eType, @Nonnull final LocalDate aDate)
+  {
+    ValueEnforcer.notNull (eType, "Type");
+    ValueEnforcer.notNull (aDate, "Date");
+
+    final VATItemPeriodIndex aIndex = m_aTypeIndex.get (eType);
+    return aIndex == null ? null : aIndex.getItemValidOn (aDate);
+  }
+
+  /**
+   * Get all VAT items of the passed type that are valid on the passed date.
+   *
+   * @param eType
+   *        The VAT type to search. May not be <code>null</code>.
+   * @param aDate
+   *        The date on which the items must be valid. May not be
+   *        <code>null</code>.
+   * @return A non-<code>null</code> list, sorted descending by the start date.
+   * @since 5.0.4
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public ICommonsList <IVATItem> getAllItemsValidOn (@Nonnull final EVATType eType, @Nonnull final LocalDate aDate)
+  {
+    ValueEnforcer.notNull (eType, "Type");
+    ValueEnforcer.notNull (aDate, "Date");
+
+    final ICommonsList <IVATItem> ret = new CommonsArrayList<> ();
+    final VATItemPeriodIndex aIndex = m_aTypeIndex.get (eType);
+    if (aIndex != null)
+      ret.addAll (aIndex.getAllItemsValidOn (aDate));
+    return ret;
+  }
+
+  /**
+   * Find the VAT item with the passed type and percentage that is valid on the
+   * passed date.
+   *
+   * @param eType
+   *        The VAT type to search. May not be <code>null</code>.
+   * @param aPercentage
+   *        The percentage to search. May not be <code>null</code>.
+   * @param aDate
+   *        The date on which the item must be valid. May not be
+   *        <code>null</code>.
+   * @return <code>null</code> if no such item exists.
+   * @since 5.0.4
+   */
+  @Nullable
+  public IVATItem getItemValidOn (@Nonnull final EVATType eType,
+                                  @Nonnull final BigDecimal aPercentage,
+                                  @Nonnull final LocalDate aDate)
+  {
+    ValueEnforcer.notNull (eType, "Type");
+    ValueEnforcer.notNull (aPercentage, "Percentage");
+    ValueEnforcer.notNull (aDate, "Date");
+
+    final ICommonsMap <BigDecimal, VATItemPeriodIndex> aMap = m_aTypePercentageIndex.get (eType);
+    if (aMap == null)
+      return null;
+    final VATItemPeriodIndex aIndex = aMap.get (getPercentageKey (aPercentage));
+    return aIndex == null ? null : aIndex.getItemValidOn (aDate);
+  }
+
   @Override
   public String toString ()
   {
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.Locale;
 import java.util.regex.Pattern;
 
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.RegEx;
@@ -50,6 +51,7 @@ public class VATINStructure implements IHasCountry
   private final String m_sPattern;
   private final Pattern m_aPattern;
   private final ICommonsList <String> m_aExamples;
+  private final String m_sVATINPrefix;
 
   public VATINStructure (@Nonnull final String sCountry,
                          @Nonnull @RegEx final String sRegEx,
@@ -65,6 +67,7 @@ public class VATINStructure implements IHasCountry
     m_sPattern = sRegEx;
     m_aPattern = RegExCache.getPattern (sRegEx);
     m_aExamples = new CommonsArrayList<> (aExamples);
+    m_sVATINPrefix = m_aExamples.getFirst ().substring (0, 2);
 
     if (GlobalDebug.isDebugMode ())
       for (final String s : m_aExamples)
@@ -72,12 +75,37 @@ public class VATINStructure implements IHasCountry
           throw new IllegalArgumentException ("Example VATIN " + s + " does not match " + sRegEx);
   }
 
+  /**
+   * Unify the passed VATIN so that it can be matched against the pattern.
+   *
+   * @param sVATIN
+   *        The VATIN to unify. May not be <code>null</code>.
+   * @return The VATIN without spaces and in upper case.
+   */
+  @Nonnull
+  static String getUnifiedVATIN (@Nonnull final String sVATIN)
+  {
+    return StringHelper.removeAll (sVATIN, " ").toUpperCase (Locale.US);
+  }
+
+  /**
+   * Check if an already unified VATIN matches this structure.
+   *
+   * @param sUnifiedVATIN
+   *        The result of {@link #getUnifiedVATIN(String)}. May not be
+   *        <code>null</code>.
+   * @return <code>true</code> if the pattern matches.
+   */
+  boolean isValidUnifiedVATIN (@Nonnull final String sUnifiedVATIN)
+  {
+    return m_aPattern.matcher (sUnifiedVATIN).matches ();
+  }
+
   public boolean isValid (@Nullable final String sVATIN)
   {
     if (StringHelper.hasNoText (sVATIN))
       return false;
-    final String sRealVATIN = StringHelper.removeAll (sVATIN, " ").toUpperCase (Locale.US);
-    return m_aPattern.matcher (sRealVATIN).matches ();
+    return isValidUnifiedVATIN (getUnifiedVATIN (sVATIN));
   }
 
   /**
@@ -110,6 +138,40 @@ public class VATINStructure implements IHasCountry
     return m_aExamples.getClone ();
   }
 
+  /**
+   * @return The number of contained examples. Always &gt; 0.
+   */
+  @Nonnegative
+  public int getExampleCount ()
+  {
+    return m_aExamples.size ();
+  }
+
+  /**
+   * Get the example at the specified index without copying the list.
+   *
+   * @param nIndex
+   *        The 0-based index of the example to retrieve.
+   * @return <code>null</code> if the index is invalid.
+   */
+  @Nullable
+  public String getExampleOfIndex (final int nIndex)
+  {
+    return m_aExamples.getAtIndex (nIndex);
+  }
+
+  /**
+   * @return The 2 character prefix VATINs of this structure start with, as
+   *         taken from the first example (e.g. "EL" for Greece). Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  @Nonempty
+  public String getVATINPrefix ()
+  {
+    return m_sVATINPrefix;
+  }
+
   @Override
   public boolean equals (final Object o)
   {
@@ -24,9 +24,9 @@ import com.helger.commons.collection.ext.CommonsArrayList;
 import com.helger.commons.collection.ext.ICommonsList;
 import com.helger.commons.io.resource.ClassPathResource;
 import com.helger.commons.string.StringHelper;
+import com.helger.masterdata.codelist.CodeListReader;
 import com.helger.xml.microdom.IMicroDocument;
 import com.helger.xml.microdom.IMicroElement;
-import com.helger.xml.microdom.serialize.MicroReader;
 
 /**
  * This class handles the different VATIN structures for different countries.
@@ -38,11 +38,13 @@ public class VATINStructureManager
   public static final String DEFAULT_RESOURCE = "codelists/vatin-data.xml";
 
   private static final ICommonsList <VATINStructure> s_aList = new CommonsArrayList <> ();
+  /** Structures indexed by the two letters of the VATIN prefix */
+  private static final VATINStructure [] s_aByPrefix = new VATINStructure [26 * 26];
 
   static
   {
     // Read all information from a file
-    final IMicroDocument aDoc = MicroReader.readMicroXML (new ClassPathResource (DEFAULT_RESOURCE));
+    final IMicroDocument aDoc = CodeListReader.readCodeList (new ClassPathResource (DEFAULT_RESOURCE));
     final IMicroElement eRoot = aDoc.getDocumentElement ();
     for (final IMicroElement eVatin : eRoot.getAllChildElements ("vatin"))
     {
@@ -56,13 +58,50 @@ public class VATINStructureManager
         aExamples.add (eExample.getTextContent ());
 
       // Add the structure
-      s_aList.add (new VATINStructure (sCountry, sPattern, aExamples));
+      final VATINStructure aStructure = new VATINStructure (sCountry, sPattern, aExamples);
+      s_aList.add (aStructure);
+
+      // Index by prefix - the first structure for a prefix wins
+      final String sPrefix = aStructure.getVATINPrefix ();
+      final int nIndex = _getPrefixIndex (sPrefix.charAt (0), sPrefix.charAt (1));
+      if (nIndex >= 0 && s_aByPrefix[nIndex] == null)
+        s_aByPrefix[nIndex] = aStructure;
     }
   }
 
   private VATINStructureManager ()
   {}
 
+  private static int _getPrefixLetter (final char c)
+  {
+    // Same rules as String.equalsIgnoreCase
+    final char cUpper = Character.toUpperCase (c);
+    if (cUpper >= 'A' && cUpper <= 'Z')
+      return cUpper - 'A';
+    final char cLower = Character.toLowerCase (cUpper);
+    if (cLower >= 'a' && cLower <= 'z')
+      return cLower - 'a';
+    return -1;
+  }
+
+  private static int _getPrefixIndex (final char c1, final char c2)
+  {
+    final int n1 = _getPrefixLetter (c1);
+    if (n1 < 0)
+      return -1;
+    final int n2 = _getPrefixLetter (c2);
+    if (n2 < 0)
+      return -1;
+    return n1 * 26 + n2;
+  }
+
+  @Nullable
+  private static VATINStructure _getFromPrefix (@Nonnull final String sVATIN)
+  {
+    final int nIndex = _getPrefixIndex (sVATIN.charAt (0), sVATIN.charAt (1));
+    return nIndex < 0 ? null : s_aByPrefix[nIndex];
+  }
+
   /**
    * Determine the structure for a given VATIN.
    *
@@ -75,9 +114,17 @@ public class VATINStructureManager
   public static VATINStructure getFromValidVATIN (@Nullable final String sVATIN)
   {
     if (StringHelper.getLength (sVATIN) > 2)
-      for (final VATINStructure aStructure : s_aList)
-        if (aStructure.isValid (sVATIN))
+    {
+      // Each pattern starts with the prefix, so only a single structure needs
+      // to be checked
+      final String sUnifiedVATIN = VATINStructure.getUnifiedVATIN (sVATIN);
+      if (sUnifiedVATIN.length () >= 2)
+      {
+        final VATINStructure aStructure = _getFromPrefix (sUnifiedVATIN);
+        if (aStructure != null && aStructure.isValidUnifiedVATIN (sUnifiedVATIN))
           return aStructure;
+      }
+    }
     return null;
   }
 
@@ -94,12 +141,7 @@ public class VATINStructureManager
   public static VATINStructure getFromVATINCountry (@Nullable final String sVATIN)
   {
     if (StringHelper.getLength (sVATIN) >= 2)
-    {
-      final String sCountry = sVATIN.substring (0, 2);
-      for (final VATINStructure aStructure : s_aList)
-        if (aStructure.getExamples ().get (0).substring (0, 2).equalsIgnoreCase (sCountry))
-          return aStructure;
-    }
+      return _getFromPrefix (sVATIN);
     return null;
   }
 
@@ -16,18 +16,18 @@
  */
 package com.helger.masterdata.vat;
 
-import java.util.Locale;
+import java.util.Arrays;
+import java.util.stream.Stream;
 
 import javax.annotation.CheckForSigned;
+import javax.annotation.Nonnegative;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
 import com.helger.commons.annotation.VisibleForTesting;
-import com.helger.commons.collection.ext.CommonsHashMap;
-import com.helger.commons.collection.ext.ICommonsMap;
 import com.helger.commons.datetime.PDTFactory;
-import com.helger.commons.function.IToBooleanFunction;
-import com.helger.commons.string.StringHelper;
 
 /**
  * Check the syntax of VATINs based on the published rules.
@@ -37,44 +37,143 @@ import com.helger.commons.string.StringHelper;
  */
 public class VATINSyntaxChecker
 {
-  private static final ICommonsMap <String, IToBooleanFunction <String>> s_aMap = new CommonsHashMap<> ();
+  /**
+   * Internal interface for the syntax check of a single country. The passed
+   * range is the VATIN without the country code.
+   */
+  @FunctionalInterface
+  private interface ICountryVATINChecker
+  {
+    boolean isValid (@Nonnull CharSequence aCS, @Nonnegative int nOfs, @Nonnegative int nLen);
+  }
+
+  /**
+   * A registered country checker together with the basic constraints that are
+   * used to determine the reason why a VATIN is invalid.
+   */
+  private static final class CountryEntry
+  {
+    private final ICountryVATINChecker m_aChecker;
+    private final String m_sAllowedNonDigits;
+    private final long m_nLengthMask;
+
+    CountryEntry (@Nonnull final ICountryVATINChecker aChecker,
+                  @Nonnull final String sAllowedNonDigits,
+                  @Nonnull final int... aLengths)
+    {
+      m_aChecker = aChecker;
+      m_sAllowedNonDigits = sAllowedNonDigits;
+      long nMask = 0;
+      for (final int nLength : aLengths)
+        nMask |= 1L << nLength;
+      m_nLengthMask = nMask;
+    }
+
+    boolean isValidLength (final int nLen)
+    {
+      return nLen < 64 && (m_nLengthMask & (1L << nLen)) != 0;
+    }
+
+    boolean isValidChar (final char c)
+    {
+      return _isNum (c) || m_sAllowedNonDigits.indexOf (c) >= 0;
+    }
+  }
+
+  private static final String DIGITS_ONLY = "";
+  private static final String LETTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+
+  /** Checkers indexed by the two letters of the country code */
+  private static final CountryEntry [] s_aCheckers = new CountryEntry [26 * 26];
+
+  private static void _register (@Nonnull final String sCountryCode,
+                                 @Nonnull final ICountryVATINChecker aChecker,
+                                 @Nonnull final String sAllowedNonDigits,
+                                 @Nonnull final int... aLengths)
+  {
+    final int nIndex = _getCountryIndex (sCountryCode.charAt (0), sCountryCode.charAt (1));
+    s_aCheckers[nIndex] = new CountryEntry (aChecker, sAllowedNonDigits, aLengths);
+  }
 
   static
   {
-    s_aMap.put ("AT", VATINSyntaxChecker::isValidVATIN_AT);
-    s_aMap.put ("BE", VATINSyntaxChecker::isValidVATIN_BE);
-    s_aMap.put ("BG", VATINSyntaxChecker::isValidVATIN_BG);
-    s_aMap.put ("CY", VATINSyntaxChecker::isValidVATIN_CY);
-    s_aMap.put ("CZ", VATINSyntaxChecker::isValidVATIN_CZ);
-    s_aMap.put ("DE", VATINSyntaxChecker::isValidVATIN_DE);
-    s_aMap.put ("DK", VATINSyntaxChecker::isValidVATIN_DK);
-    s_aMap.put ("EE", VATINSyntaxChecker::isValidVATIN_EE);
-    s_aMap.put ("EL", VATINSyntaxChecker::isValidVATIN_EL);
-    s_aMap.put ("GR", VATINSyntaxChecker::isValidVATIN_EL);
-    s_aMap.put ("ES", VATINSyntaxChecker::isValidVATIN_ES);
-    s_aMap.put ("FI", VATINSyntaxChecker::isValidVATIN_FI);
-    s_aMap.put ("FR", VATINSyntaxChecker::isValidVATIN_FR);
-    s_aMap.put ("GB", VATINSyntaxChecker::isValidVATIN_GB);
-    s_aMap.put ("HR", VATINSyntaxChecker::isValidVATIN_HR);
-    s_aMap.put ("HU", VATINSyntaxChecker::isValidVATIN_HU);
-    s_aMap.put ("IE", VATINSyntaxChecker::isValidVATIN_IE);
-    s_aMap.put ("IT", VATINSyntaxChecker::isValidVATIN_IT);
-    s_aMap.put ("LT", VATINSyntaxChecker::isValidVATIN_LT);
-    s_aMap.put ("LU", VATINSyntaxChecker::isValidVATIN_LU);
-    s_aMap.put ("LV", VATINSyntaxChecker::isValidVATIN_LV);
-    s_aMap.put ("MT", VATINSyntaxChecker::isValidVATIN_MT);
-    s_aMap.put ("NL", VATINSyntaxChecker::isValidVATIN_NL);
-    s_aMap.put ("PL", VATINSyntaxChecker::isValidVATIN_PL);
-    s_aMap.put ("PT", VATINSyntaxChecker::isValidVATIN_PT);
-    s_aMap.put ("RO", VATINSyntaxChecker::isValidVATIN_RO);
-    s_aMap.put ("SE", VATINSyntaxChecker::isValidVATIN_SE);
-    s_aMap.put ("SI", VATINSyntaxChecker::isValidVATIN_SI);
-    s_aMap.put ("SK", VATINSyntaxChecker::isValidVATIN_SK);
+    // Allowed non-digit characters and lengths are without the country code
+    _register ("AT", VATINSyntaxChecker::_isValidVATIN_AT, "U", 9);
+    _register ("BE", VATINSyntaxChecker::_isValidVATIN_BE, DIGITS_ONLY, 10);
+    _register ("BG", VATINSyntaxChecker::_isValidVATIN_BG, DIGITS_ONLY, 9, 10);
+    _register ("CY", VATINSyntaxChecker::_isValidVATIN_CY, LETTERS, 9);
+    _register ("CZ", VATINSyntaxChecker::_isValidVATIN_CZ, DIGITS_ONLY, 8, 9, 10);
+    _register ("DE", VATINSyntaxChecker::_isValidVATIN_DE, DIGITS_ONLY, 9);
+    _register ("DK", VATINSyntaxChecker::_isValidVATIN_DK, DIGITS_ONLY, 8);
+    _register ("EE", VATINSyntaxChecker::_isValidVATIN_EE, DIGITS_ONLY, 9);
+    _register ("EL", VATINSyntaxChecker::_isValidVATIN_EL, DIGITS_ONLY, 9);
+    _register ("GR", VATINSyntaxChecker::_isValidVATIN_EL, DIGITS_ONLY, 9);
+    _register ("ES", VATINSyntaxChecker::_isValidVATIN_ES, LETTERS, 9);
+    _register ("FI", VATINSyntaxChecker::_isValidVATIN_FI, DIGITS_ONLY, 8);
+    _register ("FR", VATINSyntaxChecker::_isValidVATIN_FR, LETTERS, 11);
+    _register ("GB", VATINSyntaxChecker::_isValidVATIN_GB, "ADGH", 5, 9, 12);
+    _register ("HR", VATINSyntaxChecker::_isValidVATIN_HR, DIGITS_ONLY, 11);
+    _register ("HU", VATINSyntaxChecker::_isValidVATIN_HU, DIGITS_ONLY, 8);
+    _register ("IE", VATINSyntaxChecker::_isValidVATIN_IE, LETTERS + "+*", 8, 9);
+    _register ("IT", VATINSyntaxChecker::_isValidVATIN_IT, DIGITS_ONLY, 11);
+    _register ("LT", VATINSyntaxChecker::_isValidVATIN_LT, DIGITS_ONLY, 9, 12);
+    _register ("LU", VATINSyntaxChecker::_isValidVATIN_LU, DIGITS_ONLY, 8);
+    _register ("LV", VATINSyntaxChecker::_isValidVATIN_LV, DIGITS_ONLY, 11);
+    _register ("MT", VATINSyntaxChecker::_isValidVATIN_MT, DIGITS_ONLY, 8);
+    _register ("NL", VATINSyntaxChecker::_isValidVATIN_NL, "B", 12);
+    _register ("PL", VATINSyntaxChecker::_isValidVATIN_PL, DIGITS_ONLY, 10);
+    _register ("PT", VATINSyntaxChecker::_isValidVATIN_PT, DIGITS_ONLY, 9);
+    _register ("RO", VATINSyntaxChecker::_isValidVATIN_RO, DIGITS_ONLY, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+    _register ("SE", VATINSyntaxChecker::_isValidVATIN_SE, DIGITS_ONLY, 12);
+    _register ("SI", VATINSyntaxChecker::_isValidVATIN_SI, DIGITS_ONLY, 8);
+    _register ("SK", VATINSyntaxChecker::_isValidVATIN_SK, DIGITS_ONLY, 10);
   }
 
   private VATINSyntaxChecker ()
   {}
 
+  private static int _getCountryLetter (final char c)
+  {
+    if (c >= 'A' && c <= 'Z')
+      return c - 'A';
+    if (c >= 'a' && c <= 'z')
+      return c - 'a';
+    if (c >= 0x80)
+    {
+      // Same as String.toUpperCase - e.g. the dotless i becomes an 'I'
+      final char cUpper = Character.toUpperCase (c);
+      if (cUpper >= 'A' && cUpper <= 'Z')
+        return cUpper - 'A';
+    }
+    return -1;
+  }
+
+  private static int _getCountryIndex (final char c1, final char c2)
+  {
+    final int n1 = _getCountryLetter (c1);
+    if (n1 < 0)
+      return -1;
+    final int n2 = _getCountryLetter (c2);
+    if (n2 < 0)
+      return -1;
+    return n1 * 26 + n2;
+  }
+
+  @Nullable
+  private static CountryEntry _getEntry (@Nonnull final CharSequence aCS, final int nOfs)
+  {
+    final int nIndex = _getCountryIndex (aCS.charAt (nOfs), aCS.charAt (nOfs + 1));
+    return nIndex < 0 ? null : s_aCheckers[nIndex];
+  }
+
+  private static void _checkRange (@Nullable final CharSequence aCS, final int nOfs, final int nLen)
+  {
+    ValueEnforcer.notNull (aCS, "VATIN");
+    ValueEnforcer.isGE0 (nOfs, "Offset");
+    ValueEnforcer.isGE0 (nLen, "Length");
+    ValueEnforcer.isTrue (nOfs + nLen <= aCS.length (), "Offset and length exceed the char sequence");
+  }
+
   /**
    * Check if the provided VATIN is valid. This method handles VATINs for all
    * countries. This check uses only the checksum algorithm and does not call
@@ -87,12 +186,34 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    if (sVATIN.length () > 2)
+    return isValidVATIN (sVATIN, 0, sVATIN.length ());
+  }
+
+  /**
+   * Check if the provided part of a char sequence is a valid VATIN. This is
+   * the allocation free version of {@link #isValidVATIN(String)} that can
+   * e.g. be used on a line buffer.
+   *
+   * @param aCS
+   *        The char sequence containing the VATIN. May not be
+   *        <code>null</code>.
+   * @param nOfs
+   *        The offset of the VATIN (incl. the country code) within the char
+   *        sequence. Must be &ge; 0.
+   * @param nLen
+   *        The length of the VATIN. Must be &ge; 0.
+   * @return <code>true</code> if the VATIN is valid (or unknown).
+   */
+  public static boolean isValidVATIN (@Nonnull final CharSequence aCS,
+                                      @Nonnegative final int nOfs,
+                                      @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    if (nLen > 2)
     {
-      final String sCountryCode = sVATIN.substring (0, 2).toUpperCase (Locale.US);
-      final IToBooleanFunction <String> aValidator = s_aMap.get (sCountryCode);
-      if (aValidator != null)
-        return aValidator.applyAsBoolean (sVATIN.substring (2));
+      final CountryEntry aEntry = _getEntry (aCS, nOfs);
+      if (aEntry != null)
+        return aEntry.m_aChecker.isValid (aCS, nOfs + 2, nLen - 2);
     }
 
     // No validator
@@ -113,8 +234,129 @@ public class VATINSyntaxChecker
     if (sVATIN.length () <= 2)
       return false;
 
-    final String sCountryCode = sVATIN.substring (0, 2).toUpperCase (Locale.US);
-    return s_aMap.containsKey (sCountryCode);
+    return _getEntry (sVATIN, 0) != null;
+  }
+
+  @Nonnull
+  private static EVATINCheckResult _getCheckResult (@Nonnull final CharSequence aCS, final int nOfs, final int nLen)
+  {
+    // Same as isValidVATIN: no validator without data after the country code
+    if (nLen <= 2)
+      return EVATINCheckResult.UNKNOWN_COUNTRY;
+
+    final CountryEntry aEntry = _getEntry (aCS, nOfs);
+    if (aEntry == null)
+      return EVATINCheckResult.UNKNOWN_COUNTRY;
+
+    final int nDataOfs = nOfs + 2;
+    final int nDataLen = nLen - 2;
+    if (aEntry.m_aChecker.isValid (aCS, nDataOfs, nDataLen))
+      return EVATINCheckResult.VALID;
+
+    // Find out why it is invalid
+    if (!aEntry.isValidLength (nDataLen))
+      return EVATINCheckResult.INVALID_LENGTH;
+
+    for (int i = 0; i < nDataLen; ++i)
+      if (!aEntry.isValidChar (aCS.charAt (nDataOfs + i)))
+        return EVATINCheckResult.INVALID_CHARACTERS;
+
+    return EVATINCheckResult.INVALID_CHECKSUM;
+  }
+
+  /**
+   * Check the provided VATIN and return the reason why it is invalid. In
+   * contrast to {@link #isValidVATIN(String)} a VATIN for which no validator
+   * is present is reported as {@link EVATINCheckResult#UNKNOWN_COUNTRY}. This
+   * is also the case for VATINs with at most two characters, consistent with
+   * {@link #isValidatorPresent(String)}. All other VATINs are
+   * {@link EVATINCheckResult#VALID} exactly if {@link #isValidVATIN(String)}
+   * returns <code>true</code>.
+   *
+   * @param sVATIN
+   *        VATIN to check. May not be <code>null</code>.
+   * @return The check result. Never <code>null</code>.
+   */
+  @Nonnull
+  public static EVATINCheckResult getCheckResult (@Nonnull final String sVATIN)
+  {
+    ValueEnforcer.notNull (sVATIN, "VATIN");
+    return _getCheckResult (sVATIN, 0, sVATIN.length ());
+  }
+
+  /**
+   * Check the provided part of a char sequence and return the reason why it is
+   * invalid. No objects are created by this method.
+   *
+   * @param aCS
+   *        The char sequence containing the VATIN. May not be
+   *        <code>null</code>.
+   * @param nOfs
+   *        The offset of the VATIN (incl. the country code) within the char
+   *        sequence. Must be &ge; 0.
+   * @param nLen
+   *        The length of the VATIN. Must be &ge; 0.
+   * @return The check result. Never <code>null</code>.
+   * @see #getCheckResult(String)
+   */
+  @Nonnull
+  public static EVATINCheckResult getCheckResult (@Nonnull final CharSequence aCS,
+                                                  @Nonnegative final int nOfs,
+                                                  @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _getCheckResult (aCS, nOfs, nLen);
+  }
+
+  private static int _getCheckResultID (@Nullable final CharSequence aCS)
+  {
+    if (aCS == null)
+      return EVATINCheckResult.INVALID_LENGTH.getID ();
+    return _getCheckResult (aCS, 0, aCS.length ()).getID ();
+  }
+
+  /**
+   * Check all provided VATINs in a single pass. The result is a primitive
+   * array with the {@link EVATINCheckResult} IDs in the order of the passed
+   * VATINs. If the passed stream is parallel, the VATINs are checked in
+   * parallel.
+   *
+   * @param aVATINs
+   *        The VATINs to check. May not be <code>null</code>. A
+   *        <code>null</code> element is reported as
+   *        {@link EVATINCheckResult#INVALID_LENGTH}.
+   * @return An array with the IDs of the check results. Use
+   *         {@link EVATINCheckResult#getFromIDOrNull(int)} to resolve them.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static int [] getAllCheckResultIDs (@Nonnull final Stream <? extends CharSequence> aVATINs)
+  {
+    ValueEnforcer.notNull (aVATINs, "VATINs");
+    return aVATINs.mapToInt (VATINSyntaxChecker::_getCheckResultID).toArray ();
+  }
+
+  /**
+   * Check all provided VATINs in a single pass.
+   *
+   * @param aVATINs
+   *        The VATINs to check. May not be <code>null</code>. A
+   *        <code>null</code> element is reported as
+   *        {@link EVATINCheckResult#INVALID_LENGTH}.
+   * @param bParallel
+   *        <code>true</code> to check the VATINs in parallel,
+   *        <code>false</code> to check them in the current thread.
+   * @return An array with the IDs of the check results, having the same length
+   *         as the passed array.
+   * @see #getAllCheckResultIDs(Stream)
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  public static int [] getAllCheckResultIDs (@Nonnull final CharSequence [] aVATINs, final boolean bParallel)
+  {
+    ValueEnforcer.notNull (aVATINs, "VATINs");
+    final Stream <CharSequence> aStream = Arrays.stream (aVATINs);
+    return getAllCheckResultIDs (bParallel ? aStream.parallel () : aStream);
   }
 
   @VisibleForTesting
@@ -151,129 +393,20 @@ public class VATINSyntaxChecker
     return c - '0';
   }
 
-  private static int _toInt (final char c0, final char c1)
-  {
-    return _toInt (c0) * 10 + _toInt (c1);
-  }
-
-  private static int _toInt (final char c0, final char c1, final char c2)
-  {
-    return _toInt (c0) * 100 + _toInt (c1) * 10 + _toInt (c2);
-  }
-
-  private static int _toInt (final char c0, final char c1, final char c2, final char c3, final char c4, final char c5)
-  {
-    return _toInt (c0) * 100_000 +
-           _toInt (c1) * 10_000 +
-           _toInt (c2) * 1_000 +
-           _toInt (c3) * 100 +
-           _toInt (c4) * 10 +
-           _toInt (c5);
-  }
-
-  private static int _toInt (final char c0,
-                             final char c1,
-                             final char c2,
-                             final char c3,
-                             final char c4,
-                             final char c5,
-                             final char c6)
-  {
-    return _toInt (c0) * 1_000_000 +
-           _toInt (c1) * 100_000 +
-           _toInt (c2) * 10_000 +
-           _toInt (c3) * 1_000 +
-           _toInt (c4) * 100 +
-           _toInt (c5) * 10 +
-           _toInt (c6);
-  }
-
-  private static int _toInt (final char c0,
-                             final char c1,
-                             final char c2,
-                             final char c3,
-                             final char c4,
-                             final char c5,
-                             final char c6,
-                             final char c7)
-  {
-    return _toInt (c0) * 10_000_000 +
-           _toInt (c1) * 1_000_000 +
-           _toInt (c2) * 100_000 +
-           _toInt (c3) * 10_000 +
-           _toInt (c4) * 1_000 +
-           _toInt (c5) * 100 +
-           _toInt (c6) * 10 +
-           _toInt (c7);
-  }
-
-  private static int _toInt (final char c0,
-                             final char c1,
-                             final char c2,
-                             final char c3,
-                             final char c4,
-                             final char c5,
-                             final char c6,
-                             final char c7,
-                             final char c8)
-  {
-    return _toInt (c0) * 100_000_000 +
-           _toInt (c1) * 10_000_000 +
-           _toInt (c2) * 1_000_000 +
-           _toInt (c3) * 100_000 +
-           _toInt (c4) * 10_000 +
-           _toInt (c5) * 1_000 +
-           _toInt (c6) * 100 +
-           _toInt (c7) * 10 +
-           _toInt (c8);
-  }
-
-  private static long _toLong (final char c0,
-                               final char c1,
-                               final char c2,
-                               final char c3,
-                               final char c4,
-                               final char c5,
-                               final char c6,
-                               final char c7,
-                               final char c8,
-                               final char c9)
-  {
-    return _toInt (c0) * 1_000_000_000L +
-           _toInt (c1) * 100_000_000L +
-           _toInt (c2) * 10_000_000L +
-           _toInt (c3) * 1_000_000L +
-           _toInt (c4) * 100_000L +
-           _toInt (c5) * 10_000L +
-           _toInt (c6) * 1_000L +
-           _toInt (c7) * 100L +
-           _toInt (c8) * 10L +
-           _toInt (c9);
-  }
-
-  private static long _toLong (final char c0,
-                               final char c1,
-                               final char c2,
-                               final char c3,
-                               final char c4,
-                               final char c5,
-                               final char c6,
-                               final char c7,
-                               final char c8,
-                               final char c9,
-                               final char c10)
-  {
-    return _toInt (c0) * 10_000_000_000L +
-           _toInt (c1) * 1_000_000_000L +
-           _toInt (c2) * 100_000_000L +
-           _toInt (c3) * 10_000_000L +
-           _toInt (c4) * 1_000_000L +
-           _toInt (c5) * 100_000L +
-           _toInt (c6) * 10_000L +
-           _toInt (c7) * 1_000L +
-           _toInt (c8) * 100L +
-           _toInt (c9) * 10L +
-           _toInt (c10);
+  private static int _toInt (@Nonnull final CharSequence c, final int nIndex, final int nDigits)
+  {
+    int ret = 0;
+    for (int i = 0; i < nDigits; ++i)
+      ret = ret * 10 + _toInt (c.charAt (nIndex + i));
+    return ret;
+  }
+
+  private static long _toLong (@Nonnull final CharSequence c, final int nIndex, final int nDigits)
+  {
+    long ret = 0;
+    for (int i = 0; i < nDigits; ++i)
+      ret = ret * 10 + _toInt (c.charAt (nIndex + i));
+    return ret;
   }
 
   private static boolean _isValidMonthDay (final int m, final int d)
@@ -300,107 +433,184 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_AT (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 9)
+    return _isValidVATIN_AT (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_AT (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_AT (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_AT (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 9)
       return false;
-    if (c[0] != 'U')
+    if (c.charAt (o) != 'U')
       return false;
     for (int i = 1; i <= 8; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    final int r = _at_s (c[2]) + _at_s (c[4]) + _at_s (c[6]);
-    final int n9 = (10 - (r + _toInt (c[1]) + _toInt (c[3]) + _toInt (c[5]) + _toInt (c[7]) + 4) % 10) % 10;
-    return _toInt (c[8]) == n9;
+    final int r = _at_s (c.charAt (o + 2)) + _at_s (c.charAt (o + 4)) + _at_s (c.charAt (o + 6));
+    final int n9 = (10 -
+                    (r +
+                     _toInt (c.charAt (o + 1)) +
+                     _toInt (c.charAt (o + 3)) +
+                     _toInt (c.charAt (o + 5)) +
+                     _toInt (c.charAt (o + 7)) +
+                     4) % 10) %
+                   10;
+    return _toInt (c.charAt (o + 8)) == n9;
   }
 
   public static boolean isValidVATIN_BE (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 10)
+    return _isValidVATIN_BE (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_BE (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_BE (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_BE (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 10)
       return false;
-    if (c[0] != '0')
+    if (c.charAt (o) != '0')
       return false;
-    if (!_isNum1to9 (c[1]))
+    if (!_isNum1to9 (c.charAt (o + 1)))
       return false;
     for (int i = 2; i <= 9; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    final int nChecksum = 97 - (_toInt (c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7]) % 97);
-    final int nExpected = _toInt (c[8], c[9]);
+    final int nChecksum = 97 - (_toInt (c, o, 8) % 97);
+    final int nExpected = _toInt (c, o + 8, 2);
     return nExpected == nChecksum;
   }
 
   public static boolean isValidVATIN_DE (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 9)
+    return _isValidVATIN_DE (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_DE (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_DE (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_DE (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 9)
       return false;
-    if (!_isNum1to9 (c[0]))
+    if (!_isNum1to9 (c.charAt (o)))
       return false;
     for (int i = 1; i <= 8; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
     int p = 10;
     for (int n = 0; n <= 7; ++n)
     {
-      int m = (_toInt (c[n]) + p) % 10;
+      int m = (_toInt (c.charAt (o + n)) + p) % 10;
       if (m == 0)
         m = 10;
       p = (2 * m) % 11;
     }
     final int r = 11 - p;
     final int nChecksum = r == 10 ? 0 : r;
-    final int nExpected = _toInt (c[8]);
+    final int nExpected = _toInt (c.charAt (o + 8));
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_DK (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 8)
+    return _isValidVATIN_DK (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_DK (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_DK (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_DK (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 8)
       return false;
-    if (!_isNum1to9 (c[0]))
+    if (!_isNum1to9 (c.charAt (o)))
       return false;
     for (int i = 1; i <= 7; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int r = (2 * _toInt (c[0]) +
-                   7 * _toInt (c[1]) +
-                   6 * _toInt (c[2]) +
-                   5 * _toInt (c[3]) +
-                   4 * _toInt (c[4]) +
-                   3 * _toInt (c[5]) +
-                   2 * _toInt (c[6]) +
-                   1 * _toInt (c[7]));
+    final int r = (2 * _toInt (c.charAt (o)) +
+                   7 * _toInt (c.charAt (o + 1)) +
+                   6 * _toInt (c.charAt (o + 2)) +
+                   5 * _toInt (c.charAt (o + 3)) +
+                   4 * _toInt (c.charAt (o + 4)) +
+                   3 * _toInt (c.charAt (o + 5)) +
+                   2 * _toInt (c.charAt (o + 6)) +
+                   1 * _toInt (c.charAt (o + 7)));
     return (r % 11) == 0;
   }
 
   public static boolean isValidVATIN_EL (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 9)
+    return _isValidVATIN_EL (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_EL (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_EL (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_EL (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 9)
       return false;
     for (int i = 0; i <= 8; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int a1 = 256 * _toInt (c[0]) +
-                   128 * _toInt (c[1]) +
-                   64 * _toInt (c[2]) +
-                   32 * _toInt (c[3]) +
-                   16 * _toInt (c[4]) +
-                   8 * _toInt (c[5]) +
-                   4 * _toInt (c[6]) +
-                   2 * _toInt (c[7]);
+    final int a1 = 256 * _toInt (c.charAt (o)) +
+                   128 * _toInt (c.charAt (o + 1)) +
+                   64 * _toInt (c.charAt (o + 2)) +
+                   32 * _toInt (c.charAt (o + 3)) +
+                   16 * _toInt (c.charAt (o + 4)) +
+                   8 * _toInt (c.charAt (o + 5)) +
+                   4 * _toInt (c.charAt (o + 6)) +
+                   2 * _toInt (c.charAt (o + 7));
     final int a2 = a1 % 11;
     final int nChecksum = a2 % 10;
-    final int nExpected = _toInt (c[8]);
+    final int nExpected = _toInt (c.charAt (o + 8));
     return nChecksum == nExpected;
   }
 
@@ -504,55 +714,75 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_ES (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 9)
+    return _isValidVATIN_ES (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_ES (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_ES (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_ES (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 9)
       return false;
-    if (!_isLetterOrNum (c[0]))
+    if (!_isLetterOrNum (c.charAt (o)))
       return false;
     for (int i = 1; i <= 7; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (!_isLetterOrNum (c[8]))
+    if (!_isLetterOrNum (c.charAt (o + 8)))
       return false;
 
-    final boolean bAlphabetic9 = _isLetter (c[8]);
+    final boolean bAlphabetic9 = _isLetter (c.charAt (o + 8));
     if (bAlphabetic9)
     {
-      if (!_es_c1valid_c9alpha (c[0]))
+      if (!_es_c1valid_c9alpha (c.charAt (o)))
         return false;
 
       // Juridical entities other than national ones
-      if (_es_isV1 (c[0]))
+      if (_es_isV1 (c.charAt (o)))
       {
-        final int s1 = _toInt (c[2]) + _toInt (c[4]) + _toInt (c[6]);
-        final int s2 = _es_d (c[1]) + _es_d (c[3]) + _es_d (c[5]) + _es_d (c[7]);
+        final int s1 = _toInt (c.charAt (o + 2)) + _toInt (c.charAt (o + 4)) + _toInt (c.charAt (o + 6));
+        final int s2 = _es_d (c.charAt (o + 1)) +
+                       _es_d (c.charAt (o + 3)) +
+                       _es_d (c.charAt (o + 5)) +
+                       _es_d (c.charAt (o + 7));
         final int r = 10 - (s1 + s2) % 10;
-        return c[8] == 'A' + r - 1;
+        return c.charAt (o + 8) == 'A' + r - 1;
       }
 
       // Physical persons:
-      if (_es_isV2 (c[0]))
+      if (_es_isV2 (c.charAt (o)))
       {
-        final char c0 = c[0] == 'Y' ? '1' : c[0] == 'Z' ? '2' : c[0];
+        final char c0 = c.charAt (o) == 'Y' ? '1' : c.charAt (o) == 'Z' ? '2' : c.charAt (o);
         int r;
         if (_isNum (c0))
-          r = _toInt (c0, c[1], c[2], c[3], c[4], c[5], c[6], c[7]) % 23 + 1;
+          r = (_toInt (c0) * 10_000_000 + _toInt (c, o + 1, 7)) % 23 + 1;
         else
-          r = _toInt (c[1], c[2], c[3], c[4], c[5], c[6], c[7]) % 23 + 1;
-        return c[8] == es_v2[r - 1];
+          r = _toInt (c, o + 1, 7) % 23 + 1;
+        return c.charAt (o + 8) == es_v2[r - 1];
       }
     }
     else
     {
-      if (!_es_c1valid_c9num (c[0]))
+      if (!_es_c1valid_c9num (c.charAt (o)))
         return false;
 
       // National juridical entities:
-      final int s1 = _toInt (c[2]) + _toInt (c[4]) + _toInt (c[6]);
-      final int s2 = _es_d (c[1]) + _es_d (c[3]) + _es_d (c[5]) + _es_d (c[7]);
+      final int s1 = _toInt (c.charAt (o + 2)) + _toInt (c.charAt (o + 4)) + _toInt (c.charAt (o + 6));
+      final int s2 = _es_d (c.charAt (o + 1)) +
+                     _es_d (c.charAt (o + 3)) +
+                     _es_d (c.charAt (o + 5)) +
+                     _es_d (c.charAt (o + 7));
       final int r = 10 - (s1 + s2) % 10;
       final int nChecksum = r % 10;
-      final int nExpected = _toInt (c[8]);
+      final int nExpected = _toInt (c.charAt (o + 8));
       return nChecksum == nExpected;
     }
 
@@ -562,26 +792,40 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_FI (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 8)
+    return _isValidVATIN_FI (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_FI (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_FI (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_FI (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 8)
       return false;
     for (int i = 0; i <= 7; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
     final int r = 11 -
-                  (7 * _toInt (c[0]) +
-                   9 * _toInt (c[1]) +
-                   10 * _toInt (c[2]) +
-                   5 * _toInt (c[3]) +
-                   8 * _toInt (c[4]) +
-                   4 * _toInt (c[5]) +
-                   2 * _toInt (c[6])) % 11;
+                  (7 * _toInt (c.charAt (o)) +
+                   9 * _toInt (c.charAt (o + 1)) +
+                   10 * _toInt (c.charAt (o + 2)) +
+                   5 * _toInt (c.charAt (o + 3)) +
+                   8 * _toInt (c.charAt (o + 4)) +
+                   4 * _toInt (c.charAt (o + 5)) +
+                   2 * _toInt (c.charAt (o + 6))) % 11;
     if (r == 10)
       return false;
 
     final int nChecksum = r == 11 ? 0 : r;
-    final int nExpected = _toInt (c[7]);
+    final int nExpected = _toInt (c.charAt (o + 7));
     return nChecksum == nExpected;
   }
 
@@ -599,94 +843,123 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_FR (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 11)
+    return _isValidVATIN_FR (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_FR (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_FR (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_FR (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 11)
       return false;
-    if (!_isLetterOrNum (c[0]))
+    if (!_isLetterOrNum (c.charAt (o)))
       return false;
-    if (!_isLetterOrNum (c[1]))
+    if (!_isLetterOrNum (c.charAt (o + 1)))
       return false;
     for (int i = 2; i <= 10; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final boolean bNum1 = _isNum (c[0]);
-    final boolean bNum2 = _isNum (c[1]);
+    final boolean bNum1 = _isNum (c.charAt (o));
+    final boolean bNum2 = _isNum (c.charAt (o + 1));
     if (bNum1 && bNum2)
     {
       // Case 1: Old Style
-      final int nChecksum = (int) (_toLong (c[2], c[3], c[4], c[5], c[6], c[7], c[8], c[9], c[10], '1', '2') % 97);
-      final int nExpected = _toInt (c[0], c[1]);
+      // Checksum over the 9 digits followed by "12"
+      final int nChecksum = (int) ((_toLong (c, o + 2, 9) * 100 + 12) % 97);
+      final int nExpected = _toInt (c, o, 2);
       return nChecksum == nExpected;
     }
 
     // Case 2 : New Style
-    final int s1 = _fr_check (c[0]);
+    final int s1 = _fr_check (c.charAt (o));
     if (s1 < 0)
       return false;
-    final int s2 = _fr_check (c[1]);
+    final int s2 = _fr_check (c.charAt (o + 1));
     if (s2 < 0)
       return false;
     final int s = bNum1 ? (s1 * 24) + (s2 - 10) : (s1 * 34) + (s2 - 100);
     final int p = (s / 11) + 1;
     final int r1 = s % 11;
-    final int r2 = (_toInt (c[2], c[3], c[4], c[5], c[6], c[7], c[8], c[9], c[10]) + p) % 11;
+    final int r2 = (_toInt (c, o + 2, 9) + p) % 11;
     return r1 == r2;
   }
 
   public static boolean isValidVATIN_GB (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length == 5)
+    return _isValidVATIN_GB (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_GB (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_GB (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_GB (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen == 5)
     {
       // This format applies to Government departments and Health authorities
-      if (c[0] == 'G' && c[1] == 'D')
+      if (c.charAt (o) == 'G' && c.charAt (o + 1) == 'D')
       {
-        final int n = _toInt (c[2], c[3], c[4]);
+        final int n = _toInt (c, o + 2, 3);
         return n >= 0 && n <= 499;
       }
-      if (c[0] == 'H' && c[1] == 'A')
+      if (c.charAt (o) == 'H' && c.charAt (o + 1) == 'A')
       {
-        final int n = _toInt (c[2], c[3], c[4]);
+        final int n = _toInt (c, o + 2, 3);
         return n >= 500 && n <= 999;
       }
       return false;
     }
 
     // This format applies to all others
-    if (c.length != 9 && c.length != 12)
+    if (nLen != 9 && nLen != 12)
       return false;
-    for (int i = 0; i < c.length; ++i)
-      if (!_isNum (c[i]))
+    for (int i = 0; i < nLen; ++i)
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int v1 = _toInt (c[0], c[1], c[2], c[3], c[4], c[5], c[6]);
+    final int v1 = _toInt (c, o, 7);
     if (v1 >= 100_000 && v1 <= 999_999)
       return false;
     if (v1 >= 9_490_001 && v1 <= 9_700_000)
       return false;
     if (v1 >= 9_990_001 && v1 <= 9_999_999)
       return false;
-    if (c.length == 12)
+    if (nLen == 12)
     {
-      final int v2b = _toInt (c[9], c[10], c[11]);
+      final int v2b = _toInt (c, o + 9, 3);
       if (v2b <= 0)
         return false;
     }
 
-    final int v2 = _toInt (c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], c[8]);
+    final int v2 = _toInt (c, o, 9);
     if (v2 <= 0)
       return false;
 
-    final int tmp = 8 * _toInt (c[0]) +
-                    7 * _toInt (c[1]) +
-                    6 * _toInt (c[2]) +
-                    5 * _toInt (c[3]) +
-                    4 * _toInt (c[4]) +
-                    3 * _toInt (c[5]) +
-                    2 * _toInt (c[6]) +
-                    1 * _toInt (c[7], c[8]);
+    final int tmp = 8 * _toInt (c.charAt (o)) +
+                    7 * _toInt (c.charAt (o + 1)) +
+                    6 * _toInt (c.charAt (o + 2)) +
+                    5 * _toInt (c.charAt (o + 3)) +
+                    4 * _toInt (c.charAt (o + 4)) +
+                    3 * _toInt (c.charAt (o + 5)) +
+                    2 * _toInt (c.charAt (o + 6)) +
+                    1 * _toInt (c, o + 7, 2);
     final int r1 = tmp % 97;
     final int r2 = (tmp + 55) % 97;
     return r1 == 0 || r2 == 0;
@@ -717,89 +990,102 @@ public class VATINSyntaxChecker
     return c - 'A' + 1;
   }
 
-  private static boolean _ie_isV1 (@Nonnull final char [] c)
+  private static boolean _ie_isV1 (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 8)
+    if (nLen != 8)
       return false;
-    if (!_isNum (c[0]))
+    if (!_isNum (c.charAt (o)))
       return false;
-    if (!_ie_is2 (c[1]))
+    if (!_ie_is2 (c.charAt (o + 1)))
       return false;
     for (int i = 2; i <= 6; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (!_ie_is8 (c[7]))
+    if (!_ie_is8 (c.charAt (o + 7)))
       return false;
     final int r = (0 * 8 +
-                   _toInt (c[2]) * 7 +
-                   _toInt (c[3]) * 6 +
-                   _toInt (c[4]) * 5 +
-                   _toInt (c[5]) * 4 +
-                   _toInt (c[6]) * 3 +
-                   _toInt (c[0]) * 2) %
+                   _toInt (c.charAt (o + 2)) * 7 +
+                   _toInt (c.charAt (o + 3)) * 6 +
+                   _toInt (c.charAt (o + 4)) * 5 +
+                   _toInt (c.charAt (o + 5)) * 4 +
+                   _toInt (c.charAt (o + 6)) * 3 +
+                   _toInt (c.charAt (o)) * 2) %
                   23;
 
     final char cCheck = _ie_checkChar (r);
-    return c[7] == cCheck;
+    return c.charAt (o + 7) == cCheck;
   }
 
-  private static boolean _ie_isV2 (@Nonnull final char [] c)
+  private static boolean _ie_isV2 (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 8)
+    if (nLen != 8)
       return false;
     for (int i = 0; i <= 6; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (!_ie_is8 (c[7]))
-      return false;
-    final int r = (_toInt (c[0]) * 8 +
-                   _toInt (c[1]) * 7 +
-                   _toInt (c[2]) * 6 +
-                   _toInt (c[3]) * 5 +
-                   _toInt (c[4]) * 4 +
-                   _toInt (c[5]) * 3 +
-                   _toInt (c[6]) * 2) %
+    if (!_ie_is8 (c.charAt (o + 7)))
+      return false;
+    final int r = (_toInt (c.charAt (o)) * 8 +
+                   _toInt (c.charAt (o + 1)) * 7 +
+                   _toInt (c.charAt (o + 2)) * 6 +
+                   _toInt (c.charAt (o + 3)) * 5 +
+                   _toInt (c.charAt (o + 4)) * 4 +
+                   _toInt (c.charAt (o + 5)) * 3 +
+                   _toInt (c.charAt (o + 6)) * 2) %
                   23;
 
     final char cCheck = _ie_checkChar (r);
-    return c[7] == cCheck;
+    return c.charAt (o + 7) == cCheck;
   }
 
   public static boolean isValidVATIN_IE (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_IE (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_IE (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_IE (aCS, nOfs, nLen);
+  }
 
+  private static boolean _isValidVATIN_IE (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
     // Version 1 (old Style)
-    if (_ie_isV1 (c))
+    if (_ie_isV1 (c, o, nLen))
       return true;
 
     // Version 2 (new Style 8 characters)
-    if (_ie_isV2 (c))
+    if (_ie_isV2 (c, o, nLen))
       return true;
 
     // Version 3 (new Style 9 characters)
-    if (c.length != 9)
+    if (nLen != 9)
       return false;
     for (int i = 0; i <= 6; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (!_ie_is8 (c[7]))
-      return false;
-    if (!_ie_is9 (c[8]))
-      return false;
-    final int r = (_toInt (c[0]) * 8 +
-                   _toInt (c[1]) * 7 +
-                   _toInt (c[2]) * 6 +
-                   _toInt (c[3]) * 5 +
-                   _toInt (c[4]) * 4 +
-                   _toInt (c[5]) * 3 +
-                   _toInt (c[6]) * 2 +
-                   _ie_toNum (c[8]) * 9) %
+    if (!_ie_is8 (c.charAt (o + 7)))
+      return false;
+    if (!_ie_is9 (c.charAt (o + 8)))
+      return false;
+    final int r = (_toInt (c.charAt (o)) * 8 +
+                   _toInt (c.charAt (o + 1)) * 7 +
+                   _toInt (c.charAt (o + 2)) * 6 +
+                   _toInt (c.charAt (o + 3)) * 5 +
+                   _toInt (c.charAt (o + 4)) * 4 +
+                   _toInt (c.charAt (o + 5)) * 3 +
+                   _toInt (c.charAt (o + 6)) * 2 +
+                   _ie_toNum (c.charAt (o + 8)) * 9) %
                   23;
 
     final char cCheck = _ie_checkChar (r);
-    return c[7] == cCheck;
+    return c.charAt (o + 7) == cCheck;
   }
 
   private static int _it_d (final char c)
@@ -811,101 +1097,161 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_IT (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_IT (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_IT (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_IT (aCS, nOfs, nLen);
+  }
 
-    if (c.length != 11)
+  private static boolean _isValidVATIN_IT (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 11)
       return false;
     for (int i = 0; i <= 10; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int v = _toInt (c[7], c[8], c[9]);
+    final int v = _toInt (c, o + 7, 3);
     if (!((v > 0 && v < 101) || v == 120 || v == 121 || v == 999 || v == 888))
       return false;
 
-    final int s1 = _toInt (c[0]) + _toInt (c[2]) + _toInt (c[4]) + _toInt (c[6]) + _toInt (c[8]);
-    final int s2 = _it_d (c[1]) + _it_d (c[3]) + _it_d (c[5]) + _it_d (c[7]) + _it_d (c[9]);
+    final int s1 = _toInt (c.charAt (o)) +
+                   _toInt (c.charAt (o + 2)) +
+                   _toInt (c.charAt (o + 4)) +
+                   _toInt (c.charAt (o + 6)) +
+                   _toInt (c.charAt (o + 8));
+    final int s2 = _it_d (c.charAt (o + 1)) +
+                   _it_d (c.charAt (o + 3)) +
+                   _it_d (c.charAt (o + 5)) +
+                   _it_d (c.charAt (o + 7)) +
+                   _it_d (c.charAt (o + 9));
     final int nChecksum = (10 - (s1 + s2) % 10) % 10;
-    final int nExpected = _toInt (c[10]);
+    final int nExpected = _toInt (c.charAt (o + 10));
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_LU (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_LU (sVATIN, 0, sVATIN.length ());
+  }
 
-    if (c.length != 8)
+  public static boolean isValidVATIN_LU (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_LU (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_LU (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 8)
       return false;
     for (int i = 0; i <= 7; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int nChecksum = _toInt (c[0], c[1], c[2], c[3], c[4], c[5]) % 89;
-    final int nExpected = _toInt (c[6], c[7]);
+    final int nChecksum = _toInt (c, o, 6) % 89;
+    final int nExpected = _toInt (c, o + 6, 2);
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_NL (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_NL (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_NL (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_NL (aCS, nOfs, nLen);
+  }
 
-    if (c.length != 12)
+  private static boolean _isValidVATIN_NL (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 12)
       return false;
     for (int i = 0; i <= 8; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (c[9] != 'B')
+    if (c.charAt (o + 9) != 'B')
       return false;
     for (int i = 10; i <= 11; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int a1 = _toInt (c[0]) * 9 +
-                   _toInt (c[1]) * 8 +
-                   _toInt (c[2]) * 7 +
-                   _toInt (c[3]) * 6 +
-                   _toInt (c[4]) * 5 +
-                   _toInt (c[5]) * 4 +
-                   _toInt (c[6]) * 3 +
-                   _toInt (c[7]) * 2;
+    final int a1 = _toInt (c.charAt (o)) * 9 +
+                   _toInt (c.charAt (o + 1)) * 8 +
+                   _toInt (c.charAt (o + 2)) * 7 +
+                   _toInt (c.charAt (o + 3)) * 6 +
+                   _toInt (c.charAt (o + 4)) * 5 +
+                   _toInt (c.charAt (o + 5)) * 4 +
+                   _toInt (c.charAt (o + 6)) * 3 +
+                   _toInt (c.charAt (o + 7)) * 2;
     final int nChecksum = a1 % 11;
     if (nChecksum == 10)
       return false;
 
-    final int v1 = _toInt (c[10], c[11]);
+    final int v1 = _toInt (c, o + 10, 2);
     if (v1 <= 0)
       return false;
 
-    final int nExpected = _toInt (c[8]);
+    final int nExpected = _toInt (c.charAt (o + 8));
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_PT (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_PT (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_PT (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_PT (aCS, nOfs, nLen);
+  }
 
-    if (c.length != 9)
+  private static boolean _isValidVATIN_PT (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 9)
       return false;
-    if (!_isNum1to9 (c[0]))
+    if (!_isNum1to9 (c.charAt (o)))
       return false;
     for (int i = 1; i <= 8; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
     final int r = 11 -
-                  (_toInt (c[0]) * 9 +
-                   _toInt (c[1]) * 8 +
-                   _toInt (c[2]) * 7 +
-                   _toInt (c[3]) * 6 +
-                   _toInt (c[4]) * 5 +
-                   _toInt (c[5]) * 4 +
-                   _toInt (c[6]) * 3 +
-                   _toInt (c[7]) * 2) % 11;
+                  (_toInt (c.charAt (o)) * 9 +
+                   _toInt (c.charAt (o + 1)) * 8 +
+                   _toInt (c.charAt (o + 2)) * 7 +
+                   _toInt (c.charAt (o + 3)) * 6 +
+                   _toInt (c.charAt (o + 4)) * 5 +
+                   _toInt (c.charAt (o + 5)) * 4 +
+                   _toInt (c.charAt (o + 6)) * 3 +
+                   _toInt (c.charAt (o + 7)) * 2) % 11;
     final int nChecksum = (r == 10 || r == 11) ? 0 : r;
-    final int nExpected = _toInt (c[8]);
+    final int nExpected = _toInt (c.charAt (o + 8));
     return nChecksum == nExpected;
   }
 
@@ -918,21 +1264,44 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_SE (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_SE (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_SE (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_SE (aCS, nOfs, nLen);
+  }
 
-    if (c.length != 12)
+  private static boolean _isValidVATIN_SE (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 12)
       return false;
     for (int i = 0; i <= 11; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int v1 = _toInt (c[10], c[11]);
+    final int v1 = _toInt (c, o + 10, 2);
     if (v1 < 1 || v1 > 94)
       return false;
 
-    final int r = _se_s (c[0]) + _se_s (c[2]) + _se_s (c[4]) + _se_s (c[6]) + _se_s (c[8]);
-    final int nChecksum = (10 - (r + _toInt (c[1]) + _toInt (c[3]) + _toInt (c[5]) + _toInt (c[7])) % 10) % 10;
-    final int nExpected = _toInt (c[9]);
+    final int r = _se_s (c.charAt (o)) +
+                  _se_s (c.charAt (o + 2)) +
+                  _se_s (c.charAt (o + 4)) +
+                  _se_s (c.charAt (o + 6)) +
+                  _se_s (c.charAt (o + 8));
+    final int nChecksum = (10 -
+                           (r +
+                            _toInt (c.charAt (o + 1)) +
+                            _toInt (c.charAt (o + 3)) +
+                            _toInt (c.charAt (o + 5)) +
+                            _toInt (c.charAt (o + 7))) % 10) %
+                          10;
+    final int nExpected = _toInt (c.charAt (o + 9));
     return nChecksum == nExpected;
   }
 
@@ -951,74 +1320,88 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_CY (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 9)
+    return _isValidVATIN_CY (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_CY (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_CY (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_CY (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 9)
       return false;
-    if (!_cy_is1 (c[0]))
+    if (!_cy_is1 (c.charAt (o)))
       return false;
     for (int i = 1; i <= 7; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (!_isLetterOrNum (c[8]))
+    if (!_isLetterOrNum (c.charAt (o + 8)))
       return false;
 
-    final int v = _toInt (c[0], c[1]);
+    final int v = _toInt (c, o, 2);
     if (v == 12)
       return false;
 
-    final int a1 = _cy_odd (c[0]) +
-                   _toInt (c[1]) +
-                   _cy_odd (c[2]) +
-                   _toInt (c[3]) +
-                   _cy_odd (c[4]) +
-                   _toInt (c[5]) +
-                   _cy_odd (c[6]) +
-                   _toInt (c[7]);
+    final int a1 = _cy_odd (c.charAt (o)) +
+                   _toInt (c.charAt (o + 1)) +
+                   _cy_odd (c.charAt (o + 2)) +
+                   _toInt (c.charAt (o + 3)) +
+                   _cy_odd (c.charAt (o + 4)) +
+                   _toInt (c.charAt (o + 5)) +
+                   _cy_odd (c.charAt (o + 6)) +
+                   _toInt (c.charAt (o + 7));
     final char cChecksum = (char) ('A' + (a1 % 26));
-    return cChecksum == c[8];
+    return cChecksum == c.charAt (o + 8);
   }
 
-  private static boolean _cz_isV1 (@Nonnull final char [] c)
+  private static boolean _cz_isV1 (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 8)
+    if (nLen != 8)
       return false;
     for (int i = 0; i <= 7; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (c[0] == '9')
+    if (c.charAt (o) == '9')
       return false;
 
-    final int a1 = 8 * _toInt (c[0]) +
-                   7 * _toInt (c[1]) +
-                   6 * _toInt (c[2]) +
-                   5 * _toInt (c[3]) +
-                   4 * _toInt (c[4]) +
-                   3 * _toInt (c[5]) +
-                   2 * _toInt (c[6]);
+    final int a1 = 8 * _toInt (c.charAt (o)) +
+                   7 * _toInt (c.charAt (o + 1)) +
+                   6 * _toInt (c.charAt (o + 2)) +
+                   5 * _toInt (c.charAt (o + 3)) +
+                   4 * _toInt (c.charAt (o + 4)) +
+                   3 * _toInt (c.charAt (o + 5)) +
+                   2 * _toInt (c.charAt (o + 6));
 
     final int a2 = (a1 % 11) == 0 ? a1 + 11 : ceilTo (a1, 11);
     final int nChecksum = (a2 - a1) % 10;
-    final int nExpected = _toInt (c[7]);
+    final int nExpected = _toInt (c.charAt (o + 7));
     return nChecksum == nExpected;
   }
 
-  private static boolean _cz_isV2 (@Nonnull final char [] c)
+  private static boolean _cz_isV2 (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 9)
+    if (nLen != 9)
       return false;
     for (int i = 0; i <= 8; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int y = _toInt (c[0], c[1]);
+    final int y = _toInt (c, o, 2);
     if (y < 0 || y > 53)
       return false;
-    final int m = _toInt (c[2], c[3]);
+    final int m = _toInt (c, o + 2, 2);
     if ((m < 1 || m > 12) && (m < 51 || m > 62))
       return false;
     final int nEffectiveMonth = m >= 51 ? m - 50 : m;
 
-    final int d = _toInt (c[4], c[5]);
+    final int d = _toInt (c, o + 4, 2);
     if (!_isValidMonthDay (nEffectiveMonth, d))
       return false;
 
@@ -1027,27 +1410,27 @@ public class VATINSyntaxChecker
 
   private static final int [] cz_v3 = new int [] { 8, 7, 6, 5, 4, 3, 2, 1, 0, 9, 8 };
 
-  private static boolean _cz_isV3 (@Nonnull final char [] c)
+  private static boolean _cz_isV3 (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 9)
+    if (nLen != 9)
       return false;
     for (int i = 0; i <= 8; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (c[0] != '6')
+    if (c.charAt (o) != '6')
       return false;
 
-    final int a1 = 8 * _toInt (c[1]) +
-                   7 * _toInt (c[2]) +
-                   6 * _toInt (c[3]) +
-                   5 * _toInt (c[4]) +
-                   4 * _toInt (c[5]) +
-                   3 * _toInt (c[6]) +
-                   2 * _toInt (c[7]);
+    final int a1 = 8 * _toInt (c.charAt (o + 1)) +
+                   7 * _toInt (c.charAt (o + 2)) +
+                   6 * _toInt (c.charAt (o + 3)) +
+                   5 * _toInt (c.charAt (o + 4)) +
+                   4 * _toInt (c.charAt (o + 5)) +
+                   3 * _toInt (c.charAt (o + 6)) +
+                   2 * _toInt (c.charAt (o + 7));
 
     final int a2 = (a1 % 11) == 0 ? a1 + 11 : ceilTo (a1, 11);
     final int nChecksum = cz_v3[a2 - a1 - 1];
-    final int nExpected = _toInt (c[8]);
+    final int nExpected = _toInt (c.charAt (o + 8));
     return nChecksum == nExpected;
   }
 
@@ -1056,44 +1439,57 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_CZ (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_CZ (sVATIN, 0, sVATIN.length ());
+  }
 
+  public static boolean isValidVATIN_CZ (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_CZ (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_CZ (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
     // Format 1: 8 digits numbers – Legal Entities
-    if (_cz_isV1 (c))
+    if (_cz_isV1 (c, o, nLen))
       return true;
 
     // Format 2: 9 digits numbers – Individuals
-    if (_cz_isV2 (c))
+    if (_cz_isV2 (c, o, nLen))
       return true;
 
     // Format 3: 9 digits numbers – Individuals (Special cases)
-    if (_cz_isV3 (c))
+    if (_cz_isV3 (c, o, nLen))
       return true;
 
     // Format 4: 10 digits numbers – Individuals
-    if (c.length != 10)
+    if (nLen != 10)
       return false;
     for (int i = 0; i <= 9; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final long v = _toLong (c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], c[8], c[9]);
+    final long v = _toLong (c, o, 10);
     if ((v % 11) != 0)
       return false;
 
-    final int y = _toInt (c[0], c[1]);
+    final int y = _toInt (c, o, 2);
     if ((y < 0 || y > cz_year_max) && (y < 54))
       return false;
-    final int m = _toInt (c[2], c[3]);
+    final int m = _toInt (c, o + 2, 2);
     if ((m < 1 || m > 12) && (m < 21 || m > 32) && (m < 51 || m > 62) && (m < 71 || m > 82))
       return false;
 
     final int nEffectiveMonth = m >= 71 ? m - 70 : m >= 51 ? m - 50 : m >= 21 ? m - 20 : m;
-    final int d = _toInt (c[4], c[5]);
+    final int d = _toInt (c, o + 4, 2);
     if (!_isValidMonthDay (nEffectiveMonth, d))
       return false;
 
-    final int a1 = y + m + d + _toInt (c[6], c[7]) + _toInt (c[8], c[9]);
+    final int a1 = y + m + d + _toInt (c, o + 6, 2) + _toInt (c, o + 8, 2);
     if ((a1 % 11) != 0)
       return false;
 
@@ -1103,198 +1499,252 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_EE (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 9)
+    return _isValidVATIN_EE (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_EE (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_EE (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_EE (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 9)
       return false;
     for (int i = 0; i <= 8; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int a1 = 3 * _toInt (c[0]) +
-                   7 * _toInt (c[1]) +
-                   1 * _toInt (c[2]) +
-                   3 * _toInt (c[3]) +
-                   7 * _toInt (c[4]) +
-                   1 * _toInt (c[5]) +
-                   3 * _toInt (c[6]) +
-                   7 * _toInt (c[7]);
+    final int a1 = 3 * _toInt (c.charAt (o)) +
+                   7 * _toInt (c.charAt (o + 1)) +
+                   1 * _toInt (c.charAt (o + 2)) +
+                   3 * _toInt (c.charAt (o + 3)) +
+                   7 * _toInt (c.charAt (o + 4)) +
+                   1 * _toInt (c.charAt (o + 5)) +
+                   3 * _toInt (c.charAt (o + 6)) +
+                   7 * _toInt (c.charAt (o + 7));
     // Round to ceiling multiple of 10
     final int a2 = ceilTo (a1, 10);
     final int nChecksum = a2 - a1;
-    final int nExpected = _toInt (c[8]);
+    final int nExpected = _toInt (c.charAt (o + 8));
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_HU (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 8)
+    return _isValidVATIN_HU (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_HU (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_HU (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_HU (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 8)
       return false;
     for (int i = 0; i <= 7; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int a1 = 9 * _toInt (c[0]) +
-                   7 * _toInt (c[1]) +
-                   3 * _toInt (c[2]) +
-                   1 * _toInt (c[3]) +
-                   9 * _toInt (c[4]) +
-                   7 * _toInt (c[5]) +
-                   3 * _toInt (c[6]);
+    final int a1 = 9 * _toInt (c.charAt (o)) +
+                   7 * _toInt (c.charAt (o + 1)) +
+                   3 * _toInt (c.charAt (o + 2)) +
+                   1 * _toInt (c.charAt (o + 3)) +
+                   9 * _toInt (c.charAt (o + 4)) +
+                   7 * _toInt (c.charAt (o + 5)) +
+                   3 * _toInt (c.charAt (o + 6));
     final int nRest = a1 % 10;
     final int nChecksum = nRest == 0 ? 0 : 10 - nRest;
-    final int nExpected = _toInt (c[7]);
+    final int nExpected = _toInt (c.charAt (o + 7));
     return nChecksum == nExpected;
   }
 
-  private static boolean _lt_isLegalPerson (@Nonnull final char [] c)
+  private static boolean _lt_isLegalPerson (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 9)
+    if (nLen != 9)
       return false;
     for (int i = 0; i <= 6; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (c[7] != '1')
+    if (c.charAt (o + 7) != '1')
       return false;
-    if (!_isNum (c[8]))
+    if (!_isNum (c.charAt (o + 8)))
       return false;
 
-    final int a1 = 1 * _toInt (c[0]) +
-                   2 * _toInt (c[1]) +
-                   3 * _toInt (c[2]) +
-                   4 * _toInt (c[3]) +
-                   5 * _toInt (c[4]) +
-                   6 * _toInt (c[5]) +
-                   7 * _toInt (c[6]) +
-                   8 * _toInt (c[7]);
+    final int a1 = 1 * _toInt (c.charAt (o)) +
+                   2 * _toInt (c.charAt (o + 1)) +
+                   3 * _toInt (c.charAt (o + 2)) +
+                   4 * _toInt (c.charAt (o + 3)) +
+                   5 * _toInt (c.charAt (o + 4)) +
+                   6 * _toInt (c.charAt (o + 5)) +
+                   7 * _toInt (c.charAt (o + 6)) +
+                   8 * _toInt (c.charAt (o + 7));
     final int r1 = a1 % 11;
     int nChecksum;
     if (r1 != 10)
       nChecksum = r1;
     else
     {
-      final int a2 = 3 * _toInt (c[0]) +
-                     4 * _toInt (c[1]) +
-                     5 * _toInt (c[2]) +
-                     6 * _toInt (c[3]) +
-                     7 * _toInt (c[4]) +
-                     8 * _toInt (c[5]) +
-                     9 * _toInt (c[6]) +
-                     1 * _toInt (c[7]);
+      final int a2 = 3 * _toInt (c.charAt (o)) +
+                     4 * _toInt (c.charAt (o + 1)) +
+                     5 * _toInt (c.charAt (o + 2)) +
+                     6 * _toInt (c.charAt (o + 3)) +
+                     7 * _toInt (c.charAt (o + 4)) +
+                     8 * _toInt (c.charAt (o + 5)) +
+                     9 * _toInt (c.charAt (o + 6)) +
+                     1 * _toInt (c.charAt (o + 7));
       final int r2 = a2 % 11;
       nChecksum = r2 == 10 ? 0 : r2;
     }
-    final int nExpected = _toInt (c[8]);
+    final int nExpected = _toInt (c.charAt (o + 8));
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_LT (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_LT (sVATIN, 0, sVATIN.length ());
+  }
 
+  public static boolean isValidVATIN_LT (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_LT (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_LT (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
     // Format 1: Legal persons
-    if (_lt_isLegalPerson (c))
+    if (_lt_isLegalPerson (c, o, nLen))
       return true;
 
     // Format 2: Temporarily Registered Taxpayers
-    if (c.length != 12)
+    if (nLen != 12)
       return false;
     for (int i = 0; i <= 9; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (c[10] != '1')
-      return false;
-    if (!_isNum (c[11]))
-      return false;
-
-    final int a1 = 1 * _toInt (c[0]) +
-                   2 * _toInt (c[1]) +
-                   3 * _toInt (c[2]) +
-                   4 * _toInt (c[3]) +
-                   5 * _toInt (c[4]) +
-                   6 * _toInt (c[5]) +
-                   7 * _toInt (c[6]) +
-                   8 * _toInt (c[7]) +
-                   9 * _toInt (c[8]) +
-                   1 * _toInt (c[9]) +
-                   2 * _toInt (c[10]);
+    if (c.charAt (o + 10) != '1')
+      return false;
+    if (!_isNum (c.charAt (o + 11)))
+      return false;
+
+    final int a1 = 1 * _toInt (c.charAt (o)) +
+                   2 * _toInt (c.charAt (o + 1)) +
+                   3 * _toInt (c.charAt (o + 2)) +
+                   4 * _toInt (c.charAt (o + 3)) +
+                   5 * _toInt (c.charAt (o + 4)) +
+                   6 * _toInt (c.charAt (o + 5)) +
+                   7 * _toInt (c.charAt (o + 6)) +
+                   8 * _toInt (c.charAt (o + 7)) +
+                   9 * _toInt (c.charAt (o + 8)) +
+                   1 * _toInt (c.charAt (o + 9)) +
+                   2 * _toInt (c.charAt (o + 10));
     final int r1 = a1 % 11;
     int nChecksum;
     if (r1 != 10)
       nChecksum = r1;
     else
     {
-      final int a2 = 3 * _toInt (c[0]) +
-                     4 * _toInt (c[1]) +
-                     5 * _toInt (c[2]) +
-                     6 * _toInt (c[3]) +
-                     7 * _toInt (c[4]) +
-                     8 * _toInt (c[5]) +
-                     9 * _toInt (c[6]) +
-                     1 * _toInt (c[7]) +
-                     2 * _toInt (c[8]) +
-                     3 * _toInt (c[9]) +
-                     4 * _toInt (c[10]);
+      final int a2 = 3 * _toInt (c.charAt (o)) +
+                     4 * _toInt (c.charAt (o + 1)) +
+                     5 * _toInt (c.charAt (o + 2)) +
+                     6 * _toInt (c.charAt (o + 3)) +
+                     7 * _toInt (c.charAt (o + 4)) +
+                     8 * _toInt (c.charAt (o + 5)) +
+                     9 * _toInt (c.charAt (o + 6)) +
+                     1 * _toInt (c.charAt (o + 7)) +
+                     2 * _toInt (c.charAt (o + 8)) +
+                     3 * _toInt (c.charAt (o + 9)) +
+                     4 * _toInt (c.charAt (o + 10));
       final int r2 = a2 % 11;
       nChecksum = r2 == 10 ? 0 : r2;
     }
-    final int nExpected = _toInt (c[11]);
+    final int nExpected = _toInt (c.charAt (o + 11));
     return nChecksum == nExpected;
   }
 
-  private static boolean _is_lvV1 (@Nonnull final char [] c)
+  private static boolean _is_lvV1 (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 11)
+    if (nLen != 11)
       return false;
     for (int i = 0; i <= 10; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (_toInt (c[0]) <= 3)
-      return false;
-
-    final int a1 = 9 * _toInt (c[0]) +
-                   1 * _toInt (c[1]) +
-                   4 * _toInt (c[2]) +
-                   8 * _toInt (c[3]) +
-                   3 * _toInt (c[4]) +
-                   10 * _toInt (c[5]) +
-                   2 * _toInt (c[6]) +
-                   5 * _toInt (c[7]) +
-                   7 * _toInt (c[8]) +
-                   6 * _toInt (c[9]);
+    if (_toInt (c.charAt (o)) <= 3)
+      return false;
+
+    final int a1 = 9 * _toInt (c.charAt (o)) +
+                   1 * _toInt (c.charAt (o + 1)) +
+                   4 * _toInt (c.charAt (o + 2)) +
+                   8 * _toInt (c.charAt (o + 3)) +
+                   3 * _toInt (c.charAt (o + 4)) +
+                   10 * _toInt (c.charAt (o + 5)) +
+                   2 * _toInt (c.charAt (o + 6)) +
+                   5 * _toInt (c.charAt (o + 7)) +
+                   7 * _toInt (c.charAt (o + 8)) +
+                   6 * _toInt (c.charAt (o + 9));
     final int r = 3 - (a1 % 11);
     if (r == -1)
       return false;
     final int nChecksum = r < -1 ? r + 11 : r;
-    final int nExpected = _toInt (c[10]);
+    final int nExpected = _toInt (c.charAt (o + 10));
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_LV (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_LV (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_LV (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_LV (aCS, nOfs, nLen);
+  }
 
+  private static boolean _isValidVATIN_LV (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
     // Format 1: Legal persons
-    if (_is_lvV1 (c))
+    if (_is_lvV1 (c, o, nLen))
       return true;
 
     // Format 2: Natural persons
-    if (c.length != 11)
+    if (nLen != 11)
       return false;
     for (int i = 0; i <= 10; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
-    if (_toInt (c[0]) > 3)
+    if (_toInt (c.charAt (o)) > 3)
       return false;
 
-    final int d = _toInt (c[0], c[1]);
-    final int m = _toInt (c[2], c[3]);
+    final int d = _toInt (c, o, 2);
+    final int m = _toInt (c, o + 2, 2);
     if (m < 1 || m > 12)
       return false;
-    // final int y = _toInt (c[4], c[5]);
+    // final int y = _toInt (c, o + 4, 2);
     if (!_isValidMonthDay (m, d))
       return false;
     return true;
@@ -1303,81 +1753,123 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_MT (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 8)
+    return _isValidVATIN_MT (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_MT (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_MT (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_MT (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 8)
       return false;
     for (int i = 0; i <= 7; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int v = _toInt (c[0], c[1], c[2], c[3], c[4], c[5]);
+    final int v = _toInt (c, o, 6);
     if (v <= 100_000)
       return false;
 
-    final int a1 = 3 * _toInt (c[0]) +
-                   4 * _toInt (c[1]) +
-                   6 * _toInt (c[2]) +
-                   7 * _toInt (c[3]) +
-                   8 * _toInt (c[4]) +
-                   9 * _toInt (c[5]);
+    final int a1 = 3 * _toInt (c.charAt (o)) +
+                   4 * _toInt (c.charAt (o + 1)) +
+                   6 * _toInt (c.charAt (o + 2)) +
+                   7 * _toInt (c.charAt (o + 3)) +
+                   8 * _toInt (c.charAt (o + 4)) +
+                   9 * _toInt (c.charAt (o + 5));
     final int r = 37 - (a1 % 37);
     final int nChecksum = r == 0 ? 37 : r;
-    final int nExpected = _toInt (c[6], c[7]);
+    final int nExpected = _toInt (c, o + 6, 2);
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_PL (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 10)
+    return _isValidVATIN_PL (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_PL (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_PL (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_PL (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 10)
       return false;
     for (int i = 0; i <= 9; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int a1 = 6 * _toInt (c[0]) +
-                   5 * _toInt (c[1]) +
-                   7 * _toInt (c[2]) +
-                   2 * _toInt (c[3]) +
-                   3 * _toInt (c[4]) +
-                   4 * _toInt (c[5]) +
-                   5 * _toInt (c[6]) +
-                   6 * _toInt (c[7]) +
-                   7 * _toInt (c[8]);
+    final int a1 = 6 * _toInt (c.charAt (o)) +
+                   5 * _toInt (c.charAt (o + 1)) +
+                   7 * _toInt (c.charAt (o + 2)) +
+                   2 * _toInt (c.charAt (o + 3)) +
+                   3 * _toInt (c.charAt (o + 4)) +
+                   4 * _toInt (c.charAt (o + 5)) +
+                   5 * _toInt (c.charAt (o + 6)) +
+                   6 * _toInt (c.charAt (o + 7)) +
+                   7 * _toInt (c.charAt (o + 8));
     final int nChecksum = a1 % 11;
     if (nChecksum == 10)
       return false;
-    final int nExpected = _toInt (c[9]);
+    final int nExpected = _toInt (c.charAt (o + 9));
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_SI (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 8)
+    return _isValidVATIN_SI (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_SI (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_SI (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_SI (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 8)
       return false;
     for (int i = 0; i <= 7; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int v = _toInt (c[0], c[1], c[2], c[3], c[4], c[5], c[6]);
+    final int v = _toInt (c, o, 7);
     if (v < 1_000_000 | v > 9_999_999)
       return false;
 
-    final int a1 = 8 * _toInt (c[0]) +
-                   7 * _toInt (c[1]) +
-                   6 * _toInt (c[2]) +
-                   5 * _toInt (c[3]) +
-                   4 * _toInt (c[4]) +
-                   3 * _toInt (c[5]) +
-                   2 * _toInt (c[6]);
+    final int a1 = 8 * _toInt (c.charAt (o)) +
+                   7 * _toInt (c.charAt (o + 1)) +
+                   6 * _toInt (c.charAt (o + 2)) +
+                   5 * _toInt (c.charAt (o + 3)) +
+                   4 * _toInt (c.charAt (o + 4)) +
+                   3 * _toInt (c.charAt (o + 5)) +
+                   2 * _toInt (c.charAt (o + 6));
     final int r = 11 - (a1 % 11);
     if (r == 11)
       return false;
     final int nChecksum = r == 10 ? 0 : r;
-    final int nExpected = _toInt (c[7]);
+    final int nExpected = _toInt (c.charAt (o + 7));
     return nChecksum == nExpected;
   }
 
@@ -1389,181 +1881,215 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_SK (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 10)
+    return _isValidVATIN_SK (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_SK (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_SK (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_SK (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 10)
       return false;
-    if (!_isNum1to9 (c[0]))
+    if (!_isNum1to9 (c.charAt (o)))
       return false;
-    if (!_isNum (c[1]))
+    if (!_isNum (c.charAt (o + 1)))
       return false;
-    if (!_sk_is3 (c[2]))
+    if (!_sk_is3 (c.charAt (o + 2)))
       return false;
     for (int i = 3; i <= 9; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final long v = _toLong (c[0], c[1], c[2], c[3], c[4], c[5], c[6], c[7], c[8], c[9]);
+    final long v = _toLong (c, o, 10);
     return (v % 11) == 0;
   }
 
-  private static boolean _bg_isV1 (@Nonnull final char [] c)
+  private static boolean _bg_isV1 (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 9)
+    if (nLen != 9)
       return false;
     for (int i = 0; i <= 8; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int a1 = 1 * _toInt (c[0]) +
-                   2 * _toInt (c[1]) +
-                   3 * _toInt (c[2]) +
-                   4 * _toInt (c[3]) +
-                   5 * _toInt (c[4]) +
-                   6 * _toInt (c[5]) +
-                   7 * _toInt (c[6]) +
-                   8 * _toInt (c[7]);
+    final int a1 = 1 * _toInt (c.charAt (o)) +
+                   2 * _toInt (c.charAt (o + 1)) +
+                   3 * _toInt (c.charAt (o + 2)) +
+                   4 * _toInt (c.charAt (o + 3)) +
+                   5 * _toInt (c.charAt (o + 4)) +
+                   6 * _toInt (c.charAt (o + 5)) +
+                   7 * _toInt (c.charAt (o + 6)) +
+                   8 * _toInt (c.charAt (o + 7));
     final int r1 = a1 % 11;
     int nChecksum;
     if (r1 != 10)
       nChecksum = r1;
     else
     {
-      final int a2 = 3 * _toInt (c[0]) +
-                     4 * _toInt (c[1]) +
-                     5 * _toInt (c[2]) +
-                     6 * _toInt (c[3]) +
-                     7 * _toInt (c[4]) +
-                     8 * _toInt (c[5]) +
-                     9 * _toInt (c[6]) +
-                     10 * _toInt (c[7]);
+      final int a2 = 3 * _toInt (c.charAt (o)) +
+                     4 * _toInt (c.charAt (o + 1)) +
+                     5 * _toInt (c.charAt (o + 2)) +
+                     6 * _toInt (c.charAt (o + 3)) +
+                     7 * _toInt (c.charAt (o + 4)) +
+                     8 * _toInt (c.charAt (o + 5)) +
+                     9 * _toInt (c.charAt (o + 6)) +
+                     10 * _toInt (c.charAt (o + 7));
       final int r2 = a2 % 11;
       nChecksum = r2 == 10 ? 0 : r2;
     }
-    final int nExpected = _toInt (c[8]);
+    final int nExpected = _toInt (c.charAt (o + 8));
     return nChecksum == nExpected;
   }
 
-  private static boolean _bg_isV2 (@Nonnull final char [] c)
+  private static boolean _bg_isV2 (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 10)
+    if (nLen != 10)
       return false;
     for (int i = 0; i <= 9; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int m = _toInt (c[2], c[3]) % 20;
-    final int d = _toInt (c[4], c[5]);
+    final int m = _toInt (c, o + 2, 2) % 20;
+    final int d = _toInt (c, o + 4, 2);
     if (!_isValidMonthDay (m, d))
       return false;
 
-    final int a1 = 2 * _toInt (c[0]) +
-                   4 * _toInt (c[1]) +
-                   8 * _toInt (c[2]) +
-                   5 * _toInt (c[3]) +
-                   10 * _toInt (c[4]) +
-                   9 * _toInt (c[5]) +
-                   7 * _toInt (c[6]) +
-                   3 * _toInt (c[7]) +
-                   6 * _toInt (c[8]);
+    final int a1 = 2 * _toInt (c.charAt (o)) +
+                   4 * _toInt (c.charAt (o + 1)) +
+                   8 * _toInt (c.charAt (o + 2)) +
+                   5 * _toInt (c.charAt (o + 3)) +
+                   10 * _toInt (c.charAt (o + 4)) +
+                   9 * _toInt (c.charAt (o + 5)) +
+                   7 * _toInt (c.charAt (o + 6)) +
+                   3 * _toInt (c.charAt (o + 7)) +
+                   6 * _toInt (c.charAt (o + 8));
     final int r1 = a1 % 11;
     final int nChecksum = r1 == 10 ? 0 : r1;
-    final int nExpected = _toInt (c[9]);
+    final int nExpected = _toInt (c.charAt (o + 9));
     return nChecksum == nExpected;
   }
 
-  private static boolean _bg_isV3 (@Nonnull final char [] c)
+  private static boolean _bg_isV3 (@Nonnull final CharSequence c, final int o, final int nLen)
   {
-    if (c.length != 10)
+    if (nLen != 10)
       return false;
     for (int i = 0; i <= 9; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int a1 = 21 * _toInt (c[0]) +
-                   19 * _toInt (c[1]) +
-                   17 * _toInt (c[2]) +
-                   13 * _toInt (c[3]) +
-                   11 * _toInt (c[4]) +
-                   9 * _toInt (c[5]) +
-                   7 * _toInt (c[6]) +
-                   3 * _toInt (c[7]) +
-                   1 * _toInt (c[8]);
+    final int a1 = 21 * _toInt (c.charAt (o)) +
+                   19 * _toInt (c.charAt (o + 1)) +
+                   17 * _toInt (c.charAt (o + 2)) +
+                   13 * _toInt (c.charAt (o + 3)) +
+                   11 * _toInt (c.charAt (o + 4)) +
+                   9 * _toInt (c.charAt (o + 5)) +
+                   7 * _toInt (c.charAt (o + 6)) +
+                   3 * _toInt (c.charAt (o + 7)) +
+                   1 * _toInt (c.charAt (o + 8));
     final int nChecksum = a1 % 10;
-    final int nExpected = _toInt (c[9]);
+    final int nExpected = _toInt (c.charAt (o + 9));
     return nChecksum == nExpected;
   }
 
   public static boolean isValidVATIN_BG (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
+    return _isValidVATIN_BG (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_BG (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_BG (aCS, nOfs, nLen);
+  }
 
+  private static boolean _isValidVATIN_BG (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
     // Format 1: 9 digits numbers for legal entities
-    if (_bg_isV1 (c))
+    if (_bg_isV1 (c, o, nLen))
       return true;
 
     // Format 2: 10 digits numbers Bulgarian physical persons
-    if (_bg_isV2 (c))
+    if (_bg_isV2 (c, o, nLen))
       return true;
 
     // Format 3: 10 digits numbers for foreigners
-    if (_bg_isV3 (c))
+    if (_bg_isV3 (c, o, nLen))
       return true;
 
     // Format 4: 10 digits numbers for entities not covered by the above three
     // categories
-    if (c.length != 10)
+    if (nLen != 10)
       return false;
     for (int i = 0; i <= 9; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    final int a1 = 4 * _toInt (c[0]) +
-                   3 * _toInt (c[1]) +
-                   2 * _toInt (c[2]) +
-                   7 * _toInt (c[3]) +
-                   6 * _toInt (c[4]) +
-                   5 * _toInt (c[5]) +
-                   4 * _toInt (c[6]) +
-                   3 * _toInt (c[7]) +
-                   2 * _toInt (c[8]);
+    final int a1 = 4 * _toInt (c.charAt (o)) +
+                   3 * _toInt (c.charAt (o + 1)) +
+                   2 * _toInt (c.charAt (o + 2)) +
+                   7 * _toInt (c.charAt (o + 3)) +
+                   6 * _toInt (c.charAt (o + 4)) +
+                   5 * _toInt (c.charAt (o + 5)) +
+                   4 * _toInt (c.charAt (o + 6)) +
+                   3 * _toInt (c.charAt (o + 7)) +
+                   2 * _toInt (c.charAt (o + 8));
     final int r1 = 11 - a1 % 11;
     if (r1 == 10)
       return false;
     final int nChecksum = r1 == 11 ? 0 : r1;
-    final int nExpected = _toInt (c[9]);
+    final int nExpected = _toInt (c.charAt (o + 9));
     return nChecksum == nExpected;
   }
 
+  private static final int [] ro_w = new int [] { 7, 5, 3, 2, 1, 7, 5, 3, 2 };
+
   public static boolean isValidVATIN_RO (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    char [] c = sVATIN.toCharArray ();
-    if (c.length < 2 || c.length > 10)
+    return _isValidVATIN_RO (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_RO (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_RO (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_RO (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen < 2 || nLen > 10)
       return false;
-    for (int i = 0; i < c.length; ++i)
-      if (!_isNum (c[i]))
+    for (int i = 0; i < nLen; ++i)
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
-    if (c.length < 10)
-    {
-      // Ensure length of 10, prefixed with leading zeroes
-      c = StringHelper.getLeadingZero (sVATIN, 10).toCharArray ();
-    }
-
-    final int a1 = 7 * _toInt (c[0]) +
-                   5 * _toInt (c[1]) +
-                   3 * _toInt (c[2]) +
-                   2 * _toInt (c[3]) +
-                   1 * _toInt (c[4]) +
-                   7 * _toInt (c[5]) +
-                   5 * _toInt (c[6]) +
-                   3 * _toInt (c[7]) +
-                   2 * _toInt (c[8]);
+    // Virtually left pad to a length of 10 with leading zeroes - a zero never
+    // contributes to the weighted sum
+    final int nPad = 10 - nLen;
+    int a1 = 0;
+    for (int i = nPad; i <= 8; ++i)
+      a1 += ro_w[i] * _toInt (c.charAt (o + i - nPad));
     final int a2 = a1 * 10;
     final int r1 = a2 % 11;
     final int nChecksum = r1 == 10 ? 0 : r1;
-    final int nExpected = _toInt (c[9]);
+    final int nExpected = _toInt (c.charAt (o + nLen - 1));
     return nChecksum == nExpected;
   }
 
@@ -1571,11 +2097,25 @@ public class VATINSyntaxChecker
   public static boolean isValidVATIN_HR (@Nonnull final String sVATIN)
   {
     ValueEnforcer.notNull (sVATIN, "VATIN");
-    final char [] c = sVATIN.toCharArray ();
-    if (c.length != 11)
+    return _isValidVATIN_HR (sVATIN, 0, sVATIN.length ());
+  }
+
+  public static boolean isValidVATIN_HR (@Nonnull final CharSequence aCS,
+                                         @Nonnegative final int nOfs,
+                                         @Nonnegative final int nLen)
+  {
+    _checkRange (aCS, nOfs, nLen);
+    return _isValidVATIN_HR (aCS, nOfs, nLen);
+  }
+
+  private static boolean _isValidVATIN_HR (@Nonnull final CharSequence c,
+                                           @Nonnegative final int o,
+                                           @Nonnegative final int nLen)
+  {
+    if (nLen != 11)
       return false;
     for (int i = 0; i <= 10; ++i)
-      if (!_isNum (c[i]))
+      if (!_isNum (c.charAt (o + i)))
         return false;
 
     return true;
@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.vat;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+import javax.annotation.Nonnegative;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+import com.helger.commons.ValueEnforcer;
+import com.helger.commons.annotation.ReturnsMutableCopy;
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.string.ToStringGenerator;
+
+/**
+ * An index of VAT items based on their validity period. The items are sorted
+ * by their start date and for each position the maximum end date of all
+ * previous items is remembered. That way the items valid on a certain date can
+ * be found with a binary search and a scan that stops as soon as no earlier
+ * item can still be valid.
+ *
+ * @author Philip Helger
+ */
+@NotThreadSafe
+final class VATItemPeriodIndex
+{
+  private final ICommonsList <VATItem> m_aItems = new CommonsArrayList<> ();
+  // Start dates in the order of the items - null start is LocalDate.MIN
+  private LocalDate [] m_aStarts = new LocalDate [0];
+  // Maximum end date of all items up to and including the index - null end is
+  // LocalDate.MAX
+  private LocalDate [] m_aMaxEnds = new LocalDate [0];
+  // Are the arrays up to date with the items?
+  private boolean m_bIndexValid = true;
+
+  VATItemPeriodIndex ()
+  {}
+
+  @Nonnull
+  private static LocalDate _getStart (@Nonnull final VATItem aItem)
+  {
+    final LocalDate aStart = aItem.getStart ();
+    return aStart == null ? LocalDate.MIN : aStart;
+  }
+
+  @Nonnull
+  private static LocalDate _getEnd (@Nonnull final VATItem aItem)
+  {
+    final LocalDate aEnd = aItem.getEnd ();
+    return aEnd == null ? LocalDate.MAX : aEnd;
+  }
+
+  /**
+   * @param aDate
+   *        The date to search
+   * @return The number of items with a start date &le; the passed date.
+   */
+  @Nonnegative
+  private int _getUpperBound (@Nonnull final LocalDate aDate)
+  {
+    int nLow = 0;
+    int nHigh = m_aStarts.length;
+    while (nLow < nHigh)
+    {
+      final int nMid = (nLow + nHigh) >>> 1;
+      if (m_aStarts[nMid].isAfter (aDate))
+        nHigh = nMid;
+      else
+        nLow = nMid + 1;
+    }
+    return nLow;
+  }
+
+  /**
+   * Add a new item. Items with the same start date stay in the order they were
+   * added. The index is rebuilt lazily upon the next query or by
+   * {@link #buildIndex()}.
+   *
+   * @param aItem
+   *        The item to add. May not be <code>null</code>.
+   */
+  void addItem (@Nonnull final VATItem aItem)
+  {
+    ValueEnforcer.notNull (aItem, "Item");
+    m_aItems.add (aItem);
+    m_bIndexValid = false;
+  }
+
+  /**
+   * Sort the items and build the search arrays, if items were added since the
+   * last build.
+   */
+  void buildIndex ()
+  {
+    if (m_bIndexValid)
+      return;
+
+    // Stable sort, so items with the same start stay in insertion order
+    m_aItems.sort (Comparator.comparing (VATItemPeriodIndex::_getStart));
+
+    final int nCount = m_aItems.size ();
+    final LocalDate [] aStarts = new LocalDate [nCount];
+    final LocalDate [] aMaxEnds = new LocalDate [nCount];
+    LocalDate aMaxEnd = LocalDate.MIN;
+    for (int i = 0; i < nCount; ++i)
+    {
+      final VATItem aCur = m_aItems.get (i);
+      aStarts[i] = _getStart (aCur);
+      final LocalDate aEnd = _getEnd (aCur);
+      if (aEnd.isAfter (aMaxEnd))
+        aMaxEnd = aEnd;
+      aMaxEnds[i] = aMaxEnd;
+    }
+    m_aStarts = aStarts;
+    m_aMaxEnds = aMaxEnds;
+    m_bIndexValid = true;
+  }
+
+  @Nonnegative
+  int getItemCount ()
+  {
+    return m_aItems.size ();
+  }
+
+  /**
+   * Get the item valid on the passed date. If more than one item is valid, the
+   * one with the latest start date is returned.
+   *
+   * @param aDate
+   *        The date to check. May not be <code>null</code>.
+   * @return <code>null</code> if no item is valid on the passed date.
+   */
+  @Nullable
+  VATItem getItemValidOn (@Nonnull final LocalDate aDate)
+  {
+    buildIndex ();
+    for (int i = _getUpperBound (aDate) - 1; i >= 0; --i)
+    {
+      if (m_aMaxEnds[i].isBefore (aDate))
+        break;
+      final VATItem aItem = m_aItems.get (i);
+      if (!_getEnd (aItem).isBefore (aDate))
+        return aItem;
+    }
+    return null;
+  }
+
+  /**
+   * Get all items valid on the passed date.
+   *
+   * @param aDate
+   *        The date to check. May not be <code>null</code>.
+   * @return All matching items, sorted descending by start date. Never
+   *         <code>null</code>.
+   */
+  @Nonnull
+  @ReturnsMutableCopy
+  ICommonsList <VATItem> getAllItemsValidOn (@Nonnull final LocalDate aDate)
+  {
+    buildIndex ();
+    final ICommonsList <VATItem> ret = new CommonsArrayList<> ();
+    for (int i = _getUpperBound (aDate) - 1; i >= 0; --i)
+    {
+      if (m_aMaxEnds[i].isBefore (aDate))
+        break;
+      final VATItem aItem = m_aItems.get (i);
+      if (!_getEnd (aItem).isBefore (aDate))
+        ret.add (aItem);
+    }
+    return ret;
+  }
+
+  @Override
+  public String toString ()
+  {
+    return new ToStringGenerator (this).append ("items", m_aItems).getToString ();
+  }
+}
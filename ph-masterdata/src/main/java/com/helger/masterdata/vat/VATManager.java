@@ -26,7 +26,8 @@ import java.util.function.Predicate;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.WillClose;
-import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,7 +40,6 @@ import com.helger.commons.collection.ext.CommonsHashMap;
 import com.helger.commons.collection.ext.ICommonsList;
 import com.helger.commons.collection.ext.ICommonsMap;
 import com.helger.commons.collection.ext.ICommonsSet;
-import com.helger.commons.equals.EqualsHelper;
 import com.helger.commons.io.IHasInputStream;
 import com.helger.commons.io.resource.ClassPathResource;
 import com.helger.commons.locale.LocaleHelper;
@@ -48,17 +48,20 @@ import com.helger.commons.string.StringHelper;
 import com.helger.commons.string.StringParser;
 import com.helger.commons.string.ToStringGenerator;
 import com.helger.datetime.format.PDTFromString;
+import com.helger.masterdata.codelist.CodeListReader;
 import com.helger.xml.microdom.IMicroDocument;
 import com.helger.xml.microdom.IMicroElement;
 import com.helger.xml.microdom.serialize.MicroReader;
 import com.helger.xml.microdom.util.MicroHelper;
 
 /**
- * Manages the available VAT types.
+ * Manages the available VAT types. All data is kept in an immutable snapshot
+ * that is replaced as a whole when new data is loaded, so reading requires no
+ * locking.
  *
  * @author Philip Helger
  */
-@NotThreadSafe
+@ThreadSafe
 public class VATManager implements IVATItemProvider
 {
   private static final class SingletonHolder
@@ -72,14 +75,137 @@ public class VATManager implements IVATItemProvider
   private static final Logger s_aLogger = LoggerFactory.getLogger (VATManager.class);
   private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_DATE;
 
-  // The sources the data comes from
-  private final ICommonsList <String> m_aSources = new CommonsArrayList<> ();
+  /**
+   * An immutable snapshot of all VAT data. It is completely built before it
+   * is published, so readers never see a partially loaded state.
+   *
+   * @author Philip Helger
+   */
+  @Immutable
+  private static final class VATData
+  {
+    static final VATData EMPTY = new VATData ();
+
+    // The sources the data comes from
+    private final ICommonsList <String> m_aSources = new CommonsArrayList<> ();
+
+    // Maps from locale to the available VAT data
+    private final ICommonsMap <Locale, VATCountryData> m_aVATItemsPerCountry = new CommonsHashMap<> ();
+
+    // Overall VAT map (ID to item)
+    private final ICommonsMap <String, IVATItem> m_aAllVATItems = new CommonsHashMap<> ();
+
+    // First VAT item per type and percentage
+    private final ICommonsMap <EVATType, ICommonsMap <BigDecimal, IVATItem>> m_aVATItemsPerType = new CommonsHashMap<> ();
+
+    private VATData ()
+    {}
+
+    VATData (@Nonnull final IMicroDocument aDoc)
+    {
+      final IMicroElement eSources = aDoc.getDocumentElement ().getFirstChildElement ("sources");
+      if (eSources != null)
+        eSources.forAllChildElements (IMicroElement.filterNamespaceURIAndName (null, "source"), eSource -> {
+          final String sSource = eSource.getTextContent ();
+          if (StringHelper.hasText (sSource))
+            m_aSources.add (sSource);
+        });
+
+      for (final IMicroElement eVATTypes : aDoc.getDocumentElement ().getAllChildElements ("vattypes"))
+      {
+        // Country
+        final String sCountry = eVATTypes.getAttributeValue ("country");
+        final Locale aCountry = CountryCache.getInstance ().getCountry (sCountry);
+        if (m_aVATItemsPerCountry.containsKey (aCountry))
+        {
+          s_aLogger.warn ("VAT types for country " + aCountry + " have already been defined!");
+          continue;
+        }
+        final String sCountryName = eVATTypes.getAttributeValue ("countryname");
+
+        // zero VAT allowed?
+        final String sZeroVATAllowed = eVATTypes.getAttributeValue ("zerovat");
+        final boolean bZeroVATAllowed = StringParser.parseBool (sZeroVATAllowed);
+
+        // Internal comment?
+        final String sInternalComment = MicroHelper.getChildTextContent (eVATTypes, "comment");
+
+        // read all items
+        final VATCountryData aVATCountryData = new VATCountryData (aCountry,
+                                                                   bZeroVATAllowed,
+                                                                   sCountryName,
+                                                                   sInternalComment);
+        for (final IMicroElement eVATItem : eVATTypes.getAllChildElements ("item"))
+        {
+          // item ID
+          final String sID = eVATItem.getAttributeValue ("id");
+          if (StringHelper.hasNoText (sID))
+          {
+            s_aLogger.warn ("VAT item in country " + aCountry + " has no ID. Skipping VAT item.");
+            continue;
+          }
+          final String sRealID = _getCountryString (aCountry) + "." + sID;
+
+          // item type
+          final String sType = eVATItem.getAttributeValue ("type");
+          final EVATType eType = EVATType.getFromIDOrNull (sType);
+          if (eType == null)
+          {
+            s_aLogger.warn ("VAT type '" + sType + "' for VAT item " + sRealID + " is illegal. Skipping VAT item.");
+            continue;
+          }
+
+          // item percentage
+          final String sPercentage = eVATItem.getAttributeValue ("percentage");
+          final BigDecimal aPercentage = StringParser.parseBigDecimal (sPercentage, null);
+          if (aPercentage == null)
+          {
+            s_aLogger.warn ("Percentage value '" +
+                            sPercentage +
+                            "' for VAT item " +
+                            sRealID +
+                            " is illegal. Skipping VAT item.");
+            continue;
+          }
+
+          // Deprecated?
+          final String sDeprecated = eVATItem.getAttributeValue ("deprecated");
+          final boolean bDeprecated = sDeprecated != null && StringParser.parseBool (sDeprecated);
+
+          // Valid from (optional)
+          final String sValidFrom = eVATItem.getAttributeValue ("validfrom");
+          final LocalDate aValidFrom = PDTFromString.getLocalDateFromString (sValidFrom, DATE_FORMAT);
+
+          // Valid to (optional)
+          final String sValidTo = eVATItem.getAttributeValue ("validto");
+          final LocalDate aValidTo = PDTFromString.getLocalDateFromString (sValidTo, DATE_FORMAT);
+
+          // build and add item
+          final VATItem aVATItem = new VATItem (sRealID, eType, aPercentage, bDeprecated, aValidFrom, aValidTo);
+          if (aVATCountryData.addItem (aVATItem).isUnchanged ())
+            s_aLogger.warn ("Found duplicate VAT item " + aVATItem + " for country " + aCountry);
+          if (m_aAllVATItems.put (sRealID, aVATItem) != null)
+            s_aLogger.warn ("Found overall duplicate VAT item " + aVATItem);
+        }
+
+        if (aVATCountryData.isEmpty ())
+          s_aLogger.warn ("No VAT types for country " + aCountry + " defined!");
+        aVATCountryData.makeReadOnly ();
+        m_aVATItemsPerCountry.put (aCountry, aVATCountryData);
+      }
 
-  // Maps from locale to the available VAT data
-  private final ICommonsMap <Locale, VATCountryData> m_aVATItemsPerCountry = new CommonsHashMap<> ();
+      // Same iteration order as findFirst, so the same item is found
+      for (final IVATItem aVATItem : m_aAllVATItems.values ())
+      {
+        final BigDecimal aKey = VATCountryData.getPercentageKey (aVATItem.getPercentage ());
+        m_aVATItemsPerType.computeIfAbsent (aVATItem.getType (), k -> new CommonsHashMap<> ())
+                          .putIfAbsent (aKey, aVATItem);
+      }
+    }
+  }
 
-  // Overall VAT map (ID to item)
-  private final ICommonsMap <String, IVATItem> m_aAllVATItems = new CommonsHashMap<> ();
+  // The current snapshot - replaced as a whole on reload
+  private volatile VATData m_aData = VATData.EMPTY;
 
   public VATManager ()
   {}
@@ -96,104 +222,41 @@ public class VATManager implements IVATItemProvider
     return aLocale.getCountry ().toLowerCase (Locale.US);
   }
 
+  /**
+   * Read the VAT data from the passed document and replace the currently used
+   * data at once. Concurrent readers see either the old or the new data but
+   * never a mixture of both.
+   *
+   * @param aDoc
+   *        The document to read from. May not be <code>null</code>.
+   */
   public void initFromXML (@Nonnull final IMicroDocument aDoc)
   {
     ValueEnforcer.notNull (aDoc, "Doc");
     ValueEnforcer.notNull (aDoc.getDocumentElement (), "Doc.DocumentElement");
 
-    m_aSources.clear ();
-    m_aVATItemsPerCountry.clear ();
-    m_aAllVATItems.clear ();
-
-    final IMicroElement eSources = aDoc.getDocumentElement ().getFirstChildElement ("sources");
-    if (eSources != null)
-      eSources.forAllChildElements (IMicroElement.filterNamespaceURIAndName (null, "source"), eSource -> {
-        final String sSource = eSource.getTextContent ();
-        if (StringHelper.hasText (sSource))
-          m_aSources.add (sSource);
-      });
-
-    for (final IMicroElement eVATTypes : aDoc.getDocumentElement ().getAllChildElements ("vattypes"))
-    {
-      // Country
-      final String sCountry = eVATTypes.getAttributeValue ("country");
-      final Locale aCountry = CountryCache.getInstance ().getCountry (sCountry);
-      if (m_aVATItemsPerCountry.containsKey (aCountry))
-      {
-        s_aLogger.warn ("VAT types for country " + aCountry + " have already been defined!");
-        continue;
-      }
-      final String sCountryName = eVATTypes.getAttributeValue ("countryname");
-
-      // zero VAT allowed?
-      final String sZeroVATAllowed = eVATTypes.getAttributeValue ("zerovat");
-      final boolean bZeroVATAllowed = StringParser.parseBool (sZeroVATAllowed);
-
-      // Internal comment?
-      final String sInternalComment = MicroHelper.getChildTextContent (eVATTypes, "comment");
-
-      // read all items
-      final VATCountryData aVATCountryData = new VATCountryData (aCountry,
-                                                                 bZeroVATAllowed,
-                                                                 sCountryName,
-                                                                 sInternalComment);
-      for (final IMicroElement eVATItem : eVATTypes.getAllChildElements ("item"))
-      {
-        // item ID
-        final String sID = eVATItem.getAttributeValue ("id");
-        if (StringHelper.hasNoText (sID))
-        {
-          s_aLogger.warn ("VAT item in country " + aCountry + " has no ID. Skipping VAT item.");
-          continue;
-        }
-        final String sRealID = _getCountryString (aCountry) + "." + sID;
-
-        // item type
-        final String sType = eVATItem.getAttributeValue ("type");
-        final EVATType eType = EVATType.getFromIDOrNull (sType);
-        if (eType == null)
-        {
-          s_aLogger.warn ("VAT type '" + sType + "' for VAT item " + sRealID + " is illegal. Skipping VAT item.");
-          continue;
-        }
-
-        // item percentage
-        final String sPercentage = eVATItem.getAttributeValue ("percentage");
-        final BigDecimal aPercentage = StringParser.parseBigDecimal (sPercentage, null);
-        if (aPercentage == null)
-        {
-          s_aLogger.warn ("Percentage value '" +
-                          sPercentage +
-                          "' for VAT item " +
-                          sRealID +
-                          " is illegal. Skipping VAT item.");
-          continue;
-        }
-
-        // Deprecated?
-        final String sDeprecated = eVATItem.getAttributeValue ("deprecated");
-        final boolean bDeprecated = sDeprecated != null && StringParser.parseBool (sDeprecated);
-
-        // Valid from (optional)
-        final String sValidFrom = eVATItem.getAttributeValue ("validfrom");
-        final LocalDate aValidFrom = PDTFromString.getLocalDateFromString (sValidFrom, DATE_FORMAT);
-
-        // Valid to (optional)
-        final String sValidTo = eVATItem.getAttributeValue ("validto");
-        final LocalDate aValidTo = PDTFromString.getLocalDateFromString (sValidTo, DATE_FORMAT);
+    m_aData = new VATData (aDoc);
+  }
 
-        // build and add item
-        final VATItem aVATItem = new VATItem (sRealID, eType, aPercentage, bDeprecated, aValidFrom, aValidTo);
-        if (aVATCountryData.addItem (aVATItem).isUnchanged ())
-          s_aLogger.warn ("Found duplicate VAT item " + aVATItem + " for country " + aCountry);
-        if (m_aAllVATItems.put (sRealID, aVATItem) != null)
-          s_aLogger.warn ("Found overall duplicate VAT item " + aVATItem);
-      }
+  /**
+   * Reload the VAT data from the passed resource. This is e.g. used to apply
+   * changed VAT rates at runtime without a restart.
+   *
+   * @param aISP
+   *        The input stream provider to read from. May not be
+   *        <code>null</code>.
+   * @throws IllegalArgumentException
+   *         If the resource cannot be read
+   * @since 5.0.4
+   */
+  public void reloadFromXML (@Nonnull final IHasInputStream aISP)
+  {
+    ValueEnforcer.notNull (aISP, "InputStreamProvider");
 
-      if (aVATCountryData.isEmpty ())
-        s_aLogger.warn ("No VAT types for country " + aCountry + " defined!");
-      m_aVATItemsPerCountry.put (aCountry, aVATCountryData);
-    }
+    final IMicroDocument aDoc = MicroReader.readMicroXML (aISP);
+    if (aDoc == null)
+      throw new IllegalArgumentException ("Failed to read VAT data from " + aISP);
+    initFromXML (aDoc);
   }
 
   /**
@@ -204,7 +267,7 @@ public class VATManager implements IVATItemProvider
   @ReturnsMutableCopy
   public ICommonsList <String> getAllSources ()
   {
-    return m_aSources.getClone ();
+    return m_aData.m_aSources.getClone ();
   }
 
   /**
@@ -214,7 +277,7 @@ public class VATManager implements IVATItemProvider
   @ReturnsMutableCopy
   public ICommonsSet <Locale> getAllAvailableCountries ()
   {
-    return m_aVATItemsPerCountry.copyOfKeySet ();
+    return m_aData.m_aVATItemsPerCountry.copyOfKeySet ();
   }
 
   /**
@@ -241,13 +304,14 @@ public class VATManager implements IVATItemProvider
    *
    * @param aCountry
    *        The locale to use. May not be <code>null</code>.
-   * @return <code>null</code> if no such country data is present.
+   * @return <code>null</code> if no such country data is present. The
+   *         returned object is read-only.
    */
   @Nullable
   public VATCountryData getVATCountryData (@Nonnull final Locale aCountry)
   {
     ValueEnforcer.notNull (aCountry, "Country");
-    return m_aVATItemsPerCountry.get (CountryCache.getInstance ().getCountry (aCountry));
+    return m_aData.m_aVATItemsPerCountry.get (CountryCache.getInstance ().getCountry (aCountry));
   }
 
   /**
@@ -289,7 +353,7 @@ public class VATManager implements IVATItemProvider
   @Nullable
   public IVATItem getVATItemOfID (@Nullable final String sID)
   {
-    IVATItem ret = m_aAllVATItems.get (sID);
+    IVATItem ret = m_aData.m_aAllVATItems.get (sID);
     if (ret == null && VATTYPE_NONE.getID ().equals (sID))
       ret = VATTYPE_NONE;
     return ret;
@@ -318,7 +382,58 @@ public class VATManager implements IVATItemProvider
   {
     if (eType == null || aPercentage == null)
       return null;
-    return findFirst (x -> x.getType ().equals (eType) && EqualsHelper.equals (x.getPercentage (), aPercentage));
+    final ICommonsMap <BigDecimal, IVATItem> aMap = m_aData.m_aVATItemsPerType.get (eType);
+    return aMap == null ? null : aMap.get (VATCountryData.getPercentageKey (aPercentage));
+  }
+
+  /**
+   * Find the VAT item of a country with the passed type that is valid on the
+   * passed date. If more than one item matches, the one with the latest start
+   * date is returned.
+   *
+   * @param aCountry
+   *        The country to search. May not be <code>null</code>.
+   * @param eType
+   *        The VAT type to search. May not be <code>null</code>.
+   * @param aDate
+   *        The date on which the item must be valid. May not be
+   *        <code>null</code>.
+   * @return <code>null</code> if no matching item could be found.
+   * @since 5.0.4
+   */
+  @Nullable
+  public IVATItem findVATItem (@Nonnull final Locale aCountry,
+                               @Nonnull final EVATType eType,
+                               @Nonnull final LocalDate aDate)
+  {
+    final VATCountryData aVATCountryData = getVATCountryData (aCountry);
+    return aVATCountryData == null ? null : aVATCountryData.getItemValidOn (eType, aDate);
+  }
+
+  /**
+   * Find the VAT item of a country with the passed type and percentage that is
+   * valid on the passed date.
+   *
+   * @param aCountry
+   *        The country to search. May not be <code>null</code>.
+   * @param eType
+   *        The VAT type to search. May not be <code>null</code>.
+   * @param aPercentage
+   *        The percentage to search. May not be <code>null</code>.
+   * @param aDate
+   *        The date on which the item must be valid. May not be
+   *        <code>null</code>.
+   * @return <code>null</code> if no matching item could be found.
+   * @since 5.0.4
+   */
+  @Nullable
+  public IVATItem findVATItem (@Nonnull final Locale aCountry,
+                               @Nonnull final EVATType eType,
+                               @Nonnull final BigDecimal aPercentage,
+                               @Nonnull final LocalDate aDate)
+  {
+    final VATCountryData aVATCountryData = getVATCountryData (aCountry);
+    return aVATCountryData == null ? null : aVATCountryData.getItemValidOn (eType, aPercentage, aDate);
   }
 
   /**
@@ -331,15 +446,16 @@ public class VATManager implements IVATItemProvider
   @Nullable
   public IVATItem findFirst (@Nonnull final Predicate <? super IVATItem> aFilter)
   {
-    return CollectionHelper.findFirst (m_aAllVATItems.values (), aFilter);
+    return CollectionHelper.findFirst (m_aData.m_aAllVATItems.values (), aFilter);
   }
 
   @Override
   public String toString ()
   {
-    return new ToStringGenerator (this).append ("sources", m_aSources)
-                                       .append ("VATItemsPerCountry", m_aVATItemsPerCountry)
-                                       .append ("allVATItems", m_aAllVATItems)
+    final VATData aData = m_aData;
+    return new ToStringGenerator (this).append ("sources", aData.m_aSources)
+                                       .append ("VATItemsPerCountry", aData.m_aVATItemsPerCountry)
+                                       .append ("allVATItems", aData.m_aAllVATItems)
                                        .getToString ();
   }
 
@@ -348,7 +464,10 @@ public class VATManager implements IVATItemProvider
   {
     ValueEnforcer.notNull (aISP, "InputStreamProvider");
 
-    return readFromXML (aISP.getInputStream ());
+    final IMicroDocument aDoc = CodeListReader.readCodeList (aISP);
+    final VATManager ret = new VATManager ();
+    ret.initFromXML (aDoc);
+    return ret;
   }
 
   @Nonnull
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsOrderedMap;
+
+/**
+ * Test class for class {@link MasterDataWarmUp}.
+ *
+ * @author Philip Helger
+ */
+public final class MasterDataWarmUpTest
+{
+  @Test
+  public void testWarmUp ()
+  {
+    final ExecutorService aExecutor = Executors.newFixedThreadPool (4);
+    try
+    {
+      final ICommonsOrderedMap <String, Duration> aDurations = MasterDataWarmUp.warmUp (aExecutor);
+      assertNotNull (aDurations);
+      assertEquals (MasterDataWarmUp.getAllManagerNames (), new CommonsArrayList<> (aDurations.keySet ()));
+      assertTrue (MasterDataWarmUp.isWarmedUp ());
+
+      // Everything is already loaded
+      final ICommonsOrderedMap <String, Duration> aDurations2 = MasterDataWarmUp.warmUpAsync (aExecutor).join ();
+      assertEquals (aDurations.size (), aDurations2.size ());
+    }
+    finally
+    {
+      aExecutor.shutdown ();
+    }
+  }
+}
@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.codelist;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.io.resource.FileSystemResource;
+import com.helger.xml.microdom.IMicroDocument;
+import com.helger.xml.microdom.IMicroElement;
+import com.helger.xml.microdom.IMicroNode;
+import com.helger.xml.microdom.MicroDocument;
+import com.helger.xml.microdom.serialize.MicroReader;
+
+/**
+ * Test class for class {@link CodeListSnapshot}.
+ *
+ * @author Philip Helger
+ */
+public final class CodeListSnapshotTest
+{
+  @Nonnull
+  private static byte [] _write (@Nonnull final IMicroDocument aDoc) throws IOException
+  {
+    final ByteArrayOutputStream aBAOS = new ByteArrayOutputStream ();
+    CodeListSnapshot.writeSnapshot (aDoc, aBAOS);
+    return aBAOS.toByteArray ();
+  }
+
+  @Nonnull
+  private static IMicroDocument _read (@Nonnull final byte [] aBytes) throws IOException
+  {
+    return CodeListSnapshot.readSnapshot (new ByteArrayInputStream (aBytes));
+  }
+
+  private static void _assertSameContent (@Nonnull final IMicroNode aExpected, @Nonnull final IMicroNode aActual)
+  {
+    if (aExpected.isElement ())
+    {
+      assertTrue (aActual.isElement ());
+      final IMicroElement eExpected = (IMicroElement) aExpected;
+      final IMicroElement eActual = (IMicroElement) aActual;
+      assertEquals (eExpected.getNamespaceURI (), eActual.getNamespaceURI ());
+      assertEquals (eExpected.getTagName (), eActual.getTagName ());
+      assertEquals (eExpected.getAllQAttributes (), eActual.getAllQAttributes ());
+    }
+    else
+    {
+      assertEquals (aExpected.isCDATA (), aActual.isCDATA ());
+      assertEquals (aExpected.getNodeValue (), aActual.getNodeValue ());
+    }
+
+    // Comments are not contained in snapshots
+    final ICommonsList <IMicroNode> aExpectedChildren = aExpected.getAllChildren ();
+    if (aExpectedChildren != null)
+      aExpectedChildren.removeIf (IMicroNode::isComment);
+    final ICommonsList <IMicroNode> aActualChildren = aActual.getAllChildren ();
+    final int nExpectedCount = aExpectedChildren == null ? 0 : aExpectedChildren.size ();
+    assertEquals (nExpectedCount, aActualChildren == null ? 0 : aActualChildren.size ());
+    for (int i = 0; i < nExpectedCount; ++i)
+      _assertSameContent (aExpectedChildren.get (i), aActualChildren.get (i));
+  }
+
+  @Test
+  public void testAllCodeLists () throws IOException
+  {
+    final File [] aXMLFiles = new File ("src/main/resources/codelists").listFiles ( (d, n) -> n.endsWith (".xml"));
+    assertNotNull (aXMLFiles);
+    assertTrue (aXMLFiles.length > 0);
+    for (final File aXMLFile : aXMLFiles)
+    {
+      final IMicroDocument aDoc = MicroReader.readMicroXML (new FileSystemResource (aXMLFile));
+      assertNotNull (aXMLFile.getName (), aDoc);
+
+      final byte [] aSnapshot = _write (aDoc);
+      assertTrue (aXMLFile.getName (), aSnapshot.length < aXMLFile.length ());
+
+      final IMicroDocument aDoc2 = _read (aSnapshot);
+      _assertSameContent (aDoc.getDocumentElement (), aDoc2.getDocumentElement ());
+
+      // Writing again must result in the same bytes
+      assertArrayEquals (aSnapshot, _write (aDoc2));
+    }
+  }
+
+  @Test
+  public void testSpecialContent () throws IOException
+  {
+    final IMicroDocument aDoc = new MicroDocument ();
+    final IMicroElement eRoot = aDoc.appendElement ("urn:test", "root");
+    eRoot.setAttribute ("a", "1");
+    eRoot.setAttribute ("urn:attr", "b", "äöü €");
+    eRoot.appendText ("text");
+    eRoot.appendCDATA ("<cdata>");
+    eRoot.appendComment ("comment");
+    eRoot.appendElement ("urn:test", "child").appendElement ("empty");
+    final StringBuilder aSB = new StringBuilder ();
+    for (int i = 0; i < 10000; ++i)
+      aSB.append ((char) ('a' + i % 26));
+    eRoot.appendElement ("long").appendText (aSB.toString ());
+
+    final IMicroDocument aDoc2 = _read (_write (aDoc));
+    _assertSameContent (aDoc.getDocumentElement (), aDoc2.getDocumentElement ());
+  }
+
+  @Test
+  public void testInvalid () throws IOException
+  {
+    final byte [] aSnapshot = _write (MicroReader.readMicroXML ("<root a='b'><c>d</c></root>"));
+    // Truncated
+    for (int i = 0; i < aSnapshot.length; ++i)
+      try
+      {
+        _read (Arrays.copyOf (aSnapshot, i));
+        fail ();
+      }
+      catch (final IOException ex)
+      {}
+
+    // Other version
+    final byte [] aOtherVersion = aSnapshot.clone ();
+    aOtherVersion[7]++;
+    try
+    {
+      _read (aOtherVersion);
+      fail ();
+    }
+    catch (final IOException ex)
+    {}
+  }
+
+  @Test
+  public void testSourceCheck () throws IOException
+  {
+    final byte [] aXML = "<root a='b'><c>d</c></root>".getBytes (StandardCharsets.UTF_8);
+    final int nChecksum = CodeListSnapshot.getChecksum (aXML);
+    final ByteArrayOutputStream aBAOS = new ByteArrayOutputStream ();
+    CodeListSnapshot.writeSnapshot (MicroReader.readMicroXML (new ByteArrayInputStream (aXML)),
+                                    aXML.length,
+                                    nChecksum,
+                                    aBAOS);
+    final byte [] aSnapshot = aBAOS.toByteArray ();
+
+    assertNotNull (CodeListSnapshot.readSnapshot (new ByteArrayInputStream (aSnapshot), aXML.length, nChecksum));
+    // Source is not checked
+    assertNotNull (_read (aSnapshot));
+
+    // Other length
+    try
+    {
+      CodeListSnapshot.readSnapshot (new ByteArrayInputStream (aSnapshot), aXML.length + 1, nChecksum);
+      fail ();
+    }
+    catch (final IOException ex)
+    {}
+
+    // Other checksum
+    try
+    {
+      CodeListSnapshot.readSnapshot (new ByteArrayInputStream (aSnapshot), aXML.length, nChecksum + 1);
+      fail ();
+    }
+    catch (final IOException ex)
+    {}
+
+    // Snapshot without source information
+    try
+    {
+      CodeListSnapshot.readSnapshot (new ByteArrayInputStream (_write (MicroReader.readMicroXML (new ByteArrayInputStream (aXML)))),
+                                     aXML.length,
+                                     nChecksum);
+      fail ();
+    }
+    catch (final IOException ex)
+    {}
+  }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.codelist;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.helger.commons.io.resource.FileSystemResource;
+import com.helger.masterdata.locale.DeprecatedLocaleHandler;
+import com.helger.masterdata.locale.ISO639_2Handler;
+import com.helger.masterdata.postal.PostalCodeManager;
+import com.helger.masterdata.swift.IBANManager;
+import com.helger.masterdata.telephone.DialCodeManager;
+import com.helger.masterdata.unit.UnitManager;
+import com.helger.masterdata.vat.VATINStructureManager;
+import com.helger.masterdata.vat.VATManager;
+import com.helger.xml.microdom.IMicroDocument;
+import com.helger.xml.microdom.serialize.MicroReader;
+
+/**
+ * Measures the startup time of all code list based managers, and compares the
+ * time to read each code list from XML and from a {@link CodeListSnapshot}.
+ * Run once with and once without the system property
+ * <code>-Dph-masterdata.codelist.snapshots.disabled=true</code> to compare the
+ * cold start times. The snapshots must have been created by the build before
+ * (<code>mvn process-classes</code>).
+ *
+ * @author Philip Helger
+ */
+public final class MainCodeListStartupBenchmark
+{
+  private static final Logger s_aLogger = LoggerFactory.getLogger (MainCodeListStartupBenchmark.class);
+  private static final int RUNS = 20;
+
+  private interface IInit
+  {
+    void init ();
+  }
+
+  private static void _measureColdStart (final String sName, final IInit aInit)
+  {
+    final long nStart = System.nanoTime ();
+    aInit.init ();
+    s_aLogger.info ("  " + sName + ": " + ((System.nanoTime () - nStart) / 1_000_000) + "ms");
+  }
+
+  public static void main (final String [] args) throws IOException
+  {
+    s_aLogger.info ("Cold start with snapshots " + (CodeListReader.isSnapshotsEnabled () ? "enabled" : "disabled"));
+    final long nStart = System.nanoTime ();
+    _measureColdStart ("IBANManager", () -> IBANManager.isValidIBAN ("AT611904300234573201"));
+    _measureColdStart ("VATManager", () -> VATManager.getDefaultInstance ());
+    _measureColdStart ("VATINStructureManager", () -> VATINStructureManager.isValidVATIN ("ATU12345678"));
+    _measureColdStart ("PostalCodeManager", () -> PostalCodeManager.DEFAULT_MGR.getAllAvailableCountries ());
+    _measureColdStart ("ISO639_2Handler", () -> ISO639_2Handler.getDefaultInstance ());
+    _measureColdStart ("DialCodeManager", () -> DialCodeManager.getDialCodeOfCountry ("AT"));
+    _measureColdStart ("UnitManager", () -> UnitManager.getDefaultInstance ());
+    _measureColdStart ("DeprecatedLocaleHandler", () -> DeprecatedLocaleHandler.getDefaultInstance ());
+    s_aLogger.info ("Total: " + ((System.nanoTime () - nStart) / 1_000_000) + "ms");
+
+    // Warm comparison per file
+    final File [] aXMLFiles = new File ("src/main/resources/codelists").listFiles ( (d, n) -> n.endsWith (".xml"));
+    for (final File aXMLFile : aXMLFiles)
+    {
+      final FileSystemResource aRes = new FileSystemResource (aXMLFile);
+      final ByteArrayOutputStream aBAOS = new ByteArrayOutputStream ();
+      CodeListSnapshot.writeSnapshot (MicroReader.readMicroXML (aRes), aBAOS);
+      final byte [] aSnapshot = aBAOS.toByteArray ();
+
+      long nXMLNanos = 0;
+      long nSnapshotNanos = 0;
+      for (int i = 0; i < RUNS; ++i)
+      {
+        long nRunStart = System.nanoTime ();
+        final IMicroDocument aDoc1 = MicroReader.readMicroXML (aRes);
+        nXMLNanos += System.nanoTime () - nRunStart;
+
+        nRunStart = System.nanoTime ();
+        final IMicroDocument aDoc2 = CodeListSnapshot.readSnapshot (new ByteArrayInputStream (aSnapshot));
+        nSnapshotNanos += System.nanoTime () - nRunStart;
+
+        if (aDoc1 == null || aDoc2.getDocumentElement () == null)
+          throw new IllegalStateException ("Failed to read " + aXMLFile.getName ());
+      }
+      s_aLogger.info (aXMLFile.getName () +
+                      ": XML " +
+                      aXMLFile.length () +
+                      " bytes, " +
+                      (nXMLNanos / RUNS / 1000) +
+                      "us; snapshot " +
+                      aSnapshot.length +
+                      " bytes, " +
+                      (nSnapshotNanos / RUNS / 1000) +
+                      "us");
+    }
+  }
+}
@@ -25,6 +25,7 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
+import java.text.DecimalFormat;
 import java.util.Comparator;
 import java.util.Currency;
 import java.util.List;
@@ -192,6 +193,41 @@ public final class ECurrencyTest extends AbstractCommonsTestCase
     }
   }
 
+  @Test
+  public void testFormattingSameAsDecimalFormat ()
+  {
+    final String [] aValues = { "0",
+                                "0.004",
+                                "-0.004",
+                                "0.5",
+                                "-0.5",
+                                "5",
+                                "-7.005",
+                                "1234.56",
+                                "-1234.565",
+                                "1234567.891",
+                                "98765432109876543210.12345" };
+    for (final ECurrency eCurrency : ECurrency.values ())
+      for (final String sValue : aValues)
+      {
+        final BigDecimal aValue = new BigDecimal (sValue);
+        assertEquals (eCurrency.getCurrencyFormat ().format (aValue), eCurrency.getCurrencyFormatted (aValue));
+        assertEquals (eCurrency.getValueFormat ().format (aValue), eCurrency.getValueFormatted (aValue));
+        for (int nFractionDigits = 0; nFractionDigits <= 4; ++nFractionDigits)
+        {
+          final DecimalFormat aCurrencyFormat = eCurrency.getCurrencyFormat ();
+          aCurrencyFormat.setMaximumFractionDigits (nFractionDigits);
+          assertEquals (aCurrencyFormat.format (aValue), eCurrency.getCurrencyFormatted (aValue, nFractionDigits));
+
+          final DecimalFormat aValueFormat = eCurrency.getValueFormat ();
+          aValueFormat.setMaximumFractionDigits (nFractionDigits);
+          assertEquals (aValueFormat.format (aValue), eCurrency.getValueFormatted (aValue, nFractionDigits));
+        }
+        // Cached formatter was not modified
+        assertEquals (eCurrency.getValueFormat ().format (aValue), eCurrency.getValueFormatted (aValue));
+      }
+  }
+
   @Test
   public void testGetCurrencySymbol ()
   {
@@ -0,0 +1,165 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.currencyvalue;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import org.junit.Test;
+
+import com.helger.masterdata.currency.ECurrency;
+
+/**
+ * Test class for class {@link FixedPointCurrencyValue}.
+ *
+ * @author Philip Helger
+ */
+public final class FixedPointCurrencyValueTest
+{
+  @Test
+  public void testBasic ()
+  {
+    final FixedPointCurrencyValue aFPCV = new FixedPointCurrencyValue (ECurrency.EUR, 1234);
+    assertEquals (2, aFPCV.getScale ());
+    assertEquals (1234, aFPCV.getMinorUnits ());
+    assertEquals (new BigDecimal ("12.34"), aFPCV.getValue ());
+    assertTrue (aFPCV.isGreaterThanZero ());
+    assertEquals (new CurrencyValue (ECurrency.EUR, new BigDecimal ("12.34")), aFPCV.getAsCurrencyValue ());
+    assertEquals (ECurrency.EUR.getCurrencyFormatted (new BigDecimal ("12.34")), aFPCV.getCurrencyFormatted ());
+
+    // JPY has no minor unit
+    assertEquals (0, new FixedPointCurrencyValue (ECurrency.JPY).getScale ());
+    assertEquals (new BigDecimal ("15"), new FixedPointCurrencyValue (ECurrency.JPY, 15).getValue ());
+  }
+
+  @Test
+  public void testConversion ()
+  {
+    // Lossless
+    FixedPointCurrencyValue aFPCV = new FixedPointCurrencyValue (new CurrencyValue (ECurrency.EUR,
+                                                                                    new BigDecimal ("-5.1")));
+    assertEquals (-510, aFPCV.getMinorUnits ());
+    assertEquals (new BigDecimal ("-5.10"), aFPCV.getAsCurrencyValue ().getValue ());
+
+    try
+    {
+      // Too many fraction digits
+      new FixedPointCurrencyValue (new CurrencyValue (ECurrency.EUR, new BigDecimal ("5.125")));
+      fail ();
+    }
+    catch (final ArithmeticException ex)
+    {
+      // expected
+    }
+
+    try
+    {
+      // Too large
+      new FixedPointCurrencyValue (new CurrencyValue (ECurrency.EUR, new BigDecimal ("1E20")));
+      fail ();
+    }
+    catch (final ArithmeticException ex)
+    {
+      // expected
+    }
+
+    // Rounded with HALF_EVEN
+    aFPCV = FixedPointCurrencyValue.createRounded (new CurrencyValue (ECurrency.EUR, new BigDecimal ("5.125")));
+    assertEquals (512, aFPCV.getMinorUnits ());
+    assertEquals (513, FixedPointCurrencyValue.getMinorUnitsRounded (ECurrency.EUR, new BigDecimal ("5.1251")));
+  }
+
+  @Test
+  public void testArithmetic ()
+  {
+    final FixedPointCurrencyValue aSum = new FixedPointCurrencyValue (ECurrency.EUR);
+    for (int i = 1; i <= 100; ++i)
+      aSum.add (new FixedPointCurrencyValue (ECurrency.EUR, i));
+    assertEquals (5050, aSum.getMinorUnits ());
+    aSum.subtract (new FixedPointCurrencyValue (ECurrency.EUR, 50));
+    assertEquals (5000, aSum.getMinorUnits ());
+
+    final FixedPointCurrencyValue aZero = new FixedPointCurrencyValue (ECurrency.EUR);
+    assertSame (aSum, aSum.getAdded (aZero));
+    assertSame (aSum, aSum.getMultiplied (1));
+    assertEquals (10000, aSum.getMultiplied (2).getMinorUnits ());
+    assertEquals (-5000, aSum.getNegated ().getMinorUnits ());
+    assertEquals (6000, aSum.getMultiplied (new BigDecimal ("1.2")).getMinorUnits ());
+    // 5000 / 3 = 1666.67
+    assertEquals (1667, aSum.getDivided (3).getMinorUnits ());
+
+    try
+    {
+      aSum.add (new FixedPointCurrencyValue (ECurrency.USD, 1));
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+
+    try
+    {
+      new FixedPointCurrencyValue (ECurrency.EUR, Long.MAX_VALUE).addMinorUnits (1);
+      fail ();
+    }
+    catch (final ArithmeticException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testGetDivided ()
+  {
+    final long [] aValues = { 0, 1, -1, 2, -2, 3, -3, 5, -5, 7, -7, 10, -10, 11, -11, Long.MAX_VALUE, Long.MIN_VALUE };
+    for (final RoundingMode eMode : RoundingMode.values ())
+      for (final long nDividend : aValues)
+        for (final long nDivisor : aValues)
+          if (nDivisor != 0)
+          {
+            long nExpected;
+            try
+            {
+              nExpected = BigDecimal.valueOf (nDividend)
+                                    .divide (BigDecimal.valueOf (nDivisor), 0, eMode)
+                                    .longValueExact ();
+            }
+            catch (final ArithmeticException ex)
+            {
+              try
+              {
+                FixedPointCurrencyValue.getDivided (nDividend, nDivisor, eMode);
+                fail ();
+              }
+              catch (final ArithmeticException ex2)
+              {
+                // expected
+              }
+              continue;
+            }
+            assertEquals (nDividend + "/" + nDivisor + " " + eMode,
+                          nExpected,
+                          FixedPointCurrencyValue.getDivided (nDividend, nDivisor, eMode));
+          }
+  }
+}
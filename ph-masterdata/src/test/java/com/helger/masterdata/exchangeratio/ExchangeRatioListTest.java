@@ -0,0 +1,119 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.exchangeratio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.masterdata.currency.ECurrency;
+
+/**
+ * Test class for class {@link ExchangeRatioList}.
+ *
+ * @author Philip Helger
+ */
+public final class ExchangeRatioListTest
+{
+  private static final LocalDate D1 = LocalDate.of (2016, 1, 10);
+  private static final LocalDate D2 = LocalDate.of (2016, 2, 10);
+  private static final LocalDate D3 = LocalDate.of (2016, 3, 10);
+
+  @Test
+  public void testGetExchangeRatioOfDate ()
+  {
+    final ExchangeRatioList aList = new ExchangeRatioList (ECurrency.USD);
+    assertNull (aList.getExchangeRatioOfDate (D1));
+    assertNull (aList.getCurrentExchangeRatio ());
+
+    final ExchangeRatio e2 = new ExchangeRatio (D2, new BigDecimal ("1.1"));
+    assertTrue (aList.addExchangeRatio (e2).isChanged ());
+    assertSame (e2, aList.getExchangeRatioOfDate (D1));
+    assertSame (e2, aList.getExchangeRatioOfDate (D2));
+    assertNull (aList.getExchangeRatioOfDate (D2.plusDays (1)));
+
+    // Modification after the index was created
+    final ExchangeRatio e1 = new ExchangeRatio (D1, new BigDecimal ("1.2"));
+    final ExchangeRatio e3 = new ExchangeRatio (D3, new BigDecimal ("1.05"));
+    assertTrue (aList.addExchangeRatio (e1).isChanged ());
+    assertTrue (aList.addExchangeRatio (e3).isChanged ());
+    // Same date
+    assertTrue (aList.addExchangeRatio (new ExchangeRatio (D3, BigDecimal.ONE)).isUnchanged ());
+
+    assertSame (e1, aList.getExchangeRatioOfDate (D1.minusYears (1)));
+    assertSame (e1, aList.getExchangeRatioOfDate (D1));
+    assertSame (e2, aList.getExchangeRatioOfDate (D1.plusDays (1)));
+    assertSame (e2, aList.getExchangeRatioOfDate (D2));
+    assertSame (e3, aList.getExchangeRatioOfDate (D2.plusDays (1)));
+    assertSame (e3, aList.getExchangeRatioOfDate (D3));
+    assertNull (aList.getExchangeRatioOfDate (D3.plusDays (1)));
+    assertSame (e3, aList.getCurrentExchangeRatio ());
+
+    // Merge
+    final ExchangeRatioList aList2 = new ExchangeRatioList (ECurrency.USD);
+    final ExchangeRatio e4 = new ExchangeRatio (D3.plusDays (10), new BigDecimal ("1.01"));
+    aList2.addExchangeRatio (e4);
+    assertTrue (aList.mergeWith (aList2).isChanged ());
+    assertTrue (aList.mergeWith (aList2).isUnchanged ());
+    assertSame (e4, aList.getExchangeRatioOfDate (D3.plusDays (1)));
+    assertSame (e4, aList.getClone ().getExchangeRatioOfDate (D3.plusDays (1)));
+  }
+
+  @Test
+  public void testGetAllExchangeRatiosOfDates ()
+  {
+    final ExchangeRatioList aList = new ExchangeRatioList (ECurrency.CHF);
+    assertTrue (aList.getAllExchangeRatiosOfDates (new CommonsArrayList<> (D1, D2)).containsOnly (x -> x == null));
+
+    // Rates for every second day
+    final LocalDate aStart = LocalDate.of (2000, 1, 1);
+    for (int i = 0; i < 2000; i += 2)
+      aList.addExchangeRatio (new ExchangeRatio (aStart.plusDays (i), BigDecimal.valueOf (1000 + i, 3)));
+
+    final ICommonsList <LocalDate> aDates = new CommonsArrayList<> ();
+    for (int i = -10; i < 2010; i += 3)
+    {
+      // Use duplicate dates as well
+      aDates.add (aStart.plusDays (i));
+      if ((i % 7) == 0)
+        aDates.add (aStart.plusDays (i));
+    }
+
+    final ICommonsList <ExchangeRatio> aRatios = aList.getAllExchangeRatiosOfDates (aDates);
+    assertEquals (aDates.size (), aRatios.size ());
+    for (int i = 0; i < aDates.size (); ++i)
+      assertSame (aList.getExchangeRatioOfDate (aDates.get (i)), aRatios.get (i));
+
+    try
+    {
+      // Not sorted
+      aList.getAllExchangeRatiosOfDates (new CommonsArrayList<> (D2, D1));
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+  }
+}
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.exchangeratio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+import com.helger.masterdata.currency.ECurrency;
+import com.helger.masterdata.currencyvalue.CurrencyValue;
+import com.helger.masterdata.currencyvalue.ICurrencyValue;
+
+/**
+ * Test class for class {@link ExchangeRatioMatrix}.
+ *
+ * @author Philip Helger
+ */
+public final class ExchangeRatioMatrixTest
+{
+  private static final LocalDate D1 = LocalDate.of (2016, 1, 10);
+  private static final LocalDate D2 = LocalDate.of (2016, 2, 10);
+
+  @Nonnull
+  private static ExchangeRatioList _createList (@Nonnull final ECurrency eCurrency,
+                                                @Nonnull final String sRatio1,
+                                                @Nonnull final String sRatio2)
+  {
+    final ExchangeRatioList ret = new ExchangeRatioList (eCurrency);
+    ret.addExchangeRatio (new ExchangeRatio (D1, new BigDecimal (sRatio1)));
+    ret.addExchangeRatio (new ExchangeRatio (D2, new BigDecimal (sRatio2)));
+    return ret;
+  }
+
+  @Test
+  public void testCrossRate ()
+  {
+    final ExchangeRatioMatrix aMatrix = new ExchangeRatioMatrix (ECurrency.EUR);
+    assertEquals (ECurrency.EUR, aMatrix.getBaseCurrency ());
+    assertEquals (1, aMatrix.getAllCurrencies ().size ());
+    assertTrue (aMatrix.addExchangeRatioList (_createList (ECurrency.USD, "1.25", "1.1")).isChanged ());
+    assertTrue (aMatrix.addExchangeRatioList (_createList (ECurrency.GBP, "0.8", "0.88")).isChanged ());
+    assertTrue (aMatrix.addExchangeRatioList (_createList (ECurrency.GBP, "0.8", "0.88")).isUnchanged ());
+    assertEquals (3, aMatrix.getAllCurrencies ().size ());
+
+    assertEquals (BigDecimal.ONE, aMatrix.getCrossRate (ECurrency.USD, ECurrency.USD, D1));
+    assertEquals (new BigDecimal ("1.25"), aMatrix.getCrossRate (ECurrency.EUR, ECurrency.USD, D1));
+    assertEquals (0, new BigDecimal ("0.8").compareTo (aMatrix.getCrossRate (ECurrency.USD, ECurrency.EUR, D1)));
+    assertEquals (0, aMatrix.getCacheSize ());
+
+    // Cross rates
+    assertEquals (0, new BigDecimal ("0.64").compareTo (aMatrix.getCrossRate (ECurrency.USD, ECurrency.GBP, D1)));
+    assertEquals (0, new BigDecimal ("0.8").compareTo (aMatrix.getCrossRate (ECurrency.USD, ECurrency.GBP, D2)));
+    assertEquals (0, new BigDecimal ("1.25").compareTo (aMatrix.getCrossRate (ECurrency.GBP, ECurrency.USD, D2)));
+    assertEquals (3, aMatrix.getCacheSize ());
+    assertEquals (0, new BigDecimal ("0.64").compareTo (aMatrix.getCrossRate (ECurrency.USD, ECurrency.GBP, D1)));
+    assertEquals (3, aMatrix.getCacheSize ());
+
+    // Unknown currency or no exchange ratio on or after the date
+    assertNull (aMatrix.getCrossRate (ECurrency.CHF, ECurrency.GBP, D1));
+    assertNull (aMatrix.getCrossRate (ECurrency.USD, ECurrency.GBP, D2.plusDays (1)));
+
+    // Modification clears the cache
+    final ExchangeRatioList aList = new ExchangeRatioList (ECurrency.USD);
+    aList.addExchangeRatio (new ExchangeRatio (D1.minusDays (1), new BigDecimal ("1.2")));
+    assertTrue (aMatrix.addExchangeRatioList (aList).isChanged ());
+    assertEquals (0, aMatrix.getCacheSize ());
+    assertEquals (0, new BigDecimal ("0.8").compareTo (aMatrix.getCrossRate (ECurrency.USD, ECurrency.GBP, D2)));
+    assertEquals (0,
+                  new BigDecimal ("1.2").compareTo (aMatrix.getCrossRate (ECurrency.EUR,
+                                                                          ECurrency.USD,
+                                                                          D1.minusDays (1))));
+
+    try
+    {
+      // Base currency
+      aMatrix.addExchangeRatioList (_createList (ECurrency.EUR, "1", "1"));
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+  }
+
+  @Test
+  public void testCacheSize ()
+  {
+    final ExchangeRatioMatrix aMatrix = new ExchangeRatioMatrix (ECurrency.EUR, 2);
+    aMatrix.addExchangeRatioList (_createList (ECurrency.USD, "1.25", "1.1"));
+    aMatrix.addExchangeRatioList (_createList (ECurrency.GBP, "0.8", "0.88"));
+    aMatrix.addExchangeRatioList (_createList (ECurrency.CHF, "1.1", "1.08"));
+    for (final ECurrency eFrom : new ECurrency [] { ECurrency.USD, ECurrency.GBP, ECurrency.CHF })
+      for (final ECurrency eTo : new ECurrency [] { ECurrency.USD, ECurrency.GBP, ECurrency.CHF })
+      {
+        aMatrix.getCrossRate (eFrom, eTo, D1);
+        assertTrue (aMatrix.getCacheSize () <= 2);
+      }
+    assertEquals (2, aMatrix.getCacheSize ());
+    aMatrix.clearCache ();
+    assertEquals (0, aMatrix.getCacheSize ());
+
+    // Caching disabled
+    final ExchangeRatioMatrix aMatrix2 = new ExchangeRatioMatrix (ECurrency.EUR, 0);
+    aMatrix2.addExchangeRatioList (_createList (ECurrency.USD, "1.25", "1.1"));
+    aMatrix2.addExchangeRatioList (_createList (ECurrency.GBP, "0.8", "0.88"));
+    assertEquals (0, new BigDecimal ("0.64").compareTo (aMatrix2.getCrossRate (ECurrency.USD, ECurrency.GBP, D1)));
+    assertEquals (0, aMatrix2.getCacheSize ());
+  }
+
+  @Test
+  public void testConvert ()
+  {
+    final ExchangeRatioMatrix aMatrix = new ExchangeRatioMatrix (ECurrency.EUR);
+    aMatrix.addExchangeRatioList (_createList (ECurrency.USD, "1.25", "1.1"));
+    aMatrix.addExchangeRatioList (_createList (ECurrency.JPY, "130", "125"));
+
+    assertEquals (new CurrencyValue (ECurrency.USD, new BigDecimal ("12.50")),
+                  aMatrix.getConverted (new CurrencyValue (ECurrency.EUR, BigDecimal.TEN), ECurrency.USD, D1));
+    // JPY has no fraction digits
+    assertEquals (new CurrencyValue (ECurrency.JPY, new BigDecimal ("1040")),
+                  aMatrix.getConverted (new CurrencyValue (ECurrency.USD, BigDecimal.TEN), ECurrency.JPY, D1));
+    assertNull (aMatrix.getConverted (new CurrencyValue (ECurrency.GBP, BigDecimal.TEN), ECurrency.JPY, D1));
+
+    final ICurrencyValue [] aValues = new ICurrencyValue [] { new CurrencyValue (ECurrency.USD, BigDecimal.TEN),
+                                                              new CurrencyValue (ECurrency.GBP, BigDecimal.TEN),
+                                                              new CurrencyValue (ECurrency.EUR, BigDecimal.ONE),
+                                                              new CurrencyValue (ECurrency.USD, new BigDecimal ("2.2")),
+                                                              new CurrencyValue (ECurrency.GBP, BigDecimal.ONE) };
+    final ICurrencyValue [] aConverted = aMatrix.getAllConverted (aValues, ECurrency.JPY, D2);
+    assertEquals (aValues.length, aConverted.length);
+    for (int i = 0; i < aValues.length; ++i)
+      assertEquals (aMatrix.getConverted (aValues[i], ECurrency.JPY, D2), aConverted[i]);
+    assertEquals (new CurrencyValue (ECurrency.JPY, new BigDecimal ("250")), aConverted[3]);
+    assertNull (aConverted[4]);
+  }
+}
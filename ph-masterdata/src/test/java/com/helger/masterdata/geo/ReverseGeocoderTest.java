@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.geo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.locale.country.CountryCache;
+
+/**
+ * Test class for classes {@link ReverseGeocoder} and {@link GeoPointIndex}.
+ *
+ * @author Philip Helger
+ */
+public final class ReverseGeocoderTest
+{
+  @Test
+  public void testNearest ()
+  {
+    final CountryCache aCC = CountryCache.getInstance ();
+    assertTrue (ReverseGeocoder.getCountryIndex ().getCount () > 200);
+    // Centroids
+    assertEquals (aCC.getCountry ("AT"), ReverseGeocoder.getNearestCountry (47.3333, 13.3333));
+    assertEquals (aCC.getCountry ("CH"), ReverseGeocoder.getNearestCountry (47, 8));
+    assertEquals (aCC.getCountry ("US"), ReverseGeocoder.getNearestCountry (38, -97));
+    // Salzburg
+    assertEquals (aCC.getCountry ("AT"), ReverseGeocoder.getNearestCountry (47.8095, 13.055));
+    assertNull (ReverseGeocoder.getNearestCountry (Double.NaN, 0));
+    assertNull (ReverseGeocoder.getNearestCountry (91, 0));
+
+    assertEquals ("CA", ReverseGeocoder.getNearestUSState (36.17, -119.7462));
+    // San Francisco
+    assertEquals ("CA", ReverseGeocoder.getNearestUSState (37.7749, -122.4194));
+
+    final double [] aLats = { 47.3333, Double.NaN, 38 };
+    final double [] aLons = { 13.3333, 0, -97 };
+    final Locale [] aCountries = new Locale [3];
+    ReverseGeocoder.getAllNearestCountries (aLats, aLons, aCountries);
+    assertEquals (aCC.getCountry ("AT"), aCountries[0]);
+    assertNull (aCountries[1]);
+    assertEquals (aCC.getCountry ("US"), aCountries[2]);
+
+    try
+    {
+      // Destination too small
+      ReverseGeocoder.getAllNearestCountries (aLats, aLons, new Locale [2]);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+    try
+    {
+      // Different lengths
+      ReverseGeocoder.getAllNearestCountries (aLats, new double [2], aCountries);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+  }
+
+  @Test
+  public void testWithinRadius ()
+  {
+    final CountryCache aCC = CountryCache.getInstance ();
+    ICommonsList <Locale> aCountries = ReverseGeocoder.getAllCountriesWithinRadius (47.3333, 13.3333, 0);
+    assertEquals (1, aCountries.size ());
+    assertEquals (aCC.getCountry ("AT"), aCountries.getFirst ());
+
+    aCountries = ReverseGeocoder.getAllCountriesWithinRadius (47.3333, 13.3333, 600);
+    assertEquals (aCC.getCountry ("AT"), aCountries.getFirst ());
+    assertTrue (aCountries.contains (aCC.getCountry ("CH")));
+    assertTrue (aCountries.contains (aCC.getCountry ("DE")));
+    assertTrue (!aCountries.contains (aCC.getCountry ("US")));
+
+    // The whole earth
+    assertEquals (ReverseGeocoder.getCountryIndex ().getCount (),
+                  ReverseGeocoder.getAllCountriesWithinRadius (0, 0, 30000).size ());
+  }
+
+  @Test
+  public void testAgainstBruteForce ()
+  {
+    final Random aRandom = new Random (4711);
+    final int nPoints = 500;
+    final String [] aIDs = new String [nPoints];
+    final double [] aLats = new double [nPoints];
+    final double [] aLons = new double [nPoints];
+    for (int i = 0; i < nPoints; ++i)
+    {
+      aIDs[i] = "P" + i;
+      aLats[i] = aRandom.nextDouble () * 180 - 90;
+      aLons[i] = aRandom.nextDouble () * 360 - 180;
+    }
+    final GeoPointIndex aIndex = new GeoPointIndex (aIDs, aLats, aLons);
+    assertEquals (nPoints, aIndex.getCount ());
+
+    final int nQueries = 1000;
+    final double [] aQueryLats = new double [nQueries];
+    final double [] aQueryLons = new double [nQueries];
+    for (int i = 0; i < nQueries; ++i)
+    {
+      aQueryLats[i] = aRandom.nextDouble () * 180 - 90;
+      aQueryLons[i] = aRandom.nextDouble () * 360 - 180;
+    }
+    final String [] aNearest = new String [nQueries];
+    aIndex.getAllNearestIDs (aQueryLats, aQueryLons, aNearest);
+    final ICommonsList <ICommonsList <String>> aWithin = aIndex.getAllIDsWithinRadius (aQueryLats, aQueryLons, 1500);
+
+    for (int i = 0; i < nQueries; ++i)
+    {
+      int nBest = -1;
+      double dBest = Double.MAX_VALUE;
+      int nWithin = 0;
+      for (int j = 0; j < nPoints; ++j)
+      {
+        final double dDistance = GeoPointIndex.getDistanceKm (aQueryLats[i], aQueryLons[i], aLats[j], aLons[j]);
+        if (dDistance < dBest)
+        {
+          dBest = dDistance;
+          nBest = j;
+        }
+        if (dDistance <= 1500)
+          nWithin++;
+      }
+      assertEquals (aIDs[nBest], aNearest[i]);
+      assertEquals (aIDs[nBest], aIndex.getNearestID (aQueryLats[i], aQueryLons[i]));
+      assertEquals (nWithin, aWithin.get (i).size ());
+      if (nWithin > 0)
+        assertEquals (aIDs[nBest], aWithin.get (i).getFirst ());
+    }
+  }
+
+  @Test
+  public void testDistance ()
+  {
+    assertEquals (0, GeoPointIndex.getDistanceKm (47, 8, 47, 8), 0);
+    // Half the circumference
+    assertEquals (Math.PI * GeoPointIndex.EARTH_RADIUS_KM, GeoPointIndex.getDistanceKm (0, 0, 0, 180), 1e-6);
+    // Vienna - Graz
+    assertEquals (145, GeoPointIndex.getDistanceKm (48.2082, 16.3738, 47.0707, 15.4395), 2);
+  }
+}
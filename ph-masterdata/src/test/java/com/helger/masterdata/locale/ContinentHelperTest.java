@@ -16,8 +16,13 @@
  */
 package com.helger.masterdata.locale;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Locale;
+import java.util.Set;
+
 import org.junit.Test;
 
 /**
@@ -37,4 +42,39 @@ public final class ContinentHelperTest
     // No continent specified
     assertTrue (ContinentHelper.getContinentsOfCountry ("BV").contains (EContinent.UNDEFINED));
   }
+
+  @Test
+  public void testMask ()
+  {
+    assertEquals (EContinent.EUROPE.getMask (), ContinentHelper.getContinentMaskOfCountry ("AT"));
+    assertEquals (EContinent.EUROPE.getMask (), ContinentHelper.getContinentMaskOfCountry ("at"));
+    assertEquals (EContinent.getMaskOf (EContinent.EUROPE, EContinent.ASIA),
+                  ContinentHelper.getContinentMaskOfCountry ("AZ"));
+    assertEquals (EContinent.UNDEFINED.getMask (), ContinentHelper.getContinentMaskOfCountry ("BV"));
+    assertEquals (EContinent.EUROPE.getMask (), ContinentHelper.getContinentMaskOfCountry (new Locale ("de", "AT")));
+    assertEquals (0, ContinentHelper.getContinentMaskOfCountry (new Locale ("de")));
+    assertEquals (0, ContinentHelper.getContinentMaskOfCountry ((Locale) null));
+    assertEquals (0, ContinentHelper.getContinentMaskOfCountry ((String) null));
+    assertEquals (0, ContinentHelper.getContinentMaskOfCountry ("AUT"));
+    assertEquals (0, ContinentHelper.getContinentMaskOfCountry ("A1"));
+
+    assertTrue (ContinentHelper.isCountryOnContinent ("AZ", EContinent.ASIA));
+    assertTrue (ContinentHelper.isCountryOnContinent ("AZ", EContinent.EUROPE));
+    assertFalse (ContinentHelper.isCountryOnContinent ("AZ", EContinent.AFRICA));
+    assertTrue (ContinentHelper.isCountryOnContinent (Locale.US, EContinent.NORTH_AMERICA));
+    assertFalse (ContinentHelper.isCountryOnContinent (Locale.US, EContinent.EUROPE));
+
+    // The mask must match the set for all country codes
+    for (char c1 = 'A'; c1 <= 'Z'; ++c1)
+      for (char c2 = 'A'; c2 <= 'Z'; ++c2)
+      {
+        final String sCountryCode = new String (new char [] { c1, c2 });
+        final Set <EContinent> aContinents = ContinentHelper.getContinentsOfCountry (sCountryCode);
+        final int nMask = ContinentHelper.getContinentMaskOfCountry (sCountryCode);
+        for (final EContinent e : EContinent.values ())
+          assertEquals (sCountryCode + " " + e,
+                        aContinents != null && aContinents.contains (e),
+                        e.isContainedInMask (nMask));
+      }
+  }
 }
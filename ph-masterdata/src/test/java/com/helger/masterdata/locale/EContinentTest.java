@@ -16,10 +16,17 @@
  */
 package com.helger.masterdata.locale;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
 
 import org.junit.Test;
 
+import com.helger.commons.filter.IFilter;
+
 /**
  * Test class for class {@link EContinent}.
  *
@@ -33,4 +40,27 @@ public final class EContinentTest
     for (final EContinent e : EContinent.values ())
       assertSame (e, EContinent.getFromIDOrNull (e.getID ()));
   }
+
+  @Test
+  public void testMaskAndFilter ()
+  {
+    int nAll = 0;
+    for (final EContinent e : EContinent.values ())
+    {
+      assertEquals (0, nAll & e.getMask ());
+      nAll |= e.getMask ();
+      assertTrue (e.isContainedInMask (e.getMask ()));
+    }
+    assertEquals (nAll, EContinent.getMaskOf (EContinent.values ()));
+    assertEquals (0, EContinent.getMaskOf ());
+
+    final Locale aAT = new Locale ("de", "AT");
+    assertTrue (EContinent.filterLocaleCountryOnContinent (EContinent.EUROPE).test (aAT));
+    assertFalse (EContinent.filterLocaleCountryOnContinent (EContinent.ASIA).test (aAT));
+    final IFilter <Locale> aFilter = EContinent.filterLocaleCountryOnAnyContinent (EContinent.ASIA, EContinent.EUROPE);
+    assertTrue (aFilter.test (aAT));
+    assertTrue (aFilter.test (Locale.CHINA));
+    assertFalse (aFilter.test (Locale.US));
+    assertFalse (aFilter.test (Locale.ENGLISH));
+  }
 }
@@ -16,7 +16,12 @@
  */
 package com.helger.masterdata.locale;
 
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
 
 import org.junit.Test;
 
@@ -31,6 +36,21 @@ public final class EEUCountryTest
   public void testBasic ()
   {
     for (final EEUCountry e : EEUCountry.values ())
+    {
       assertSame (e, EEUCountry.getFromIDOrNull (e.getID ()));
+      assertSame (e, EEUCountry.getFromCountryCodeOrNull (e.getCountryCode ()));
+      assertSame (e, EEUCountry.getFromCountryCodeOrNull (e.getCountryCode ().toLowerCase (Locale.US)));
+      assertSame (e, EEUCountry.getFromLocaleOrNull (e.getCountry ()));
+      assertTrue (EEUCountry.isEUCountry (e.getCountryCode ()));
+      assertTrue (EEUCountry.isEUCountry (e.getCountry ()));
+    }
+
+    assertTrue (EEUCountry.isEUCountry (new Locale ("de", "AT")));
+    assertFalse (EEUCountry.isEUCountry ("CH"));
+    assertFalse (EEUCountry.isEUCountry (Locale.US));
+    assertFalse (EEUCountry.isEUCountry (new Locale ("de")));
+    assertFalse (EEUCountry.isEUCountry ((String) null));
+    assertFalse (EEUCountry.isEUCountry ((Locale) null));
+    assertNull (EEUCountry.getFromCountryCodeOrNull ("AUT"));
   }
 }
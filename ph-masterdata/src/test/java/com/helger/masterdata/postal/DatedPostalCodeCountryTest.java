@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.postal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Locale;
+
+import javax.annotation.Nonnull;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.CommonsHashSet;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.commons.collection.ext.ICommonsSet;
+import com.helger.commons.datetime.PDTFactory;
+import com.helger.commons.io.resource.IReadableResource;
+import com.helger.commons.io.resource.inmemory.ReadableResourceString;
+import com.helger.commons.locale.country.CountryCache;
+
+/**
+ * Test class for class {@link DatedPostalCodeCountry}.
+ *
+ * @author Philip Helger
+ */
+public final class DatedPostalCodeCountryTest
+{
+  private static final Locale AD = CountryCache.getInstance ().getCountry ("AD");
+  private static final Locale AT = CountryCache.getInstance ().getCountry ("AT");
+
+  @Nonnull
+  private static IReadableResource _createList (final String sADFormat, final boolean bWithAD)
+  {
+    return new ReadableResourceString ("<root><body>" +
+                                       (bWithAD ? "<country iso='AD'><postalcodes validfrom='2004-01-01'><format>" +
+                                                  sADFormat +
+                                                  "</format></postalcodes></country>"
+                                                : "") +
+                                       "<country iso='AT'><postalcodes><format>NNNN</format></postalcodes></country>" +
+                                       "</body></root>",
+                                       StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testPeriods ()
+  {
+    final PostalCodeFormat aFormat4 = new PostalCodeFormat ("XX",
+                                                            new CommonsArrayList<> (EPostalCodeFormatElement.NUMBER,
+                                                                                    EPostalCodeFormatElement.NUMBER,
+                                                                                    EPostalCodeFormatElement.NUMBER,
+                                                                                    EPostalCodeFormatElement.NUMBER));
+    final PostalCodeFormat aFormat2 = new PostalCodeFormat ("XX",
+                                                            new CommonsArrayList<> (EPostalCodeFormatElement.NUMBER,
+                                                                                    EPostalCodeFormatElement.NUMBER));
+    final LocalDate aToday = PDTFactory.getCurrentLocalDate ();
+    final PostalCodeDefinition aOld = new PostalCodeDefinition (null,
+                                                                aToday,
+                                                                new CommonsArrayList<> (aFormat2),
+                                                                new CommonsArrayList<> (),
+                                                                "old");
+    final PostalCodeDefinition aNew = new PostalCodeDefinition (aToday.plusDays (1),
+                                                                null,
+                                                                new CommonsArrayList<> (aFormat4),
+                                                                new CommonsArrayList<> (),
+                                                                "new");
+    final DatedPostalCodeCountry aCountry = new DatedPostalCodeCountry ("XX", new CommonsArrayList<> (aOld, aNew));
+    assertEquals (new CommonsArrayList<> (aToday.plusDays (1)), aCountry.getAllChangeDates ());
+
+    // Today
+    assertEquals ("old", aCountry.getNote ());
+    assertTrue (aCountry.isValidPostalCode ("12"));
+    assertFalse (aCountry.isValidPostalCode ("1234"));
+
+    // Tomorrow
+    assertTrue (aCountry.isValidPostalCode ("1234", aToday.plusDays (1)));
+    assertFalse (aCountry.isValidPostalCode ("12", aToday.plusDays (1)));
+    assertEquals ("new", aCountry.getPostalCountryOfDate (aToday.plusYears (10)).getNote ());
+  }
+
+  @Test
+  public void testExpired ()
+  {
+    final PostalCodeManager aMgr = new PostalCodeManager ();
+    aMgr.applyPostalCodeList (new ReadableResourceString ("<root><body><country iso='AD'>" +
+                                                          "<postalcodes validto='2001-12-31'><format>CCNNN</format></postalcodes>" +
+                                                          "</country></body></root>",
+                                                          StandardCharsets.UTF_8));
+
+    // Not present today
+    assertNull (aMgr.getPostalCountryOfCountry (AD));
+    assertNull (aMgr.getPostalCountryOfCountry ("AD"));
+    assertNull (aMgr.getPostalCodeExamples (AD));
+    assertTrue (aMgr.isValidPostalCode (AD, "AD123").isUndefined ());
+    assertTrue (aMgr.isValidPostalCode (AD, "any").isUndefined ());
+    assertTrue (aMgr.getAllAvailableCountries ().isEmpty ());
+
+    // But present in the past
+    final LocalDate aDate2000 = PDTFactory.createLocalDate (2000, Month.JANUARY, 1);
+    assertNotNull (aMgr.getPostalCountryOfCountry (AD, aDate2000));
+    assertTrue (aMgr.isValidPostalCode (AD, "AD123", aDate2000).isTrue ());
+    assertTrue (aMgr.isValidPostalCode (AD, "any", aDate2000).isFalse ());
+  }
+
+  @Test
+  public void testExpiredDefinitions ()
+  {
+    final PostalCodeFormat aFormat = new PostalCodeFormat ("XX",
+                                                           new CommonsArrayList<> (EPostalCodeFormatElement.NUMBER,
+                                                                                   EPostalCodeFormatElement.NUMBER));
+    final LocalDate aYesterday = PDTFactory.getCurrentLocalDate ().minusDays (1);
+    final DatedPostalCodeCountry aCountry = new DatedPostalCodeCountry ("XX",
+                                                                        new CommonsArrayList<> (new PostalCodeDefinition (null,
+                                                                                                                          aYesterday,
+                                                                                                                          new CommonsArrayList<> (aFormat),
+                                                                                                                          new CommonsArrayList<> (),
+                                                                                                                          null)));
+    assertNull (aCountry.getCurrentPostalCountry ());
+    assertEquals (0, aCountry.getFormatCount ());
+    // No format valid - nothing is valid
+    assertFalse (aCountry.isValidPostalCode ("12"));
+    assertFalse (aCountry.isValidPostalCode ("any"));
+    assertTrue (aCountry.isValidPostalCode ("12", aYesterday));
+    assertNull (aCountry.getPostalCountryOfDate (aYesterday.plusDays (1)));
+  }
+
+  @Test
+  public void testDefault ()
+  {
+    final PostalCodeManager aMgr = PostalCodeManager.DEFAULT_MGR;
+
+    // Micronesia changed the format in 1963
+    final Locale aFM = CountryCache.getInstance ().getCountry ("FM");
+    final LocalDate aDate1960 = PDTFactory.createLocalDate (1960, Month.JANUARY, 1);
+    final IPostalCodeCountry aFM1960 = aMgr.getPostalCountryOfCountry (aFM, aDate1960);
+    assertNotNull (aFM1960);
+    assertEquals (2, aFM1960.getFormatCount ());
+    final LocalDate aLastDay = PDTFactory.createLocalDate (1963, Month.JUNE, 30);
+    assertTrue (aMgr.isValidPostalCode (aFM, "12345-6789", aLastDay).isTrue ());
+    assertTrue (aMgr.isValidPostalCode (aFM, "12345-6789", aLastDay.plusDays (1)).isFalse ());
+    assertTrue (aMgr.isValidPostalCode (aFM, "12345").isTrue ());
+
+    // Andorra had no postal codes before 2004
+    final LocalDate aDate2000 = PDTFactory.createLocalDate (2000, Month.JANUARY, 1);
+    assertNull (aMgr.getPostalCountryOfCountry (AD, aDate2000));
+    assertTrue (aMgr.isValidPostalCode (AD, "AD123", aDate2000).isUndefined ());
+    assertEquals (1, aMgr.getPostalCountryOfCountry (AD).getFormatCount ());
+  }
+
+  @Test
+  public void testApply ()
+  {
+    final PostalCodeManager aMgr = new PostalCodeManager ();
+    assertEquals (2, aMgr.applyPostalCodeList (_createList ("CCNNN", true)).size ());
+    final IPostalCodeCountry aAT = aMgr.getPostalCountryOfCountry (AT);
+    final ICommonsList <ICommonsSet <Locale>> aNotified = new CommonsArrayList<> ();
+    aMgr.addChangeListener (aNotified::add);
+    assertNotNull (aAT);
+    assertTrue (aMgr.isValidPostalCodeDefaultNo (AD, "AD123"));
+
+    // Nothing changed
+    assertTrue (aMgr.applyPostalCodeList (_createList ("CCNNN", true)).isEmpty ());
+    assertTrue (aNotified.isEmpty ());
+
+    // Only AD changed - also on a frozen manager
+    aMgr.freeze ();
+    assertEquals (new CommonsHashSet<> (AD), aMgr.applyPostalCodeList (_createList ("CCNNNN", true)));
+    assertSame (aAT, aMgr.getPostalCountryOfCountry (AT));
+    assertFalse (aMgr.isValidPostalCodeDefaultNo (AD, "AD123"));
+    assertTrue (aMgr.isValidPostalCodeDefaultNo (AD, "AD1234"));
+    assertEquals (new CommonsArrayList<> (new CommonsHashSet<> (AD)), aNotified);
+
+    // AD removed
+    assertEquals (new CommonsHashSet<> (AD), aMgr.applyPostalCodeList (_createList (null, false)));
+    assertNull (aMgr.getPostalCountryOfCountry (AD));
+    assertSame (aAT, aMgr.getPostalCountryOfCountry ("AT"));
+  }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.postal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link PostalCodeFormatAutomaton}.
+ *
+ * @author Philip Helger
+ */
+public final class PostalCodeFormatAutomatonTest
+{
+  private static int _getMatchingFormatIndexRegEx (final List <PostalCodeFormat> aFormats, final String sPostalCode)
+  {
+    for (int i = 0; i < aFormats.size (); ++i)
+      if (aFormats.get (i).isValidPostalCode (sPostalCode))
+        return i;
+    return -1;
+  }
+
+  @Test
+  public void testMatchingFormatIndex ()
+  {
+    final IPostalCodeCountry aIM = PostalCodeManager.DEFAULT_MGR.getPostalCountryOfCountry ("IM");
+    assertNotNull (aIM);
+    assertEquals (0, aIM.getMatchingFormatIndex ("IM1 1AA"));
+    assertEquals (1, aIM.getMatchingFormatIndex ("IM12 1AA"));
+    assertEquals (-1, aIM.getMatchingFormatIndex ("IN1 1AA"));
+    assertEquals (-1, aIM.getMatchingFormatIndex ("im1 1AA"));
+    assertEquals (-1, aIM.getMatchingFormatIndex ("IM1 1A"));
+    assertEquals (-1, aIM.getMatchingFormatIndex (""));
+    assertEquals (-1, aIM.getMatchingFormatIndex (null));
+
+    final IPostalCodeCountry aIN = PostalCodeManager.DEFAULT_MGR.getPostalCountryOfCountry ("IN");
+    assertNotNull (aIN);
+    assertEquals (0, aIN.getMatchingFormatIndex ("110001"));
+    assertEquals (1, aIN.getMatchingFormatIndex ("110 001"));
+    assertEquals (-1, aIN.getMatchingFormatIndex ("110٠001"));
+  }
+
+  @Test
+  public void testSameAsRegEx ()
+  {
+    final char [] aAlphabet = "0123456789AZaz -_.".toCharArray ();
+    final Random aRandom = new Random (20161021);
+    for (final Locale aCountry : PostalCodeManager.DEFAULT_MGR.getAllAvailableCountries ())
+    {
+      final IPostalCodeCountry aPostalCountry = PostalCodeManager.DEFAULT_MGR.getPostalCountryOfCountry (aCountry);
+      final List <PostalCodeFormat> aFormats = aPostalCountry.getAllFormats ();
+      final PostalCodeFormatAutomaton aAutomaton = new PostalCodeFormatAutomaton (aPostalCountry.getISO (), aFormats);
+      assertTrue (aAutomaton.getStateCount () > 0);
+
+      for (final String sExample : aPostalCountry.getAllExamples ())
+      {
+        assertTrue (sExample, aAutomaton.getMatchingFormatIndex (sExample) >= 0);
+        // Mutate every single character of the example
+        for (int i = 0; i < sExample.length (); ++i)
+          for (final char c : aAlphabet)
+          {
+            final String sMutated = sExample.substring (0, i) + c + sExample.substring (i + 1);
+            assertEquals (sMutated,
+                          _getMatchingFormatIndexRegEx (aFormats, sMutated),
+                          aAutomaton.getMatchingFormatIndex (sMutated));
+          }
+        for (final String sOther : new String [] { sExample + "1", sExample + "A", sExample.substring (1) })
+          assertEquals (sOther,
+                        _getMatchingFormatIndexRegEx (aFormats, sOther),
+                        aAutomaton.getMatchingFormatIndex (sOther));
+      }
+
+      // Random strings
+      final String sISO = aPostalCountry.getISO ();
+      for (int n = 0; n < 200; ++n)
+      {
+        final StringBuilder aSB = new StringBuilder ();
+        if (aRandom.nextBoolean ())
+          aSB.append (sISO);
+        final int nLen = aRandom.nextInt (10);
+        for (int i = 0; i < nLen; ++i)
+          aSB.append (aAlphabet[aRandom.nextInt (aAlphabet.length)]);
+        final String s = aSB.toString ();
+        assertEquals (s, _getMatchingFormatIndexRegEx (aFormats, s), aAutomaton.getMatchingFormatIndex (s));
+      }
+    }
+  }
+}
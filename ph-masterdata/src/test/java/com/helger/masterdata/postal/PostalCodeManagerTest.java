@@ -19,7 +19,12 @@ package com.helger.masterdata.postal;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Locale;
 
 import org.junit.Test;
 
@@ -83,4 +88,39 @@ public final class PostalCodeManagerTest
     assertEquals ("^[0-9][0-9][0-9][0-9]$", aFormat.getRegExPattern ());
     assertEquals ("AM", aFormat.getISO ());
   }
+
+  @Test
+  public void testFreeze ()
+  {
+    final PostalCodeManager aMgr = new PostalCodeManager ();
+    final PostalCodeCountry aAT = new PostalCodeCountry ("AT");
+    aMgr.addCountry (aAT);
+    assertFalse (aMgr.isFrozen ());
+    assertSame (aAT, aMgr.getPostalCountryOfCountry ("at"));
+
+    aMgr.freeze ();
+    assertTrue (aMgr.isFrozen ());
+    // Freezing again has no effect
+    aMgr.freeze ();
+    assertSame (aAT, aMgr.getPostalCountryOfCountry ("AT"));
+    assertSame (aAT, aMgr.getPostalCountryOfCountry ("at"));
+    assertSame (aAT, aMgr.getPostalCountryOfCountry (new Locale ("de", "AT")));
+    assertNull (aMgr.getPostalCountryOfCountry ("DE"));
+    assertNull (aMgr.getPostalCountryOfCountry ((String) null));
+    assertNull (aMgr.getPostalCountryOfCountry ((Locale) null));
+    assertEquals (1, aMgr.getAllAvailableCountries ().size ());
+
+    try
+    {
+      aMgr.addCountry (new PostalCodeCountry ("DE"));
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {
+      // expected
+    }
+    assertNull (aMgr.getPostalCountryOfCountry ("DE"));
+
+    assertTrue (PostalCodeManager.DEFAULT_MGR.isFrozen ());
+  }
 }
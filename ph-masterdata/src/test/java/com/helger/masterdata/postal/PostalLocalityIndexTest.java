@@ -0,0 +1,103 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.postal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.helger.commons.io.resource.ClassPathResource;
+import com.helger.commons.locale.country.CountryCache;
+
+/**
+ * Test class for class {@link PostalLocalityIndex}.
+ *
+ * @author Philip Helger
+ */
+public final class PostalLocalityIndexTest
+{
+  private static final ClassPathResource AT_RES = new ClassPathResource ("codelists/plz-at.xml");
+  private static final PostalLocalityIndex AT = PostalLocalityIndex.readFromXML (AT_RES, "AT");
+
+  @Test
+  public void testExact ()
+  {
+    assertEquals ("AT", AT.getISO ());
+    assertEquals (2544, AT.getCount ());
+    assertEquals ("Wien", AT.getLocalityOfPostalCode ("1010"));
+    assertEquals ("Graz", AT.getLocalityOfPostalCode ("8010"));
+    assertEquals ("Übelbach", AT.getLocalityOfPostalCode ("8124"));
+    assertTrue (AT.containsPostalCode ("5342"));
+    assertFalse (AT.containsPostalCode ("0000"));
+    assertNull (AT.getLocalityOfPostalCode ("101"));
+    assertNull (AT.getLocalityOfPostalCode (null));
+  }
+
+  @Test
+  public void testPostalCodePrefix ()
+  {
+    final List <PostalLocality> aList = AT.getAllOfPostalCodePrefix ("80", 100);
+    assertFalse (aList.isEmpty ());
+    for (int i = 0; i < aList.size (); ++i)
+    {
+      assertTrue (aList.get (i).getPostalCode ().startsWith ("80"));
+      if (i > 0)
+        assertTrue (aList.get (i - 1).getPostalCode ().compareTo (aList.get (i).getPostalCode ()) < 0);
+    }
+    assertEquals (new PostalLocality ("8010", "Graz"), AT.getAllOfPostalCodePrefix ("801", 1).get (0));
+    assertEquals (3, AT.getAllOfPostalCodePrefix ("", 3).size ());
+    assertTrue (AT.getAllOfPostalCodePrefix ("0", 10).isEmpty ());
+    assertTrue (AT.getAllOfPostalCodePrefix ("99999", 10).isEmpty ());
+  }
+
+  @Test
+  public void testLocalityPrefix ()
+  {
+    List <PostalLocality> aList = AT.getAllOfLocalityPrefix ("gra", 1000);
+    assertTrue (aList.contains (new PostalLocality ("8010", "Graz")));
+    for (final PostalLocality aItem : aList)
+      assertTrue (aItem.getLocality (),
+                  PostalLocalityIndex.getNormalizedLocality (aItem.getLocality ()).startsWith ("gra"));
+    // Accent insensitive
+    assertTrue (aList.contains (new PostalLocality ("6673", "Grän")));
+
+    // Case and accent insensitive
+    aList = AT.getAllOfLocalityPrefix ("UBEL", 10);
+    assertEquals (1, aList.size ());
+    assertEquals ("8124", aList.get (0).getPostalCode ());
+    assertEquals (aList, AT.getAllOfLocalityPrefix ("übel", 10));
+
+    assertEquals (167, AT.getAllOfLocalityPrefix ("Wien", 1000).size ());
+    assertEquals (5, AT.getAllOfLocalityPrefix ("Wien", 5).size ());
+    assertTrue (AT.getAllOfLocalityPrefix ("xyz", 10).isEmpty ());
+  }
+
+  @Test
+  public void testManager ()
+  {
+    final PostalCodeManager aMgr = PostalCodeManager.DEFAULT_MGR;
+    assertNotNull (aMgr.getLocalityIndexOfCountry (CountryCache.getInstance ().getCountry ("AT")));
+    assertNull (aMgr.getLocalityIndexOfCountry (CountryCache.getInstance ().getCountry ("DE")));
+    assertEquals ("Wien", aMgr.getLocalityOfPostalCode (CountryCache.getInstance ().getCountry ("AT"), "1010"));
+  }
+}
@@ -0,0 +1,272 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.price;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.helger.commons.math.MathHelper;
+import com.helger.commons.mock.CommonsTestHelper;
+import com.helger.masterdata.currency.ECurrency;
+import com.helger.masterdata.vat.EVATType;
+import com.helger.masterdata.vat.IVATItem;
+import com.helger.masterdata.vat.VATItem;
+import com.helger.masterdata.vat.VATManager;
+
+/**
+ * Test class for class {@link ColumnarPriceGraduation}.
+ *
+ * @author Philip Helger
+ */
+public final class ColumnarPriceGraduationTest
+{
+  @Test
+  public void testCtor ()
+  {
+    final ColumnarPriceGraduation pg = new ColumnarPriceGraduation (ECurrency.DEFAULT_CURRENCY);
+    assertEquals (ECurrency.DEFAULT_CURRENCY, pg.getCurrency ());
+    assertTrue (pg.isEmpty ());
+    assertTrue (pg.getAllItems ().isEmpty ());
+    assertNull (pg.getSmallestMinimumQuantityItem ());
+    assertNull (pg.getLargestMinimumQuantityItem ());
+    assertNull (pg.getItemOfIndex (0));
+    try
+    {
+      // No item present
+      pg.getSinglePriceOfQuantity (1, VATManager.VATTYPE_NONE);
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {}
+
+    try
+    {
+      // quantity too low
+      pg.getTotalPriceOfQuantity (0, VATManager.VATTYPE_NONE);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+  }
+
+  @Test
+  public void testAdd ()
+  {
+    final IVATItem aVATItem = new VATItem ("ust20", EVATType.REGULAR, new BigDecimal ("20"), false);
+    final ColumnarPriceGraduation pg = new ColumnarPriceGraduation (ECurrency.DEFAULT_CURRENCY, 0);
+
+    final BigDecimal aNetAmount5 = new BigDecimal ("18.9");
+    final Price p5 = new Price (ECurrency.DEFAULT_CURRENCY, aNetAmount5, aVATItem);
+    assertTrue (pg.addItem (new PriceGraduationItem (5, aNetAmount5)).isChanged ());
+    try
+    {
+      // Quantity lower than the smallest item
+      pg.getSinglePriceOfQuantity (4, aVATItem);
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {}
+
+    // Insert in front
+    final BigDecimal aNetAmount1 = new BigDecimal ("19.9");
+    final Price p1 = new Price (ECurrency.DEFAULT_CURRENCY, aNetAmount1, aVATItem);
+    pg.addItem (1, aNetAmount1);
+
+    // Insert in the middle
+    final BigDecimal aNetAmount3 = new BigDecimal ("19.4");
+    final Price p3 = new Price (ECurrency.DEFAULT_CURRENCY, aNetAmount3, aVATItem);
+    pg.addItem (3, aNetAmount3);
+
+    assertEquals (3, pg.getSize ());
+    assertEquals (1, pg.getSmallestMinimumQuantityItem ().getMinimumQuantity ());
+    assertEquals (5, pg.getLargestMinimumQuantityItem ().getMinimumQuantity ());
+    assertEquals (aNetAmount1, pg.getAllItems ().get (0).getUnitNetAmount ());
+    assertEquals (aNetAmount3, pg.getAllItems ().get (1).getUnitNetAmount ());
+    assertEquals (aNetAmount5, pg.getAllItems ().get (2).getUnitNetAmount ());
+    assertEquals (3, pg.getItemOfIndex (1).getMinimumQuantity ());
+    assertNull (pg.getItemOfIndex (3));
+
+    assertEquals (p1, pg.getSinglePriceOfQuantity (1, aVATItem));
+    assertEquals (p1, pg.getSinglePriceOfQuantity (2, aVATItem));
+    assertEquals (p3, pg.getSinglePriceOfQuantity (3, aVATItem));
+    assertEquals (p3, pg.getSinglePriceOfQuantity (4, aVATItem));
+    assertEquals (p5, pg.getSinglePriceOfQuantity (5, aVATItem));
+    assertEquals (p5, pg.getSinglePriceOfQuantity (70000, aVATItem));
+    assertEquals (p3.getMultiplied (new BigDecimal ("4")), pg.getTotalPriceOfQuantity (4, aVATItem));
+    assertEquals (p5.getMultiplied (new BigDecimal ("15")), pg.getTotalPriceOfQuantity (15, aVATItem));
+
+    assertEquals (p3, pg.getPrice (new PriceGraduationItem (3, aNetAmount3), aVATItem));
+    try
+    {
+      // Different amount
+      pg.getPrice (new PriceGraduationItem (3, aNetAmount1), aVATItem);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+
+    try
+    {
+      // An item for the same minimum quantity already contained
+      pg.addItem (new PriceGraduationItem (3, aNetAmount1));
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+    assertEquals (3, pg.getSize ());
+
+    assertTrue (pg.clear ().isChanged ());
+    assertFalse (pg.clear ().isChanged ());
+    assertTrue (pg.isEmpty ());
+  }
+
+  @Test
+  public void testModifyItems ()
+  {
+    final IVATItem aVATItem = new VATItem ("ust20", EVATType.REGULAR, new BigDecimal ("20"), false);
+    final ColumnarPriceGraduation pg = new ColumnarPriceGraduation (ECurrency.DEFAULT_CURRENCY, 0);
+    pg.addItem (1, new BigDecimal ("10"));
+    pg.addItem (5, new BigDecimal ("8"));
+    pg.addItem (10, new BigDecimal ("6"));
+
+    // Always the same item
+    final IMutablePriceGraduationItem aItem5 = pg.getItemOfIndex (1);
+    assertSame (aItem5, pg.getItemOfIndex (1));
+    assertSame (aItem5, pg.getAllItems ().get (1));
+
+    // Change the amount
+    assertTrue (aItem5.setUnitNetAmount (new BigDecimal ("7")).isChanged ());
+    assertFalse (aItem5.setUnitNetAmount (new BigDecimal ("7")).isChanged ());
+    assertEquals (new BigDecimal ("7"), pg.getUnitNetAmountOfQuantity (6));
+    assertEquals (new Price (ECurrency.DEFAULT_CURRENCY, new BigDecimal ("7"), aVATItem),
+                  pg.getPrice (aItem5, aVATItem));
+
+    // Change the quantity - the item moves to the end
+    final IMutablePriceGraduationItem aItem10 = pg.getLargestMinimumQuantityItem ();
+    assertTrue (aItem5.setMinimumQuantity (20).isChanged ());
+    assertFalse (aItem5.setMinimumQuantity (20).isChanged ());
+    assertEquals (3, pg.getSize ());
+    assertSame (aItem5, pg.getLargestMinimumQuantityItem ());
+    assertSame (aItem10, pg.getItemOfIndex (1));
+    assertEquals (10, aItem10.getMinimumQuantity ());
+    assertEquals (new BigDecimal ("10"), pg.getUnitNetAmountOfQuantity (9));
+    assertEquals (new BigDecimal ("6"), pg.getUnitNetAmountOfQuantity (19));
+    assertEquals (new BigDecimal ("7"), pg.getUnitNetAmountOfQuantity (20));
+
+    // And to the front
+    assertTrue (aItem5.setMinimumQuantity (2).isChanged ());
+    assertSame (aItem5, pg.getItemOfIndex (1));
+    assertSame (aItem10, pg.getLargestMinimumQuantityItem ());
+    assertEquals (new BigDecimal ("7"), pg.getUnitNetAmountOfQuantity (2));
+
+    // Another item with the same quantity
+    try
+    {
+      aItem5.setMinimumQuantity (10);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+    assertEquals (2, aItem5.getMinimumQuantity ());
+    assertEquals (3, pg.getSize ());
+
+    // Items added later keep the existing items in place
+    pg.addItem (3, new BigDecimal ("6.5"));
+    assertSame (aItem5, pg.getItemOfIndex (1));
+    assertSame (aItem10, pg.getLargestMinimumQuantityItem ());
+    assertEquals (3, pg.getItemOfIndex (2).getMinimumQuantity ());
+
+    // Removed items keep their values but are detached
+    assertTrue (pg.clear ().isChanged ());
+    assertEquals (2, aItem5.getMinimumQuantity ());
+    assertEquals (new BigDecimal ("7"), aItem5.getUnitNetAmount ());
+    assertTrue (aItem5.setMinimumQuantity (4).isChanged ());
+    assertTrue (pg.isEmpty ());
+    pg.addItem (aItem5);
+    assertEquals (4, pg.getSmallestMinimumQuantityItem ().getMinimumQuantity ());
+    assertNotSame (aItem5, pg.getSmallestMinimumQuantityItem ());
+  }
+
+  @Test
+  public void testSameAsPriceGraduation ()
+  {
+    final IVATItem aVATItem = new VATItem ("ust20", EVATType.REGULAR, new BigDecimal ("20"), false);
+    final Random aRandom = new Random (4711);
+    for (int nRun = 0; nRun < 20; ++nRun)
+    {
+      final PriceGraduation pg1 = new PriceGraduation (ECurrency.EUR);
+      final ColumnarPriceGraduation pg2 = new ColumnarPriceGraduation (ECurrency.EUR);
+      for (int i = 0; i < 50; ++i)
+      {
+        final int nQuantity = 1 + aRandom.nextInt (500);
+        if (pg1.getAllItems ().containsAny (x -> x.getMinimumQuantity () == nQuantity))
+          continue;
+        final BigDecimal aNetAmount = BigDecimal.valueOf (aRandom.nextInt (100000), 2);
+        pg1.addItem (nQuantity, aNetAmount);
+        pg2.addItem (nQuantity, aNetAmount);
+      }
+      assertEquals (pg1.getAllItems ().getAllMapped (IPriceGraduationItem::getMinimumQuantity),
+                    pg2.getAllItems ().getAllMapped (IPriceGraduationItem::getMinimumQuantity));
+      assertEquals (pg1.getAllItems ().getAllMapped (IPriceGraduationItem::getUnitNetAmount),
+                    pg2.getAllItems ().getAllMapped (IPriceGraduationItem::getUnitNetAmount));
+      assertEquals (new ColumnarPriceGraduation (pg1), pg2);
+
+      final int nSmallest = pg1.getSmallestMinimumQuantityItem ().getMinimumQuantity ();
+      for (int nQuantity = nSmallest; nQuantity < 600; ++nQuantity)
+        assertEquals (pg1.getTotalPriceOfQuantity (nQuantity, aVATItem),
+                      pg2.getTotalPriceOfQuantity (nQuantity, aVATItem));
+    }
+  }
+
+  @Test
+  public void testStdMethods ()
+  {
+    final ColumnarPriceGraduation pg1 = new ColumnarPriceGraduation (ECurrency.DEFAULT_CURRENCY);
+    final ColumnarPriceGraduation pg2 = new ColumnarPriceGraduation (ECurrency.DEFAULT_CURRENCY, 100);
+    CommonsTestHelper.testDefaultImplementationWithEqualContentObject (pg1, pg2);
+
+    for (int i = 1; i <= 100; ++i)
+    {
+      final BigDecimal aNetAmount = new BigDecimal ("19.9").add (MathHelper.toBigDecimal (i));
+      pg1.addItem (i, aNetAmount);
+      pg2.addItem (i, aNetAmount);
+      CommonsTestHelper.testDefaultImplementationWithEqualContentObject (pg1, pg2);
+    }
+    CommonsTestHelper.testDefaultImplementationWithDifferentContentObject (pg1,
+                                                                            new ColumnarPriceGraduation (ECurrency.GBP));
+  }
+
+  @Test
+  public void testStatic ()
+  {
+    final ColumnarPriceGraduation pg = ColumnarPriceGraduation.createSimple (new Price (ECurrency.AMD,
+                                                                                        new BigDecimal ("4.9"),
+                                                                                        VATManager.VATTYPE_NONE));
+    assertFalse (pg.isEmpty ());
+    assertEquals (1, pg.getSize ());
+  }
+}
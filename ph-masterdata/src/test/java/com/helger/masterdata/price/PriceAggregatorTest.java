@@ -0,0 +1,104 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.price;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+import com.helger.masterdata.currency.ECurrency;
+import com.helger.masterdata.vat.EVATType;
+import com.helger.masterdata.vat.IVATItem;
+import com.helger.masterdata.vat.VATItem;
+
+/**
+ * Test class for class {@link PriceAggregator}.
+ *
+ * @author Philip Helger
+ */
+public final class PriceAggregatorTest
+{
+  private static final IVATItem VAT20 = new VATItem ("v20", EVATType.REGULAR, new BigDecimal ("20"), false);
+  private static final IVATItem VAT10 = new VATItem ("v10", EVATType.REDUCED, new BigDecimal ("10"), false);
+
+  @Test
+  public void testEmpty ()
+  {
+    final PriceAggregator aAggregator = new PriceAggregator ();
+    assertTrue (aAggregator.isEmpty ());
+    assertTrue (aAggregator.getAllTotals ().isEmpty ());
+  }
+
+  @Test
+  public void testGrouping ()
+  {
+    final ICommonsList <IPrice> aPrices = new CommonsArrayList<> ();
+    // 3 * 0.333 = 0.999 -> tax on the total and not per line
+    for (int i = 0; i < 3; ++i)
+      aPrices.add (new Price (ECurrency.EUR, new BigDecimal ("0.333"), VAT20));
+    aPrices.add (new Price (ECurrency.EUR, new BigDecimal ("10"), VAT10));
+    aPrices.add (new Price (ECurrency.USD, new BigDecimal ("10"), VAT10));
+
+    final ICommonsList <PriceTotal> aTotals = PriceAggregator.getAllTotals (aPrices, false);
+    assertEquals (3, aTotals.size ());
+
+    PriceTotal aTotal = aTotals.get (0);
+    assertEquals (ECurrency.EUR, aTotal.getCurrency ());
+    assertEquals (VAT20, aTotal.getVATItem ());
+    assertEquals (3, aTotal.getPriceCount ());
+    assertEquals (new BigDecimal ("1.00"), aTotal.getNetValue ());
+    // 0.999 * 0.2 = 0.1998
+    assertEquals (new BigDecimal ("0.20"), aTotal.getTaxValue ());
+    assertEquals (new BigDecimal ("1.20"), aTotal.getGrossValue ());
+
+    aTotal = aTotals.get (1);
+    assertEquals (ECurrency.EUR, aTotal.getCurrency ());
+    assertEquals (VAT10, aTotal.getVATItem ());
+    assertEquals (new BigDecimal ("10.00"), aTotal.getNetValue ());
+    assertEquals (new BigDecimal ("1.00"), aTotal.getTaxValue ());
+    assertEquals (new BigDecimal ("11.00"), aTotal.getGrossAmount ().getValue ());
+
+    aTotal = aTotals.get (2);
+    assertEquals (ECurrency.USD, aTotal.getCurrency ());
+    assertEquals (1, aTotal.getPriceCount ());
+  }
+
+  @Test
+  public void testParallel ()
+  {
+    final ICommonsList <IPrice> aPrices = new CommonsArrayList<> ();
+    for (int i = 0; i < 10_000; ++i)
+      aPrices.add (new Price (i % 3 == 0 ? ECurrency.USD : ECurrency.EUR,
+                              BigDecimal.valueOf (i, 3),
+                              i % 2 == 0 ? VAT10 : VAT20));
+
+    final ICommonsList <PriceTotal> aSerial = PriceAggregator.getAllTotals (aPrices, false);
+    final ICommonsList <PriceTotal> aParallel = PriceAggregator.getAllTotals (aPrices, true);
+    assertEquals (4, aSerial.size ());
+    assertEquals (aSerial, aParallel);
+
+    int nCount = 0;
+    for (final PriceTotal aTotal : aSerial)
+      nCount += aTotal.getPriceCount ();
+    assertEquals (aPrices.size (), nCount);
+  }
+}
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.swift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link ByteBufferCharSequence}.
+ *
+ * @author Philip Helger
+ */
+public final class ByteBufferCharSequenceTest
+{
+  @Test
+  public void testSubSequence ()
+  {
+    final ByteBuffer aBuffer = ByteBuffer.wrap ("xxDE89 370400440532013000yy".getBytes (StandardCharsets.UTF_8));
+    final ByteBufferCharSequence aCS = new ByteBufferCharSequence (aBuffer, 2, 24);
+    assertEquals ("DE89 370400440532013000", aCS.toString ());
+
+    final CharSequence aSub = aCS.subSequence (5, 13);
+    assertEquals (8, aSub.length ());
+    assertEquals ('3', aSub.charAt (0));
+    assertEquals ("37040044", aSub.toString ());
+    assertEquals ("0400", aSub.subSequence (2, 6).toString ());
+    assertEquals (0, aCS.subSequence (24, 24).length ());
+
+    for (final int [] aRange : new int [] [] { { -1, 2 }, { 2, 1 }, { 0, 25 } })
+      try
+      {
+        aCS.subSequence (aRange[0], aRange[1]);
+        fail ();
+      }
+      catch (final IndexOutOfBoundsException ex)
+      {}
+  }
+
+  @Test
+  public void testNonASCII ()
+  {
+    final byte [] aBytes = "DE€".getBytes (StandardCharsets.UTF_8);
+    final ByteBufferCharSequence aCS = new ByteBufferCharSequence (ByteBuffer.wrap (aBytes));
+    // One char per byte, but decoded as UTF-8 in toString
+    assertEquals (aBytes.length, aCS.length ());
+    assertEquals (aBytes.length - 2, aCS.subSequence (2, aBytes.length).length ());
+    assertEquals ("DE€", aCS.toString ());
+    assertEquals ("€", aCS.subSequence (2, aBytes.length).toString ());
+  }
+}
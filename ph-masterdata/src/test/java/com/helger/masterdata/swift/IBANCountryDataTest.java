@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.swift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.ext.ICommonsList;
+
+/**
+ * Test class for class {@link IBANCountryData}.
+ *
+ * @author Philip Helger
+ */
+public final class IBANCountryDataTest
+{
+  @Test
+  public void testLayoutMatcherEqualsPattern ()
+  {
+    for (final String sIBAN : IBANManagerTest.VALID_IBANS)
+    {
+      final String sRealIBAN = IBANManager.unifyIBAN (sIBAN);
+      final IBANCountryData aData = IBANManager.getCountryData (sRealIBAN.substring (0, 2));
+      assertNotNull (aData);
+      if (aData.getLayoutMatcher () != null)
+      {
+        assertTrue (aData.hasPattern ());
+        assertTrue (sIBAN, aData.matchesPattern (sRealIBAN));
+        assertTrue (sIBAN, aData.getPattern ().matcher (sRealIBAN).matches ());
+
+        // Replace each char with an illegal one and compare with the RegEx
+        for (int i = 0; i < sRealIBAN.length (); ++i)
+          for (final char c : new char [] { '0', 'A', 'x', '-' })
+          {
+            final String sModified = sRealIBAN.substring (0, i) + c + sRealIBAN.substring (i + 1);
+            assertEquals (sModified,
+                          aData.getPattern ().matcher (sModified).matches (),
+                          aData.matchesPattern (sModified));
+          }
+      }
+    }
+  }
+
+  @Test
+  public void testParseToElementOffsets ()
+  {
+    for (final String sIBAN : IBANManagerTest.VALID_IBANS)
+    {
+      final String sRealIBAN = IBANManager.unifyIBAN (sIBAN);
+      final IBANCountryData aData = IBANManager.getCountryData (sRealIBAN.substring (0, 2));
+      final ICommonsList <IBANElementValue> aValues = aData.parseToElementValues (sIBAN);
+      assertEquals (aValues.size (), aData.getElementCount ());
+
+      final int [] aOffsets = new int [aData.getElementCount () * 2];
+      assertTrue (aData.parseToElementOffsets (sIBAN, aOffsets));
+      for (int i = 0; i < aValues.size (); ++i)
+      {
+        assertEquals (aValues.get (i).getElement (), aData.getElementAt (i));
+        // The test IBANs only use spaces as separators
+        final String sPart = sIBAN.substring (aOffsets[i * 2], aOffsets[i * 2 + 1]).replace (" ", "");
+        assertEquals (aValues.get (i).getValue (), sPart);
+        assertEquals (sRealIBAN.substring (aData.getElementOffset (i),
+                                           aData.getElementOffset (i) + aData.getElementAt (i).getLength ()),
+                      sPart);
+      }
+
+      // Invalid lengths
+      assertFalse (aData.parseToElementOffsets (sIBAN + "0", aOffsets));
+      assertFalse (aData.parseToElementOffsets (sRealIBAN.substring (1), aOffsets));
+    }
+  }
+}
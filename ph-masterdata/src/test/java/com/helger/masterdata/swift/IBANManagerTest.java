@@ -27,6 +27,8 @@ import java.util.Locale;
 
 import org.junit.Test;
 
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
 import com.helger.commons.datetime.PDTFactory;
 import com.helger.commons.string.StringParser;
 
@@ -158,4 +160,52 @@ public final class IBANManagerTest
                     StringParser.parseInt (sIBAN.substring (2, 4), -1),
                     IBANManager.createChecksumOfNewIBAN (sIBAN.substring (0, 2), sIBAN.substring (4)));
   }
+
+  @Test
+  public void testAllocationFreeValidity ()
+  {
+    final ICommonsList <String> aIBANs = new CommonsArrayList <> ();
+    for (final String sIBAN : VALID_IBANS)
+    {
+      aIBANs.add (sIBAN);
+      aIBANs.add (sIBAN.toLowerCase (Locale.US));
+      aIBANs.add ("-" + sIBAN + "/");
+      aIBANs.add (sIBAN + "0");
+      aIBANs.add (sIBAN.substring (0, sIBAN.length () - 1));
+      // Swap check digits
+      aIBANs.add (sIBAN.substring (0, 2) + sIBAN.charAt (3) + sIBAN.charAt (2) + sIBAN.substring (4));
+      // Change the last character
+      final char cLast = sIBAN.charAt (sIBAN.length () - 1);
+      aIBANs.add (sIBAN.substring (0, sIBAN.length () - 1) + (cLast == '0' ? '1' : '0'));
+    }
+    aIBANs.add ("");
+    aIBANs.add ("AT6");
+    aIBANs.add ("XX611904300234573201");
+    aIBANs.add ("At611904300234573201");
+    aIBANs.add ("AT61 1904 3002 3457 320\u0131");
+    aIBANs.add ("\u0131T611904300234573201");
+    aIBANs.add ("TN5910006035183598478831");
+    aIBANs.add ("TN2710006035183598478836");
+
+    final CharSequence [] aArray = aIBANs.toArray (new CharSequence [aIBANs.size ()]);
+    final boolean [] aResults = new boolean [aArray.length];
+    int nExpectedValid = 0;
+    for (final String sIBAN : aIBANs)
+      if (IBANManager.isValidIBAN (sIBAN))
+        nExpectedValid++;
+    assertEquals (nExpectedValid, IBANManager.validateIBANs (aArray, aResults));
+
+    for (int i = 0; i < aArray.length; ++i)
+    {
+      final String sIBAN = aIBANs.get (i);
+      for (final boolean bNoCountry : new boolean [] { true, false })
+      {
+        final boolean bExpected = IBANManager.isValidIBAN (sIBAN, bNoCountry);
+        assertEquals (sIBAN, bExpected, IBANManager.isValidIBAN (sIBAN, 0, sIBAN.length (), bNoCountry));
+        final char [] aChars = ("  " + sIBAN + " ").toCharArray ();
+        assertEquals (sIBAN, bExpected, IBANManager.isValidIBAN (aChars, 2, sIBAN.length (), bNoCountry));
+      }
+      assertEquals (sIBAN, IBANManager.isValidIBAN (sIBAN), aResults[i]);
+    }
+  }
 }
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.swift;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compare the String based {@link IBANManager#isValidIBAN(String)} with the
+ * allocation free batch API
+ * {@link IBANManager#validateIBANs(CharSequence[], boolean[])}.
+ *
+ * @author Philip Helger
+ */
+public final class MainIBANValidationBenchmark
+{
+  private static final Logger s_aLogger = LoggerFactory.getLogger (MainIBANValidationBenchmark.class);
+  private static final int RUNS = 10;
+  private static final int ITERATIONS = 20_000;
+
+  private static long _runString (final CharSequence [] aIBANs)
+  {
+    long nValid = 0;
+    for (int i = 0; i < ITERATIONS; ++i)
+      for (final CharSequence aIBAN : aIBANs)
+        if (IBANManager.isValidIBAN (aIBAN.toString ()))
+          nValid++;
+    return nValid;
+  }
+
+  private static long _runBatch (final CharSequence [] aIBANs)
+  {
+    final boolean [] aResults = new boolean [aIBANs.length];
+    long nValid = 0;
+    for (int i = 0; i < ITERATIONS; ++i)
+      nValid += IBANManager.validateIBANs (aIBANs, aResults);
+    return nValid;
+  }
+
+  public static void main (final String [] args)
+  {
+    final String [] aSource = IBANManagerTest.VALID_IBANS;
+    final CharSequence [] aIBANs = new CharSequence [aSource.length * 2];
+    for (int i = 0; i < aSource.length; ++i)
+    {
+      aIBANs[i * 2] = aSource[i];
+      // And one invalid variant
+      aIBANs[i * 2 + 1] = aSource[i].substring (0, aSource[i].length () - 1) + "X";
+    }
+
+    for (int nRun = 0; nRun < RUNS; ++nRun)
+    {
+      long nStart = System.nanoTime ();
+      final long nValidString = _runString (aIBANs);
+      final long nStringNanos = System.nanoTime () - nStart;
+
+      nStart = System.nanoTime ();
+      final long nValidBatch = _runBatch (aIBANs);
+      final long nBatchNanos = System.nanoTime () - nStart;
+
+      if (nValidString != nValidBatch)
+        throw new IllegalStateException ("Different results: " + nValidString + " vs. " + nValidBatch);
+
+      final long nChecks = (long) ITERATIONS * aIBANs.length;
+      s_aLogger.info ("Run " +
+                      nRun +
+                      ": String " +
+                      (nStringNanos / nChecks) +
+                      " ns/IBAN; batch " +
+                      (nBatchNanos / nChecks) +
+                      " ns/IBAN");
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.swift;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.helger.commons.collection.ext.CommonsArrayList;
+import com.helger.commons.collection.ext.ICommonsList;
+
+/**
+ * Test class for class {@link SWIFTFileValidator}.
+ *
+ * @author Philip Helger
+ */
+public final class SWIFTFileValidatorTest
+{
+  @Test
+  public void testIBANCSV () throws IOException
+  {
+    final ICommonsList <String> aLines = new CommonsArrayList <> ();
+    aLines.add ("id;iban;bic");
+    for (int i = 0; i < 20; ++i)
+      for (final String sIBAN : IBANManagerTest.VALID_IBANS)
+      {
+        aLines.add (i + ";\"" + sIBAN + "\";MARKDEFF");
+        aLines.add (i + ";" + sIBAN.substring (0, sIBAN.length () - 1) + ";MARKDEFF");
+      }
+    aLines.add ("");
+    aLines.add ("x;XX611904300234573201;MARKDEFF");
+    aLines.add ("y;AT621904300234573201;MARKDEFF");
+    aLines.add ("z");
+
+    final Path aFile = Files.createTempFile ("iban", ".csv");
+    final ForkJoinPool aPool = new ForkJoinPool (4);
+    try
+    {
+      Files.write (aFile, (String.join ("\r\n", aLines) + "\r\n").getBytes (StandardCharsets.UTF_8));
+
+      for (final int nChunkSize : new int [] { 1, 100, 4096, SWIFTFileValidator.DEFAULT_CHUNK_SIZE })
+      {
+        final SWIFTFileValidationReport aReport = SWIFTFileValidator.createForCSV (ESWIFTCodeType.IBAN, ';', 1)
+                                                                    .setHeaderLineCount (1)
+                                                                    .setChunkSize (nChunkSize)
+                                                                    .validate (aFile, aPool);
+        assertEquals (aLines.size () - 1, aReport.getLineCount ());
+
+        // Compare with the line based check
+        int nIndex = 0;
+        long nOffset = 0;
+        for (int nLine = 0; nLine < aLines.size (); ++nLine)
+        {
+          final String sLine = aLines.get (nLine);
+          if (nLine > 0 && !sLine.isEmpty ())
+          {
+            final String [] aParts = sLine.split (";");
+            final String sIBAN = aParts.length > 1 ? aParts[1].replace ("\"", "") : "";
+            final ESWIFTCheckResult eExpected = IBANManager.getCheckResult (sIBAN);
+            if (eExpected.isInvalid ())
+            {
+              assertEquals (nLine + 1, aReport.getInvalidLineNumber (nIndex));
+              assertEquals (nOffset, aReport.getInvalidByteOffset (nIndex));
+              assertEquals (eExpected, aReport.getInvalidResult (nIndex));
+              nIndex++;
+            }
+          }
+          nOffset += sLine.length () + 2;
+        }
+        assertEquals (nIndex, aReport.getInvalidCount ());
+        assertEquals (1, aReport.getInvalidCount (ESWIFTCheckResult.UNKNOWN_COUNTRY));
+        assertEquals (IBANManagerTest.VALID_IBANS.length * 20 + 1,
+                      aReport.getInvalidCount (ESWIFTCheckResult.INVALID_LENGTH));
+      }
+    }
+    finally
+    {
+      aPool.shutdown ();
+      Files.delete (aFile);
+    }
+  }
+
+  @Test
+  public void testBICFixedWidth () throws IOException
+  {
+    final Path aFile = Files.createTempFile ("bic", ".txt");
+    try
+    {
+      Files.write (aFile,
+                   ("0001MARKDEFF   X\n" +
+                    "0002GENODEF1JEVX\n" +
+                    "0003MARK1EFF   X\n" +
+                    "0004MARKDEF    X\n" +
+                    "0005\n" +
+                    "0006RZTIAT22263X").getBytes (StandardCharsets.UTF_8));
+      final SWIFTFileValidationReport aReport = SWIFTFileValidator.createForFixedWidth (ESWIFTCodeType.BIC, 4, 11)
+                                                                  .validate (aFile);
+      assertEquals (6, aReport.getLineCount ());
+      assertEquals (3, aReport.getInvalidCount ());
+      assertEquals (3, aReport.getInvalidLineNumber (0));
+      assertEquals (34, aReport.getInvalidByteOffset (0));
+      assertEquals (ESWIFTCheckResult.INVALID_LAYOUT, aReport.getInvalidResult (0));
+      assertEquals (4, aReport.getInvalidLineNumber (1));
+      assertEquals (ESWIFTCheckResult.INVALID_LENGTH, aReport.getInvalidResult (1));
+      assertEquals (5, aReport.getInvalidLineNumber (2));
+      assertEquals (ESWIFTCheckResult.INVALID_LENGTH, aReport.getInvalidResult (2));
+    }
+    finally
+    {
+      Files.delete (aFile);
+    }
+  }
+
+  @Test
+  public void testEmptyFile () throws IOException
+  {
+    final Path aFile = Files.createTempFile ("empty", ".csv");
+    try
+    {
+      final SWIFTFileValidationReport aReport = SWIFTFileValidator.createForCSV (ESWIFTCodeType.IBAN, ',', 0)
+                                                                  .validate (aFile);
+      assertEquals (0, aReport.getLineCount ());
+      assertFalse (aReport.hasInvalidRows ());
+    }
+    finally
+    {
+      Files.delete (aFile);
+    }
+  }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.unit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link UnitConversion}.
+ *
+ * @author Philip Helger
+ */
+public final class UnitConversionTest
+{
+  private static void _check (final String sConversion, final String sExpectedFactor, final String sExpectedBaseUnit)
+  {
+    final UnitConversion aConversion = UnitConversion.parse (sConversion);
+    assertNotNull (sConversion, aConversion);
+    assertEquals (sConversion, 0, new BigDecimal (sExpectedFactor).compareTo (aConversion.getFactor ()));
+    assertEquals (sConversion, sExpectedBaseUnit, aConversion.getBaseUnit ());
+  }
+
+  @Test
+  public void testParse ()
+  {
+    _check ("kg", "1", "kg");
+    _check ("3 600 s", "3600", "s");
+    _check ("10⁻³ kg", "0.001", "kg");
+    _check ("10³ m", "1000", "m");
+    _check ("0,453 592 37 kg", "0.45359237", "kg");
+    _check ("1,745 329 x 10⁻² rad", "0.01745329", "rad");
+    _check ("2,011684 x 10 m", "20.11684", "m");
+    _check ("10⁻8", "0.00000001", UnitConversion.BASE_UNIT_ONE);
+    _check ("1 x K", "1", "K");
+    _check ("1/K", "1", "1/K");
+    _check ("1,8 1/K", "1.8", "1/K");
+    _check ("kg × m²", "1", "kg·m²");
+    _check ("kg x m²", "1", "kg·m²");
+    _check ("kg·m²", "1", "kg·m²");
+
+    final UnitConversion aFraction = UnitConversion.parse ("5/9 x K");
+    assertNotNull (aFraction);
+    assertEquals ("K", aFraction.getBaseUnit ());
+    assertEquals (5.0 / 9, aFraction.getFactorDouble (), 1e-15);
+  }
+
+  @Test
+  public void testParseUnsupported ()
+  {
+    assertNull (UnitConversion.parse (null));
+    assertNull (UnitConversion.parse (""));
+    assertNull (UnitConversion.parse ("= gon"));
+    assertNull (UnitConversion.parse ("-log10"));
+  }
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2014-2017 Philip Helger (www.helger.com)
+ * philip[at]helger[dot]com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.helger.masterdata.unit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+ * Test class for class {@link UnitConverter}.
+ *
+ * @author Philip Helger
+ */
+public final class UnitConverterTest
+{
+  private static final double DELTA = 1e-9;
+
+  @Test
+  public void testConvert ()
+  {
+    final UnitConverter aConverter = UnitConverter.getDefaultInstance ();
+    assertTrue (aConverter.getConvertibleUnitCount () > 1000);
+
+    assertEquals (1500, aConverter.convert (1.5, "KGM", "GRM"), DELTA);
+    assertEquals (2.5, aConverter.convert (2500, "KGM", "TNE"), DELTA);
+    assertEquals (0.45359237, aConverter.convert (1, "LBR", "KGM"), DELTA);
+    assertEquals (90, aConverter.convert (1.5, "HUR", "MIN"), DELTA);
+    assertEquals (7200, aConverter.convert (2, "HUR", "SEC"), DELTA);
+    assertEquals (1.2, aConverter.convert (1200, "MTR", "KMT"), DELTA);
+    assertEquals (0.5, aConverter.convert (500, "LTR", "MTQ"), DELTA);
+    assertEquals (42, aConverter.convert (42, "KGM", "KGM"), 0);
+
+    assertEquals (0,
+                  new BigDecimal ("1500").compareTo (aConverter.convert (new BigDecimal ("1.5"), "KGM", "GRM")));
+    assertEquals (0, new BigDecimal ("0.001").compareTo (aConverter.getConversionFactor ("GRM", "KGM")));
+  }
+
+  @Test
+  public void testNotConvertible ()
+  {
+    final UnitConverter aConverter = UnitConverter.getDefaultInstance ();
+    assertFalse (aConverter.isConvertible ("KGM", "MTR"));
+    assertFalse (aConverter.isConvertible ("HUR", "LTR"));
+    assertFalse (aConverter.isConvertible ("KGM", null));
+    assertFalse (aConverter.isConvertible ("KGM", "XYZ"));
+    assertNull (aConverter.getConversionFactor ("KGM", "MTR"));
+
+    // Temperatures with an offset
+    assertNull (aConverter.getConversionOfUnit ("CEL"));
+    assertFalse (aConverter.isConvertible ("CEL", "KEL"));
+    assertNotNull (aConverter.getConversionOfUnit ("KEL"));
+
+    try
+    {
+      aConverter.convert (1, "KGM", "MTR");
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {
+      // expected
+    }
+  }
+
+  @Test
+  public void testAngle ()
+  {
+    final UnitConverter aConverter = UnitConverter.getDefaultInstance ();
+    assertTrue (aConverter.isConvertible ("DD", "A91"));
+    assertEquals (100, aConverter.convert (90, "DD", "A91"), 1e-3);
+  }
+
+  @Test
+  public void testConvertAll ()
+  {
+    final UnitConverter aConverter = UnitConverter.getDefaultInstance ();
+    final double [] aValues = new double [] { 1, 2.5, 0.001 };
+    aConverter.convertAll (aValues, aValues, "KGM", "GRM");
+    assertArrayEquals (new double [] { 1000, 2500, 1 }, aValues, DELTA);
+
+    final double [] aDst = new double [4];
+    final int nFailed = aConverter.convertAll (new double [] { 1, 500, 2, 3 },
+                                               new String [] { "KGM", "GRM", "TNE", "MTR" },
+                                               aDst,
+                                               "KGM");
+    assertEquals (1, nFailed);
+    assertEquals (1, aDst[0], DELTA);
+    assertEquals (0.5, aDst[1], DELTA);
+    assertEquals (2000, aDst[2], DELTA);
+    assertTrue (Double.isNaN (aDst[3]));
+  }
+
+  @Test
+  public void testScalarSameAsBulk ()
+  {
+    final UnitConverter aConverter = UnitConverter.getDefaultInstance ();
+    final double [] aValues = new double [] { 1, 0.1, 1.0 / 3, 123456.789, 1e-7, 98765.4321e10 };
+    final String [] aCodes = new String [] { "KGM", "GRM", "LBR", "ONZ", "TNE", "MTR", "INH", "FOT", "KMT", "HUR" };
+    for (final String sFrom : aCodes)
+      for (final String sTo : aCodes)
+        if (aConverter.isConvertible (sFrom, sTo))
+        {
+          final double [] aDst = new double [aValues.length];
+          aConverter.convertAll (aValues, aDst, sFrom, sTo);
+          final double [] aDst2 = new double [aValues.length];
+          final String [] aFrom = new String [aValues.length];
+          Arrays.fill (aFrom, sFrom);
+          assertEquals (0, aConverter.convertAll (aValues, aFrom, aDst2, sTo));
+          for (int i = 0; i < aValues.length; ++i)
+          {
+            // Exactly the same result
+            final double dScalar = aConverter.convert (aValues[i], sFrom, sTo);
+            assertEquals (Double.doubleToLongBits (dScalar), Double.doubleToLongBits (aDst[i]));
+            assertEquals (Double.doubleToLongBits (dScalar), Double.doubleToLongBits (aDst2[i]));
+          }
+        }
+  }
+}
@@ -17,10 +17,18 @@
 package com.helger.masterdata.unit;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Locale;
 
 import org.junit.Test;
 
+import com.helger.masterdata.EUNCodelistStatus;
+
 /**
  * Test class for class {@link UnitManager}.
  *
@@ -34,5 +42,73 @@ public final class UnitManagerTest
     final UnitManager aMgr = UnitManager.getDefaultInstance ();
     assertNotNull (aMgr);
     assertEquals (13, aMgr.getAllSectors ().size ());
+    assertEquals (1362, aMgr.getUnitCount ());
+    assertEquals (1362, aMgr.getAllUnits ().size ());
+  }
+
+  @Test
+  public void testCommonCode ()
+  {
+    final UnitManager aMgr = UnitManager.getDefaultInstance ();
+    final UnitItem aKGM = aMgr.getUnitOfCommonCode ("KGM");
+    assertNotNull (aKGM);
+    assertEquals ("KGM", aKGM.getID ());
+    assertEquals ("kilogram", aKGM.getDisplayText (Locale.ENGLISH));
+    assertEquals ("kg", aKGM.getSymbol ());
+    assertEquals (EUnitLevel.NORMATIVE, aKGM.getLevel ());
+    assertEquals (EUNCodelistStatus.UNCHANGED, aKGM.getStatus ());
+    assertFalse (aKGM.isDeprecated ());
+    // Merged from 5 entries
+    assertEquals (5, aKGM.getAllQuantities ().size ());
+    assertTrue (aKGM.hasQuantity (EUnitQuantity.MASS));
+    assertTrue (aKGM.isInSector (aMgr.getSectorOfGroupNumber (3)));
+    assertFalse (aKGM.isInSector (aMgr.getSectorOfGroupNumber (1)));
+
+    assertNotNull (aMgr.getUnitOfCommonCode ("C62"));
+    assertTrue (aMgr.containsUnitWithCommonCode ("C62"));
+    assertNull (aMgr.getUnitOfCommonCode ("kgm"));
+    assertNull (aMgr.getUnitOfCommonCode (null));
+    assertFalse (aMgr.containsUnitWithCommonCode (null));
+
+    // Deprecated entry "grade" followed by the non-deprecated entry "gon"
+    final UnitItem aA91 = aMgr.getUnitOfCommonCode ("A91");
+    assertEquals ("gon", aA91.getDisplayText (Locale.ENGLISH));
+    assertEquals ("gon", aA91.getSymbol ());
+    assertNotNull (aA91.getDescription ());
+    assertFalse (aA91.isDeprecated ());
+  }
+
+  @Test
+  public void testSymbol ()
+  {
+    final UnitManager aMgr = UnitManager.getDefaultInstance ();
+    assertSame (aMgr.getUnitOfCommonCode ("KGM"), aMgr.getUnitOfSymbol ("kg"));
+    assertEquals (1, aMgr.getAllUnitsOfSymbol ("kg").size ());
+    assertNull (aMgr.getUnitOfSymbol ("no such symbol"));
+    assertTrue (aMgr.getAllUnitsOfSymbol (null).isEmpty ());
+
+    // Used by 3 units - the deprecated one is last
+    assertEquals (3, aMgr.getAllUnitsOfSymbol ("kvar").size ());
+    assertEquals ("KVR", aMgr.getUnitOfSymbol ("kvar").getID ());
+    assertEquals ("K5", aMgr.getAllUnitsOfSymbol ("kvar").getLast ().getID ());
+  }
+
+  @Test
+  public void testGrouping ()
+  {
+    final UnitManager aMgr = UnitManager.getDefaultInstance ();
+    assertEquals (27, aMgr.getAllUnitsOfQuantity (EUnitQuantity.MASS).size ());
+    assertEquals (216, aMgr.getAllUnitsOfSector (aMgr.getSectorOfGroupNumber (1)).size ());
+    assertTrue (aMgr.getAllUnitsOfSector (null).isEmpty ());
+    assertTrue (aMgr.getAllUnitsOfQuantity (null).isEmpty ());
+
+    int nCount = 0;
+    for (final UnitSector aSector : aMgr.getAllSectors ())
+      for (final UnitItem aItem : aMgr.getAllUnitsOfSector (aSector))
+      {
+        assertTrue (aItem.isInSector (aSector));
+        nCount++;
+      }
+    assertTrue (nCount >= aMgr.getUnitCount ());
   }
 }
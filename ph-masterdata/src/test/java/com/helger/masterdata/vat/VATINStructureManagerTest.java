@@ -18,6 +18,10 @@ package com.helger.masterdata.vat;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Locale;
 
 import org.junit.Test;
 
@@ -41,6 +45,31 @@ public final class VATINStructureManagerTest
         assertEquals (aStructure, VATINStructureManager.getFromValidVATIN (sExample));
   }
 
+  @Test
+  public void testGetFromVATINCountry ()
+  {
+    for (final VATINStructure aStructure : VATINStructureManager.getAllStructures ())
+    {
+      assertEquals (aStructure.getExampleCount (), aStructure.getExamples ().size ());
+      assertEquals (aStructure.getExamples ().get (0), aStructure.getExampleOfIndex (0));
+      assertNull (aStructure.getExampleOfIndex (aStructure.getExampleCount ()));
+
+      final String sPrefix = aStructure.getVATINPrefix ();
+      assertSame (aStructure, VATINStructureManager.getFromVATINCountry (sPrefix));
+      assertSame (aStructure, VATINStructureManager.getFromVATINCountry (sPrefix.toLowerCase (Locale.US) + "123"));
+    }
+    assertEquals ("GR", VATINStructureManager.getFromVATINCountry ("EL").getCountry ().getCountry ());
+    assertNull (VATINStructureManager.getFromVATINCountry ("GR"));
+    assertNull (VATINStructureManager.getFromVATINCountry ("X"));
+    assertNull (VATINStructureManager.getFromVATINCountry ("XY123"));
+    assertNull (VATINStructureManager.getFromVATINCountry (null));
+
+    // Spaces and case are ignored
+    assertNotNull (VATINStructureManager.getFromValidVATIN ("atu 1022 3006"));
+    assertNull (VATINStructureManager.getFromValidVATIN ("ATU1022300"));
+    assertNull (VATINStructureManager.getFromValidVATIN ("   "));
+  }
+
   @Test
   public void testConvertToXML ()
   {
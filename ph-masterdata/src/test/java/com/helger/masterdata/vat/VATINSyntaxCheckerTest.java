@@ -16,9 +16,14 @@
  */
 package com.helger.masterdata.vat;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
 
 import org.junit.Test;
 
@@ -6847,6 +6852,97 @@ public final class VATINSyntaxCheckerTest
     assertTrue (VATINSyntaxChecker.isValidVATIN ("SK2120066993"));
   }
 
+  @Test
+  public void testPartOfCharSequence ()
+  {
+    // VATINs embedded in a CSV line
+    final String sLine = "4711;ATU10223006;RO99908;de111111125;XY1234;BE0776091962";
+    assertTrue (VATINSyntaxChecker.isValidVATIN (sLine, 5, 11));
+    assertTrue (VATINSyntaxChecker.isValidVATIN (sLine, 17, 7));
+    // Country code is case insensitive
+    assertTrue (VATINSyntaxChecker.isValidVATIN (sLine, 25, 11));
+    // No validator
+    assertTrue (VATINSyntaxChecker.isValidVATIN (sLine, 37, 6));
+    assertFalse (VATINSyntaxChecker.isValidVATIN (sLine, 44, 12));
+    // Wrong range
+    assertFalse (VATINSyntaxChecker.isValidVATIN (sLine, 5, 10));
+    assertFalse (VATINSyntaxChecker.isValidVATIN (sLine, 17, 8));
+
+    // Per country check
+    assertTrue (VATINSyntaxChecker.isValidVATIN_AT (sLine, 7, 9));
+    assertTrue (VATINSyntaxChecker.isValidVATIN_RO (sLine, 19, 5));
+    assertFalse (VATINSyntaxChecker.isValidVATIN_RO (sLine, 19, 4));
+    try
+    {
+      // Range exceeds the char sequence
+      VATINSyntaxChecker.isValidVATIN_AT (sLine, sLine.length () - 4, 9);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+    try
+    {
+      VATINSyntaxChecker.isValidVATIN_AT (sLine, -1, 9);
+      fail ();
+    }
+    catch (final IllegalArgumentException ex)
+    {}
+
+    assertTrue (VATINSyntaxChecker.isValidatorPresent ("de111111125"));
+    assertFalse (VATINSyntaxChecker.isValidatorPresent ("XY1234"));
+  }
+
+  @Test
+  public void testCheckResult ()
+  {
+    assertSame (EVATINCheckResult.VALID, VATINSyntaxChecker.getCheckResult ("ATU10223006"));
+    assertSame (EVATINCheckResult.VALID, VATINSyntaxChecker.getCheckResult ("nl010000446B01"));
+    assertSame (EVATINCheckResult.INVALID_LENGTH, VATINSyntaxChecker.getCheckResult ("ATU1022300"));
+    assertSame (EVATINCheckResult.INVALID_LENGTH, VATINSyntaxChecker.getCheckResult ("DE1"));
+    assertSame (EVATINCheckResult.INVALID_CHARACTERS, VATINSyntaxChecker.getCheckResult ("DE11111112X"));
+    assertSame (EVATINCheckResult.INVALID_CHARACTERS, VATINSyntaxChecker.getCheckResult ("ATu10223006"));
+    assertSame (EVATINCheckResult.INVALID_CHECKSUM, VATINSyntaxChecker.getCheckResult ("ATU10223007"));
+    assertSame (EVATINCheckResult.INVALID_CHECKSUM, VATINSyntaxChecker.getCheckResult ("NL010000447B01"));
+    assertSame (EVATINCheckResult.UNKNOWN_COUNTRY, VATINSyntaxChecker.getCheckResult ("XY1234"));
+    assertSame (EVATINCheckResult.INVALID_CHECKSUM, VATINSyntaxChecker.getCheckResult (";DE111111126;", 1, 11));
+
+    for (final EVATINCheckResult e : EVATINCheckResult.values ())
+      assertSame (e, EVATINCheckResult.getFromIDOrNull (e.getID ()));
+
+    final CharSequence [] aVATINs = new CharSequence [] { "DE111111125",
+                                                          null,
+                                                          "DE1111111A5",
+                                                          "DE111111126",
+                                                          "XY1234" };
+    final int [] aExpected = new int [] { EVATINCheckResult.VALID.getID (),
+                                          EVATINCheckResult.INVALID_LENGTH.getID (),
+                                          EVATINCheckResult.INVALID_CHARACTERS.getID (),
+                                          EVATINCheckResult.INVALID_CHECKSUM.getID (),
+                                          EVATINCheckResult.UNKNOWN_COUNTRY.getID () };
+    assertArrayEquals (aExpected, VATINSyntaxChecker.getAllCheckResultIDs (aVATINs, false));
+    assertArrayEquals (aExpected, VATINSyntaxChecker.getAllCheckResultIDs (aVATINs, true));
+    assertArrayEquals (aExpected, VATINSyntaxChecker.getAllCheckResultIDs (Arrays.stream (aVATINs).parallel ()));
+  }
+
+  @Test
+  public void testCheckResultShortInput ()
+  {
+    // Not more than the country code - no validator, as in isValidVATIN
+    for (final String sVATIN : new String [] { "", "D", "DE", "de", "AT", "XY", "12" })
+    {
+      assertTrue (sVATIN, VATINSyntaxChecker.isValidVATIN (sVATIN));
+      assertFalse (sVATIN, VATINSyntaxChecker.isValidatorPresent (sVATIN));
+      assertSame (sVATIN, EVATINCheckResult.UNKNOWN_COUNTRY, VATINSyntaxChecker.getCheckResult (sVATIN));
+      assertTrue (sVATIN, VATINSyntaxChecker.isValidVATIN (";" + sVATIN + ";", 1, sVATIN.length ()));
+      assertSame (sVATIN,
+                  EVATINCheckResult.UNKNOWN_COUNTRY,
+                  VATINSyntaxChecker.getCheckResult (";" + sVATIN + ";", 1, sVATIN.length ()));
+    }
+    assertArrayEquals (new int [] { EVATINCheckResult.UNKNOWN_COUNTRY.getID (),
+                                    EVATINCheckResult.UNKNOWN_COUNTRY.getID () },
+                       VATINSyntaxChecker.getAllCheckResultIDs (new CharSequence [] { "DE", "A" }, false));
+  }
+
   @Test
   public void testCeilTo ()
   {
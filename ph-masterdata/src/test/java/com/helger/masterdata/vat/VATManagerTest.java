@@ -20,6 +20,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.math.BigDecimal;
 import java.time.Month;
@@ -29,7 +31,10 @@ import java.util.Map;
 import org.junit.Test;
 
 import com.helger.commons.datetime.PDTFactory;
+import com.helger.commons.io.resource.ClassPathResource;
 import com.helger.commons.locale.country.CountryCache;
+import com.helger.xml.microdom.IMicroDocument;
+import com.helger.xml.microdom.serialize.MicroReader;
 
 /**
  * Test class for class {@link VATManager}.
@@ -82,4 +87,110 @@ public final class VATManagerTest
     assertEquals (PDTFactory.createLocalDate (2012, Month.JANUARY, 1), aItem.getStart ());
     assertNull (aItem.getEnd ());
   }
+
+  @Test
+  public void testFindVATItemValidOn ()
+  {
+    final VATManager aVATMgr = VATManager.getDefaultInstance ();
+    final Locale aHU = CountryCache.getInstance ().getCountry ("hu");
+
+    IVATItem aItem = aVATMgr.findVATItem (aHU, EVATType.REGULAR, PDTFactory.createLocalDate (2011, Month.JUNE, 1));
+    assertNotNull (aItem);
+    assertEquals ("hu.v25", aItem.getID ());
+
+    aItem = aVATMgr.findVATItem (aHU, EVATType.REGULAR, PDTFactory.createLocalDate (2011, Month.DECEMBER, 31));
+    assertNotNull (aItem);
+    assertEquals ("hu.v25", aItem.getID ());
+
+    aItem = aVATMgr.findVATItem (aHU, EVATType.REGULAR, PDTFactory.createLocalDate (2012, Month.JANUARY, 1));
+    assertNotNull (aItem);
+    assertEquals ("hu.v27", aItem.getID ());
+
+    // Percentage scale does not matter
+    aItem = aVATMgr.findVATItem (aHU,
+                                 EVATType.REGULAR,
+                                 new BigDecimal ("27.00"),
+                                 PDTFactory.createLocalDate (2017, Month.MARCH, 1));
+    assertNotNull (aItem);
+    assertEquals ("hu.v27", aItem.getID ());
+    assertNull (aVATMgr.findVATItem (aHU,
+                                     EVATType.REGULAR,
+                                     BigDecimal.valueOf (25),
+                                     PDTFactory.createLocalDate (2017, Month.MARCH, 1)));
+
+    // Two reduced items are valid
+    assertEquals (2,
+                  aVATMgr.getVATCountryData (aHU)
+                         .getAllItemsValidOn (EVATType.REDUCED, PDTFactory.createLocalDate (2017, Month.MARCH, 1))
+                         .size ());
+
+    // Type and percentage lookup
+    aItem = aVATMgr.findVATItem (EVATType.REGULAR, new BigDecimal ("27.0"));
+    assertNotNull (aItem);
+    assertEquals (EVATType.REGULAR, aItem.getType ());
+  }
+
+  @Test
+  public void testReload ()
+  {
+    final VATManager aVATMgr = VATManager.readFromXML (new ClassPathResource ("codelists/vat-data.xml"));
+    final Locale aAT = CountryCache.getInstance ().getCountry ("at");
+    assertTrue (aVATMgr.getAllAvailableCountries ().size () > 1);
+    assertEquals (BigDecimal.valueOf (20), aVATMgr.getVATItemOfID ("at.v20").getPercentage ());
+
+    // Replace everything with a single reduced rate
+    final IMicroDocument aDoc = MicroReader.readMicroXML ("<root><vattypes country=\"at\" zerovat=\"false\">" +
+                                                          "<item id=\"v18\" percentage=\"18\" type=\"regular\" />" +
+                                                          "</vattypes></root>");
+    aVATMgr.initFromXML (aDoc);
+    assertEquals (1, aVATMgr.getAllAvailableCountries ().size ());
+    assertNull (aVATMgr.getVATItemOfID ("at.v20"));
+    assertEquals (BigDecimal.valueOf (18), aVATMgr.getVATItemOfID ("at.v18").getPercentage ());
+    assertEquals ("at.v18",
+                  aVATMgr.findVATItem (aAT, EVATType.REGULAR, PDTFactory.getCurrentLocalDate ()).getID ());
+
+    // And back again
+    aVATMgr.reloadFromXML (new ClassPathResource ("codelists/vat-data.xml"));
+    assertTrue (aVATMgr.getAllAvailableCountries ().size () > 1);
+    assertNotNull (aVATMgr.getVATItemOfID ("at.v20"));
+  }
+
+  @Test
+  public void testCountryDataReadOnly ()
+  {
+    final Locale aAT = CountryCache.getInstance ().getCountry ("at");
+    final VATCountryData aData = VATManager.getDefaultInstance ().getVATCountryData (aAT);
+    assertNotNull (aData);
+    assertTrue (aData.isReadOnly ());
+    try
+    {
+      aData.addItem (new VATItem ("at.test", EVATType.REGULAR, BigDecimal.TEN, false));
+      fail ();
+    }
+    catch (final IllegalStateException ex)
+    {
+      // expected
+    }
+
+    // Self created objects stay modifiable and items may be added in any order
+    final VATCountryData aOwn = new VATCountryData (aAT, false, null, null);
+    assertFalse (aOwn.isReadOnly ());
+    aOwn.addItem (new VATItem ("at.new",
+                               EVATType.REGULAR,
+                               BigDecimal.valueOf (22),
+                               false,
+                               PDTFactory.createLocalDate (2020, Month.JANUARY, 1),
+                               null));
+    aOwn.addItem (new VATItem ("at.old",
+                               EVATType.REGULAR,
+                               BigDecimal.valueOf (20),
+                               false,
+                               PDTFactory.createLocalDate (2000, Month.JANUARY, 1),
+                               PDTFactory.createLocalDate (2019, Month.DECEMBER, 31)));
+    assertEquals ("at.old",
+                  aOwn.getItemValidOn (EVATType.REGULAR, PDTFactory.createLocalDate (2010, Month.MAY, 1)).getID ());
+    assertEquals ("at.new",
+                  aOwn.getItemValidOn (EVATType.REGULAR, PDTFactory.createLocalDate (2021, Month.MAY, 1)).getID ());
+    assertNull (aOwn.getItemValidOn (EVATType.REGULAR, PDTFactory.createLocalDate (1999, Month.MAY, 1)));
+  }
 }